@@ -0,0 +1,239 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.data.neural.methods;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.data.neural.Architecture;
+import org.knime.base.data.neural.MultiLayerPerceptron;
+import org.knime.base.data.neural.Perceptron;
+import org.knime.core.node.KNIMEConstants;
+
+/**
+ * Tests that {@link RProp} trains the same network with and without thread pool and that the gradients equal the
+ * per-sample computation.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class RPropTest {
+
+    /** More than two blocks of samples. */
+    private static final int NUM_SAMPLES = 5000;
+
+    private static final int NUM_INPUTS = 4;
+
+    private static final int NUM_OUTPUTS = 3;
+
+    /**
+     * Tests that training in a thread pool gives exactly the same weights and errors as the sequential training.
+     */
+    @Test
+    public void testParallelEqualsSequential() {
+        final double[][] samples = createSamples(1);
+        final double[][] outputs = createOutputs(samples);
+        final MultiLayerPerceptron sequentialNet = createNet();
+        final MultiLayerPerceptron parallelNet = createNet();
+        final RProp sequential = new RProp();
+        final RProp parallel = new RProp();
+        parallel.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4));
+        for (int iteration = 0; iteration < 10; iteration++) {
+            sequential.train(sequentialNet, samples, outputs);
+            parallel.train(parallelNet, samples, outputs);
+            assertSameWeights(sequentialNet, parallelNet);
+            assertEquals(sequential.error(sequentialNet, samples, outputs),
+                parallel.error(parallelNet, samples, outputs), 0.0);
+        }
+    }
+
+    /**
+     * Tests that the error equals the sum of squared errors of the network outputs computed row by row.
+     */
+    @Test
+    public void testErrorEqualsPerRowError() {
+        final double[][] samples = createSamples(2);
+        final double[][] outputs = createOutputs(samples);
+        final MultiLayerPerceptron net = createNet();
+        final RProp rprop = new RProp();
+        rprop.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4));
+        rprop.train(net, samples, outputs);
+        double expected = 0;
+        for (int s = 0; s < samples.length; s++) {
+            final double[] output = net.output(samples[s]);
+            for (int o = 0; o < NUM_OUTPUTS; o++) {
+                expected += (output[o] - outputs[s][o]) * (output[o] - outputs[s][o]);
+            }
+        }
+        assertEquals(expected, rprop.error(net, samples, outputs), 0.0);
+    }
+
+    /**
+     * Tests that the first training step moves every weight and threshold by the initial update value against the
+     * sign of its error derivation, computed sample by sample as in the original implementation.
+     */
+    @Test
+    public void testFirstStepFollowsPerSampleGradient() {
+        final double[][] samples = createSamples(3);
+        final double[][] outputs = createOutputs(samples);
+        final MultiLayerPerceptron net = createNet();
+        final MultiLayerPerceptron initialNet = createNet();
+        final double[][][] errDers = new double[net.getNrLayers()][][];
+        final double[][] thrErrDers = new double[net.getNrLayers()][];
+        computeGradient(initialNet, samples, outputs, errDers, thrErrDers);
+
+        final RProp rprop = new RProp();
+        rprop.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4));
+        rprop.train(net, samples, outputs);
+        for (int i = 1; i < net.getNrLayers(); i++) {
+            final Perceptron[] perceptrons = net.getLayer(i).getPerceptrons();
+            final Perceptron[] initial = initialNet.getLayer(i).getPerceptrons();
+            for (int j = 0; j < perceptrons.length; j++) {
+                for (int k = 0; k < errDers[i][j].length; k++) {
+                    assertEquals("Weight " + i + "/" + j + "/" + k,
+                        initial[j].getWeight(k) - RProp.sgn(errDers[i][j][k]) * rprop.getEtaNull(),
+                        perceptrons[j].getWeight(k), 0.0);
+                }
+                assertEquals("Threshold " + i + "/" + j,
+                    initial[j].getThreshold() - RProp.sgn(thrErrDers[i][j]) * rprop.getEtaNull(),
+                    perceptrons[j].getThreshold(), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Sums up the error derivations sample by sample.
+     */
+    private static void computeGradient(final MultiLayerPerceptron net, final double[][] samples,
+        final double[][] outputs, final double[][][] errDers, final double[][] thrErrDers) {
+        final int nrLayers = net.getNrLayers();
+        final double[][] output = new double[nrLayers][];
+        final double[][] delta = new double[nrLayers][];
+        for (int i = 0; i < nrLayers; i++) {
+            final int nrNeurons = net.getLayer(i).getPerceptrons().length;
+            output[i] = new double[nrNeurons];
+            delta[i] = new double[nrNeurons];
+            if (i > 0) {
+                errDers[i] = new double[nrNeurons][net.getLayer(i - 1).getPerceptrons().length];
+                thrErrDers[i] = new double[nrNeurons];
+            }
+        }
+        for (int s = 0; s < samples.length; s++) {
+            output[0] = samples[s].clone();
+            for (int i = 1; i < nrLayers; i++) {
+                for (int j = 0; j < output[i].length; j++) {
+                    final Perceptron p = net.getLayer(i).getPerceptron(j);
+                    double sum = 0.0;
+                    for (int k = 0; k < output[i - 1].length; k++) {
+                        sum += output[i - 1][k] * p.getWeight(k);
+                    }
+                    output[i][j] = p.activationFunction(sum - p.getThreshold());
+                }
+            }
+            for (int i = nrLayers - 1; i >= 1; i--) {
+                for (int j = 0; j < delta[i].length; j++) {
+                    final double y = output[i][j];
+                    if (i == nrLayers - 1) {
+                        delta[i][j] = (outputs[s][j] - y) * y * (1 - y);
+                    } else {
+                        double sum = 0.0;
+                        for (int k = 0; k < delta[i + 1].length; k++) {
+                            sum += delta[i + 1][k] * net.getLayer(i + 1).getPerceptron(k).getWeight(j);
+                        }
+                        delta[i][j] = y * (1 - y) * sum;
+                    }
+                }
+            }
+            for (int i = 1; i < nrLayers; i++) {
+                for (int j = 0; j < delta[i].length; j++) {
+                    for (int k = 0; k < output[i - 1].length; k++) {
+                        errDers[i][j][k] += output[i - 1][k] * -delta[i][j];
+                    }
+                    thrErrDers[i][j] += delta[i][j];
+                }
+            }
+        }
+    }
+
+    private static void assertSameWeights(final MultiLayerPerceptron expected, final MultiLayerPerceptron actual) {
+        for (int i = 1; i < expected.getNrLayers(); i++) {
+            final Perceptron[] expectedPerceptrons = expected.getLayer(i).getPerceptrons();
+            final Perceptron[] actualPerceptrons = actual.getLayer(i).getPerceptrons();
+            for (int j = 0; j < expectedPerceptrons.length; j++) {
+                for (int k = 0; k < expected.getLayer(i - 1).getPerceptrons().length; k++) {
+                    assertEquals(expectedPerceptrons[j].getWeight(k), actualPerceptrons[j].getWeight(k), 0.0);
+                }
+                assertEquals(expectedPerceptrons[j].getThreshold(), actualPerceptrons[j].getThreshold(), 0.0);
+            }
+        }
+    }
+
+    private static MultiLayerPerceptron createNet() {
+        return new MultiLayerPerceptron(new Architecture(NUM_INPUTS, 2, 6, NUM_OUTPUTS), new Random(7));
+    }
+
+    private static double[][] createSamples(final long seed) {
+        final Random random = new Random(seed);
+        final double[][] samples = new double[NUM_SAMPLES][NUM_INPUTS];
+        for (final double[] sample : samples) {
+            for (int i = 0; i < NUM_INPUTS; i++) {
+                sample[i] = random.nextDouble();
+            }
+        }
+        return samples;
+    }
+
+    /** One hot encoded class depending on the first two inputs. */
+    private static double[][] createOutputs(final double[][] samples) {
+        final double[][] outputs = new double[samples.length][NUM_OUTPUTS];
+        for (int s = 0; s < samples.length; s++) {
+            final int cls = samples[s][0] > 0.6 ? 2 : (samples[s][1] > 0.5 ? 1 : 0);
+            outputs[s][cls] = 1;
+        }
+        return outputs;
+    }
+}
@@ -44,6 +44,7 @@
  */
 package org.knime.base.data.statistics;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 import java.util.HashMap;
@@ -145,4 +146,17 @@ public void testMedianValues() throws CanceledExecutionException {
         assertEquals(.5, medianValues[3], 1E-20);
     }
 
+    /**
+     * Test method for {@link org.knime.base.data.statistics.MedianTable#quantileValues(ExecutionContext, double...)}.
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public void testQuantileValues() throws CanceledExecutionException {
+        double[][] quantiles =
+            new MedianTable(smallTable, new int[] {0, 1, 2}).quantileValues(EXEC_CONTEXT, 0, .25, .5, 1);
+        assertArrayEquals(new double[] {0, 24.75, 49.5, 99}, quantiles[0], 1E-20);
+        assertArrayEquals(new double[] {0, 24.75, 49.5, 99}, quantiles[1], 1E-20);
+        assertArrayEquals(new double[] {0, 0, 1, 4}, quantiles[2], 1E-20);
+    }
+
 }
@@ -0,0 +1,216 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.data.statistics.calculation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.stat.correlation.Covariance;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.statistics.TransformationMatrix;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests the covariance matrix of the {@link PCA}, which merges blocks of rows into the co-moments, against the
+ * covariance matrix computed from all rows at once.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class PCATest {
+
+    /** Large enough that the merge of a full block is split into tasks. */
+    private static final int NUM_COLS = 12;
+
+    /** Three full blocks and a partial one. */
+    private static final int NUM_ROWS = 3 * 2048 + 517;
+
+    private static final double EPSILON = 1e-9;
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Tests data with large offsets, a linearly dependent and a constant column, and rows with missing values spread
+     * over the blocks, with and without pool.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testBlockMergedCovariance() throws CanceledExecutionException {
+        final Random random = new Random(5);
+        final List<double[]> data = new ArrayList<>();
+        final BufferedDataTable table = createTable(random, data);
+        final double[][] expected = new Covariance(data.toArray(new double[0][])).getCovarianceMatrix().getData();
+
+        final double[][] sequential = calcCovarMatrix(table, null);
+        assertCovarianceMatrix(expected, sequential);
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4);
+        final double[][] parallel = calcCovarMatrix(table, pool);
+        assertCovarianceMatrix(expected, parallel);
+        for (int i = 0; i < NUM_COLS; i++) {
+            for (int j = 0; j < NUM_COLS; j++) {
+                assertEquals("Covariance (" + i + ", " + j + ") depends on the pool", sequential[i][j],
+                    parallel[i][j], 0);
+            }
+        }
+    }
+
+    /**
+     * Tests that the truncated decomposition returns the leading eigenvalues of the full one.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testNumberOfComponents() throws CanceledExecutionException {
+        final BufferedDataTable table = createTable(new Random(6), new ArrayList<>());
+        final String[] colNames = table.getSpec().getColumnNames();
+        final TransformationMatrix full = new PCA().calcTransformationMatrix(m_exec, table, colNames, false);
+        final PCA pca = new PCA();
+        pca.setNumberOfComponents(4);
+        final TransformationMatrix truncated = pca.calcTransformationMatrix(m_exec, table, colNames, false);
+        assertEquals(4, truncated.getSortedEigenValues().getDimension());
+        final double scale = full.getSortedEigenValues().getEntry(0);
+        for (int k = 0; k < 4; k++) {
+            assertEquals("Eigenvalue " + k, full.getSortedEigenValues().getEntry(k),
+                truncated.getSortedEigenValues().getEntry(k), EPSILON * scale);
+        }
+    }
+
+    private double[][] calcCovarMatrix(final BufferedDataTable table, final ThreadPool pool)
+        throws CanceledExecutionException {
+        final PCA pca = new PCA();
+        pca.setThreadPool(pool);
+        pca.calcTransformationMatrix(m_exec, table, table.getSpec().getColumnNames(), false);
+        final RealMatrix covMatrix = pca.getCovMatrix().get();
+        assertEquals(NUM_COLS, covMatrix.getRowDimension());
+        assertEquals(NUM_COLS, covMatrix.getColumnDimension());
+        return covMatrix.getData();
+    }
+
+    /**
+     * Compares the entries relative to the standard deviations of their columns, the entries of the constant column
+     * must be exactly zero.
+     */
+    private static void assertCovarianceMatrix(final double[][] expected, final double[][] actual) {
+        for (int i = 0; i < NUM_COLS; i++) {
+            for (int j = 0; j < NUM_COLS; j++) {
+                final double tolerance = EPSILON * Math.sqrt(expected[i][i] * expected[j][j]);
+                assertEquals("Covariance (" + i + ", " + j + ")", expected[i][j], actual[i][j], tolerance);
+            }
+        }
+    }
+
+    /**
+     * Creates a table of gaussian columns with different scales and large offsets. The column before the last one is
+     * a linear combination of the first two, the last one is constant. Every 997th row contains a missing value, the
+     * other rows are added to the given list.
+     */
+    private BufferedDataTable createTable(final Random random, final List<double[]> data) {
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[NUM_COLS];
+        for (int c = 0; c < NUM_COLS; c++) {
+            colSpecs[c] = new DataColumnSpecCreator("Column " + c, DoubleCell.TYPE).createSpec();
+        }
+        final BufferedDataContainer container = m_exec.createDataContainer(new DataTableSpec(colSpecs));
+        for (int r = 0; r < NUM_ROWS; r++) {
+            final double[] values = new double[NUM_COLS];
+            for (int c = 0; c < NUM_COLS - 2; c++) {
+                values[c] = 1e6 * (c + 1) + random.nextGaussian() * (c + 1) + (c % 2 == 0 ? values[0] : 0);
+            }
+            values[NUM_COLS - 2] = 3 * values[0] - values[1];
+            values[NUM_COLS - 1] = 42;
+            final DataCell[] cells = new DataCell[NUM_COLS];
+            for (int c = 0; c < NUM_COLS; c++) {
+                cells[c] = new DoubleCell(values[c]);
+            }
+            if (r % 997 == 0) {
+                cells[r % NUM_COLS] = DataType.getMissingCell();
+            } else {
+                data.add(values);
+            }
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)r), cells));
+        }
+        container.close();
+        return container.getTable();
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.data.statistics.calculation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.junit.Test;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests the {@link TruncatedEigenDecomposition} against the full {@link EigenDecomposition} on seeded matrices.
+ * Eigenvectors are compared via the eigenspace of their eigenvalue, as they are only unique up to the sign and, for
+ * tied eigenvalues, up to a rotation within that eigenspace.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class TruncatedEigenDecompositionTest {
+
+    /** Large enough that the pool is actually used for the matrix products. */
+    private static final int DIM = 120;
+
+    private static final double EPSILON = 1e-8;
+
+    /** Relative distance below which two eigenvalues of the full decomposition are considered to be tied. */
+    private static final double TIE_TOLERANCE = 1e-6;
+
+    /**
+     * Tests a matrix with a geometrically decaying spectrum of distinct eigenvalues.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testDistinctEigenvalues() throws CanceledExecutionException {
+        final Random random = new Random(1);
+        final double[] spectrum = new double[DIM];
+        for (int i = 0; i < DIM; i++) {
+            spectrum[i] = 100 * Math.pow(0.7, i);
+        }
+        final double[][] matrix = rotate(spectrum, randomOrthogonal(random, DIM));
+        assertDecomposition(matrix, 1);
+        assertDecomposition(matrix, 5);
+        assertDecomposition(matrix, 20);
+    }
+
+    /**
+     * Tests the covariance matrix of data with an offset that only spans a few directions, including a number of
+     * components exceeding the rank.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testRankDeficient() throws CanceledExecutionException {
+        final Random random = new Random(2);
+        final int rank = 8;
+        final double[][] directions = randomOrthogonal(random, DIM);
+        final double[][] data = new double[300][DIM];
+        for (final double[] row : data) {
+            for (int k = 0; k < rank; k++) {
+                final double coefficient = random.nextGaussian() * (rank - k);
+                for (int i = 0; i < DIM; i++) {
+                    row[i] += coefficient * directions[k][i];
+                }
+            }
+            for (int i = 0; i < DIM; i++) {
+                row[i] += 1000;
+            }
+        }
+        final double[][] matrix = covariance(data);
+        assertDecomposition(matrix, 3);
+        assertDecomposition(matrix, rank);
+        assertDecomposition(matrix, rank + 4);
+    }
+
+    /**
+     * Tests a matrix with groups of tied eigenvalues, including numbers of components that split a group.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testTiedEigenvalues() throws CanceledExecutionException {
+        final Random random = new Random(3);
+        final double[] spectrum = new double[DIM];
+        Arrays.fill(spectrum, 0, 3, 10);
+        Arrays.fill(spectrum, 3, 5, 4);
+        for (int i = 5; i < DIM; i++) {
+            spectrum[i] = Math.pow(0.5, i - 4);
+        }
+        final double[][] matrix = rotate(spectrum, randomOrthogonal(random, DIM));
+        assertDecomposition(matrix, 2);
+        assertDecomposition(matrix, 3);
+        assertDecomposition(matrix, 4);
+        assertDecomposition(matrix, 5);
+    }
+
+    /**
+     * Tests a scaled identity matrix, i.e., a single eigenvalue tied over the whole dimension.
+     *
+     * @throws CanceledExecutionException not expected
+     */
+    @Test
+    public void testIdentity() throws CanceledExecutionException {
+        final double[] spectrum = new double[DIM];
+        Arrays.fill(spectrum, 3);
+        assertDecomposition(rotate(spectrum, randomOrthogonal(new Random(4), DIM)), 5);
+    }
+
+    /**
+     * Compares the truncated decomposition, computed with and without pool, with the full one.
+     */
+    private static void assertDecomposition(final double[][] matrix, final int numComponents)
+        throws CanceledExecutionException {
+        final int dim = matrix.length;
+        final EigenDecomposition full = new EigenDecomposition(new Array2DRowRealMatrix(matrix));
+        final double[] values = full.getRealEigenvalues();
+        final Integer[] order = IntStream.range(0, dim).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, Comparator.comparingDouble(i -> -values[i]));
+        final double scale = values[order[0]];
+
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4);
+        final TruncatedEigenDecomposition sequential =
+            new TruncatedEigenDecomposition(matrix, numComponents, null, new ExecutionMonitor());
+        final TruncatedEigenDecomposition parallel =
+            new TruncatedEigenDecomposition(matrix, numComponents, pool, new ExecutionMonitor());
+        for (final TruncatedEigenDecomposition decomp : Arrays.asList(sequential, parallel)) {
+            final double[] eigenValues = decomp.getSortedEigenValues();
+            final double[][] eigenVectors = decomp.getSortedEigenVectors();
+            assertEquals("Number of eigenvalues", numComponents, eigenValues.length);
+            assertEquals("Number of eigenvectors", numComponents, eigenVectors.length);
+            for (int k = 0; k < numComponents; k++) {
+                final double expected = values[order[k]];
+                assertEquals("Eigenvalue " + k + " of " + numComponents, expected, eigenValues[k],
+                    EPSILON * scale);
+                for (int l = 0; l <= k; l++) {
+                    assertEquals("Scalar product of eigenvectors " + k + " and " + l, k == l ? 1 : 0,
+                        dot(eigenVectors[k], eigenVectors[l]), EPSILON);
+                }
+                // project onto the eigenspace of the full decomposition with the same eigenvalue
+                double projection = 0;
+                for (int i = 0; i < dim; i++) {
+                    if (Math.abs(values[i] - expected) <= TIE_TOLERANCE * scale) {
+                        final double p = dot(eigenVectors[k], full.getEigenvector(i).toArray());
+                        projection += p * p;
+                    }
+                }
+                assertEquals("Squared norm of eigenvector " + k + " of " + numComponents
+                    + " projected onto its eigenspace", 1, projection, EPSILON);
+            }
+        }
+        // the result must not depend on the pool
+        for (int k = 0; k < numComponents; k++) {
+            assertEquals(sequential.getSortedEigenValues()[k], parallel.getSortedEigenValues()[k], 0);
+            assertEquals(Arrays.toString(sequential.getSortedEigenVectors()[k]),
+                Arrays.toString(parallel.getSortedEigenVectors()[k]));
+        }
+    }
+
+    /** Returns {@code Q^T diag(spectrum) Q} for the orthogonal matrix {@code Q} given by its rows. */
+    private static double[][] rotate(final double[] spectrum, final double[][] orthogonal) {
+        final int dim = spectrum.length;
+        final double[][] matrix = new double[dim][dim];
+        for (int k = 0; k < dim; k++) {
+            final double[] q = orthogonal[k];
+            for (int i = 0; i < dim; i++) {
+                for (int j = 0; j < dim; j++) {
+                    matrix[i][j] += spectrum[k] * q[i] * q[j];
+                }
+            }
+        }
+        // remove rounding asymmetries
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j < i; j++) {
+                matrix[j][i] = matrix[i][j];
+            }
+        }
+        return matrix;
+    }
+
+    /** Returns an orthogonal matrix as array of its rows, obtained by Gram-Schmidt of gaussian vectors. */
+    private static double[][] randomOrthogonal(final Random random, final int dim) {
+        final double[][] rows = new double[dim][dim];
+        for (int k = 0; k < dim; k++) {
+            final double[] row = rows[k];
+            for (int i = 0; i < dim; i++) {
+                row[i] = random.nextGaussian();
+            }
+            // orthogonalize twice for numerical stability
+            for (int pass = 0; pass < 2; pass++) {
+                for (int l = 0; l < k; l++) {
+                    final double p = dot(row, rows[l]);
+                    for (int i = 0; i < dim; i++) {
+                        row[i] -= p * rows[l][i];
+                    }
+                }
+            }
+            final double norm = Math.sqrt(dot(row, row));
+            for (int i = 0; i < dim; i++) {
+                row[i] /= norm;
+            }
+        }
+        return rows;
+    }
+
+    /** Two-pass sample covariance matrix of the rows. */
+    private static double[][] covariance(final double[][] data) {
+        final int dim = data[0].length;
+        final double[] means = new double[dim];
+        for (final double[] row : data) {
+            for (int i = 0; i < dim; i++) {
+                means[i] += row[i] / data.length;
+            }
+        }
+        final double[][] cov = new double[dim][dim];
+        for (final double[] row : data) {
+            for (int i = 0; i < dim; i++) {
+                for (int j = 0; j < dim; j++) {
+                    cov[i][j] += (row[i] - means[i]) * (row[j] - means[j]) / (data.length - 1);
+                }
+            }
+        }
+        return cov;
+    }
+
+    private static double dot(final double[] a, final double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.bayes.naivebayes.datamodel3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.node.preproc.sorter.SorterNodeFactory;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ModelContent;
+import org.knime.core.node.Node;
+import org.knime.core.node.config.base.AbstractConfigEntry;
+import org.knime.core.node.config.base.ConfigBase;
+import org.knime.core.node.config.base.ConfigEntries;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Compares the {@link NaiveBayesModel} learned from partial models of chunks of rows, as done by the parallel learner
+ * and the streaming learner, with the model learned sequentially row by row.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class NaiveBayesModelTest {
+
+    /** Relative tolerance for means and standard deviations, which are merged with the Chan et al. formulas. */
+    private static final double TOLERANCE = 1e-9;
+
+    private static final int ROWS = 5000;
+
+    private static ExecutionContext EXEC_CONTEXT;
+
+    private static BufferedDataTable TABLE;
+
+    /**
+     * Creates a table with a class column, a nominal and two numeric columns with missing values. One of the numeric
+     * columns has a large offset relative to its spread.
+     */
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        EXEC_CONTEXT = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(new SorterNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("class", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("nominal", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("numeric", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("offset", DoubleCell.TYPE).createSpec());
+        final Random random = new Random(5);
+        final BufferedDataContainer container = EXEC_CONTEXT.createDataContainer(spec);
+        for (int r = 0; r < ROWS; r++) {
+            final int clazz = random.nextInt(3);
+            final DataCell nominal =
+                random.nextInt(20) == 0 ? DataType.getMissingCell() : new StringCell("v" + random.nextInt(4 + clazz));
+            final DataCell numeric = random.nextInt(20) == 0 ? DataType.getMissingCell()
+                : new DoubleCell(clazz + (clazz + 1) * random.nextGaussian());
+            final DataCell offset = new DoubleCell(1e6 + clazz + random.nextDouble());
+            container.addRowToTable(
+                new DefaultRow("Row" + r, new StringCell("c" + clazz), nominal, numeric, offset));
+        }
+        container.close();
+        TABLE = container.getTable();
+    }
+
+    /**
+     * Learns the model with the default chunks from the table and from a row input as in streaming mode, and with
+     * two other chunk sizes. All models must have the same class and nominal counts as the sequential one, and
+     * means and standard deviations within {@link #TOLERANCE}.
+     *
+     * @throws Exception if learning fails
+     */
+    @Test
+    public void testChunkedModelsMatchSequentialModel() throws Exception {
+        for (final boolean ignoreMissingVals : new boolean[]{true, false}) {
+            final ModelContent expected = save(learn(Integer.MAX_VALUE, ignoreMissingVals));
+            final ModelContent fromTable = save(new NaiveBayesModel(TABLE, "class", EXEC_CONTEXT, 20,
+                ignoreMissingVals, false, NaiveBayesModel.DEFAULT_MIN_PROB_THRESHOLD, 1e-4, 0));
+            assertConfigEquals("table", expected, fromTable);
+            final ModelContent streamed = save(new NaiveBayesModel(new DataTableRowInput(TABLE), "class",
+                EXEC_CONTEXT, 20, ignoreMissingVals, false, NaiveBayesModel.DEFAULT_MIN_PROB_THRESHOLD, 1e-4, 0));
+            assertConfigEquals("streamed", expected, streamed);
+            for (final int chunkSize : new int[]{1000, 777}) {
+                assertConfigEquals("chunk size " + chunkSize, expected, save(learn(chunkSize, ignoreMissingVals)));
+            }
+        }
+    }
+
+    private static NaiveBayesModel learn(final int chunkSize, final boolean ignoreMissingVals) throws Exception {
+        return new NaiveBayesModel(new DataTableRowInput(TABLE), ROWS, "class", EXEC_CONTEXT, 20, ignoreMissingVals,
+            false, NaiveBayesModel.DEFAULT_MIN_PROB_THRESHOLD, 1e-4, 0, chunkSize);
+    }
+
+    private static ModelContent save(final NaiveBayesModel model) {
+        final ModelContent content = new ModelContent("model");
+        model.savePredictorParams(content);
+        return content;
+    }
+
+    /** Compares all entries, doubles with a relative tolerance, all others (counts, values) exactly. */
+    private static void assertConfigEquals(final String path, final ConfigBase expected, final ConfigBase actual) {
+        assertEquals(path, new TreeSet<>(expected.keySet()), new TreeSet<>(actual.keySet()));
+        for (final String key : expected.keySet()) {
+            final AbstractConfigEntry expectedEntry = expected.getEntry(key);
+            final AbstractConfigEntry actualEntry = actual.getEntry(key);
+            final String entryPath = path + "/" + key;
+            if (expectedEntry instanceof ConfigBase) {
+                assertTrue(entryPath, actualEntry instanceof ConfigBase);
+                assertConfigEquals(entryPath, (ConfigBase)expectedEntry, (ConfigBase)actualEntry);
+            } else if (expectedEntry.getType() == ConfigEntries.xdouble) {
+                final double e = Double.parseDouble(expectedEntry.toStringValue());
+                final double a = Double.parseDouble(actualEntry.toStringValue());
+                assertEquals(entryPath, e, a, TOLERANCE * Math.max(1, Math.abs(e)));
+            } else {
+                assertEquals(entryPath, expectedEntry.toStringValue(), actualEntry.toStringValue());
+            }
+        }
+    }
+}
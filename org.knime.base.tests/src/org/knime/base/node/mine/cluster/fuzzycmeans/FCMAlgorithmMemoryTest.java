@@ -0,0 +1,116 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.cluster.fuzzycmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Unit tests for {@link FCMAlgorithmMemory}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FCMAlgorithmMemoryTest {
+
+    private static double[][] createData(final int nrRows) {
+        Random random = new Random(42);
+        double[][] data = new double[nrRows][3];
+        for (int i = 0; i < nrRows; i++) {
+            for (int j = 0; j < data[i].length; j++) {
+                data[i][j] = random.nextGaussian() + (i % 3) * 5;
+            }
+        }
+        return data;
+    }
+
+    private static FCMAlgorithmMemory run(final double[][] data, final ThreadPool pool) throws Exception {
+        FCMAlgorithmMemory algo = new FCMAlgorithmMemory(3, 2.0, true, 0.1);
+        RowKey[] keys = new RowKey[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = RowKey.createRowKey((long)i);
+        }
+        algo.init(keys, data, new Random(1));
+        algo.setThreadPool(pool);
+        for (int i = 0; i < 10; i++) {
+            algo.doOneIteration(null);
+        }
+        return algo;
+    }
+
+    /**
+     * Tests that the parallel computation yields exactly the sequential result.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParallelEqualsSequential() throws Exception {
+        double[][] data = createData(5000);
+        FCMAlgorithmMemory sequential = run(data, null);
+        FCMAlgorithmMemory parallel = run(data, KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4));
+        assertArrayEquals(sequential.getClusterCentres(), parallel.getClusterCentres());
+        assertArrayEquals(sequential.getweightMatrix(), parallel.getweightMatrix());
+    }
+
+    /**
+     * Tests that {@link FCMAlgorithm#getMemberships(double[])} reproduces the weight matrix.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testGetMemberships() throws Exception {
+        double[][] data = createData(100);
+        FCMAlgorithmMemory algo = run(data, null);
+        for (int i = 0; i < data.length; i++) {
+            assertArrayEquals(algo.getweightMatrix()[i], algo.getMemberships(data[i]), 0);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.cluster.fuzzycmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DefaultTable;
+import org.knime.core.data.def.DoubleCell;
+
+/**
+ * Compares the cluster prototypes, memberships and noise delta of {@link FCMAlgorithm} and {@link FCMAlgorithmMemory}
+ * with the straightforward computation of previous versions, which iterated over the data once per cluster.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FCMAlgorithmTest {
+
+    private static final int NR_ROWS = 3000;
+
+    private static final int NR_CLUSTERS = 3;
+
+    private static final int NR_ITERATIONS = 8;
+
+    private static final double FUZZIFIER = 2.0;
+
+    private static final double LAMBDA = 0.1;
+
+    private static final double EPSILON = 1e-9;
+
+    /*
+     * Rows around three centers in the unit cube, every 20th value is missing (NaN).
+     */
+    private static double[][] createData() {
+        final Random random = new Random(3);
+        final double[][] data = new double[NR_ROWS][3];
+        for (int i = 0; i < NR_ROWS; i++) {
+            for (int j = 0; j < data[i].length; j++) {
+                data[i][j] = random.nextInt(20) == 0 ? Double.NaN : 0.2 + 0.3 * (i % 3) + 0.05 * random.nextGaussian();
+            }
+        }
+        return data;
+    }
+
+    private static DataTable createTable(final double[][] data) {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("x", DataType.getType(DoubleCell.class))
+            .createSpec(), new DataColumnSpecCreator("y", DataType.getType(DoubleCell.class)).createSpec(),
+            new DataColumnSpecCreator("z", DataType.getType(DoubleCell.class)).createSpec());
+        final DataRow[] rows = new DataRow[data.length];
+        for (int i = 0; i < data.length; i++) {
+            final DataCell[] cells = new DataCell[data[i].length];
+            for (int j = 0; j < cells.length; j++) {
+                cells[j] = Double.isNaN(data[i][j]) ? DataType.getMissingCell() : new DoubleCell(data[i][j]);
+            }
+            rows[i] = new DefaultRow(RowKey.createRowKey((long)i), cells);
+        }
+        return new DefaultTable(rows, spec);
+    }
+
+    /**
+     * Tests the algorithm on a table with missing values and automatic noise delta.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTableWithNoise() throws Exception {
+        final double[][] data = createData();
+        final FCMAlgorithm algo = new FCMAlgorithm(NR_CLUSTERS, FUZZIFIER, true, LAMBDA);
+        algo.init(createTable(data), new Random(1));
+        assertSameAsReference(algo, data, true, true);
+    }
+
+    /**
+     * Tests the algorithm on a table with missing values without noise cluster.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTableWithoutNoise() throws Exception {
+        final double[][] data = createData();
+        final FCMAlgorithm algo = new FCMAlgorithm(NR_CLUSTERS, FUZZIFIER);
+        algo.init(createTable(data), new Random(1));
+        assertSameAsReference(algo, data, true, false);
+    }
+
+    /**
+     * Tests the in-memory algorithm, which reads missing values as 0, with automatic noise delta.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMemoryWithNoise() throws Exception {
+        final double[][] data = createData();
+        final FCMAlgorithmMemory algo = new FCMAlgorithmMemory(NR_CLUSTERS, FUZZIFIER, true, LAMBDA);
+        algo.init(NR_ROWS, data[0].length, createTable(data), new Random(1));
+        final double[][] converted = new double[NR_ROWS][];
+        for (int i = 0; i < NR_ROWS; i++) {
+            converted[i] = data[i].clone();
+            for (int j = 0; j < converted[i].length; j++) {
+                if (Double.isNaN(converted[i][j])) {
+                    converted[i][j] = 0;
+                }
+            }
+        }
+        assertArrayEquals(converted, algo.getConvertedData());
+        assertSameAsReference(algo, converted, false, true);
+    }
+
+    private static void assertSameAsReference(final FCMAlgorithm algo, final double[][] data,
+        final boolean ignoreMissing, final boolean noise) throws Exception {
+        final double[][] clusters = new double[algo.getClusterCentres().length][];
+        for (int c = 0; c < clusters.length; c++) {
+            clusters[c] = algo.getClusterCentres()[c].clone();
+        }
+        final double[][] weights = new double[NR_ROWS][clusters.length];
+        double delta = algo.getDelta();
+        for (int i = 0; i < NR_ITERATIONS; i++) {
+            final double change = algo.doOneIteration(null);
+            final double[] referenceChange = new double[1];
+            delta = referenceIteration(data, clusters, weights, delta, noise, ignoreMissing, referenceChange);
+            assertEquals("Change in iteration " + i, referenceChange[0], change, EPSILON);
+            assertEquals("Delta in iteration " + i, delta, algo.getDelta(), EPSILON);
+            for (int c = 0; c < clusters.length; c++) {
+                assertArrayEquals("Cluster " + c + " in iteration " + i, clusters[c], algo.getClusterCentres()[c],
+                    EPSILON);
+            }
+            for (int r = 0; r < NR_ROWS; r++) {
+                assertArrayEquals("Row " + r + " in iteration " + i, weights[r], algo.getweightMatrix()[r], EPSILON);
+                assertArrayEquals(weights[r], algo.getMemberships(data[r]), EPSILON);
+            }
+        }
+    }
+
+    /*
+     * One iteration as computed by previous versions: the weight matrix is updated, then each cluster prototype is
+     * computed in its own pass over the rows. Rows read from a table ignore missing values and the noise delta is
+     * based on the Euclidean distances; the in-memory variant used the squared distances. Returns the new delta.
+     */
+    private static double referenceIteration(final double[][] data, final double[][] clusters,
+        final double[][] weights, final double delta, final boolean noise, final boolean ignoreMissing,
+        final double[] totalChange) {
+        final int nrClusters = noise ? clusters.length - 1 : clusters.length;
+        for (int r = 0; r < data.length; r++) {
+            final double[] row = data[r];
+            int sameCluster = -1;
+            for (int i = 0; sameCluster < 0 && i < nrClusters; i++) {
+                for (int j = 0; j < row.length; j++) {
+                    if (!ignoreMissing || !Double.isNaN(row[j])) {
+                        if (row[j] == clusters[i][j]) {
+                            sameCluster = i;
+                        } else {
+                            sameCluster = -1;
+                            break;
+                        }
+                    }
+                }
+            }
+            if (sameCluster >= 0) {
+                for (int i = 0; i < clusters.length; i++) {
+                    weights[r][i] = i == sameCluster ? 1 : 0;
+                }
+            } else {
+                for (int j = 0; j < clusters.length; j++) {
+                    final double distNumerator = noise && j == clusters.length - 1 ? delta * delta
+                        : squaredDistance(clusters[j], row, ignoreMissing);
+                    double sum = 0;
+                    for (int k = 0; k < clusters.length; k++) {
+                        final double distance = noise && k == clusters.length - 1 ? delta * delta
+                            : squaredDistance(clusters[k], row, ignoreMissing);
+                        sum += Math.pow(distNumerator / distance, 1.0 / (FUZZIFIER - 1.0));
+                    }
+                    weights[r][j] = 1 / sum;
+                }
+            }
+        }
+        double sumUpdate = 0;
+        for (int c = 0; c < nrClusters; c++) {
+            final double[] sumNumerator = new double[clusters[c].length];
+            double sumDenominator = 0;
+            for (int r = 0; r < data.length; r++) {
+                final double w = Math.pow(weights[r][c], FUZZIFIER);
+                for (int j = 0; j < sumNumerator.length; j++) {
+                    if (!ignoreMissing || !Double.isNaN(data[r][j])) {
+                        sumNumerator[j] += w * data[r][j];
+                    }
+                }
+                sumDenominator += w;
+                final double distance = squaredDistance(clusters[c], data[r], ignoreMissing);
+                sumUpdate += ignoreMissing ? Math.sqrt(distance) : distance;
+            }
+            for (int j = 0; j < sumNumerator.length; j++) {
+                final double newValue = sumNumerator[j] / sumDenominator;
+                totalChange[0] += Math.abs(clusters[c][j] - newValue);
+                clusters[c][j] = newValue;
+            }
+        }
+        return noise ? Math.sqrt(LAMBDA * (sumUpdate / (data.length * (clusters.length - 1)))) : delta;
+    }
+
+    private static double squaredDistance(final double[] cluster, final double[] row, final boolean ignoreMissing) {
+        double distance = 0;
+        for (int j = 0; j < cluster.length; j++) {
+            if (!ignoreMissing || !Double.isNaN(row[j])) {
+                final double diff = cluster[j] - row[j];
+                distance += diff * diff;
+            }
+        }
+        return distance;
+    }
+}
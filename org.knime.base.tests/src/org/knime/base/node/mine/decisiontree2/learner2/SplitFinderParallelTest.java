@@ -0,0 +1,245 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.decisiontree2.learner2;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests that the split search on presorted tables within a thread pool grows the same tree as the sequential split
+ * search.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class SplitFinderParallelTest {
+
+    private static final int NUM_ROWS = 3000;
+
+    private static final int NUM_NUMERIC = 4;
+
+    private static final int NUM_NOMINAL = 2;
+
+    private static final int MIN_OBJECTS = 5;
+
+    /**
+     * Tests the Gini index with binary nominal splits on data with missing values.
+     */
+    @Test
+    public void testGiniBinaryNominal() {
+        assertSameTree(new SplitQualityGini(), true, false, 42, 50, true);
+    }
+
+    /**
+     * Tests the gain ratio with normal nominal splits and averaged split points on data with missing values.
+     */
+    @Test
+    public void testGainRatioNormalNominal() {
+        assertSameTree(new SplitQualityGainRatio(), false, true, 7, 50, true);
+    }
+
+    /**
+     * Tests that presorting gives the same tree as sorting the rows in every node. The data has no missing values as
+     * the fractional weights of rows with missing values are summed up in row order, which differs between both
+     * approaches, and the purity check compares these sums exactly.
+     */
+    @Test
+    public void testPresortedEqualsUnsorted() {
+        assertSameTree(new SplitQualityGini(), true, false, 13, 0, false);
+        assertSameTree(new SplitQualityGainRatio(), false, true, 17, 0, false);
+    }
+
+    /**
+     * Tests that the presorted row indices order tied values by row and put the missing values last in row order, in
+     * the root as well as in all partitions.
+     */
+    @Test
+    public void testPresortIsStable() {
+        final InMemoryTable table = createTable(23, 10);
+        table.presortNumericAttributes();
+        describe(table, new SplitQualityGini(), true, false, null, true);
+    }
+
+    /**
+     * Grows the tree sequentially (presorted or not) and compares it to the tree grown on a presorted table within
+     * a thread pool.
+     *
+     * @param missingRatio one in missingRatio values is missing, 0 for no missing values
+     */
+    private static void assertSameTree(final SplitQualityMeasure measure, final boolean binaryNominal,
+        final boolean averageSplitpoint, final long seed, final int missingRatio, final boolean presortSequential) {
+        final InMemoryTable sequentialTable = createTable(seed, missingRatio);
+        if (presortSequential) {
+            sequentialTable.presortNumericAttributes();
+        }
+        final String expected = describe(sequentialTable, measure, binaryNominal, averageSplitpoint, null, false);
+
+        final InMemoryTable presortedTable = createTable(seed, missingRatio);
+        presortedTable.presortNumericAttributes();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4);
+        final String actual = describe(presortedTable, measure, binaryNominal, averageSplitpoint, pool, false);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Grows the tree as the learner does (without pruning) and returns a description of it.
+     *
+     * @param pool the pool for the split search, <code>null</code> for the sequential search
+     * @param checkSortOrder whether to check the presorted row indices in every node
+     */
+    private static String describe(final InMemoryTable table, final SplitQualityMeasure measure,
+        final boolean binaryNominal, final boolean averageSplitpoint, final ThreadPool pool,
+        final boolean checkSortOrder) {
+        if (checkSortOrder) {
+            assertStableSortOrder(table);
+        }
+        if (table.isPureEnough()) {
+            return leaf(table);
+        }
+        final Split split =
+            new SplitFinder(table, measure, averageSplitpoint, MIN_OBJECTS, binaryNominal, 1000, pool).getSplit();
+        if (split == null || !split.isValidSplit()) {
+            return leaf(table);
+        }
+        final Partitioner partitioner = new Partitioner(table, split, MIN_OBJECTS);
+        if (!partitioner.couldBeUsefulPartitioned()) {
+            return leaf(table);
+        }
+        final InMemoryTable[] partitions;
+        try {
+            partitions = partitioner.getPartitionTables();
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        final StringBuilder sb = new StringBuilder("split(").append(split.getAttributeIndex()).append(", ")
+            .append(String.format("%.9f", split.getBestQualityMeasure()));
+        if (split instanceof SplitContinuous) {
+            sb.append(", ").append(((SplitContinuous)split).getBestSplitValue());
+        }
+        sb.append(")[");
+        for (final InMemoryTable partition : partitions) {
+            sb.append(describe(partition, measure, binaryNominal, averageSplitpoint, pool, checkSortOrder))
+                .append(';');
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Compares the presorted row indices of all numeric attributes with the order of a stable sort by value, missing
+     * values last.
+     */
+    private static void assertStableSortOrder(final InMemoryTable table) {
+        final List<double[]> rows = new ArrayList<>();
+        for (final Iterator<DataRowWeighted> it = table.iterator(); it.hasNext();) {
+            final DataRowWeighted row = it.next();
+            final double[] values = new double[NUM_NUMERIC];
+            for (int i = 0; i < NUM_NUMERIC; i++) {
+                values[i] = row.getValue(i);
+            }
+            rows.add(values);
+        }
+        for (int i = 0; i < NUM_NUMERIC; i++) {
+            final int attributeIndex = i;
+            final List<Integer> expected = new ArrayList<>();
+            for (int r = 0; r < rows.size(); r++) {
+                expected.add(r);
+            }
+            // List.sort is stable; NaN compares greater than all other values
+            expected.sort((r1, r2) -> Double.compare(rows.get(r1)[attributeIndex], rows.get(r2)[attributeIndex]));
+            assertArrayEquals("Sort order of attribute " + attributeIndex,
+                expected.stream().mapToInt(Integer::intValue).toArray(), table.getSortedRowIndices(attributeIndex));
+        }
+    }
+
+    private static String leaf(final InMemoryTable table) {
+        return "leaf(" + table.getMajorityClass() + ", " + table.getNumberDataRows() + ", "
+            + String.format("%.9f", table.getSumOfWeights()) + ")";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static InMemoryTable createTable(final long seed, final int missingRatio) {
+        final Random random = new Random(seed);
+        final int numAttributes = NUM_NUMERIC + NUM_NOMINAL;
+        final ValueMapper<DataCell>[] nominalMappers = new ValueMapper[numAttributes];
+        final ValueMapper<String> attributeNames = new ValueMapper<>();
+        for (int i = 0; i < numAttributes; i++) {
+            attributeNames.getIndexMayBeAdded("attr" + i);
+            if (i >= NUM_NUMERIC) {
+                nominalMappers[i] = new ValueMapper<>();
+            }
+        }
+        final ValueMapper<DataCell> classMapper = new ValueMapper<>();
+        final InMemoryTable table = new InMemoryTable(nominalMappers, classMapper, attributeNames, MIN_OBJECTS);
+        for (int r = 0; r < NUM_ROWS; r++) {
+            final double[] values = new double[numAttributes];
+            for (int i = 0; i < NUM_NUMERIC; i++) {
+                // few distinct values to get ties, some missing values
+                final boolean missing = missingRatio > 0 && random.nextInt(missingRatio) == 0;
+                values[i] = missing ? Double.NaN : random.nextInt(40 * (i + 1));
+            }
+            for (int i = NUM_NUMERIC; i < numAttributes; i++) {
+                values[i] = nominalMappers[i].getIndexMayBeAdded(new StringCell("v" + random.nextInt(5)));
+            }
+            // the class depends on some attributes plus noise
+            final int cls = random.nextInt(10) == 0 ? random.nextInt(3)
+                : (values[0] > 15 ? 1 : 0) + (values[NUM_NUMERIC] == 0 ? 1 : 0);
+            table.addRow(new DataRowWeighted(
+                new ClassValueDataRow(values, classMapper.getIndexMayBeAdded(new StringCell("c" + cls))), 1.0));
+        }
+        table.pack();
+        return table;
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.regression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.commons.math3.stat.regression.ModelSpecificationException;
+import org.apache.commons.math3.stat.regression.RegressionResults;
+import org.junit.Test;
+
+/**
+ * Tests that merging the {@link RegressionQRFactor}s of chunks of rows gives the estimates of the whole data.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class RegressionQRFactorTest {
+
+    // Longley data (response first), see http://www.itl.nist.gov/div898/strd/lls/data/Longley.shtml
+    private static final double[][] LONGLEY = {
+        {60323, 83.0, 234289, 2356, 1590, 107608, 1947},
+        {61122, 88.5, 259426, 2325, 1456, 108632, 1948},
+        {60171, 88.2, 258054, 3682, 1616, 109773, 1949},
+        {61187, 89.5, 284599, 3351, 1650, 110929, 1950},
+        {63221, 96.2, 328975, 2099, 3099, 112075, 1951},
+        {63639, 98.1, 346999, 1932, 3594, 113270, 1952},
+        {64989, 99.0, 365385, 1870, 3547, 115094, 1953},
+        {63761, 100.0, 363112, 3578, 3350, 116219, 1954},
+        {66019, 101.2, 397469, 2904, 3048, 117388, 1955},
+        {67857, 104.6, 419180, 2822, 2857, 118734, 1956},
+        {68169, 108.4, 442769, 2936, 2798, 120445, 1957},
+        {66513, 110.8, 444546, 4681, 2637, 121950, 1958},
+        {68655, 112.6, 482704, 3813, 2552, 123366, 1959},
+        {69564, 114.2, 502601, 3931, 2514, 125368, 1960},
+        {69331, 115.7, 518173, 4806, 2572, 127852, 1961},
+        {70551, 116.9, 554894, 4007, 2827, 130081, 1962}};
+
+    // certified values: intercept followed by the regressors in column order
+    private static final double[] LONGLEY_COEFFICIENTS = {-3482258.63459582, 15.0618722713733,
+        -0.358191792925910E-01, -2.02022980381683, -1.03322686717359, -0.511041056535807E-01, 1829.15146461355};
+
+    private static final double[] LONGLEY_STD_ERRORS = {890420.383607373, 84.9149257747669, 0.334910077722432E-01,
+        0.488399681651699, 0.214274163161675, 0.226073200069370, 455.478499142212};
+
+    private static final double LONGLEY_R_SQUARED = 0.995479004577296;
+
+    /**
+     * Tests the merged factors of chunks of every size on the Longley data against the certified values of NIST.
+     */
+    @Test
+    public void testLongley() {
+        for (int chunkSize = 1; chunkSize <= LONGLEY.length; chunkSize++) {
+            final RegressionResults result = factorize(LONGLEY, chunkSize, true).regress();
+            final String prefix = "Chunk size " + chunkSize + ", ";
+            assertEquals(prefix + "observations", LONGLEY.length, result.getN());
+            for (int i = 0; i < LONGLEY_COEFFICIENTS.length; i++) {
+                assertRelativeEquals(prefix + "coefficient " + i, LONGLEY_COEFFICIENTS[i],
+                    result.getParameterEstimate(i), 1e-7);
+                assertRelativeEquals(prefix + "std. error " + i, LONGLEY_STD_ERRORS[i],
+                    result.getStdErrorOfEstimate(i), 1e-7);
+            }
+            assertRelativeEquals(prefix + "R squared", LONGLEY_R_SQUARED, result.getRSquared(), 1e-7);
+        }
+    }
+
+    /**
+     * Tests that the merged factors of chunks give the estimates of the unchunked factor on a badly conditioned
+     * polynomial model, with and without constant term.
+     */
+    @Test
+    public void testPolynomialChunks() {
+        final Random random = new Random(38);
+        final double[][] data = new double[3000][];
+        for (int r = 0; r < data.length; r++) {
+            final double x = 10 * random.nextDouble();
+            final double z = random.nextGaussian();
+            data[r] = new double[]{1 + x - 0.5 * x * x + 0.01 * x * x * x + 2 * z + random.nextGaussian(), x, x * x,
+                x * x * x, z};
+        }
+        for (final boolean includeConstant : new boolean[]{true, false}) {
+            final RegressionResults expected = factorize(data, data.length, includeConstant).regress();
+            for (final int chunkSize : new int[]{1, 7, 2048}) {
+                final RegressionResults result = factorize(data, chunkSize, includeConstant).regress();
+                final String prefix = "Constant " + includeConstant + ", chunk size " + chunkSize + ", ";
+                for (int i = 0; i < expected.getNumberOfParameters(); i++) {
+                    assertRelativeEquals(prefix + "coefficient " + i, expected.getParameterEstimate(i),
+                        result.getParameterEstimate(i), 1e-9);
+                    for (int j = 0; j < expected.getNumberOfParameters(); j++) {
+                        assertRelativeEquals(prefix + "covariance " + i + ", " + j,
+                            expected.getCovarianceOfParameters(i, j), result.getCovarianceOfParameters(i, j), 1e-9);
+                    }
+                }
+                assertRelativeEquals(prefix + "error sum of squares", expected.getErrorSumSquares(),
+                    result.getErrorSumSquares(), 1e-9);
+                assertRelativeEquals(prefix + "R squared", expected.getRSquared(), result.getRSquared(), 1e-12);
+            }
+        }
+    }
+
+    /**
+     * Tests that a regressor that duplicates an earlier one gets missing estimates in merged factors and the other
+     * estimates are those of the model without it.
+     */
+    @Test
+    public void testDependentColumn() {
+        final double[][] data = new double[40][];
+        final double[][] reducedData = new double[data.length][];
+        for (int i = 0; i < data.length; i++) {
+            final double x1 = i % 7;
+            final double x2 = (i * 5) % 11;
+            final double x3 = (i * i) % 13;
+            final double y = 3 + 2 * x1 - x2 + 0.5 * x3 + ((i * 3) % 5 - 2);
+            data[i] = new double[]{y, x1, x2, x1, x3};
+            reducedData[i] = new double[]{y, x1, x2, x3};
+        }
+        final RegressionResults reduced = factorize(reducedData, data.length, true).regress();
+        for (final int chunkSize : new int[]{3, data.length}) {
+            final RegressionResults result = factorize(data, chunkSize, true).regress();
+            assertTrue("Coefficient of the copy", Double.isNaN(result.getParameterEstimate(3)));
+            assertTrue("Std. error of the copy", Double.isNaN(result.getStdErrorOfEstimate(3)));
+            final int[] columns = {0, 1, 2, 4};
+            for (int i = 0; i < columns.length; i++) {
+                assertRelativeEquals("Coefficient " + columns[i], reduced.getParameterEstimate(i),
+                    result.getParameterEstimate(columns[i]), 1e-9);
+                assertRelativeEquals("Std. error " + columns[i], reduced.getStdErrorOfEstimate(i),
+                    result.getStdErrorOfEstimate(columns[i]), 1e-9);
+            }
+            assertRelativeEquals("R squared", reduced.getRSquared(), result.getRSquared(), 1e-12);
+        }
+    }
+
+    /**
+     * Tests that a model with as many coefficients as observations is rejected.
+     */
+    @Test(expected = ModelSpecificationException.class)
+    public void testNotEnoughData() {
+        final double[][] data = {{1, 2, 3}, {2, 5, 1}, {4, 1, 1}};
+        factorize(data, 1, true).regress();
+    }
+
+    /**
+     * Factorizes chunks of the rows (response first) and merges the factors in row order.
+     */
+    private static RegressionQRFactor factorize(final double[][] data, final int chunkSize,
+        final boolean includeConstant) {
+        final int regressorCount = data[0].length - 1;
+        final RegressionQRFactor factor = new RegressionQRFactor(regressorCount, includeConstant);
+        for (int start = 0; start < data.length; start += chunkSize) {
+            final RegressionQRFactor chunk = new RegressionQRFactor(regressorCount, includeConstant);
+            for (int r = start; r < Math.min(data.length, start + chunkSize); r++) {
+                final double[] x = new double[regressorCount];
+                System.arraycopy(data[r], 1, x, 0, regressorCount);
+                chunk.addObservation(x, data[r][0]);
+            }
+            factor.merge(chunk);
+        }
+        return factor;
+    }
+
+    private static void assertRelativeEquals(final String message, final double expected, final double actual,
+        final double tolerance) {
+        assertEquals(message, expected, actual, Math.abs(expected) * tolerance);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.regression.linear2.learner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DefaultTable;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.port.pmml.PMMLPortObjectSpec;
+import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.util.Pair;
+
+/**
+ * Tests the coefficients and standard errors of the linear regression {@link Learner}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class LearnerTest {
+
+    private static final String[] LONGLEY_COLUMNS =
+        {"Employed", "GNP.deflator", "GNP", "Unemployed", "Armed.Forces", "Population", "Year"};
+
+    // Longley data, see http://www.itl.nist.gov/div898/strd/lls/data/Longley.shtml
+    private static final double[][] LONGLEY = {
+        {60323, 83.0, 234289, 2356, 1590, 107608, 1947},
+        {61122, 88.5, 259426, 2325, 1456, 108632, 1948},
+        {60171, 88.2, 258054, 3682, 1616, 109773, 1949},
+        {61187, 89.5, 284599, 3351, 1650, 110929, 1950},
+        {63221, 96.2, 328975, 2099, 3099, 112075, 1951},
+        {63639, 98.1, 346999, 1932, 3594, 113270, 1952},
+        {64989, 99.0, 365385, 1870, 3547, 115094, 1953},
+        {63761, 100.0, 363112, 3578, 3350, 116219, 1954},
+        {66019, 101.2, 397469, 2904, 3048, 117388, 1955},
+        {67857, 104.6, 419180, 2822, 2857, 118734, 1956},
+        {68169, 108.4, 442769, 2936, 2798, 120445, 1957},
+        {66513, 110.8, 444546, 4681, 2637, 121950, 1958},
+        {68655, 112.6, 482704, 3813, 2552, 123366, 1959},
+        {69564, 114.2, 502601, 3931, 2514, 125368, 1960},
+        {69331, 115.7, 518173, 4806, 2572, 127852, 1961},
+        {70551, 116.9, 554894, 4007, 2827, 130081, 1962}};
+
+    // certified values: intercept followed by the regressors in column order
+    private static final double[] LONGLEY_COEFFICIENTS = {-3482258.63459582, 15.0618722713733,
+        -0.358191792925910E-01, -2.02022980381683, -1.03322686717359, -0.511041056535807E-01, 1829.15146461355};
+
+    private static final double[] LONGLEY_STD_ERRORS = {890420.383607373, 84.9149257747669, 0.334910077722432E-01,
+        0.488399681651699, 0.214274163161675, 0.226073200069370, 455.478499142212};
+
+    private static final double LONGLEY_R_SQUARED = 0.995479004577296;
+
+    /** The Longley data is ill-conditioned, the estimates agree with the certified values up to rounding. */
+    private static final double RELATIVE_TOLERANCE = 1e-7;
+
+    private ExecutionContext m_exec;
+
+    /**
+     * Creates the execution context.
+     */
+    @Before
+    public void setUp() {
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(new LinReg2LearnerNodeFactory2()),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<>());
+    }
+
+    /**
+     * Tests the coefficients, standard errors and R&sup2; on the Longley data against the certified values of NIST.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLongley() throws Exception {
+        final LinearRegressionContent content = learn(LONGLEY_COLUMNS, LONGLEY);
+        assertRelativeEquals("Intercept", LONGLEY_COEFFICIENTS[0], content.getIntercept());
+        assertRelativeEquals("Intercept std. error", LONGLEY_STD_ERRORS[0], content.getInterceptStdErr());
+        final Map<Pair<String, Integer>, Double> coefficients = content.getCoefficients();
+        final Map<Pair<String, Integer>, Double> stdErrors = content.getStandardErrors();
+        for (int i = 1; i < LONGLEY_COLUMNS.length; i++) {
+            final Pair<String, Integer> key = Pair.create(LONGLEY_COLUMNS[i], 1);
+            assertRelativeEquals(LONGLEY_COLUMNS[i], LONGLEY_COEFFICIENTS[i], coefficients.get(key));
+            assertRelativeEquals(LONGLEY_COLUMNS[i] + " std. error", LONGLEY_STD_ERRORS[i], stdErrors.get(key));
+        }
+        assertRelativeEquals("R squared", LONGLEY_R_SQUARED, content.getRSquared());
+    }
+
+    /**
+     * Tests that a column that duplicates an earlier one gets a missing coefficient and the other coefficients and
+     * standard errors are those of the model without it.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCollinearColumn() throws Exception {
+        final String[] columns = {"y", "x1", "x2", "x1 copy", "x3"};
+        final double[][] data = new double[40][];
+        for (int i = 0; i < data.length; i++) {
+            final double x1 = i % 7;
+            final double x2 = (i * 5) % 11;
+            final double x3 = (i * i) % 13;
+            data[i] = new double[]{3 + 2 * x1 - x2 + 0.5 * x3 + ((i * 3) % 5 - 2), x1, x2, x1, x3};
+        }
+        final LinearRegressionContent content = learn(columns, data);
+
+        final double[][] reducedData = new double[data.length][];
+        for (int i = 0; i < data.length; i++) {
+            reducedData[i] = new double[]{data[i][0], data[i][1], data[i][2], data[i][4]};
+        }
+        final LinearRegressionContent reduced = learn(new String[]{"y", "x1", "x2", "x3"}, reducedData);
+
+        final Pair<String, Integer> copy = Pair.create("x1 copy", 1);
+        assertTrue("Coefficient of the copy: " + content.getCoefficients().get(copy),
+            Double.isNaN(content.getCoefficients().get(copy)));
+        assertTrue("Std. error of the copy: " + content.getStandardErrors().get(copy),
+            Double.isNaN(content.getStandardErrors().get(copy)));
+        assertRelativeEquals("Intercept", reduced.getIntercept(), content.getIntercept());
+        assertRelativeEquals("Intercept std. error", reduced.getInterceptStdErr(), content.getInterceptStdErr());
+        for (final String column : new String[]{"x1", "x2", "x3"}) {
+            final Pair<String, Integer> key = Pair.create(column, 1);
+            assertRelativeEquals(column, reduced.getCoefficients().get(key), content.getCoefficients().get(key));
+            assertRelativeEquals(column + " std. error", reduced.getStandardErrors().get(key),
+                content.getStandardErrors().get(key));
+        }
+        assertRelativeEquals("R squared", reduced.getRSquared(), content.getRSquared());
+    }
+
+    /**
+     * Learns a model with the first column as target and the others as regressors.
+     */
+    private LinearRegressionContent learn(final String[] columns, final double[][] data) throws Exception {
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            colSpecs[i] = new DataColumnSpecCreator(columns[i], DoubleCell.TYPE).createSpec();
+        }
+        final DataRow[] rows = new DataRow[data.length];
+        for (int r = 0; r < data.length; r++) {
+            final DataCell[] cells = new DataCell[columns.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new DoubleCell(data[r][i]);
+            }
+            rows[r] = new DefaultRow(RowKey.createRowKey((long)r), cells);
+        }
+        final BufferedDataTable table =
+            m_exec.createBufferedDataTable(new DefaultTable(rows, new DataTableSpec(colSpecs)), m_exec);
+        final PMMLPortObjectSpecCreator specCreator = new PMMLPortObjectSpecCreator(table.getDataTableSpec());
+        final List<String> learningColumns = new ArrayList<String>(Arrays.asList(columns).subList(1, columns.length));
+        specCreator.setLearningColsNames(learningColumns);
+        specCreator.setTargetColName(columns[0]);
+        final PMMLPortObjectSpec spec = specCreator.createSpec();
+        return new Learner(spec, true, 0.0, true).perform(table, m_exec);
+    }
+
+    private static void assertRelativeEquals(final String message, final double expected, final double actual) {
+        assertEquals(message, expected, actual, Math.abs(expected) * RELATIVE_TOLERANCE);
+    }
+}
@@ -118,6 +118,29 @@ public void testFeatureIterator() throws Exception {
         assertFalse(fi.next());
     }
 
+    /**
+     * Tests the {@link FeatureIterator} of a dense row, i.e. a row whose indices are not stored explicitly.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDenseFeatureIterator() throws Exception {
+        SparseClassificationTrainingRow row =
+            new SparseClassificationTrainingRow(VALUES, new int[]{0, 1, 2, 3}, ID, CATEGORY);
+        FeatureIterator fi = row.getFeatureIterator();
+        for (int i = 0; i < VALUES.length; i++) {
+            assertTrue(fi.next());
+            assertEquals(i, fi.getFeatureIndex());
+            assertEquals(VALUES[i], fi.getFeatureValue(), 0);
+            if (i == 2) {
+                FeatureIterator sfi = fi.spawn();
+                assertEquals(i - 1, sfi.getFeatureIndex());
+                assertEquals(VALUES[i - 1], sfi.getFeatureValue(), 0);
+            }
+        }
+        assertFalse(fi.next());
+    }
+
     /**
      * Tests the toString method.
      *
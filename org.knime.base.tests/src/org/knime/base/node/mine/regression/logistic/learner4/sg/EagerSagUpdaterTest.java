@@ -106,4 +106,34 @@ public void testUpdate() throws Exception {
         assertArrayEquals(expectedBeta, beta.getWeightVector());
 
     }
+
+    @Test
+    public void testAccumulateAndStep() throws Exception {
+        EagerSagUpdaterFactory<TrainingRow> factory = new EagerSagUpdaterFactory<TrainingRow>(3, 3, 2);
+        EagerSagUpdater<TrainingRow> sequential = factory.create();
+        EagerSagUpdater<TrainingRow> batched = factory.create();
+        MockClassificationTrainingRow[] mockRows = new MockClassificationTrainingRow[]{
+            new MockClassificationTrainingRow(new double[]{1, 1}, 0, 0),
+            new MockClassificationTrainingRow(new double[]{2, 3}, 1, 1),
+        };
+        SimpleWeightMatrix<TrainingRow> sequentialBeta = new SimpleWeightMatrix<TrainingRow>(3, 2, true);
+        SimpleWeightMatrix<TrainingRow> batchedBeta = new SimpleWeightMatrix<TrainingRow>(3, 2, true);
+
+        // a single row is the same as a regular update
+        double[] gradient = new double[]{3, -2};
+        sequential.update(mockRows[0], gradient, sequentialBeta, 1.0, 0);
+        batched.accumulate(mockRows[0], gradient);
+        batched.step(batchedBeta, 1.0);
+        assertArrayEquals(sequentialBeta.getWeightVector(), batchedBeta.getWeightVector());
+
+        // a batch of two rows results in a single step with the accumulated gradients
+        batched.accumulate(mockRows[1], new double[]{1, 2});
+        batched.accumulate(mockRows[0], new double[]{0, 2});
+        batched.step(batchedBeta, 2.0);
+        double[][] expectedBeta = new double[][]{
+            {-4.0, -5.0, -6.0},
+            {-2.0, -4.0, -6.0}
+        };
+        assertArrayEquals(expectedBeta, batchedBeta.getWeightVector());
+    }
 }
@@ -0,0 +1,239 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.sg.EagerSagUpdater.EagerSagUpdaterFactory;
+
+/**
+ * Contains unit tests for the {@link MiniBatchSgOptimizer}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class MiniBatchSgOptimizerTest {
+
+    private static final int N_ROWS = 300;
+
+    private static final int N_FEATURES = 4;
+
+    private static final int N_CATS = 3;
+
+    private static final int MAX_EPOCH = 20;
+
+    /**
+     * Tests that a batch size of 1 reproduces the sequential optimizer with a Gauss prior.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchSizeOneEqualsSequentialGauss() throws Exception {
+        assertBatchSizeOneEqualsSequential(new GaussPrior(0.5));
+    }
+
+    /**
+     * Tests that a batch size of 1 reproduces the sequential optimizer with a Laplace prior.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchSizeOneEqualsSequentialLaplace() throws Exception {
+        assertBatchSizeOneEqualsSequential(new LaplacePrior(0.5));
+    }
+
+    /**
+     * Tests that batches whose gradients are calculated in several tasks give reproducible results.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLargeBatchesAreDeterministic() throws Exception {
+        final LogRegLearnerResult first = optimize(new MockTrainingData(5), new GaussPrior(0.5), 150);
+        final LogRegLearnerResult second = optimize(new MockTrainingData(5), new GaussPrior(0.5), 150);
+        assertEquals(first.getIter(), second.getIter());
+        assertArrayEquals(first.getBeta().getData(), second.getBeta().getData());
+    }
+
+    /**
+     * Tests that the prior steps of an epoch sum up to the same total for all batch sizes, i.e. that the prior is not
+     * weakened by larger batches.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPriorStepIsScaledByBatchSize() throws Exception {
+        for (final int batchSize : new int[]{1, 7, 150, N_ROWS}) {
+            final MockTrainingData data = new MockTrainingData(11);
+            final RecordingRegularizationUpdater regUpdater = new RecordingRegularizationUpdater();
+            new MiniBatchSgOptimizer<>(data, MultinomialLoss.INSTANCE,
+                new EagerSagUpdaterFactory<>(N_ROWS, N_FEATURES + 1, N_CATS - 1), regUpdater,
+                new FixedLearningRateStrategy<>(0.1),
+                new BetaChangeStoppingCriterion<>(N_FEATURES + 1, N_CATS - 1, 1e-5), false, batchSize)
+                    .optimize(1, data, new MockProgress());
+            assertEquals("Batch size " + batchSize, N_ROWS * 0.1, regUpdater.m_stepSizeSum, 1e-9);
+        }
+    }
+
+    private static void assertBatchSizeOneEqualsSequential(final Prior prior) throws Exception {
+        final MockTrainingData sequentialData = new MockTrainingData(3);
+        final EagerSgOptimizer<ClassificationTrainingRow, MiniBatchUpdater<ClassificationTrainingRow>,
+            RegularizationUpdater> sequential = new EagerSgOptimizer<>(sequentialData, MultinomialLoss.INSTANCE,
+                new EagerSagUpdaterFactory<>(N_ROWS, N_FEATURES + 1, N_CATS - 1),
+                new EagerPriorUpdater(prior, N_ROWS, true), new FixedLearningRateStrategy<>(0.1),
+                new BetaChangeStoppingCriterion<>(N_FEATURES + 1, N_CATS - 1, 1e-5), false);
+        final LogRegLearnerResult expected = sequential.optimize(MAX_EPOCH, sequentialData, new MockProgress());
+
+        final LogRegLearnerResult actual = optimize(new MockTrainingData(3), prior, 1);
+        assertEquals(expected.getIter(), actual.getIter());
+        assertArrayEquals(expected.getBeta().getData(), actual.getBeta().getData());
+    }
+
+    private static LogRegLearnerResult optimize(final MockTrainingData data, final Prior prior, final int batchSize)
+        throws Exception {
+        final MiniBatchSgOptimizer<ClassificationTrainingRow, RegularizationUpdater> optimizer =
+            new MiniBatchSgOptimizer<>(data, MultinomialLoss.INSTANCE,
+                new EagerSagUpdaterFactory<>(N_ROWS, N_FEATURES + 1, N_CATS - 1),
+                new EagerPriorUpdater(prior, N_ROWS, true), new FixedLearningRateStrategy<>(0.1),
+                new BetaChangeStoppingCriterion<>(N_FEATURES + 1, N_CATS - 1, 1e-5), false, batchSize);
+        return optimizer.optimize(MAX_EPOCH, data, new MockProgress());
+    }
+
+    /**
+     * Random classification data whose rows are drawn from a seeded random source.
+     */
+    private static final class MockTrainingData implements TrainingData<ClassificationTrainingRow> {
+
+        private final List<ClassificationTrainingRow> m_rows = new ArrayList<>();
+
+        private final Random m_random;
+
+        MockTrainingData(final long seed) {
+            final Random data = new Random(42);
+            for (int i = 0; i < N_ROWS; i++) {
+                final double[] features = new double[N_FEATURES];
+                for (int j = 0; j < N_FEATURES; j++) {
+                    features[j] = data.nextGaussian();
+                }
+                final int category = features[0] + 0.5 * data.nextGaussian() > 0.5 ? 2
+                    : (features[1] > 0 ? 1 : 0);
+                m_rows.add(new MockClassificationTrainingRow(features, i, category));
+            }
+            m_random = new Random(seed);
+        }
+
+        @Override
+        public Iterator<ClassificationTrainingRow> iterator() {
+            return m_rows.iterator();
+        }
+
+        @Override
+        public int getRowCount() {
+            return m_rows.size();
+        }
+
+        @Override
+        public int getFeatureCount() {
+            return N_FEATURES + 1;
+        }
+
+        @Override
+        public int getTargetDimension() {
+            return N_CATS - 1;
+        }
+
+        @Override
+        public ClassificationTrainingRow getRandomRow() {
+            return m_rows.get(m_random.nextInt(m_rows.size()));
+        }
+    }
+
+    /**
+     * Sums up the step sizes of the prior updates without changing the coefficients.
+     */
+    private static final class RecordingRegularizationUpdater implements RegularizationUpdater {
+
+        private double m_stepSizeSum;
+
+        @Override
+        public void update(final WeightMatrix<?> beta, final double stepSize, final int iteration) {
+            m_stepSizeSum += stepSize;
+        }
+
+        @Override
+        public RealMatrix hessian(final WeightMatrix<?> beta) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class MockProgress implements Progress {
+
+        @Override
+        public void setProgress(final double progress) {
+            // not needed
+        }
+
+        @Override
+        public void setProgress(final double progress, final String message) {
+            // not needed
+        }
+
+        @Override
+        public void checkCanceled() {
+            // never canceled
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.scorer.accuracy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.node.mine.scorer.accuracy.AccuracyScorerCalculator.ScorerCalculatorConfiguration;
+import org.knime.base.node.preproc.sorter.SorterNodeFactory;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomainCreator;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests that the {@link AccuracyScorerCalculator} counts and remembers the row keys of all confusion matrix cells
+ * when the table is split into several chunks.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class AccuracyScorerCalculatorTest {
+
+    private static final String[] VALUES = {"a", "b", "c"};
+
+    private static ExecutionContext EXEC_CONTEXT;
+
+    /**
+     * Creates the execution context.
+     */
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        EXEC_CONTEXT = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(new SorterNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Compares counts and key store with a sequential computation on a table with missing values and several chunks.
+     *
+     * @throws Exception if the calculation fails
+     */
+    @Test
+    public void testKeyStoreMatchesSequentialComputation() throws Exception {
+        final int rowCount = 25000;
+        final DataCell[] domain = new DataCell[VALUES.length];
+        for (int i = 0; i < VALUES.length; i++) {
+            domain[i] = new StringCell(VALUES[i]);
+        }
+        final DataColumnDomainCreator domainCreator = new DataColumnDomainCreator(domain);
+        final DataColumnSpecCreator actual = new DataColumnSpecCreator("actual", StringCell.TYPE);
+        actual.setDomain(domainCreator.createDomain());
+        final DataColumnSpecCreator predicted = new DataColumnSpecCreator("predicted", StringCell.TYPE);
+        predicted.setDomain(domainCreator.createDomain());
+        final DataTableSpec spec = new DataTableSpec(actual.createSpec(), predicted.createSpec());
+
+        @SuppressWarnings("unchecked")
+        final List<RowKey>[][] expectedKeys = new List[VALUES.length][VALUES.length];
+        for (int i = 0; i < VALUES.length; i++) {
+            for (int j = 0; j < VALUES.length; j++) {
+                expectedKeys[i][j] = new ArrayList<RowKey>();
+            }
+        }
+        final Random random = new Random(42);
+        final BufferedDataContainer container = EXEC_CONTEXT.createDataContainer(spec);
+        for (int r = 0; r < rowCount; r++) {
+            final int i = random.nextInt(VALUES.length);
+            final int j = random.nextInt(VALUES.length);
+            final boolean missing = random.nextInt(50) == 0;
+            // keys of varying length, including non ASCII characters
+            final RowKey key = new RowKey("Row" + r + (r % 7 == 0 ? "\u00e4\u20ac" : "") + (r % 11 == 0 ? "x" : ""));
+            final DataCell cell2 = missing ? DataType.getMissingCell() : domain[j];
+            container.addRowToTable(new DefaultRow(key, domain[i], cell2));
+            if (!missing) {
+                expectedKeys[i][j].add(key);
+            }
+        }
+        container.close();
+        final BufferedDataTable table = container.getTable();
+
+        final AccuracyScorerCalculator calc = AccuracyScorerCalculator.createCalculator(table, "actual",
+            "predicted", new ScorerCalculatorConfiguration(), EXEC_CONTEXT);
+
+        // the order of the matrix is given by the row keys of the confusion matrix
+        final int[] order = new int[VALUES.length];
+        int k = 0;
+        for (DataRow row : calc.getConfusionMatrixTable(EXEC_CONTEXT)) {
+            order[k] = Arrays.asList(VALUES).indexOf(row.getKey().getString());
+            for (int c = 0; c < VALUES.length; c++) {
+                assertEquals("Count in row " + k, expectedKeys[order[k]][order[c]].size(),
+                    ((IntCell)row.getCell(c)).getIntValue());
+            }
+            k++;
+        }
+
+        final List<RowKey>[][] keyStore = calc.getKeyStore();
+        for (int i = 0; i < VALUES.length; i++) {
+            for (int j = 0; j < VALUES.length; j++) {
+                assertEquals("Keys of cell " + i + "," + j, expectedKeys[order[i]][order[j]], keyStore[i][j]);
+            }
+        }
+
+        final List<RowKey>[][] secondKeyStore = calc.getKeyStore();
+        assertNotSame(keyStore, secondKeyStore);
+        assertEquals(Arrays.deepToString(keyStore), Arrays.deepToString(secondKeyStore));
+    }
+}
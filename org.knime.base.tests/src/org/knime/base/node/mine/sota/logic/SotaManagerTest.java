@@ -0,0 +1,226 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.sota.logic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.mine.sota.distances.DistanceManager;
+import org.knime.base.node.mine.sota.distances.DistanceManagerFactory;
+import org.knime.base.node.util.DataArray;
+import org.knime.base.node.util.DefaultDataArray;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTable;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DefaultTable;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests the distances on the cached row values of the {@link SotaManager} and that computing the resources and
+ * variabilities in a thread pool trains the same tree.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class SotaManagerTest {
+
+    private static final String[] DISTANCES = {DistanceManagerFactory.EUCLIDEAN_DIST, DistanceManagerFactory.COS_DIST};
+
+    private static final DataTable TABLE = createTable();
+
+    /**
+     * Three clusters of rows with three double columns, some rows have missing values.
+     */
+    private static DataTable createTable() {
+        final Random random = new Random(39);
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[3];
+        for (int i = 0; i < colSpecs.length; i++) {
+            colSpecs[i] = new DataColumnSpecCreator("col" + i, DoubleCell.TYPE).createSpec();
+        }
+        final DataRow[] rows = new DataRow[300];
+        for (int r = 0; r < rows.length; r++) {
+            final DataCell[] cells = new DataCell[colSpecs.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = random.nextInt(100) == 0 ? DataType.getMissingCell()
+                    : new DoubleCell(5 * ((r + i) % 3) + 4 * random.nextDouble());
+            }
+            rows[r] = new DefaultRow(RowKey.createRowKey((long)r), cells);
+        }
+        return new DefaultTable(rows, new DataTableSpec(colSpecs));
+    }
+
+    /**
+     * Tests the distances between the cached row values and the cells and between two rows against those of the
+     * distance manager on the rows.
+     *
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public void testCachedDistances() throws CanceledExecutionException {
+        for (final String distance : DISTANCES) {
+            final SotaManager sota = createManager(distance, false, null);
+            for (int i = 0; i < 8; i++) {
+                sota.doCycle();
+            }
+            final DistanceManager distanceManager = DistanceManagerFactory.createDistanceManager(distance, false, 1);
+            final ArrayList<SotaTreeCell> cells = new ArrayList<>();
+            SotaManager.getCells(cells, sota.getRoot());
+            final DataArray data = sota.getInDataContainer();
+            for (int index = 0; index < data.size(); index++) {
+                final DataRow row = data.getRow(index);
+                if (SotaUtil.hasMissingValues(row)) {
+                    continue;
+                }
+                for (final SotaTreeCell cell : cells) {
+                    assertEquals(distance + " distance of row " + index + " to a cell",
+                        distanceManager.getDistance(row, cell), sota.getDistance(index, cell), 1e-12);
+                }
+                for (int other = 0; other < data.size(); other += 7) {
+                    if (!SotaUtil.hasMissingValues(data.getRow(other))) {
+                        assertEquals(distance + " distance of rows " + index + " and " + other,
+                            distanceManager.getDistance(row, data.getRow(other)), sota.getDistance(index, other),
+                            1e-12);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests that the resources and variabilities of the cells computed in a thread pool are those computed in the
+     * calling thread.
+     *
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public void testParallelResourcesAndVariabilities() throws CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4);
+        for (final String distance : DISTANCES) {
+            final SotaManager sota = createManager(distance, true, null);
+            for (int i = 0; i < 8; i++) {
+                sota.doCycle();
+            }
+            final ArrayList<SotaTreeCell> cells = new ArrayList<>();
+            SotaManager.getCells(cells, sota.getRoot());
+            final double[] expectedResources = sota.computeResources(cells);
+            final double[] expectedVariabilities = new double[cells.size()];
+            for (int i = 0; i < cells.size(); i++) {
+                expectedVariabilities[i] = sota.getVariability(cells.get(i).getDataIds());
+            }
+
+            sota.setThreadPool(pool);
+            assertArrayEquals(distance + " resources", expectedResources, sota.computeResources(cells), 0.0);
+            for (int i = 0; i < cells.size(); i++) {
+                assertEquals(distance + " variability of cell " + i, expectedVariabilities[i],
+                    sota.getVariability(cells.get(i).getDataIds()), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Tests that training with a thread pool gives the tree trained in the calling thread, with the resource and the
+     * variability as criterion.
+     *
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public void testParallelTraining() throws CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4);
+        for (final String distance : DISTANCES) {
+            for (final boolean useVariability : new boolean[]{false, true}) {
+                final SotaManager expected = createManager(distance, useVariability, null);
+                expected.doTraining();
+                final SotaManager actual = createManager(distance, useVariability, pool);
+                actual.doTraining();
+                assertTreeEquals(distance + (useVariability ? " variability" : " resource") + ", root",
+                    expected.getRoot(), actual.getRoot());
+            }
+        }
+    }
+
+    private static SotaManager createManager(final String distance, final boolean useVariability,
+        final ThreadPool pool) throws CanceledExecutionException {
+        final SotaManager sota = new SotaManager();
+        sota.setDistance(distance);
+        sota.setUseVariability(useVariability);
+        final boolean euclidean = DistanceManagerFactory.EUCLIDEAN_DIST.equals(distance);
+        sota.setMinResource(euclidean ? 20 : 0.2);
+        sota.setMinVariability(euclidean ? 4 : 0.05);
+        sota.setThreadPool(pool);
+        sota.initializeTree(TABLE, new DefaultDataArray(TABLE, 1, Integer.MAX_VALUE), new ExecutionMonitor(), -1);
+        return sota;
+    }
+
+    private static void assertTreeEquals(final String path, final SotaTreeCell expected,
+        final SotaTreeCell actual) {
+        assertEquals(path + " is cell", expected.isCell(), actual.isCell());
+        assertEquals(path + " level", expected.getLevel(), actual.getLevel());
+        assertEquals(path + " resource", expected.getResource(), actual.getResource(), 0.0);
+        assertEquals(path + " variability", expected.getMaxDistance(), actual.getMaxDistance(), 0.0);
+        assertEquals(path + " data ids", expected.getDataIds(), actual.getDataIds());
+        assertEquals(path + " dimension", expected.getData().length, actual.getData().length);
+        for (int i = 0; i < expected.getData().length; i++) {
+            assertEquals(path + " value " + i, expected.getData()[i].getValue(), actual.getData()[i].getValue(), 0.0);
+        }
+        if (!expected.isCell()) {
+            assertTreeEquals(path + ".left", expected.getLeft(), actual.getLeft());
+            assertTreeEquals(path + ".right", expected.getRight(), actual.getRight());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.data.vector.bitvector.DenseBitVectorCellFactory;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Tests that {@link EclatApriori} finds the same frequent itemsets (free, closed and maximal) with the same supports
+ * and the same association rules as {@link ArrayApriori}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class EclatAprioriTest {
+
+    /**
+     * Tests seeded random databases of varying size, density and number of items.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRandomDatabases() throws Exception {
+        final Random random = new Random(1);
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4);
+        for (int i = 0; i < 100; i++) {
+            final int nrItems = 1 + random.nextInt(14);
+            final int dbSize = 1 + random.nextInt(300);
+            final double density = random.nextDouble();
+            // items that are in every transaction lead to non-closed itemsets
+            final int nrAlwaysSet = random.nextInt(3);
+            final List<BitVectorValue> transactions = new ArrayList<BitVectorValue>();
+            for (int t = 0; t < dbSize; t++) {
+                final int kind = random.nextInt(10);
+                if (kind == 0) {
+                    transactions.add(createTransaction(nrItems));
+                } else if (kind == 1) {
+                    transactions.add(createTransaction(nrItems, random.nextInt(nrItems)));
+                } else {
+                    final List<Integer> items = new ArrayList<Integer>();
+                    for (int item = 0; item < nrItems; item++) {
+                        if (item < nrAlwaysSet || random.nextDouble() < density) {
+                            items.add(item);
+                        }
+                    }
+                    transactions.add(createTransaction(nrItems, toArray(items)));
+                }
+            }
+            final double minSupport = 0.01 + random.nextDouble() * 0.5;
+            final int maxDepth = 1 + random.nextInt(6);
+            final double confidence = random.nextDouble();
+            assertSameResult("Database " + i, transactions, nrItems, minSupport, maxDepth, confidence, pool);
+        }
+    }
+
+    /**
+     * Tests a database that consists of empty and single item transactions only.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEmptyAndSingleItemTransactions() throws Exception {
+        final List<BitVectorValue> transactions = new ArrayList<BitVectorValue>();
+        for (int t = 0; t < 50; t++) {
+            transactions.add(t % 5 == 0 ? createTransaction(4) : createTransaction(4, t % 3));
+        }
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(2);
+        assertSameResult("Empty and single items", transactions, 4, 0.1, 5, 0.0, pool);
+        transactions.clear();
+        for (int t = 0; t < 10; t++) {
+            transactions.add(createTransaction(4));
+        }
+        assertSameResult("Empty transactions", transactions, 4, 0.1, 5, 0.0, pool);
+    }
+
+    /**
+     * Tests a database that is large enough for the branches below the frequent items to be mined in parallel, too.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testLargeDatabase() throws Exception {
+        final Random random = new Random(3);
+        final int nrItems = 16;
+        final List<BitVectorValue> transactions = new ArrayList<BitVectorValue>();
+        for (int t = 0; t < 20000; t++) {
+            final List<Integer> items = new ArrayList<Integer>();
+            for (int item = 0; item < nrItems; item++) {
+                if (random.nextDouble() < 0.3 + 0.03 * item) {
+                    items.add(item);
+                }
+            }
+            transactions.add(createTransaction(nrItems, toArray(items)));
+        }
+        assertSameResult("Large database", transactions, nrItems, 0.05, 4, 0.5,
+            KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(4));
+    }
+
+    private static void assertSameResult(final String name, final List<BitVectorValue> transactions,
+        final int nrItems, final double minSupport, final int maxDepth, final double confidence,
+        final ThreadPool pool) throws Exception {
+        for (final FrequentItemSet.Type type : FrequentItemSet.Type.values()) {
+            final ArrayApriori expected = new ArrayApriori(nrItems, transactions.size());
+            expected.findFrequentItemSets(transactions, minSupport, maxDepth, type, new ExecutionMonitor());
+            final String expectedSets = describeItemSets(expected.getFrequentItemSets(type));
+            final String expectedRules = describeRules(expected.getAssociationRules(confidence));
+            for (final ThreadPool p : new ThreadPool[]{null, pool}) {
+                final EclatApriori actual = new EclatApriori();
+                actual.setThreadPool(p);
+                actual.findFrequentItemSets(transactions, minSupport, maxDepth, type, new ExecutionMonitor());
+                final String msg = name + ", " + type + (p == null ? ", sequential" : ", parallel");
+                assertEquals(msg, expectedSets, describeItemSets(actual.getFrequentItemSets(type)));
+                assertEquals(msg, expectedRules, describeRules(actual.getAssociationRules(confidence)));
+            }
+        }
+    }
+
+    private static String describeItemSets(final List<FrequentItemSet> itemSets) {
+        final StringBuilder sb = new StringBuilder();
+        for (final FrequentItemSet set : itemSets) {
+            sb.append(set.getItems()).append(" support=").append(set.getSupport()).append(" closed=")
+                .append(set.isClosed()).append(" maximal=").append(set.isMaximal()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String describeRules(final List<AssociationRule> rules) {
+        final StringBuilder sb = new StringBuilder();
+        for (final AssociationRule rule : rules) {
+            sb.append(rule.getAntecedent().getItems()).append('(').append(rule.getAntecedent().getSupport())
+                .append(") -> ").append(rule.getConsequent().getItems()).append('(')
+                .append(rule.getConsequent().getSupport()).append(") support=").append(rule.getSupport())
+                .append(" confidence=").append(rule.getConfidence()).append(" lift=").append(rule.getLift())
+                .append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static BitVectorValue createTransaction(final int nrItems, final int... items) {
+        final DenseBitVectorCellFactory factory = new DenseBitVectorCellFactory(nrItems);
+        for (final int item : items) {
+            factory.set(item);
+        }
+        return factory.createDataCell();
+    }
+
+    private static int[] toArray(final List<Integer> items) {
+        final int[] result = new int[items.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = items.get(i);
+        }
+        return result;
+    }
+}
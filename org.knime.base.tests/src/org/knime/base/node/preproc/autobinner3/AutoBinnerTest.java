@@ -0,0 +1,161 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.base.node.preproc.autobinner3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.node.preproc.autobinner.pmml.DisretizeConfiguration;
+import org.knime.base.node.preproc.autobinner.pmml.PMMLDiscretizeBin;
+import org.knime.base.node.preproc.autobinner.pmml.PMMLPreprocDiscretize;
+import org.knime.base.node.preproc.autobinner3.AutoBinnerLearnSettings.Method;
+import org.knime.base.node.preproc.sorter.SorterNodeFactory;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.workflow.SingleNodeContainer;
+
+/**
+ * Tests the approximate sample quantiles of the {@link AutoBinner} on tables with missing values.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class AutoBinnerTest {
+
+    private static final double[] QUANTILES = {0, 0.25, 0.5, 0.75, 1};
+
+    private static ExecutionContext EXEC_CONTEXT;
+
+    /**
+     * Creates the execution context.
+     */
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        EXEC_CONTEXT = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(new SorterNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Missing values, also in the first and last row, are skipped; the edges are the exact quantiles of the
+     * non-missing values since the table fits into the sketch. A column with only missing values gets no bins.
+     *
+     * @throws Exception if the binning fails
+     */
+    @Test
+    public void testApproximateQuantilesSkipMissingValues() throws Exception {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("x", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("empty", DoubleCell.TYPE).createSpec());
+        final Random random = new Random(7);
+        final int rowCount = 500;
+        final double[] values = new double[rowCount];
+        int valueCount = 0;
+        final BufferedDataContainer container = EXEC_CONTEXT.createDataContainer(spec);
+        for (int r = 0; r < rowCount; r++) {
+            final DataCell cell;
+            if (r == 0 || r == rowCount - 1 || random.nextInt(5) == 0) {
+                cell = DataType.getMissingCell();
+            } else {
+                values[valueCount] = random.nextGaussian();
+                cell = new DoubleCell(values[valueCount++]);
+            }
+            container.addRowToTable(new DefaultRow("Row" + r, cell, DataType.getMissingCell()));
+        }
+        container.close();
+        final BufferedDataTable table = container.getTable();
+
+        final AutoBinnerLearnSettings settings = new AutoBinnerLearnSettings();
+        settings.setMethod(Method.sampleQuantiles);
+        settings.setSampleQuantiles(QUANTILES);
+        settings.setApproximateQuantiles(true);
+        // small enough error for the sketch to keep all values
+        settings.setQuantileError(0.001);
+        settings.setIntegerBounds(false);
+        final PMMLPreprocDiscretize op = new AutoBinner(settings, spec).execute(table, EXEC_CONTEXT);
+
+        final DisretizeConfiguration config = op.getConfiguration();
+        final List<PMMLDiscretizeBin> bins = config.getDiscretize(config.getNames().get(0)).getBins();
+        final double[] edges = new double[bins.size() + 1];
+        for (int i = 0; i < bins.size(); i++) {
+            edges[i] = bins.get(i).getIntervals().get(0).getLeftMargin();
+            edges[i + 1] = bins.get(i).getIntervals().get(0).getRightMargin();
+        }
+        assertArrayEquals(exactQuantiles(Arrays.copyOf(values, valueCount)), edges, 0);
+        assertTrue("Column with only missing values must not have bins",
+            config.getDiscretize(config.getNames().get(1)).getBins().isEmpty());
+        assertEquals(2, config.getNames().size());
+    }
+
+    /** R-7 quantiles of the values. */
+    private static double[] exactQuantiles(final double[] values) {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        final double[] quantiles = new double[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            final double h = (sorted.length - 1) * QUANTILES[i] + 1;
+            final int q = (int)Math.floor(h);
+            final double xq = sorted[q - 1];
+            final double xq1 = sorted[Math.min(q, sorted.length - 1)];
+            quantiles[i] = xq + (h - q) * (xq1 - xq);
+        }
+        return quantiles;
+    }
+}
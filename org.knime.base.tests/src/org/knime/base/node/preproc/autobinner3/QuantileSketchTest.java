@@ -0,0 +1,140 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.base.node.preproc.autobinner3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link QuantileSketch}.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class QuantileSketchTest {
+
+    private static final double[] PROBABILITIES = {0, 0.1, 0.25, 0.5, 0.75, 0.9, 1};
+
+    /** R-7 quantiles of the sorted values. */
+    private static double[] exactQuantiles(final double[] sorted) {
+        final double[] quantiles = new double[PROBABILITIES.length];
+        for (int i = 0; i < PROBABILITIES.length; i++) {
+            final double h = (sorted.length - 1) * PROBABILITIES[i] + 1;
+            final int q = (int)Math.floor(h);
+            final double xq = sorted[q - 1];
+            final double xq1 = sorted[Math.min(q, sorted.length - 1)];
+            quantiles[i] = xq + (h - q) * (xq1 - xq);
+        }
+        return quantiles;
+    }
+
+    /** Number of positions between the estimate and the exact (fractional) rank. */
+    private static double rankError(final double[] sorted, final double value, final double probability) {
+        final double rank = (sorted.length - 1) * probability;
+        int lower = 0;
+        while (lower < sorted.length && sorted[lower] < value) {
+            lower++;
+        }
+        int upper = lower;
+        while (upper < sorted.length && sorted[upper] <= value) {
+            upper++;
+        }
+        if (rank >= lower - 1 && rank <= upper) {
+            return 0;
+        }
+        return Math.min(Math.abs(rank - lower), Math.abs(rank - upper + 1));
+    }
+
+    /**
+     * Small inputs are kept completely and give the exact quantiles.
+     */
+    @Test
+    public void testExactForSmallInput() {
+        final Random random = new Random(7);
+        final double[] values = new double[500];
+        final QuantileSketch sketch = new QuantileSketch(0.001, values.length);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+        assertArrayEquals(exactQuantiles(values), sketch.getQuantiles(PROBABILITIES), 0);
+    }
+
+    /**
+     * The rank error stays within the requested bound, also for merged sketches; minimum and maximum are exact.
+     */
+    @Test
+    public void testErrorBound() {
+        final double epsilon = 0.005;
+        final Random random = new Random(11);
+        final double[] values = new double[200000];
+        final QuantileSketch sketch = new QuantileSketch(epsilon, values.length);
+        final QuantileSketch first = new QuantileSketch(epsilon, values.length);
+        final QuantileSketch second = new QuantileSketch(epsilon, values.length);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(4) == 0 ? random.nextInt(100) : random.nextGaussian() * 10;
+            sketch.add(values[i]);
+            (i % 3 == 0 ? first : second).add(values[i]);
+        }
+        first.merge(second);
+        assertEquals(values.length, first.getCount());
+        Arrays.sort(values);
+        for (QuantileSketch s : new QuantileSketch[]{sketch, first}) {
+            final double[] quantiles = s.getQuantiles(PROBABILITIES);
+            assertEquals(values[0], quantiles[0], 0);
+            assertEquals(values[values.length - 1], quantiles[quantiles.length - 1], 0);
+            for (int i = 0; i < quantiles.length; i++) {
+                final double error = rankError(values, quantiles[i], PROBABILITIES[i]);
+                assertTrue("Rank error " + error + " for p=" + PROBABILITIES[i], error <= 2 * epsilon * values.length);
+            }
+        }
+    }
+}
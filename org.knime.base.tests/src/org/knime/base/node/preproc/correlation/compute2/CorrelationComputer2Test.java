@@ -0,0 +1,228 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.preproc.correlation.compute2;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.knime.base.node.preproc.correlation.CorrelationUtils.CorrelationResult;
+import org.knime.base.node.preproc.correlation.pmcc.PMCCPortObjectAndSpec;
+import org.knime.base.node.preproc.correlation.pmcc.PValueAlternative;
+import org.knime.base.node.preproc.sorter.SorterNodeFactory;
+import org.knime.base.util.HalfDoubleMatrix;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.Node;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Compares the block wise computation of the {@link CorrelationComputer2} with a row by row computation of the pair
+ * wise means, standard deviations and nominators on a table with missing values.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class CorrelationComputer2Test {
+
+    /** Enough columns for the blocks to be processed in parallel. */
+    private static final int COLUMNS = 20;
+
+    /** Several blocks of rows, the last one incomplete. */
+    private static final int ROWS = 1300;
+
+    private static ExecutionContext EXEC_CONTEXT;
+
+    private static double[][] VALUES;
+
+    private static BufferedDataTable TABLE;
+
+    /**
+     * Creates a table with about 10% missing values and columns of different scale.
+     */
+    @BeforeClass
+    public static void setUpBeforeClass() {
+        EXEC_CONTEXT = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(new SorterNodeFactory()),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, new HashMap<Integer, ContainerTable>());
+        final DataColumnSpec[] colSpecs = new DataColumnSpec[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            colSpecs[c] = new DataColumnSpecCreator("col" + c, DoubleCell.TYPE).createSpec();
+        }
+        final Random random = new Random(11);
+        VALUES = new double[ROWS][COLUMNS];
+        final BufferedDataContainer container = EXEC_CONTEXT.createDataContainer(new DataTableSpec(colSpecs));
+        for (int r = 0; r < ROWS; r++) {
+            final DataCell[] cells = new DataCell[COLUMNS];
+            final double common = random.nextGaussian();
+            for (int c = 0; c < COLUMNS; c++) {
+                if (random.nextInt(10) == 0) {
+                    VALUES[r][c] = Double.NaN;
+                    cells[c] = DataType.getMissingCell();
+                } else {
+                    VALUES[r][c] = (c + 1) * (0.3 * c * common + random.nextGaussian()) + 100 * c;
+                    cells[c] = new DoubleCell(VALUES[r][c]);
+                }
+            }
+            container.addRowToTable(new DefaultRow("Row" + r, cells));
+        }
+        container.close();
+        TABLE = container.getTable();
+    }
+
+    /**
+     * Sequential block wise computation gives the same values as the row by row computation.
+     *
+     * @throws Exception if the computation fails
+     */
+    @Test
+    public void testSequentialMatchesRowByRow() throws Exception {
+        assertMatrixEquals(computeRowByRow(), compute(null));
+    }
+
+    /**
+     * Parallel block wise computation gives the same values as the row by row computation.
+     *
+     * @throws Exception if the computation fails
+     */
+    @Test
+    public void testParallelMatchesRowByRow() throws Exception {
+        final double[][] expected = computeRowByRow();
+        for (int threads : new int[]{2, 3, 4}) {
+            assertMatrixEquals(expected, compute(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(threads)));
+        }
+    }
+
+    private static HalfDoubleMatrix compute(final ThreadPool pool) throws Exception {
+        final CorrelationComputer2 computer = new CorrelationComputer2(TABLE.getDataTableSpec(), 50);
+        computer.setThreadPool(pool);
+        computer.calculateStatistics(TABLE, new ExecutionMonitor());
+        final CorrelationResult result =
+            computer.calculateOutput(TABLE, new ExecutionMonitor(), PValueAlternative.TWO_SIDED);
+        return result.getCorrelationMatrix();
+    }
+
+    private static void assertMatrixEquals(final double[][] expected, final HalfDoubleMatrix actual) {
+        for (int i = 0; i < COLUMNS; i++) {
+            for (int j = i + 1; j < COLUMNS; j++) {
+                // the sums are added in the same (row) order, hence no tolerance
+                assertEquals("Correlation of " + i + ", " + j, expected[i][j], actual.get(i, j), 0.0);
+            }
+        }
+    }
+
+    /**
+     * The previous computation: pair wise sums and nominators are accumulated one row after the other.
+     */
+    private static double[][] computeRowByRow() {
+        final double[][] sum = new double[COLUMNS][COLUMNS];
+        final double[][] sumSq = new double[COLUMNS][COLUMNS];
+        final int[][] count = new int[COLUMNS][COLUMNS];
+        for (double[] row : VALUES) {
+            for (int i = 0; i < COLUMNS; i++) {
+                if (Double.isNaN(row[i])) {
+                    continue;
+                }
+                for (int j = 0; j < COLUMNS; j++) {
+                    if (!Double.isNaN(row[j])) {
+                        sum[i][j] += row[i];
+                        sumSq[i][j] += row[i] * row[i];
+                        count[i][j]++;
+                    }
+                }
+            }
+        }
+        final double[][] mean = new double[COLUMNS][COLUMNS];
+        final double[][] stdDev = new double[COLUMNS][COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            for (int j = 0; j < COLUMNS; j++) {
+                // the valid counts are symmetric, the computer only keeps the upper half
+                final int n = count[Math.min(i, j)][Math.max(i, j)];
+                double variance = (sumSq[i][j] - (sum[i][j] * sum[i][j]) / n) / (n - 1);
+                if (variance < PMCCPortObjectAndSpec.ROUND_ERROR_OK) {
+                    variance = 0.0;
+                }
+                stdDev[i][j] = Math.sqrt(variance);
+                mean[i][j] = sum[i][j] / n;
+            }
+        }
+        final double[][] nominator = new double[COLUMNS][COLUMNS];
+        for (double[] row : VALUES) {
+            for (int i = 0; i < COLUMNS; i++) {
+                if (Double.isNaN(row[i])) {
+                    continue;
+                }
+                for (int j = i + 1; j < COLUMNS; j++) {
+                    if (!Double.isNaN(row[j])) {
+                        final double vi = (row[i] - mean[i][j]) / stdDev[i][j];
+                        final double vj = (row[j] - mean[j][i]) / stdDev[j][i];
+                        nominator[i][j] += vi * vj;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < COLUMNS; i++) {
+            for (int j = i + 1; j < COLUMNS; j++) {
+                nominator[i][j] = Math.min(1, nominator[i][j] / (count[i][j] - 1));
+            }
+        }
+        return nominator;
+    }
+}
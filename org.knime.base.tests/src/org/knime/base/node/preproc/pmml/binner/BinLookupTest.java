@@ -0,0 +1,99 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ */
+package org.knime.base.node.preproc.pmml.binner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.preproc.pmml.binner.BinnerColumnFactory.Bin;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests the binary search lookup of {@link BinnerColumnFactory} against checking all bins in order.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class BinLookupTest {
+
+    private static DataCell linear(final Bin[] bins, final DataCell cell) {
+        for (Bin bin : bins) {
+            if (bin.covers(cell)) {
+                return new StringCell(bin.getBinName());
+            }
+        }
+        return DataType.getMissingCell();
+    }
+
+    /**
+     * Overlapping bins, gaps, open and closed margins and infinite values.
+     */
+    @Test
+    public void testSameAsLinearScan() {
+        final Bin[] bins = new Bin[]{new NumericBin("low", true, Double.NEGATIVE_INFINITY, true, 0),
+            new NumericBin("zero", false, 0, false, 0), new NumericBin("a", true, 0, false, 1),
+            new NumericBin("overlap", false, 0.5, false, 2), new NumericBin("b", true, 1, true, 2),
+            new NumericBin("c", false, 3, false, Double.POSITIVE_INFINITY)};
+        final BinnerColumnFactory factory = new BinnerColumnFactory(0, bins, "binned", true);
+        final double[] special = {Double.NEGATIVE_INFINITY, -0.0, 0, 0.5, 1, Math.nextUp(1.0), 2, 2.5, 3,
+            Double.POSITIVE_INFINITY, Double.NaN};
+        for (double value : special) {
+            final DataCell cell = new DoubleCell(value);
+            assertEquals("Value " + value, linear(bins, cell), factory.apply(cell));
+        }
+        final Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            final DataCell cell = new DoubleCell(random.nextDouble() * 8 - 4);
+            assertEquals(linear(bins, cell), factory.apply(cell));
+        }
+        assertSame(factory.apply(new DoubleCell(1.5)), factory.apply(new DoubleCell(1.7)));
+        assertEquals(DataType.getMissingCell(), factory.apply(DataType.getMissingCell()));
+    }
+}
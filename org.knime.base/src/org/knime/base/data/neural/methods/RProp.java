@@ -47,10 +47,16 @@
  */
 package org.knime.base.data.neural.methods;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import org.knime.base.data.neural.Architecture;
 import org.knime.base.data.neural.Layer;
 import org.knime.base.data.neural.MultiLayerPerceptron;
 import org.knime.base.data.neural.Perceptron;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Implementation of the RProp Algorithm, as proposed by M. Riedmiller, H.Braun:
@@ -70,6 +76,12 @@ public class RProp {
      */
     private static final double DELTA_MAX = 50.0;
 
+    /*
+     * Number of samples whose forward and backward waves are kept in memory
+     * at the same time.
+     */
+    private static final int BLOCK_SIZE = 2048;
+
     /*
      * eta minus update value.
      */
@@ -85,16 +97,6 @@ public class RProp {
      */
     private double m_etaNull;
 
-    /*
-     * Array holding the output of each neuron.
-     */
-    private double[][] m_output;
-
-    /*
-     * Array holding the delta value of each neuron.
-     */
-    private double[][] m_delta;
-
     /*
      * Eta values
      */
@@ -141,14 +143,9 @@ public class RProp {
     private MultiLayerPerceptron m_nn;
 
     /*
-     * The samples to train on.
-     */
-    private Double[][] m_samples;
-
-    /*
-     * The desired outputs for the samples avove.
+     * Pool used to compute the waves and gradients of a block, may be null.
      */
-    private Double[][] m_outputs;
+    private ThreadPool m_pool;
 
     /*
      * Indicates whether the RProp is in the first phase or not.
@@ -175,6 +172,20 @@ public RProp(final double etaPlus, final double etaMinus,
         m_etaNull = etaNull;
     }
 
+    /**
+     * Sets the pool used to compute the forward and backward waves and the
+     * error derivations in parallel. If no pool is set (the default), they are
+     * computed in the calling thread. The derivations of each weight are
+     * summed up over the samples in their order in either case, hence
+     * training gives exactly the same network with and without pool.
+     *
+     * @param pool the pool to use or <code>null</code> to compute sequentially
+     * @since 4.3
+     */
+    public void setThreadPool(final ThreadPool pool) {
+        m_pool = pool;
+    }
+
     /**
      * Train the neural network once.
      * 
@@ -184,82 +195,67 @@ public RProp(final double etaPlus, final double etaMinus,
      */
     public void train(final MultiLayerPerceptron nn, final Double[][] samples,
             final Double[][] outputs) {
+        train(nn, toPrimitive(samples), toPrimitive(outputs));
+    }
+
+    /**
+     * Train the neural network once.
+     *
+     * @param nn neural net to train
+     * @param samples the samples
+     * @param outputs the desired outputs for these samples
+     * @since 4.3
+     */
+    public void train(final MultiLayerPerceptron nn, final double[][] samples,
+            final double[][] outputs) {
 
         m_nn = nn;
-        m_samples = samples;
-        m_outputs = outputs;
         init();
 
-        double sum = 0.0;
-        double y = 0.0;
         double errDer;
         double thrErrDer;
         double oldErrDer;
         double oldThrErrDer;
 
         /*
-         * For all samples
+         * Compute Gradient on a dense copy of the weights. The waves of the
+         * samples of a block are computed first, afterwards the derivations
+         * of every neuron are summed up over the samples in sample order.
          */
-        for (int s = 0; s < samples.length; s++) {
-            Double[][] sample = new Double[2][samples[0].length];
-            sample[0] = m_samples[s];
-            sample[1] = m_outputs[s];
-
-            /*
-             * Compute Gradient
-             */
-
-            /*
-             * Forward wave
-             */
-            for (int i = 0; i < m_output.length; i++) {
-                for (int j = 0; j < m_output[i].length; j++) {
-                    if (i == 0) { // input neuron
-                        m_output[i][j] = sample[0][j];
-                    } else { // non-input neuron
-                        Perceptron p = nn.getLayer(i).getPerceptron(j);
-                        sum = 0.0;
-                        for (int k = 0; k < m_output[i - 1].length; k++) {
-                            sum += m_output[i - 1][k] * p.getWeight(k);
-                        }
-                        m_output[i][j] = p.activationFunction(sum
-                                - p.getThreshold());
-                    }
+        final DenseNet net = new DenseNet(nn);
+        final int blockSize = Math.min(BLOCK_SIZE, samples.length);
+        final double[][][] blockOutputs = new double[blockSize][][];
+        final double[][][] blockDeltas = new double[blockSize][][];
+        for (int s = 0; s < blockSize; s++) {
+            blockOutputs[s] = net.createNeuronArray();
+            blockDeltas[s] = net.createNeuronArray();
+        }
+        final int[][] neurons = listNeurons();
+        for (int from = 0; from < samples.length; from += BLOCK_SIZE) {
+            final int blockFrom = from;
+            final int blockTo = Math.min(samples.length, from + BLOCK_SIZE);
+            forEachRange(blockTo - blockFrom, (f, t) -> {
+                for (int s = f; s < t; s++) {
+                    net.forward(samples[blockFrom + s], blockOutputs[s]);
+                    net.backward(outputs[blockFrom + s], blockOutputs[s],
+                            blockDeltas[s]);
                 }
-            }
-            /*
-             * Backward wave
-             */
-            for (int i = m_delta.length - 1; i >= 0; i--) {
-                for (int j = 0; j < m_delta[i].length; j++) {
-                    y = m_output[i][j];
-                    if (i == m_delta.length - 1) { // output neuron
-                        m_delta[i][j] = (sample[1][j] - y) * y * (1 - y);
-                    } else { // non-output neuron
-                        sum = 0.0;
-                        for (int k = 0; k < m_delta[i + 1].length; k++) {
-                            sum += m_delta[i + 1][k]
-                                    * nn.getLayer(i + 1).getPerceptron(k)
-                                            .getWeight(j);
+            });
+            forEachRange(neurons.length, (f, t) -> {
+                for (int n = f; n < t; n++) {
+                    final int i = neurons[n][0];
+                    final int j = neurons[n][1];
+                    final double[] ders = m_errDers[i][j];
+                    for (int s = 0; s < blockTo - blockFrom; s++) {
+                        double[] in = blockOutputs[s][i];
+                        double d = blockDeltas[s][i + 1][j];
+                        for (int k = 0; k < ders.length; k++) {
+                            ders[k] += in[k] * -d;
                         }
-                        m_delta[i][j] = y * (1 - y) * sum;
-                    }
-                }
-            }
-            // Now compute error derivations
-            for (int i = 0; i < m_errDers.length; i++) {
-                for (int j = 0; j < m_errDers[i].length; j++) {
-                    for (int k = 0; k < m_errDers[i][j].length; k++) {
-                        m_errDers[i][j][k] += m_output[i][k]
-                                * -m_delta[i + 1][j];
+                        m_thrErrDers[i][j] += d;
                     }
                 }
-            }
-            for (int i = 0; i < m_thrErrDers.length; i++) {
-                for (int j = 0; j < m_thrErrDers[i].length; j++) {
-                    m_thrErrDers[i][j] += m_delta[i + 1][j];
-                }
-            }
+            });
         }
         // STEP 2: for all weights set delta_w
         for (int i = 1; i < nn.getLayers().length; i++) {
@@ -330,23 +326,6 @@ private void init() {
         if (m_newPhase) {
             m_architecture = m_nn.getArchitecture();
             m_layers = m_nn.getLayers();
-
-            // Initialize output
-            m_output = new double[m_layers.length][];
-            m_output[0] = new double[m_architecture.getNrInputNeurons()];
-            for (int i = 1; i < m_layers.length - 1; i++) {
-                m_output[i] = new double[m_architecture.getNrHiddenNeurons()];
-            }
-            m_output[m_layers.length - 1] = new double[m_architecture
-                    .getNrOutputNeurons()];
-            // Initialize error term
-            m_delta = new double[m_layers.length][];
-            m_delta[0] = new double[m_architecture.getNrInputNeurons()];
-            for (int i = 1; i < m_layers.length - 1; i++) {
-                m_delta[i] = new double[m_architecture.getNrHiddenNeurons()];
-            }
-            m_delta[m_layers.length - 1] = new double[m_architecture
-                    .getNrOutputNeurons()];
             // initialize eta_ij with etaNull
             m_etaIJ = new double[m_nn.getLayers().length - 1][][];
             for (int i = 0; i < m_etaIJ.length; i++) {
@@ -410,6 +389,197 @@ private void init() {
         }
     }
 
+    /**
+     * Computes the sum of squared errors of the given net on the samples. The
+     * forward waves are computed in parallel if a pool is set, the errors are
+     * summed up in sample order.
+     *
+     * @param nn the neural net
+     * @param samples the samples
+     * @param outputs the desired outputs for these samples
+     * @return sum of squared errors over all samples and outputs
+     * @since 4.3
+     */
+    public double error(final MultiLayerPerceptron nn, final double[][] samples,
+            final double[][] outputs) {
+        final DenseNet net = new DenseNet(nn);
+        final double[][] blockOutputs =
+                new double[Math.min(BLOCK_SIZE, samples.length)][];
+        double error = 0;
+        for (int from = 0; from < samples.length; from += BLOCK_SIZE) {
+            final int blockFrom = from;
+            final int blockTo = Math.min(samples.length, from + BLOCK_SIZE);
+            forEachRange(blockTo - blockFrom, (f, t) -> {
+                double[][] output = net.createNeuronArray();
+                for (int s = f; s < t; s++) {
+                    net.forward(samples[blockFrom + s], output);
+                    blockOutputs[s] = output[output.length - 1].clone();
+                }
+            });
+            for (int s = blockFrom; s < blockTo; s++) {
+                double[] out = blockOutputs[s - blockFrom];
+                for (int o = 0; o < out.length; o++) {
+                    error += (out[o] - outputs[s][o]) * (out[o] - outputs[s][o]);
+                }
+            }
+        }
+        return error;
+    }
+
+    private static double[][] toPrimitive(final Double[][] values) {
+        double[][] result = new double[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = new double[values[i].length];
+            for (int j = 0; j < result[i].length; j++) {
+                result[i][j] = values[i][j];
+            }
+        }
+        return result;
+    }
+
+    /* Indices {i, j} of m_thrErrDers for all non-input neurons. */
+    private int[][] listNeurons() {
+        int nrNeurons = 0;
+        for (double[] thrErrDers : m_thrErrDers) {
+            nrNeurons += thrErrDers.length;
+        }
+        int[][] neurons = new int[nrNeurons][];
+        int n = 0;
+        for (int i = 0; i < m_thrErrDers.length; i++) {
+            for (int j = 0; j < m_thrErrDers[i].length; j++) {
+                neurons[n++] = new int[]{i, j};
+            }
+        }
+        return neurons;
+    }
+
+    /**
+     * Runs the action for ranges that cover <code>0</code> to
+     * <code>n</code>, either in the pool or in the calling thread. The
+     * actions of different ranges must not write to the same data.
+     */
+    private void forEachRange(final int n, final RangeAction action) {
+        final int nrRanges = m_pool == null ? 1 : Math.max(1, Math.min(n, m_pool.getMaxThreads()));
+        if (nrRanges == 1) {
+            action.run(0, n);
+            return;
+        }
+        final List<Future<?>> futures = new ArrayList<>(nrRanges - 1);
+        try {
+            for (int r = 1; r < nrRanges; r++) {
+                final int from = (int)((long)n * r / nrRanges);
+                final int to = (int)((long)n * (r + 1) / nrRanges);
+                futures.add(m_pool.enqueue(() -> action.run(from, to)));
+            }
+            action.run(0, n / nrRanges);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while training", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeAction {
+        void run(int from, int to);
+    }
+
+    /**
+     * Copy of the weights and thresholds of a {@link MultiLayerPerceptron} in
+     * dense arrays. Weights of layer <code>i</code> are stored row-major as
+     * <code>[neuron * nrInputs + input]</code>.
+     */
+    private static final class DenseNet {
+
+        private final Perceptron[][] m_perceptrons;
+
+        private final double[][] m_weights;
+
+        private final double[][] m_thresholds;
+
+        DenseNet(final MultiLayerPerceptron nn) {
+            Layer[] layers = nn.getLayers();
+            m_perceptrons = new Perceptron[layers.length][];
+            m_weights = new double[layers.length][];
+            m_thresholds = new double[layers.length][];
+            for (int i = 0; i < layers.length; i++) {
+                m_perceptrons[i] = layers[i].getPerceptrons();
+            }
+            for (int i = 1; i < layers.length; i++) {
+                int nrInputs = m_perceptrons[i - 1].length;
+                m_weights[i] = new double[m_perceptrons[i].length * nrInputs];
+                m_thresholds[i] = new double[m_perceptrons[i].length];
+                for (int j = 0; j < m_perceptrons[i].length; j++) {
+                    Perceptron p = m_perceptrons[i][j];
+                    for (int k = 0; k < nrInputs; k++) {
+                        m_weights[i][j * nrInputs + k] = p.getWeight(k);
+                    }
+                    m_thresholds[i][j] = p.getThreshold();
+                }
+            }
+        }
+
+        double[][] createNeuronArray() {
+            double[][] result = new double[m_perceptrons.length][];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = new double[m_perceptrons[i].length];
+            }
+            return result;
+        }
+
+        /* Forward wave, identical to MultiLayerPerceptron#output(double[]). */
+        void forward(final double[] sample, final double[][] output) {
+            System.arraycopy(sample, 0, output[0], 0, output[0].length);
+            for (int i = 1; i < output.length; i++) {
+                double[] in = output[i - 1];
+                double[] w = m_weights[i];
+                for (int j = 0; j < output[i].length; j++) {
+                    double sum = 0.0;
+                    int offset = j * in.length;
+                    for (int k = 0; k < in.length; k++) {
+                        sum += in[k] * w[offset + k];
+                    }
+                    output[i][j] = m_perceptrons[i][j].activationFunction(sum - m_thresholds[i][j]);
+                }
+            }
+        }
+
+        /* Backward wave, deltas of the input layer are not needed. */
+        void backward(final double[] target, final double[][] output,
+            final double[][] delta) {
+            final int last = output.length - 1;
+            for (int j = 0; j < delta[last].length; j++) {
+                double y = output[last][j];
+                delta[last][j] = (target[j] - y) * y * (1 - y);
+            }
+            for (int i = last - 1; i >= 1; i--) {
+                double[] w = m_weights[i + 1];
+                int nrInputs = output[i].length;
+                for (int j = 0; j < delta[i].length; j++) {
+                    double sum = 0.0;
+                    for (int k = 0; k < delta[i + 1].length; k++) {
+                        sum += delta[i + 1][k] * w[k * nrInputs + j];
+                    }
+                    double y = output[i][j];
+                    delta[i][j] = y * (1 - y) * sum;
+                }
+            }
+        }
+    }
+
     /**
      * Method computes the sign of a double number.
      * 
@@ -55,10 +55,8 @@
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.math3.exception.NumberIsTooSmallException;
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.RealMatrix;
-import org.apache.commons.math3.stat.correlation.StorelessCovariance;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -76,15 +74,20 @@
 import org.knime.core.node.InvalidSettingsException;
 
 /**
- * Utility class which computes the covariance matrix for a given BufferedDataTable considering missing values. The
- * algorithms uses the {@link StorelessCovariance} of Apache and therefore traverses the data once and does not require
- * the input data to be read completely in memory.
+ * Utility class which computes the covariance matrix for a given BufferedDataTable considering missing values, i.e.,
+ * the covariance of two columns is computed over the rows in which both are not missing. The algorithm traverses the
+ * data once and does not require the input data to be read completely in memory: the rows are collected in blocks,
+ * the co-moments of each column pair are computed within the block around the block means and merged into the overall
+ * co-moments with the update formula of Chan et al., which is numerically stable.
  *
  * @author Marcel Hanser
  * @since 2.11
  */
 public final class CovarianceMatrixCalculator {
 
+    /** The number of table rows collected before they are merged into the co-moments. */
+    private static final int BLOCK_SIZE = 2048;
+
     private final DataTableSpec m_resultSpec;
 
     private final DataTableSpec m_targetSpec;
@@ -154,62 +157,43 @@ public RealMatrix calculateCovarianceMatrix(final ExecutionMonitor exec, final D
 
         final ExecutionMonitor computingProgress = exec.createSubProgress(resultDataContainer != null ? 0.8 : 1);
 
-        List<StorelessCovariance> covariancesList = new ArrayList<>();
-        // create covariance pairs
-        for (int i = 0; i < m_indexes.length; i++) {
-            for (int j = i; j < m_indexes.length; j++) {
-                covariancesList.add(new StorelessCovariance(2));
-            }
-        }
-
-        // compute rest of co-variance matrix
+        final CoMoments coMoments = new CoMoments(m_indexes.length);
+        // the block is stored column-wise such that the co-moments are dot products of contiguous arrays
+        final double[][] block = new double[m_indexes.length][BLOCK_SIZE];
+        final boolean[][] missing = new boolean[m_indexes.length][BLOCK_SIZE];
         int rowCount = 0;
-        double[] buffer = new double[2];
+        int blockRows = 0;
         for (DataRow dataRow : inTable) {
             for (int i = 0; i < m_indexes.length; i++) {
-                final int outerIndex = m_indexes[i];
-                final DataCell outerCell = dataRow.getCell(outerIndex);
-                if (outerCell.isMissing()) {
-                    // skip missing values
-                    continue;
-                }
-                final double outerDouble = ((DoubleValue)outerCell).getDoubleValue();
-
-                for (int j = i; j < m_indexes.length; j++) {
-                    final int innerIndex = m_indexes[j];
-                    final DataCell innerCell = dataRow.getCell(innerIndex);
-                    if (innerCell.isMissing()) {
-                        // skip missing values
-                        continue;
-                    }
-                    final double innerDouble = ((DoubleValue)innerCell).getDoubleValue();
-                    buffer[0] = outerDouble;
-                    buffer[1] = innerDouble;
-                    int covListIndex = index(m_indexes.length, i, j);
-                    covariancesList.get(covListIndex).increment(buffer);
-                }
+                final DataCell cell = dataRow.getCell(m_indexes[i]);
+                // missing values are skipped when the block is merged
+                missing[i][blockRows] = cell.isMissing();
+                block[i][blockRows] = cell.isMissing() ? 0 : ((DoubleValue)cell).getDoubleValue();
+            }
+            if (++blockRows == BLOCK_SIZE) {
+                coMoments.merge(block, missing, blockRows);
+                blockRows = 0;
             }
             computingProgress.setProgress(rowCount++ / (double)tableSize,
                 "Calculate covariance values, processing row: '" + dataRow.getKey() + "'");
             computingProgress.checkCanceled();
         }
+        if (blockRows > 0) {
+            coMoments.merge(block, missing, blockRows);
+        }
 
-        // Copy the storeless covariances to a real matrix
+        // Copy the co-moments to a real matrix
         RealMatrix covMatrix = new Array2DRowRealMatrix(m_indexes.length, m_indexes.length);
         for (int i = 0; i < m_indexes.length; i++) {
             for (int j = i; j < m_indexes.length; j++) {
-                int covListIndex = index(m_indexes.length, i, j);
-                double covValue;
-                try {
-                    covValue =
-                        i == j ? covariancesList.get(covListIndex).getCovariance(1, 1) : covariancesList.get(
-                            covListIndex).getCovariance(0, 1);
-                } catch (NumberIsTooSmallException e) {
+                final long n = coMoments.m_counts[i][j - i];
+                if (n < 2) {
                     throw new IllegalArgumentException(String.format("There were not enough valid values to "
                         + "compute covariance between columns: '%s' and '%s'.", inTable.getDataTableSpec()
                         .getColumnSpec(m_indexes[i]).getName(), inTable.getDataTableSpec().getColumnSpec(m_indexes[j])
-                        .getName()), e);
+                        .getName()));
                 }
+                final double covValue = coMoments.m_coMoments[i][j - i] / (n - 1);
                 covMatrix.setEntry(i, j, covValue);
                 covMatrix.setEntry(j, i, covValue);
             }
@@ -236,21 +220,123 @@ public DataTableSpec getResultSpec() {
         return m_resultSpec;
     }
 
-    /** Assuming you have columns A, B, C, D the column pairs of co-variance are
-     * AA, AB, AC, AD, BB, BC, BD, CC, CD, DD.
-     * To get 0,3 you compute (0)+3,
-     * To get 1,2 you compute (4)+2
-     * To get 2,2 you compute (4+3)+2
+    /**
+     * The pairwise co-moments of the columns. Row {@code i} of the triangular arrays holds the entries of the pairs
+     * {@code (i, i), (i, i + 1)...}, the means of a pair are the means of both columns over the rows in which both are
+     * not missing.
      */
-    private static int index(final int max, final int row, final int col) {
-        return partialGaussSum(max, row) + col;
-    }
+    private static final class CoMoments {
+
+        private final long[][] m_counts;
+
+        private final double[][] m_firstMeans;
 
-    private static int partialGaussSum(final int starts, final int iterations) {
-        int t = 0;
-        for (int i = iterations; i > 0; i--) {
-            t += starts - i;
+        private final double[][] m_secondMeans;
+
+        private final double[][] m_coMoments;
+
+        CoMoments(final int nCols) {
+            m_counts = new long[nCols][];
+            m_firstMeans = new double[nCols][];
+            m_secondMeans = new double[nCols][];
+            m_coMoments = new double[nCols][];
+            for (int i = 0; i < nCols; i++) {
+                m_counts[i] = new long[nCols - i];
+                m_firstMeans[i] = new double[nCols - i];
+                m_secondMeans[i] = new double[nCols - i];
+                m_coMoments[i] = new double[nCols - i];
+            }
+        }
+
+        /**
+         * Merges the first rows of the block.
+         *
+         * @param block the column-wise stored values of the block, its complete columns are centered by this method
+         * @param missing the missing flags of the block
+         * @param blockRows the number of rows of the block
+         */
+        void merge(final double[][] block, final boolean[][] missing, final int blockRows) {
+            final int nCols = block.length;
+            // columns without missing values are centered once, the offset is added to the means of their pairs
+            final double[] offsets = new double[nCols];
+            final boolean[] complete = new boolean[nCols];
+            for (int c = 0; c < nCols; c++) {
+                complete[c] = true;
+                for (int r = 0; r < blockRows; r++) {
+                    if (missing[c][r]) {
+                        complete[c] = false;
+                        break;
+                    }
+                }
+                if (complete[c]) {
+                    final double[] values = block[c];
+                    double sum = 0;
+                    for (int r = 0; r < blockRows; r++) {
+                        sum += values[r];
+                    }
+                    offsets[c] = sum / blockRows;
+                    for (int r = 0; r < blockRows; r++) {
+                        values[r] -= offsets[c];
+                    }
+                }
+            }
+            mergeRows(block, missing, blockRows, offsets, complete);
+        }
+
+        /** Merges the pairs of all rows of the triangle. */
+        private void mergeRows(final double[][] block, final boolean[][] missing, final int blockRows,
+            final double[] offsets, final boolean[] complete) {
+            for (int i = 0; i < block.length; i++) {
+                for (int j = i; j < block.length; j++) {
+                    final double[] first = block[i];
+                    final double[] second = block[j];
+                    final long n;
+                    final double firstMean;
+                    final double secondMean;
+                    double coMoment = 0;
+                    if (complete[i] && complete[j]) {
+                        // both columns are centered already
+                        n = blockRows;
+                        firstMean = offsets[i];
+                        secondMean = offsets[j];
+                        for (int r = 0; r < blockRows; r++) {
+                            coMoment += first[r] * second[r];
+                        }
+                    } else {
+                        int count = 0;
+                        double firstSum = 0;
+                        double secondSum = 0;
+                        for (int r = 0; r < blockRows; r++) {
+                            if (!missing[i][r] && !missing[j][r]) {
+                                count++;
+                                firstSum += first[r];
+                                secondSum += second[r];
+                            }
+                        }
+                        if (count == 0) {
+                            continue;
+                        }
+                        final double firstBlockMean = firstSum / count;
+                        final double secondBlockMean = secondSum / count;
+                        for (int r = 0; r < blockRows; r++) {
+                            if (!missing[i][r] && !missing[j][r]) {
+                                coMoment += (first[r] - firstBlockMean) * (second[r] - secondBlockMean);
+                            }
+                        }
+                        n = count;
+                        firstMean = firstBlockMean + offsets[i];
+                        secondMean = secondBlockMean + offsets[j];
+                    }
+                    final int k = j - i;
+                    final long total = m_counts[i][k] + n;
+                    final double firstDelta = firstMean - m_firstMeans[i][k];
+                    final double secondDelta = secondMean - m_secondMeans[i][k];
+                    m_coMoments[i][k] += coMoment + firstDelta * secondDelta * m_counts[i][k] * n / total;
+                    m_firstMeans[i][k] += firstDelta * n / total;
+                    m_secondMeans[i][k] += secondDelta * n / total;
+                    m_counts[i][k] = total;
+                }
+            }
         }
-        return t;
     }
 }
@@ -46,28 +46,18 @@
  */
 package org.knime.base.data.statistics;
 
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 
-import org.apache.commons.lang.mutable.MutableLong;
-import org.knime.core.data.DataCell;
-import org.knime.core.data.DataColumnSpec;
-import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.DataValueComparator;
 import org.knime.core.data.DoubleValue;
-import org.knime.core.data.def.DoubleCell;
-import org.knime.core.data.sort.ColumnBufferedDataTableSorter;
-import org.knime.core.data.sort.SortingConsumer;
-import org.knime.core.data.sort.SortingDescription;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
-import org.knime.core.node.InvalidSettingsException;
 
 /**
- * Finds the median for selected ({@link DoubleValue}d) columns.
+ * Finds the median (or other quantiles) for selected ({@link DoubleValue}d) columns. The values are selected with a
+ * few passes over the table (see {@link OrderStatistics}) instead of sorting the table.
  *
  * @author Gabor Bakos
  * @since 2.8
@@ -142,114 +132,89 @@ public MedianTable(final BufferedDataTable table, final int[] indices, final boo
      */
     public synchronized double[] medianValues(final ExecutionContext context) throws CanceledExecutionException {
         if (m_medians == null) {
-            m_medians = new double[m_indices.length];
-            int[] validCount = new int[m_indices.length];
-            for (DataRow row : m_table) {
-                context.checkCanceled();
-                for (int i = 0; i < m_indices.length; ++i) {
-                    int col = m_indices[i];
-                    final DataCell cell = row.getCell(col);
-                    if (cell.isMissing()) {
-                        if (m_includeMissingValues) {
-                            validCount[i]++;
-                        }
-                    } else if (cell instanceof DoubleValue) {
-                        DoubleValue dv = (DoubleValue)cell;
-                        if (m_includeNaNs) {
-                            validCount[i]++;
-                        } else if (!Double.isNaN(dv.getDoubleValue())) {
-                            validCount[i]++;
-                        }
-                    } else {
-                        throw new IllegalStateException("Not a double value: " + cell + " in column: "
-                            + m_table.getSpec().getColumnSpec(col).getName());
-                    }
-                }
-            }
-            List<String> incList = new ArrayList<String>(m_indices.length);
-            final String[] columnNames = m_table.getSpec().getColumnNames();
-            for (int i : m_indices) {
-                incList.add(columnNames[i]);
-            }
-
+            final OrderStatistics orderStatistics = countValues(context);
             // two indices per column that denote the lower and upper index of the median value (or both the same)
-            long[][] k = new long[2][m_indices.length];
-            for (int i = 0; i < 2; i++) {
-                for (int j = 0; j < m_indices.length; j++) {
-                    k[i][j] = validCount[j] > 0 ? (validCount[j] - 1 + i) / 2 : 0;
+            final long[][] k = new long[m_indices.length][2];
+            for (int j = 0; j < m_indices.length; j++) {
+                final long validCount = validCount(orderStatistics, j);
+                for (int i = 0; i < 2; i++) {
+                    k[j][i] = validCount > 0 ? (validCount - 1 + i) / 2 : 0;
                 }
             }
-            sortOnDisk(context, k);
+            final double[][] values = orderStatistics.select(k, context);
+            m_medians = new double[m_indices.length];
+            for (int j = 0; j < m_indices.length; j++) {
+                m_medians[j] = (values[j][0] + values[j][1]) / 2;
+            }
         }
         return m_medians.clone();
     }
 
     /**
-     * Sorts the data on the disk, it moves the missing values to the end.
+     * Computes exact quantiles by linear interpolation between the two closest order statistics, i.e. for
+     * {@code n} values the {@code p}-quantile is interpolated at the (zero based) position {@code (n - 1) * p}.
      *
-     * @param context An {@link ExecutionContext}.
-     * @param k The indices to read from the different columns
-     *        (first dim: length 2 (above & below median indices), second dim: columns)
-     * @throws CanceledExecutionException Execution was cancelled.
+     * @param context An {@link ExecutionContext}
+     * @param quantiles The probabilities of the quantiles, each within {@code [0, 1]}.
+     * @return The quantiles for the columns in the order of the columns specified in the constructor (first
+     *         dimension) and the order of {@code quantiles} (second dimension). The values can be {@link Double#NaN}s
+     *         in certain circumstances.
+     * @throws CanceledExecutionException When cancelled.
+     * @since 4.3
      */
-    private void sortOnDisk(final ExecutionContext context, final long[][] k) throws CanceledExecutionException {
-        final SortingDescription[] sorting = new SortingDescription[m_indices.length];
-        final DataTableSpec spec = m_table.getSpec();
-        for (int i = 0; i < m_indices.length; i++) {
-            final DataColumnSpec columnSpec = spec.getColumnSpec(m_indices[i]);
-            final DataValueComparator comparator = columnSpec.getType().getComparator();
-            sorting[i] = new SortingDescription(columnSpec.getName()) {
-
-                @Override
-                public int compare(final DataRow o1, final DataRow o2) {
-                    // Move missing values to the end.
-                    final DataCell c1 = o1.getCell(0);
-                    final DataCell c2 = o2.getCell(0);
-                    if (c1.isMissing()) {
-                        return c2.isMissing() ? 0 : 1;
-                    }
-                    if (c2.isMissing()) {
-                        return -1;
-                    }
-                    return comparator.compare(c1, c2);
-                }
-            };
-        }
-        final ColumnBufferedDataTableSorter tableSorter;
-        try {
-            tableSorter = new ColumnBufferedDataTableSorter(m_table.getSpec(), m_table.size(), sorting);
-        } catch (InvalidSettingsException e) {
-            throw new IllegalStateException(e);
+    public double[][] quantileValues(final ExecutionContext context, final double... quantiles)
+        throws CanceledExecutionException {
+        for (double q : quantiles) {
+            if (!(q >= 0 && q <= 1)) {
+                throw new IllegalArgumentException("Quantile must be within [0, 1]: " + q);
+            }
         }
-        final MutableLong counter = new MutableLong();
-        final DoubleValue[][] cells = new DoubleValue[2][m_indices.length];
-        tableSorter.sort(m_table, context, new SortingConsumer() {
-            @Override
-            public void consume(final DataRow row) {
-                for (int kindex = 0; kindex < 2; kindex++) {
-                    for (int i = 0; i < m_indices.length; i++) {
-                        if (counter.longValue() == k[kindex][i]) {
-                            DataCell cell = row.getCell(i);
-                            if (cell instanceof DoubleValue) {
-                                DoubleValue dv = (DoubleValue)cell;
-                                cells[kindex][i] = dv;
-                            } else {
-                                cells[kindex][i] = new DoubleCell(Double.NaN);
-                            }
-                        }
-                    }
-                }
-                counter.increment();
+        final OrderStatistics orderStatistics = countValues(context);
+        final long[][] k = new long[m_indices.length][2 * quantiles.length];
+        final double[][] positions = new double[m_indices.length][quantiles.length];
+        for (int j = 0; j < m_indices.length; j++) {
+            final long validCount = validCount(orderStatistics, j);
+            for (int q = 0; q < quantiles.length; q++) {
+                positions[j][q] = validCount > 0 ? (validCount - 1) * quantiles[q] : 0;
+                k[j][2 * q] = (long)Math.floor(positions[j][q]);
+                k[j][2 * q + 1] = (long)Math.ceil(positions[j][q]);
             }
-        });
-        for (int index = m_indices.length; index-- > 0;) {
-            if (cells[0][index] == null || cells[1][index] == null) {
-                //No non-missing rows
-                m_medians[index] = Double.NaN;
-            } else {
-                m_medians[index] = (cells[0][index].getDoubleValue() + cells[1][index].getDoubleValue()) / 2;
+        }
+        final double[][] values = orderStatistics.select(k, context);
+        final double[][] result = new double[m_indices.length][quantiles.length];
+        for (int j = 0; j < m_indices.length; j++) {
+            for (int q = 0; q < quantiles.length; q++) {
+                final double lower = values[j][2 * q];
+                final double upper = values[j][2 * q + 1];
+                final double fraction = positions[j][q] - k[j][2 * q];
+                result[j][q] = fraction == 0 ? lower : lower + fraction * (upper - lower);
             }
         }
+        return result;
+    }
+
+    /**
+     * Counts the values of the columns in a first pass.
+     */
+    private OrderStatistics countValues(final ExecutionContext context) throws CanceledExecutionException {
+        final OrderStatistics orderStatistics = new OrderStatistics(m_table, m_indices);
+        orderStatistics.count(context);
+        return orderStatistics;
+    }
+
+    /**
+     * @return the number of values of a column that are taken into account with respect to the NaN and missing value
+     *         settings. Missing values and NaNs are ordered last, so they never affect lower ranks.
+     */
+    private long validCount(final OrderStatistics orderStatistics, final int column) {
+        long validCount = orderStatistics.getNonMissingCount(column);
+        if (!m_includeNaNs) {
+            validCount -= orderStatistics.getNaNCount(column);
+        }
+        if (m_includeMissingValues) {
+            validCount += orderStatistics.getMissingCount(column);
+        }
+        return validCount;
     }
 
     /**
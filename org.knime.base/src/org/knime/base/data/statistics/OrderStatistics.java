@@ -0,0 +1,354 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.data.statistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Selects exact order statistics (the k-th smallest values) of several {@link DoubleValue}d columns without sorting
+ * the table. The values are mapped to 64 bit keys that preserve the order of {@link Double#compare(double, double)};
+ * each pass over the table refines a histogram of the next {@value #DIGIT_BITS} key bits of the bucket that contains
+ * the requested rank. As soon as that bucket is small enough its values are collected in a primitive buffer and
+ * selected in memory. Missing values are ordered after all other values (including {@link Double#NaN}).
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class OrderStatistics {
+
+    private static final int DIGIT_BITS = 12;
+
+    /** Maximal number of values of a bucket that are collected in memory. */
+    private static final int MAX_CANDIDATES = 1 << 16;
+
+    private final BufferedDataTable m_table;
+
+    private final int[] m_indices;
+
+    private long[] m_nonMissingCount;
+
+    private long[] m_nanCount;
+
+    private long[] m_missingCount;
+
+    /** Histogram of the highest {@link #DIGIT_BITS} key bits per column. */
+    private long[][] m_topHistogram;
+
+    /**
+     * @param table the input table
+     * @param indices the indices of {@link DoubleValue}d columns
+     */
+    OrderStatistics(final BufferedDataTable table, final int[] indices) {
+        m_table = table;
+        m_indices = indices.clone();
+    }
+
+    /**
+     * First pass: counts the values of each column and builds the top level histograms. Must be called before the
+     * getters and {@link #select(long[][], ExecutionMonitor)}.
+     *
+     * @param exec for progress and cancellation
+     * @throws CanceledExecutionException when cancelled
+     */
+    void count(final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_nonMissingCount = new long[m_indices.length];
+        m_nanCount = new long[m_indices.length];
+        m_missingCount = new long[m_indices.length];
+        m_topHistogram = new long[m_indices.length][1 << DIGIT_BITS];
+        final int shift = Long.SIZE - DIGIT_BITS;
+        try (CloseableRowIterator it = iterator()) {
+            while (it.hasNext()) {
+                exec.checkCanceled();
+                final DataRow row = it.next();
+                for (int i = 0; i < m_indices.length; i++) {
+                    final DataCell cell = row.getCell(m_indices[i]);
+                    if (cell.isMissing()) {
+                        m_missingCount[i]++;
+                    } else {
+                        final double d = getDoubleValue(cell, i);
+                        if (Double.isNaN(d)) {
+                            m_nanCount[i]++;
+                        }
+                        m_nonMissingCount[i]++;
+                        m_topHistogram[i][(int)(toKey(d) >>> shift)]++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @param column the position of the column in the indices array
+     * @return number of non-missing values, including {@link Double#NaN}s
+     */
+    long getNonMissingCount(final int column) {
+        return m_nonMissingCount[column];
+    }
+
+    /**
+     * @param column the position of the column in the indices array
+     * @return number of {@link Double#NaN} values
+     */
+    long getNaNCount(final int column) {
+        return m_nanCount[column];
+    }
+
+    /**
+     * @param column the position of the column in the indices array
+     * @return number of missing values
+     */
+    long getMissingCount(final int column) {
+        return m_missingCount[column];
+    }
+
+    /**
+     * Selects the values with the given (zero based) ranks.
+     *
+     * @param ranks the ranks per column (first dimension: columns in the order of the indices)
+     * @param exec for progress and cancellation
+     * @return the values at the ranks, {@link Double#NaN} for ranks that refer to missing values
+     * @throws CanceledExecutionException when cancelled
+     */
+    double[][] select(final long[][] ranks, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final double[][] result = new double[m_indices.length][];
+        final Target[][] targets = new Target[m_indices.length][];
+        final List<Target> open = new ArrayList<>();
+        for (int i = 0; i < m_indices.length; i++) {
+            result[i] = new double[ranks[i].length];
+            targets[i] = new Target[ranks[i].length];
+            for (int r = 0; r < ranks[i].length; r++) {
+                if (ranks[i][r] < 0 || ranks[i][r] >= m_nonMissingCount[i]) {
+                    result[i][r] = Double.NaN;
+                } else {
+                    targets[i][r] = new Target(ranks[i][r]);
+                    targets[i][r].refine(m_topHistogram[i], DIGIT_BITS);
+                    open.add(targets[i][r]);
+                }
+            }
+        }
+        int pass = 0;
+        while (open.stream().anyMatch(t -> !t.isResolved())) {
+            exec.setMessage("Selecting order statistics, pass " + (++pass));
+            nextPass(targets, exec);
+        }
+        for (int i = 0; i < m_indices.length; i++) {
+            for (int r = 0; r < ranks[i].length; r++) {
+                if (targets[i][r] != null) {
+                    result[i][r] = targets[i][r].m_value;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void nextPass(final Target[][] targets, final ExecutionMonitor exec) throws CanceledExecutionException {
+        for (Target[] columnTargets : targets) {
+            for (Target t : columnTargets) {
+                if (t != null && !t.isResolved()) {
+                    t.startPass();
+                }
+            }
+        }
+        try (CloseableRowIterator it = iterator()) {
+            while (it.hasNext()) {
+                exec.checkCanceled();
+                final DataRow row = it.next();
+                for (int i = 0; i < m_indices.length; i++) {
+                    final DataCell cell = row.getCell(m_indices[i]);
+                    if (cell.isMissing()) {
+                        continue;
+                    }
+                    long key = 0;
+                    boolean converted = false;
+                    for (Target t : targets[i]) {
+                        if (t != null && !t.isResolved()) {
+                            if (!converted) {
+                                key = toKey(getDoubleValue(cell, i));
+                                converted = true;
+                            }
+                            t.add(key);
+                        }
+                    }
+                }
+            }
+        }
+        for (Target[] columnTargets : targets) {
+            for (Target t : columnTargets) {
+                if (t != null && !t.isResolved()) {
+                    t.finishPass();
+                }
+            }
+        }
+    }
+
+    private CloseableRowIterator iterator() {
+        return m_table.filter(new TableFilter.Builder().withMaterializeColumnIndices(m_indices).build()).iterator();
+    }
+
+    private double getDoubleValue(final DataCell cell, final int column) {
+        if (cell instanceof DoubleValue) {
+            return ((DoubleValue)cell).getDoubleValue();
+        }
+        throw new IllegalStateException("Not a double value: " + cell + " in column: "
+            + m_table.getSpec().getColumnSpec(m_indices[column]).getName());
+    }
+
+    /**
+     * @param d a double value
+     * @return a key whose unsigned order is the order of {@link Double#compare(double, double)}
+     */
+    static long toKey(final double d) {
+        final long bits = Double.doubleToLongBits(d);
+        return (bits ^ ((bits >> 63) & Long.MAX_VALUE)) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * @param key a key created by {@link #toKey(double)}
+     * @return the double value of the key
+     */
+    static double fromKey(final long key) {
+        final long signed = key ^ Long.MIN_VALUE;
+        return Double.longBitsToDouble(signed ^ ((signed >> 63) & Long.MAX_VALUE));
+    }
+
+    /** The state of the search for one rank of one column. */
+    private static final class Target {
+
+        /** The remaining rank within the current bucket. */
+        private long m_rank;
+
+        /** The highest key bits that are already determined. */
+        private long m_prefix;
+
+        /** Number of determined bits. */
+        private int m_depth;
+
+        /** Number of values in the current bucket. */
+        private long m_count;
+
+        private long[] m_histogram;
+
+        private double[] m_candidates;
+
+        private int m_nrCandidates;
+
+        private boolean m_resolved;
+
+        private double m_value;
+
+        Target(final long rank) {
+            m_rank = rank;
+        }
+
+        boolean isResolved() {
+            return m_resolved;
+        }
+
+        /** Selects the bucket of the histogram of the next {@code bits} key bits that contains the rank. */
+        void refine(final long[] histogram, final int bits) {
+            long before = 0;
+            int bucket = 0;
+            while (before + histogram[bucket] <= m_rank) {
+                before += histogram[bucket];
+                bucket++;
+            }
+            m_rank -= before;
+            m_count = histogram[bucket];
+            m_prefix = (m_prefix << bits) | bucket;
+            m_depth += bits;
+            if (m_depth == Long.SIZE) {
+                // all values of the bucket are equal
+                m_value = fromKey(m_prefix);
+                m_resolved = true;
+            }
+        }
+
+        void startPass() {
+            if (m_count <= MAX_CANDIDATES) {
+                m_candidates = new double[(int)m_count];
+                m_nrCandidates = 0;
+                m_histogram = null;
+            } else {
+                m_histogram = new long[1 << Math.min(DIGIT_BITS, Long.SIZE - m_depth)];
+            }
+        }
+
+        void add(final long key) {
+            if ((key >>> (Long.SIZE - m_depth)) != m_prefix) {
+                return;
+            }
+            if (m_candidates != null) {
+                m_candidates[m_nrCandidates++] = fromKey(key);
+            } else {
+                final int bits = Math.min(DIGIT_BITS, Long.SIZE - m_depth);
+                m_histogram[(int)((key >>> (Long.SIZE - m_depth - bits)) & ((1 << bits) - 1))]++;
+            }
+        }
+
+        void finishPass() {
+            if (m_candidates != null) {
+                assert m_nrCandidates == m_count;
+                // Arrays.sort orders like Double.compare
+                Arrays.sort(m_candidates, 0, m_nrCandidates);
+                m_value = m_candidates[(int)m_rank];
+                m_candidates = null;
+                m_resolved = true;
+            } else {
+                refine(m_histogram, Integer.numberOfTrailingZeros(m_histogram.length));
+                m_histogram = null;
+            }
+        }
+    }
+}
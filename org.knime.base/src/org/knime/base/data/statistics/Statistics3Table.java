@@ -47,10 +47,12 @@
  */
 package org.knime.base.data.statistics;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -58,12 +60,11 @@
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
-import org.apache.commons.math.stat.descriptive.moment.Kurtosis;
-import org.apache.commons.math.stat.descriptive.moment.Mean;
-import org.apache.commons.math.stat.descriptive.moment.Skewness;
-import org.apache.commons.math.stat.descriptive.moment.Variance;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnDomainCreator;
 import org.knime.core.data.DataColumnSpec;
@@ -90,9 +91,11 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.util.MutableInteger;
+import org.knime.core.util.ThreadPool;
 
 /**
  * New statistic table utility class to compute statistical moments, such as mean, variance, column sum, count missing
@@ -279,14 +282,7 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
         m_spec = table.getDataTableSpec();
         // initialize cache arrays
         m_meanValues = new double[nrCols];
-        //Using Mean and Variance from commons math. Bug: 4286
-        Mean[] means = new Mean[nrCols];
         m_varianceValues = new double[nrCols];
-        Variance[] variances = new Variance[nrCols];
-        for (int i = nrCols; i-- > 0;) {
-            means[i] = new Mean();
-            variances[i] = new Variance(true);
-        }
         m_sum = new double[nrCols];
         m_minValues = new double[nrCols];
         m_maxValues = new double[nrCols];
@@ -294,55 +290,21 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
         m_maxCells = new DataCell[nrCols];
         m_minNonInfValues = new DataCell[nrCols];
         m_maxNonInfValues = new DataCell[nrCols];
-        m_missingValueCnt = new int[nrCols];
-        m_nanValueCnt = new int[nrCols];
-        m_posInfinityValueCnt = new int[nrCols];
-        m_negInfinityValueCnt = new int[nrCols];
         m_median = new double[nrCols];
         m_nominalValues = new ArrayList<Map<DataCell, Integer>>(nominalValueColumns.size());
         for (int i = nrCols; i-- > 0;) {
             m_nominalValues.add(null);
         }
         m_rowCount = table.getRowCount();
-        //Using Skewness and Kurtosis from commons math.
         m_skewness = new double[nrCols];
         m_kurtosis = new double[nrCols];
-        final Skewness[] skewness = new Skewness[nrCols];
-        final Kurtosis[] kurtosis = new Kurtosis[nrCols];
-        for (int i = nrCols; i-- > 0;) {
-            skewness[i] = new Skewness();
-            kurtosis[i] = new Kurtosis();
-        }
 
         Set<String> nominalValueColumnsSet = new HashSet<String>(nominalValueColumns);
-
-        // the number of non-missing cells in each column
-        int[] validCount = new int[nrCols];
-        double[] sumsquare = new double[nrCols];
-        for (int i = 0; i < nrCols; i++) {
-            m_missingValueCnt[i] = 0;
-            m_meanValues[i] = Double.NaN;
-            m_sum[i] = Double.NaN;
-            m_varianceValues[i] = Double.NaN;
-            m_minCells[i] = DataType.getMissingCell();
-            m_maxCells[i] = DataType.getMissingCell();
-            m_minNonInfValues[i] = DataType.getMissingCell();
-            m_maxNonInfValues[i] = DataType.getMissingCell();
-            m_skewness[i] = Double.NaN;
-            m_kurtosis[i] = Double.NaN;
-            m_median[i] = Double.NaN;
-            sumsquare[i] = 0.0;
-            validCount[i] = 0;
-        }
-
-        // used to store warnings
-        final StringBuilder warn = new StringBuilder();
-
-        // temp map used to sort later based in occurrences
-        final List<Map<DataCell, MutableInteger>> nominalValues =
-            new ArrayList<Map<DataCell, MutableInteger>>(m_nominalValues.size());
-        for (int i = m_nominalValues.size(); i-- > 0;) {
-            nominalValues.add(null);
+        final boolean[] isNominal = new boolean[nrCols];
+        final boolean[] isDouble = new boolean[nrCols];
+        for (int c : colIndices) {
+            isNominal[c] = nominalValueColumnsSet.contains(m_spec.getColumnSpec(c).getName());
+            isDouble[c] = m_spec.getColumnSpec(c).getType().isCompatible(DoubleValue.class);
         }
 
         final int rowCnt = table.getRowCount();
@@ -354,74 +316,84 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
                 }
             }
         }
-        int rowIdx = 0;
-        for (RowIterator rowIt = table.iterator(); rowIt.hasNext(); rowIdx++) {
-            DataRow row = rowIt.next();
-            exec.setProgress(rowIdx / diffProgress, "Calculating statistics, processing row " + (rowIdx + 1) + " (\""
-                + row.getKey() + "\")");
 
-            onStatisticComputation(row);
-
-            for (int c : colIndices) {
+        // chunks of rows are accumulated in parallel, the partial results are merged in chunk order
+        final PartialStatistics total =
+            new PartialStatistics(m_spec, colIndices, isDouble, isNominal, numNomValuesOutput);
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final int nrThreads = pool.getMaxThreads();
+        final Deque<Future<PartialStatistics>> pending = new ArrayDeque<>();
+        try {
+            List<DataRow> chunk = new ArrayList<DataRow>(CHUNK_SIZE);
+            int rowIdx = 0;
+            for (RowIterator rowIt = table.iterator(); rowIt.hasNext(); rowIdx++) {
+                DataRow row = rowIt.next();
+                exec.setProgress(rowIdx / diffProgress, "Calculating statistics, processing row " + (rowIdx + 1)
+                    + " (\"" + row.getKey() + "\")");
                 exec.checkCanceled();
-                DataColumnSpec cspec = m_spec.getColumnSpec(c);
-                final DataCell cell = row.getCell(c);
-                if (!(cell.isMissing())) {
-                    // for double columns we calc the sum (for the mean calc)
-                    if (cspec.getType().isCompatible(DoubleValue.class)) {
-                        double d = ((DoubleValue)cell).getDoubleValue();
-                        means[c].increment(d);
-                        variances[c].increment(d);
-                        updateMinMax(c, cell, cspec.getType().getComparator());
-                        if (d == Double.POSITIVE_INFINITY) {
-                            m_posInfinityValueCnt[c]++;
-                        }
-                        if (d == Double.NEGATIVE_INFINITY) {
-                            m_negInfinityValueCnt[c]++;
-                        }
-                        if (Double.isNaN(d)) {
-                            m_nanValueCnt[c]++;
-                        }
-                        skewness[c].increment(d);
-                        kurtosis[c].increment(d);
-                        sumsquare[c] += d * d;
-                        validCount[c]++;
+
+                onStatisticComputation(row);
+
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    pending.add(pool.enqueue(createChunkTask(chunk, colIndices, isDouble, isNominal,
+                        numNomValuesOutput, m_spec)));
+                    chunk = new ArrayList<DataRow>(CHUNK_SIZE);
+                    // bound the number of buffered rows
+                    while (pending.size() > 2 * nrThreads) {
+                        total.merge(getChunkResult(pending.poll()));
                     }
-                } else {
-                    m_missingValueCnt[c]++;
                 }
-                if (nominalValueColumnsSet.contains(cspec.getName())) {
-                    if (nominalValues.get(c) == null || (nominalValues.get(c) != null
-                    // list is only empty, when the number of poss.
-                    // values exceeded the maximum
-                        && nominalValues.get(c).size() > 0)) {
-                        if (nominalValues.get(c) == null) {
-                            nominalValues.set(c, new LinkedHashMap<DataCell, MutableInteger>());
-                        }
-                        MutableInteger cnt = nominalValues.get(c).get(cell);
-                        if (cnt == null) {
-                            nominalValues.get(c).put(cell, new MutableInteger(1));
-                        } else {
-                            cnt.inc();
-                        }
-                        if (nominalValues.get(c).size() == numNomValuesOutput + 1) {
-                            if (warn.length() == 0) {
-                                warn.append("Maximum number of unique possible " + "values (" + numNomValuesOutput
-                                    + ") exceeds for column(s): ");
-                            } else {
-                                warn.append(",");
-                            }
-                            warn.append("\"" + m_spec.getColumnSpec(c).getName() + "\"");
-                            nominalValues.get(c).clear();
-                        }
-                    }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(pool.enqueue(createChunkTask(chunk, colIndices, isDouble, isNominal,
+                    numNomValuesOutput, m_spec)));
+            }
+            while (!pending.isEmpty()) {
+                total.merge(getChunkResult(pending.poll()));
+            }
+        } finally {
+            for (Future<PartialStatistics> future : pending) {
+                future.cancel(true);
+            }
+        }
+
+        m_missingValueCnt = total.m_missingValueCnt;
+        m_nanValueCnt = total.m_nanValueCnt;
+        m_posInfinityValueCnt = total.m_posInfinityValueCnt;
+        m_negInfinityValueCnt = total.m_negInfinityValueCnt;
+        for (int i = 0; i < nrCols; i++) {
+            m_minCells[i] = total.m_minCells[i] == null ? DataType.getMissingCell() : total.m_minCells[i];
+            m_maxCells[i] = total.m_maxCells[i] == null ? DataType.getMissingCell() : total.m_maxCells[i];
+            m_minNonInfValues[i] = total.getMinNonInf(i);
+            m_maxNonInfValues[i] = total.getMaxNonInf(i);
+            m_median[i] = Double.NaN;
+        }
+
+        // used to store warnings
+        final StringBuilder warn = new StringBuilder();
+
+        // temp map used to sort later based in occurrences
+        final List<Map<DataCell, MutableInteger>> nominalValues =
+            new ArrayList<Map<DataCell, MutableInteger>>(m_nominalValues.size());
+        for (int c = 0; c < m_nominalValues.size(); c++) {
+            if (total.m_nominalExceeded[c]) {
+                if (warn.length() == 0) {
+                    warn.append("Maximum number of unique possible " + "values (" + numNomValuesOutput
+                        + ") exceeds for column(s): ");
+                } else {
+                    warn.append(",");
                 }
+                warn.append("\"" + m_spec.getColumnSpec(c).getName() + "\"");
+                nominalValues.add(new LinkedHashMap<DataCell, MutableInteger>());
+            } else {
+                nominalValues.add(total.m_nominalValues.get(c));
             }
         }
         //Table is empty, but we should provide the nominal values an empty map.
-        if (!table.iterator().hasNext()) {
+        if (rowCnt == 0) {
             for (int c : colIndices) {
-                if (nominalValueColumnsSet.contains(m_spec.getColumnSpec(c).getName())) {
+                if (isNominal[c]) {
                     nominalValues.set(c, Collections.<DataCell, MutableInteger> emptyMap());
                 }
             }
@@ -435,9 +407,10 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
         }
 
         for (int j = 0; j < nrCols; j++) {
+            final Moments moments = total.m_moments[j];
             // in case we got an empty table or columns that contain only
             // missing values
-            if (validCount[j] == 0) {
+            if (moments == null || moments.m_n == 0) {
                 m_minValues[j] = Double.NaN;
                 m_maxValues[j] = Double.NaN;
                 m_meanValues[j] = Double.NaN;
@@ -448,11 +421,11 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
             } else {
                 m_minValues[j] = m_minCells[j].isMissing() ? Double.NaN : ((DoubleValue) m_minCells[j]).getDoubleValue();
                 m_maxValues[j] = m_maxCells[j].isMissing() ? Double.NaN : ((DoubleValue) m_maxCells[j]).getDoubleValue();
-                m_meanValues[j] = means[j].getResult();
-                m_varianceValues[j] = variances[j].getResult();
-                m_sum[j] = means[j].getResult() * means[j].getN();
-                m_skewness[j] = skewness[j].getResult();
-                m_kurtosis[j] = kurtosis[j].getResult();
+                m_meanValues[j] = moments.getMean();
+                m_varianceValues[j] = moments.getVariance();
+                m_sum[j] = moments.getMean() * moments.m_n;
+                m_skewness[j] = moments.getSkewness();
+                m_kurtosis[j] = moments.getKurtosis();
                 // unreported bug fix: in cases in which a column contains
                 // almost only one value (for instance 1.0) but one single
                 // 'outlier' whose value is, for instance 0.9999998, we get
@@ -1327,36 +1300,369 @@ public static DataTableSpec getStatisticsSpecification() {
     }
 
 
-    /** Updates the min and max value for an respective column. This method
-     * does nothing if the min and max values don't need to be stored, e.g.
-     * the column at hand contains string values.
-     * @param col The column of interest.
-     * @param cell The new value to check.
+    /** Waits for the statistics of a chunk, runtime exceptions of the chunk task are rethrown. */
+    private static PartialStatistics getChunkResult(final Future<PartialStatistics> future)
+        throws CanceledExecutionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException(e.getMessage());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /** Number of rows that are accumulated by one task. */
+    private static final int CHUNK_SIZE = 2048;
+
+    private static Callable<PartialStatistics> createChunkTask(final List<DataRow> rows, final int[] colIndices,
+        final boolean[] isDouble, final boolean[] isNominal, final int numNomValuesOutput, final DataTableSpec spec) {
+        return () -> {
+            final PartialStatistics stats =
+                new PartialStatistics(spec, colIndices, isDouble, isNominal, numNomValuesOutput);
+            for (DataRow row : rows) {
+                stats.add(row);
+            }
+            return stats;
+        };
+    }
+
+    /**
+     * Central moments up to the fourth order of a column. The single value updates are the same as the ones of the
+     * commons math moments (which were used before), partial results are combined with the pairwise update formulas
+     * of Chan et al. and Pebay.
+     */
+    private static final class Moments {
+        private long m_n;
+
+        private double m_m1;
+
+        private double m_m2;
+
+        private double m_m3;
+
+        private double m_m4;
+
+        void increment(final double d) {
+            final double n0 = m_n;
+            m_n++;
+            final double n = m_n;
+            final double prevM2 = m_m2;
+            final double prevM3 = m_m3;
+            final double dev = d - m_m1;
+            final double nDev = dev / n;
+            final double nDevSq = nDev * nDev;
+            m_m1 += nDev;
+            m_m4 = m_m4 - 4.0 * nDev * prevM3 + 6.0 * nDevSq * prevM2
+                + ((n * n) - 3 * (n - 1)) * (nDevSq * nDevSq * (n - 1) * n);
+            m_m3 = m_m3 - 3.0 * nDev * prevM2 + (n - 1) * (n - 2) * nDevSq * dev;
+            m_m2 += n0 * dev * nDev;
+        }
+
+        void merge(final Moments other) {
+            if (other.m_n == 0) {
+                return;
+            }
+            if (m_n == 0) {
+                m_n = other.m_n;
+                m_m1 = other.m_m1;
+                m_m2 = other.m_m2;
+                m_m3 = other.m_m3;
+                m_m4 = other.m_m4;
+                return;
+            }
+            final double nA = m_n;
+            final double nB = other.m_n;
+            final double n = nA + nB;
+            final double delta = other.m_m1 - m_m1;
+            final double deltaN = delta / n;
+            final double deltaN2 = deltaN * deltaN;
+            final double m2 = m_m2 + other.m_m2 + delta * deltaN * nA * nB;
+            final double m3 = m_m3 + other.m_m3 + delta * deltaN2 * nA * nB * (nA - nB)
+                + 3.0 * deltaN * (nA * other.m_m2 - nB * m_m2);
+            final double m4 = m_m4 + other.m_m4
+                + delta * deltaN2 * deltaN * nA * nB * (nA * nA - nA * nB + nB * nB)
+                + 6.0 * deltaN2 * (nA * nA * other.m_m2 + nB * nB * m_m2)
+                + 4.0 * deltaN * (nA * other.m_m3 - nB * m_m3);
+            m_m1 += deltaN * nB;
+            m_m2 = m2;
+            m_m3 = m3;
+            m_m4 = m4;
+            m_n += other.m_n;
+        }
+
+        double getMean() {
+            return m_n == 0 ? Double.NaN : m_m1;
+        }
+
+        /** Bias corrected variance. */
+        double getVariance() {
+            if (m_n == 0) {
+                return Double.NaN;
+            }
+            return m_n == 1 ? 0.0 : m_m2 / (m_n - 1.0);
+        }
+
+        double getSkewness() {
+            if (m_n < 3) {
+                return Double.NaN;
+            }
+            final double variance = getVariance();
+            if (variance < 10E-20) {
+                return 0.0;
+            }
+            final double n = m_n;
+            return (n * m_m3) / ((n - 1) * (n - 2) * Math.sqrt(variance) * variance);
+        }
+
+        double getKurtosis() {
+            if (m_n <= 3) {
+                return Double.NaN;
+            }
+            final double variance = getVariance();
+            if (variance < 10E-20) {
+                return 0.0;
+            }
+            final double n = m_n;
+            return (n * (n + 1) * m_m4 - 3 * m_m2 * m_m2 * (n - 1))
+                / ((n - 1) * (n - 2) * (n - 3) * variance * variance);
+        }
+    }
+
+    /**
+     * Statistics of a consecutive range of rows. Instances of consecutive ranges are merged in row order so that the
+     * minimum/maximum cells and the order of the nominal values are the same as if the rows were processed one by
+     * one.
      */
-    private void updateMinMax(final int col, final DataCell cell, final DataValueComparator comparator) {
-        if (cell.isMissing()) {
-            return;
+    private static final class PartialStatistics {
+        private final int[] m_colIndices;
+
+        private final boolean[] m_isDouble;
+
+        private final boolean[] m_isNominal;
+
+        private final int m_numNomValuesOutput;
+
+        private final DataValueComparator[] m_comparators;
+
+        private final int[] m_missingValueCnt;
+
+        private final int[] m_nanValueCnt;
+
+        private final int[] m_posInfinityValueCnt;
+
+        private final int[] m_negInfinityValueCnt;
+
+        private final Moments[] m_moments;
+
+        private final DataCell[] m_minCells;
+
+        private final DataCell[] m_maxCells;
+
+        /** The first non-NaN value of a column, the initial value of the min/max non-infinite candidates. */
+        private final DataCell[] m_firstCells;
+
+        /** The smallest finite value. */
+        private final DataCell[] m_minFiniteCells;
+
+        /** The largest finite value. */
+        private final DataCell[] m_maxFiniteCells;
+
+        private final List<Map<DataCell, MutableInteger>> m_nominalValues;
+
+        private final boolean[] m_nominalExceeded;
+
+        PartialStatistics(final DataTableSpec spec, final int[] colIndices, final boolean[] isDouble,
+            final boolean[] isNominal, final int numNomValuesOutput) {
+            final int nrCols = spec.getNumColumns();
+            m_colIndices = colIndices;
+            m_isDouble = isDouble;
+            m_isNominal = isNominal;
+            m_numNomValuesOutput = numNomValuesOutput;
+            m_comparators = new DataValueComparator[nrCols];
+            for (int c : colIndices) {
+                m_comparators[c] = spec.getColumnSpec(c).getType().getComparator();
+            }
+            m_missingValueCnt = new int[nrCols];
+            m_nanValueCnt = new int[nrCols];
+            m_posInfinityValueCnt = new int[nrCols];
+            m_negInfinityValueCnt = new int[nrCols];
+            m_moments = new Moments[nrCols];
+            m_minCells = new DataCell[nrCols];
+            m_maxCells = new DataCell[nrCols];
+            m_firstCells = new DataCell[nrCols];
+            m_minFiniteCells = new DataCell[nrCols];
+            m_maxFiniteCells = new DataCell[nrCols];
+            m_nominalValues = new ArrayList<Map<DataCell, MutableInteger>>(nrCols);
+            for (int c = 0; c < nrCols; c++) {
+                m_nominalValues.add(null);
+                m_moments[c] = new Moments();
+            }
+            m_nominalExceeded = new boolean[nrCols];
         }
-        DataCell value = handleNaN(cell instanceof BlobWrapperDataCell ? ((BlobWrapperDataCell)cell).getCell() : cell);
-        if (value.isMissing()) {
-            return;
+
+        void add(final DataRow row) {
+            for (int c : m_colIndices) {
+                final DataCell cell = row.getCell(c);
+                if (!cell.isMissing()) {
+                    // for double columns we calc the moments
+                    if (m_isDouble[c]) {
+                        double d = ((DoubleValue)cell).getDoubleValue();
+                        m_moments[c].increment(d);
+                        updateMinMax(c, cell);
+                        if (d == Double.POSITIVE_INFINITY) {
+                            m_posInfinityValueCnt[c]++;
+                        }
+                        if (d == Double.NEGATIVE_INFINITY) {
+                            m_negInfinityValueCnt[c]++;
+                        }
+                        if (Double.isNaN(d)) {
+                            m_nanValueCnt[c]++;
+                        }
+                    }
+                } else {
+                    m_missingValueCnt[c]++;
+                }
+                if (m_isNominal[c] && !m_nominalExceeded[c]) {
+                    Map<DataCell, MutableInteger> map = m_nominalValues.get(c);
+                    if (map == null) {
+                        map = new LinkedHashMap<DataCell, MutableInteger>();
+                        m_nominalValues.set(c, map);
+                    }
+                    MutableInteger cnt = map.get(cell);
+                    if (cnt == null) {
+                        map.put(cell, new MutableInteger(1));
+                    } else {
+                        cnt.inc();
+                    }
+                    checkNominalValues(c);
+                }
+            }
         }
 
-        if (m_minCells[col].isMissing() || (comparator.compare(value, m_minCells[col]) < 0)) {
-            m_minCells[col] = value;
+        /** Updates the min and max values of the respective (double) column. */
+        private void updateMinMax(final int col, final DataCell cell) {
+            DataCell value =
+                handleNaN(cell instanceof BlobWrapperDataCell ? ((BlobWrapperDataCell)cell).getCell() : cell);
+            if (value.isMissing()) {
+                return;
+            }
+            final DataValueComparator comparator = m_comparators[col];
+            if (m_minCells[col] == null || comparator.compare(value, m_minCells[col]) < 0) {
+                m_minCells[col] = value;
+            }
+            if (m_maxCells[col] == null || comparator.compare(value, m_maxCells[col]) > 0) {
+                m_maxCells[col] = value;
+            }
+            if (m_firstCells[col] == null) {
+                m_firstCells[col] = value;
+            }
+            if (!Double.isInfinite(((DoubleValue)value).getDoubleValue())) {
+                if (m_minFiniteCells[col] == null || comparator.compare(value, m_minFiniteCells[col]) < 0) {
+                    m_minFiniteCells[col] = value;
+                }
+                if (m_maxFiniteCells[col] == null || comparator.compare(value, m_maxFiniteCells[col]) > 0) {
+                    m_maxFiniteCells[col] = value;
+                }
+            }
         }
-        if (m_maxCells[col].isMissing() || (comparator.compare(value, m_maxCells[col]) > 0)) {
-            m_maxCells[col] = value;
+
+        /** Drops the possible values of a column once there are more than allowed. */
+        private void checkNominalValues(final int col) {
+            if (m_nominalValues.get(col).size() > m_numNomValuesOutput) {
+                m_nominalExceeded[col] = true;
+                m_nominalValues.get(col).clear();
+            }
         }
 
+        /**
+         * Adds the statistics of the rows directly following the ones of this object.
+         *
+         * @param other statistics of the next range of rows
+         */
+        void merge(final PartialStatistics other) {
+            for (int c : m_colIndices) {
+                m_missingValueCnt[c] += other.m_missingValueCnt[c];
+                m_nanValueCnt[c] += other.m_nanValueCnt[c];
+                m_posInfinityValueCnt[c] += other.m_posInfinityValueCnt[c];
+                m_negInfinityValueCnt[c] += other.m_negInfinityValueCnt[c];
+                m_moments[c].merge(other.m_moments[c]);
+                final DataValueComparator comparator = m_comparators[c];
+                m_minCells[c] = min(comparator, m_minCells[c], other.m_minCells[c]);
+                m_maxCells[c] = max(comparator, m_maxCells[c], other.m_maxCells[c]);
+                if (m_firstCells[c] == null) {
+                    m_firstCells[c] = other.m_firstCells[c];
+                }
+                m_minFiniteCells[c] = min(comparator, m_minFiniteCells[c], other.m_minFiniteCells[c]);
+                m_maxFiniteCells[c] = max(comparator, m_maxFiniteCells[c], other.m_maxFiniteCells[c]);
+                if (m_isNominal[c] && !m_nominalExceeded[c]) {
+                    if (other.m_nominalExceeded[c]) {
+                        m_nominalExceeded[c] = true;
+                        m_nominalValues.set(c, new LinkedHashMap<DataCell, MutableInteger>());
+                    } else if (other.m_nominalValues.get(c) != null) {
+                        if (m_nominalValues.get(c) == null) {
+                            m_nominalValues.set(c, new LinkedHashMap<DataCell, MutableInteger>());
+                        }
+                        final Map<DataCell, MutableInteger> map = m_nominalValues.get(c);
+                        for (Entry<DataCell, MutableInteger> e : other.m_nominalValues.get(c).entrySet()) {
+                            MutableInteger cnt = map.get(e.getKey());
+                            if (cnt == null) {
+                                map.put(e.getKey(), new MutableInteger(e.getValue().intValue()));
+                            } else {
+                                cnt.setValue(cnt.intValue() + e.getValue().intValue());
+                            }
+                        }
+                        checkNominalValues(c);
+                    }
+                }
+            }
+        }
+
+        /**
+         * The minimum of the non-infinite values; as the first value (even if infinite) is the initial candidate, an
+         * infinite value is returned in case it is smaller than all finite values.
+         */
+        DataCell getMinNonInf(final int col) {
+            return orMissing(min(m_comparators[col], m_firstCells[col], m_minFiniteCells[col]));
+        }
 
-        if (m_minNonInfValues[col].isMissing() || (!Double.isInfinite(((DoubleValue) value).getDoubleValue())
-                && (comparator.compare(value, m_minNonInfValues[col]) < 0))) {
-            m_minNonInfValues[col] = value;
+        /** Counterpart of {@link #getMinNonInf(int)}. */
+        DataCell getMaxNonInf(final int col) {
+            return orMissing(max(m_comparators[col], m_firstCells[col], m_maxFiniteCells[col]));
         }
-        if (m_maxNonInfValues[col].isMissing() || (!Double.isInfinite(((DoubleValue) value).getDoubleValue())
-                && (comparator.compare(value, m_maxNonInfValues[col]) > 0))) {
-            m_maxNonInfValues[col] = value;
+
+        private static DataCell orMissing(final DataCell candidate) {
+            return candidate == null ? DataType.getMissingCell() : candidate;
+        }
+
+        /** The smaller cell, the first one in case of ties; {@code null} represents no value. */
+        private static DataCell min(final DataValueComparator comparator, final DataCell first,
+            final DataCell second) {
+            if (first == null) {
+                return second;
+            }
+            if (second == null || comparator.compare(second, first) >= 0) {
+                return first;
+            }
+            return second;
+        }
+
+        /** The larger cell, the first one in case of ties; {@code null} represents no value. */
+        private static DataCell max(final DataValueComparator comparator, final DataCell first,
+            final DataCell second) {
+            if (first == null) {
+                return second;
+            }
+            if (second == null || comparator.compare(second, first) <= 0) {
+                return first;
+            }
+            return second;
         }
     }
 
@@ -123,6 +123,20 @@ private TransformationMatrix(final double[] sortedEigenVals, final double[][] so
         m_maxDimToReduceTo = maxDimToReduceTo;
     }
 
+    /**
+     * Constructor for an already computed, possibly truncated, eigenvalue decomposition. The maximum number of
+     * dimensions to reduce to is the number of eigenvalues.
+     *
+     * @param sortedEigenVals the non-increasingly sorted eigenvalues
+     * @param sortedEigenVecs the normalized eigenvectors in the order of the eigenvalues, one per row
+     * @param centers the centers for the columns, i.e., the column means
+     * @since 4.3
+     */
+    public TransformationMatrix(final double[] sortedEigenVals, final double[][] sortedEigenVecs,
+        final RealVector centers) {
+        this(sortedEigenVals, sortedEigenVecs, centers.toArray(), sortedEigenVals.length);
+    }
+
     /**
      * Constructor.
      *
@@ -48,36 +48,66 @@
  */
 package org.knime.base.data.statistics.calculation;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.stream.Stream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
 import org.apache.commons.math3.linear.ArrayRealVector;
 import org.apache.commons.math3.linear.RealMatrix;
 import org.apache.commons.math3.linear.RealVector;
-import org.apache.commons.math3.stat.descriptive.moment.Mean;
 import org.knime.base.data.statistics.TransformationMatrix;
 import org.knime.base.node.mine.transformation.util.TransformationUtils;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Calculates the principal component analysis (PCA).
+ * <p>
+ * The covariance matrix is computed in a single pass over the table. The rows are collected in blocks, the co-moments
+ * of each block are computed around the block means and merged into the overall co-moments with the update formula of
+ * Chan et al., which is numerically stable also for columns with a large offset. The merge of a block is split by the
+ * rows of the covariance matrix among the threads of a pool, each entry is still updated by a single task in block
+ * order.
  *
  * @author Mark Ortmann, KNIME GmbH, Berlin, Germany
  * @since 4.0
  */
 public final class PCA {
 
+    /** The number of table rows collected before they are merged into the co-moments. */
+    private static final int BLOCK_SIZE = 2048;
+
+    /** Minimal number of multiply-adds of a task. */
+    private static final long MIN_TASK_WORK = 1L << 16;
+
     /** The covariance matrix. */
     private RealMatrix m_covMtx;
 
     /** The number of missing rows. */
     private int m_missings;
 
+    /** Upper triangle of the co-moments, row {@code i} holds the entries {@code (i, i), (i, i + 1)...}. */
+    private double[][] m_coMoments;
+
+    /** The column means of the rows merged so far. */
+    private double[] m_means;
+
+    /** The number of rows merged so far. */
+    private long m_count;
+
+    private ThreadPool m_pool;
+
+    private int m_numComponents;
+
     /**
      * Constructor.
      */
@@ -85,6 +115,32 @@ public PCA() {
 
     }
 
+    /**
+     * Sets the pool used to merge the blocks of rows into the covariance matrix and to multiply with it in the
+     * truncated decomposition. If no pool is set (the default) everything is done in the calling thread. The tasks
+     * split the rows of the matrix, so the covariance matrix and the components are the same in both cases.
+     *
+     * @param pool the pool to use, may be <code>null</code>
+     * @since 4.3
+     */
+    public void setThreadPool(final ThreadPool pool) {
+        m_pool = pool;
+    }
+
+    /**
+     * Restricts the decomposition to the given number of leading principal components. These are approximated with a
+     * randomized truncated singular value decomposition of the covariance matrix, which is much faster than the full
+     * eigenvalue decomposition if only few components of many columns are required. The returned transformation
+     * matrix then only holds the leading eigenvalues and vectors. A value that is not positive or not smaller than the
+     * number of columns (the default) selects the full decomposition.
+     *
+     * @param numComponents the number of leading components to compute
+     * @since 4.3
+     */
+    public void setNumberOfComponents(final int numComponents) {
+        m_numComponents = numComponents;
+    }
+
     /**
      * Calculates the PCA.
      *
@@ -99,81 +155,173 @@ public PCA() {
     public TransformationMatrix calcTransformationMatrix(final ExecutionContext exec, final BufferedDataTable inTable,
         final String[] colNames, final boolean failOnMissingValues) throws CanceledExecutionException {
         final int[] colIdx = inTable.getSpec().columnsToIndices(colNames);
-        final RealVector means =
-            calculateColMeans(exec.createSubExecutionContext(0.33), inTable, colIdx, failOnMissingValues);
-        calcCovarMatrix(exec.createSubExecutionContext(0.33), inTable, colIdx, means);
+        calcCovarMatrix(exec.createSubExecutionContext(0.66), inTable, colIdx, failOnMissingValues);
         correctCovarMatrix(inTable.size());
-        final TransformationMatrix transMatrix = new TransformationMatrix(m_covMtx, means);
+        final RealVector means = new ArrayRealVector(m_means, false);
+        final TransformationMatrix transMatrix;
+        if (m_numComponents > 0 && m_numComponents < colIdx.length) {
+            final TruncatedEigenDecomposition decomp = new TruncatedEigenDecomposition(m_covMtx.getData(),
+                m_numComponents, m_pool, exec.createSubExecutionContext(0.34));
+            transMatrix =
+                new TransformationMatrix(decomp.getSortedEigenValues(), decomp.getSortedEigenVectors(), means);
+        } else {
+            transMatrix = new TransformationMatrix(m_covMtx, means);
+        }
         exec.setProgress(1);
         return transMatrix;
     }
 
     /**
-     * Calculates the column means in order to center the input table columns.
+     * Calculate the co-moments and column means of all rows without missing values.
      *
-     * @param exec the execution context
+     * @param exec the execution context.
      * @param inTable the input table
-     * @param colIdx the columns for which the column means have to be computed
-     * @param failOnMissingValuesflag indicating if the computation should fail if a row contains missing values
+     * @param colIdx the columns for which the covariance matrix has to be calculated
+     * @param failOnMissingValues flag indicating if the computation should fail if a row contains missing values
      *            ({@code true}), or just ignore these rows ({@code false})
-     * @return the column means
      * @throws CanceledExecutionException - If the execution gets canceled
      */
-    private RealVector calculateColMeans(final ExecutionContext exec, final BufferedDataTable inTable,
-        final int[] colIdx, final boolean failOnMissingValues) throws CanceledExecutionException {
-        final long nRow = inTable.size();
+    private void calcCovarMatrix(final ExecutionContext exec, final BufferedDataTable inTable, final int[] colIdx,
+        final boolean failOnMissingValues) throws CanceledExecutionException {
         final int nCols = colIdx.length;
+        m_means = new double[nCols];
+        m_coMoments = new double[nCols][];
+        for (int i = 0; i < nCols; i++) {
+            m_coMoments[i] = new double[nCols - i];
+        }
+        m_count = 0;
+        // the block is stored column-wise such that the co-moments are dot products of contiguous arrays
+        final double[][] block = new double[nCols][BLOCK_SIZE];
+        final long nRow = inTable.size();
         double curRow = 0;
-        final Mean[] means = Stream.generate(Mean::new).limit(nCols).toArray(Mean[]::new);
-        // calculate column means
+        int blockRows = 0;
         for (final DataRow row : inTable) {
             exec.checkCanceled();
-            final Optional<RealVector> optRowVec = TransformationUtils.rowToRealVector(row, colIdx);
-            if (!optRowVec.isPresent()) {
+            exec.setProgress(++curRow / nRow);
+            if (!addToBlock(row, colIdx, block, blockRows)) {
                 ++m_missings;
                 if (failOnMissingValues) {
                     throw new IllegalArgumentException(TransformationUtils.MISSING_VALUE_EXCEPTION);
                 }
                 continue;
             }
-            final RealVector rowVec = optRowVec.get();
-            for (int i = 0; i < nCols; i++) {
-                exec.setProgress(++curRow / nRow);
-                means[i].increment(rowVec.getEntry(i));
+            if (++blockRows == BLOCK_SIZE) {
+                mergeBlock(block, blockRows);
+                blockRows = 0;
             }
         }
-        return new ArrayRealVector(Arrays.stream(means).mapToDouble(Mean::getResult).toArray());
+        if (blockRows > 0) {
+            mergeBlock(block, blockRows);
+        }
     }
 
     /**
-     * Calculate the covariance matrix.
+     * Copies the values of the row to the given position of the block.
      *
-     * @param exec the execution context.
-     * @param inTable the input table
-     * @param colIdx the columns for which the covariance matrix has to be calculated
-     * @param means the column means used to center the matrix
-     * @throws CanceledExecutionException - If the execution gets canceled
+     * @return {@code false} if the row contains a missing value
      */
-    private void calcCovarMatrix(final ExecutionContext exec, final BufferedDataTable inTable, final int[] colIdx,
-        final RealVector means) throws CanceledExecutionException {
-        final long nRow = inTable.size();
-        double curRow = 0;
-        for (final DataRow row : inTable) {
-            exec.checkCanceled();
-            final Optional<RealVector> optVec = TransformationUtils.rowToRealVector(row, colIdx);
-            optVec.ifPresent(v -> updateCovarMatrix(v.combineToSelf(1, -1, means)));
-            exec.setProgress(++curRow / nRow);
+    private static boolean addToBlock(final DataRow row, final int[] colIdx, final double[][] block, final int pos) {
+        for (int c = 0; c < colIdx.length; c++) {
+            final DataCell cell = row.getCell(colIdx[c]);
+            if (cell.isMissing()) {
+                return false;
+            }
+            block[c][pos] = ((DoubleValue)cell).getDoubleValue();
         }
+        return true;
     }
 
     /**
-     * Updates the covariance matrix.
+     * Merges the first rows of the block into the co-moments and means.
      *
-     * @param vec the vector to be added to the covariance matrix
+     * @param block the column-wise stored block, its values are centered by this method
+     * @param blockRows the number of rows of the block
      */
-    private void updateCovarMatrix(final RealVector vec) {
-        final RealMatrix outerProd = vec.outerProduct(vec);
-        m_covMtx = m_covMtx == null ? outerProd : m_covMtx.add(outerProd);
+    private void mergeBlock(final double[][] block, final int blockRows) throws CanceledExecutionException {
+        final int nCols = block.length;
+        final long count = m_count + blockRows;
+        final double[] delta = new double[nCols];
+        for (int c = 0; c < nCols; c++) {
+            final double[] values = block[c];
+            double sum = 0;
+            for (int r = 0; r < blockRows; r++) {
+                sum += values[r];
+            }
+            final double blockMean = sum / blockRows;
+            for (int r = 0; r < blockRows; r++) {
+                values[r] -= blockMean;
+            }
+            delta[c] = blockMean - m_means[c];
+        }
+        final double weight = (double)m_count * blockRows / count;
+        final long work = (long)nCols * (nCols + 1) / 2 * blockRows;
+        if (m_pool == null || work < 2 * MIN_TASK_WORK) {
+            mergeRows(block, blockRows, delta, weight, 0, nCols);
+        } else {
+            final long taskWork = Math.max(MIN_TASK_WORK, work / (4L * m_pool.getMaxThreads()));
+            final List<Future<?>> futures = new ArrayList<>();
+            int from = 0;
+            long rowsWork = 0;
+            for (int i = 0; i < nCols; i++) {
+                rowsWork += (long)(nCols - i) * blockRows;
+                if (rowsWork >= taskWork || i == nCols - 1) {
+                    final int start = from;
+                    final int end = i + 1;
+                    futures.add(m_pool.enqueue(() -> mergeRows(block, blockRows, delta, weight, start, end)));
+                    from = end;
+                    rowsWork = 0;
+                }
+            }
+            waitForAll(futures);
+        }
+        for (int c = 0; c < nCols; c++) {
+            m_means[c] += delta[c] * blockRows / count;
+        }
+        m_count = count;
+    }
+
+    /**
+     * Adds the co-moments of the centered block and the correction for the shift of the means to the rows
+     * {@code from} (incl.) to {@code to} (excl.) of the co-moments.
+     */
+    private void mergeRows(final double[][] block, final int blockRows, final double[] delta, final double weight,
+        final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double[] row = m_coMoments[i];
+            final double[] values = block[i];
+            final double factor = weight * delta[i];
+            for (int j = i; j < block.length; j++) {
+                final double[] other = block[j];
+                double sum = 0;
+                for (int r = 0; r < blockRows; r++) {
+                    sum += values[r] * other[r];
+                }
+                row[j - i] += sum + factor * delta[j];
+            }
+        }
+    }
+
+    /** Waits for the tasks, runtime exceptions of a task are rethrown and the remaining tasks are cancelled. */
+    private static void waitForAll(final List<Future<?>> futures) throws CanceledExecutionException {
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException(e.getMessage());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (final Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
     }
 
     /**
@@ -184,7 +332,17 @@ private void updateCovarMatrix(final RealVector vec) {
     private void correctCovarMatrix(final long nRows) {
         final double nonMissings = nRows - m_missings;
         CheckUtils.checkArgument(nonMissings >= 2, "The table has to contain at least two rows with valid values");
-        m_covMtx = m_covMtx.scalarMultiply(1 / (nonMissings - 1));
+        final int nCols = m_coMoments.length;
+        final double[][] cov = new double[nCols][nCols];
+        for (int i = 0; i < nCols; i++) {
+            for (int j = i; j < nCols; j++) {
+                final double value = m_coMoments[i][j - i] / (nonMissings - 1);
+                cov[i][j] = value;
+                cov[j][i] = value;
+            }
+        }
+        m_coMoments = null;
+        m_covMtx = new Array2DRowRealMatrix(cov, false);
     }
 
     /**
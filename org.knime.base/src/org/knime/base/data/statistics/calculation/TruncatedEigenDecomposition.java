@@ -0,0 +1,280 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.data.statistics.calculation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.ThreadPool;
+
+import Jama.EigenvalueDecomposition;
+import Jama.Matrix;
+
+/**
+ * Approximates the leading eigenvalues and eigenvectors of a symmetric positive semi-definite matrix, e.g., a
+ * covariance matrix, with a randomized truncated singular value decomposition (Halko, Martinsson and Tropp, "Finding
+ * structure with randomness", 2011). The range of the matrix is sampled with a few more random vectors than
+ * components requested and refined by power iterations, the eigenvalue problem is then solved on that small subspace.
+ * The cost is linear in the number of components instead of cubic in the dimension of the matrix.
+ * <p>
+ * The random vectors are drawn from a fixed seed, hence the result is reproducible.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class TruncatedEigenDecomposition {
+
+    /** The number of additional random vectors used to sample the range. */
+    private static final int OVERSAMPLING = 10;
+
+    /** The number of power iterations used to refine the sampled range. */
+    private static final int POWER_ITERATIONS = 4;
+
+    private static final long SEED = 20190502L;
+
+    /** Minimal number of multiply-adds of a task. */
+    private static final long MIN_TASK_WORK = 1L << 16;
+
+    /** Relative norm below which an orthogonalized vector is considered to be linearly dependent. */
+    private static final double DEPENDENCY_TOLERANCE = 1e-10;
+
+    private final double[] m_eigenValues;
+
+    private final double[][] m_eigenVectors;
+
+    /**
+     * Computes the decomposition.
+     *
+     * @param matrix the symmetric matrix
+     * @param numComponents the number of leading components to compute, smaller than the dimension of the matrix
+     * @param pool the pool used to multiply with the matrix, may be <code>null</code>
+     * @param exec the monitor used to report progress and check for cancellation
+     * @throws CanceledExecutionException if the execution is canceled
+     */
+    TruncatedEigenDecomposition(final double[][] matrix, final int numComponents, final ThreadPool pool,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int dim = matrix.length;
+        final int sampleSize = Math.min(dim, numComponents + OVERSAMPLING);
+        final Random random = new Random(SEED);
+        // the bases are stored as arrays of column vectors
+        double[][] basis = new double[sampleSize][dim];
+        for (final double[] column : basis) {
+            for (int i = 0; i < dim; i++) {
+                column[i] = random.nextGaussian();
+            }
+        }
+        orthonormalize(basis, random);
+        for (int it = 0; it < POWER_ITERATIONS; it++) {
+            exec.checkCanceled();
+            exec.setProgress((double)it / (POWER_ITERATIONS + 1));
+            basis = multiply(matrix, basis, pool);
+            orthonormalize(basis, random);
+        }
+        exec.checkCanceled();
+        final double[][] image = multiply(matrix, basis, pool);
+        // project the matrix onto the sampled subspace
+        final double[][] projected = new double[sampleSize][sampleSize];
+        for (int a = 0; a < sampleSize; a++) {
+            for (int b = a; b < sampleSize; b++) {
+                final double value = (dot(basis[a], image[b]) + dot(basis[b], image[a])) / 2;
+                projected[a][b] = value;
+                projected[b][a] = value;
+            }
+        }
+        final EigenvalueDecomposition eig = new EigenvalueDecomposition(new Matrix(projected, sampleSize, sampleSize));
+        final double[] values = eig.getRealEigenvalues();
+        final double[][] vectors = eig.getV().getArray();
+        final int[] order = IntStream.range(0, sampleSize).boxed()//
+            .sorted((i, j) -> Double.compare(values[j], values[i]))//
+            .mapToInt(i -> i)//
+            .limit(numComponents)//
+            .toArray();
+        m_eigenValues = new double[order.length];
+        m_eigenVectors = new double[order.length][];
+        for (int c = 0; c < order.length; c++) {
+            m_eigenValues[c] = values[order[c]];
+            final double[] vector = new double[dim];
+            for (int a = 0; a < sampleSize; a++) {
+                final double coefficient = vectors[a][order[c]];
+                final double[] column = basis[a];
+                for (int i = 0; i < dim; i++) {
+                    vector[i] += coefficient * column[i];
+                }
+            }
+            final double norm = Math.sqrt(dot(vector, vector));
+            for (int i = 0; i < dim; i++) {
+                vector[i] /= norm;
+            }
+            m_eigenVectors[c] = vector;
+        }
+        exec.setProgress(1);
+    }
+
+    /**
+     * @return the non-increasingly sorted leading eigenvalues
+     */
+    double[] getSortedEigenValues() {
+        return m_eigenValues;
+    }
+
+    /**
+     * @return the normalized eigenvectors in the order of the eigenvalues, one per row
+     */
+    double[][] getSortedEigenVectors() {
+        return m_eigenVectors;
+    }
+
+    /** Multiplies the symmetric matrix with each of the columns, the rows of the result are split among the pool. */
+    private static double[][] multiply(final double[][] matrix, final double[][] columns, final ThreadPool pool)
+        throws CanceledExecutionException {
+        final int dim = matrix.length;
+        final double[][] result = new double[columns.length][dim];
+        final long work = (long)dim * dim * columns.length;
+        if (pool == null || work < 2 * MIN_TASK_WORK) {
+            multiplyRows(matrix, columns, result, 0, dim);
+            return result;
+        }
+        final long taskWork = Math.max(MIN_TASK_WORK, work / (4L * pool.getMaxThreads()));
+        final int rowsPerTask = (int)Math.max(1, taskWork / ((long)dim * columns.length));
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int from = 0; from < dim; from += rowsPerTask) {
+            final int start = from;
+            final int end = Math.min(dim, from + rowsPerTask);
+            futures.add(pool.enqueue(() -> multiplyRows(matrix, columns, result, start, end)));
+        }
+        waitForAll(futures);
+        return result;
+    }
+
+    /** Waits for the tasks, runtime exceptions of a task are rethrown and the remaining tasks are cancelled. */
+    private static void waitForAll(final List<Future<?>> futures) throws CanceledExecutionException {
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException(e.getMessage());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            for (final Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static void multiplyRows(final double[][] matrix, final double[][] columns, final double[][] result,
+        final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final double[] row = matrix[i];
+            for (int c = 0; c < columns.length; c++) {
+                result[c][i] = dot(row, columns[c]);
+            }
+        }
+    }
+
+    /**
+     * Orthonormalizes the columns in place with the modified Gram-Schmidt process, applied twice for stability.
+     * Columns that turn out to be linearly dependent on the previous ones are replaced by random vectors.
+     */
+    private static void orthonormalize(final double[][] columns, final Random random) {
+        for (int c = 0; c < columns.length; c++) {
+            final double[] column = columns[c];
+            while (!orthonormalize(columns, c)) {
+                for (int i = 0; i < column.length; i++) {
+                    column[i] = random.nextGaussian();
+                }
+            }
+        }
+    }
+
+    /**
+     * Orthonormalizes the column with the given index against the previous ones.
+     *
+     * @return {@code false} if the column is linearly dependent on the previous ones
+     */
+    private static boolean orthonormalize(final double[][] columns, final int index) {
+        final double[] column = columns[index];
+        final double initialNorm = Math.sqrt(dot(column, column));
+        for (int pass = 0; pass < 2; pass++) {
+            for (int p = 0; p < index; p++) {
+                final double[] previous = columns[p];
+                final double projection = dot(previous, column);
+                for (int i = 0; i < column.length; i++) {
+                    column[i] -= projection * previous[i];
+                }
+            }
+        }
+        final double norm = Math.sqrt(dot(column, column));
+        if (!(norm > DEPENDENCY_TOLERANCE * initialNorm)) {
+            return false;
+        }
+        for (int i = 0; i < column.length; i++) {
+            column[i] /= norm;
+        }
+        return true;
+    }
+
+    private static double dot(final double[] a, final double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+}
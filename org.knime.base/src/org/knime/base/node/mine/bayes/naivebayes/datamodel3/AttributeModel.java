@@ -284,6 +284,38 @@ void addValue(final String classValue, final DataCell attrValue) throws TooManyV
      */
     abstract void addValueInternal(final String classValue, final DataCell attrValue) throws TooManyValuesException;
 
+    /**
+     * @return a new model without any values that has the same type, attribute name and settings as this one
+     */
+    abstract AttributeModel createEmptyModel();
+
+    /**
+     * Adds the values of the given model, which has been learned on other rows of the same table, to this model. The
+     * model must have been created by {@link #createEmptyModel()} of a model of the same attribute. Values which are
+     * new to this model are added in the order in which they have been added to the given model.
+     *
+     * @param model the model to merge into this one
+     * @throws TooManyValuesException if the merged model contains more unique values than supported by this
+     *             attribute model
+     */
+    void merge(final AttributeModel model) throws TooManyValuesException {
+        if (!getType().equals(model.getType()) || !m_attributeName.equals(model.getAttributeName())) {
+            throw new IllegalArgumentException("Model for attribute " + model.getAttributeName()
+                + " can not be merged into model for attribute " + m_attributeName);
+        }
+        m_noOfMissingVals = exactAdd(m_noOfMissingVals, model.m_noOfMissingVals);
+        mergeInternal(model);
+    }
+
+    /**
+     * Adds the values of the given model of the same type to the concrete implementation.
+     *
+     * @param model the model to merge into this one
+     * @throws TooManyValuesException if the merged model contains more unique values than supported by this
+     *             attribute model
+     */
+    abstract void mergeInternal(final AttributeModel model) throws TooManyValuesException;
+
     /**
      * @return the noOfMissingVals
      */
@@ -558,6 +590,14 @@ static int exactInc(final int val) {
         return val + 1;
     }
 
+    static int exactAdd(final int val1, final int val2) {
+        if (val2 > Integer.MAX_VALUE - val1) {
+            // throws an exception
+            exactInc(Integer.MAX_VALUE);
+        }
+        return val1 + val2;
+    }
+
     /**
      * Converts an int to a long array.
      *
@@ -217,6 +217,25 @@ private void addValue(final DataCell attrValue) {
             m_noOfRows = exactInc(m_noOfRows);
         }
 
+        /**
+         * @param classValue the counts of the same class learned on other rows
+         */
+        private void merge(final BitVectorClassValue classValue) {
+            if (classValue.m_bitCounts != null) {
+                if (m_bitCounts == null) {
+                    m_bitCounts = classValue.m_bitCounts.clone();
+                } else if (classValue.m_bitCounts.length != m_bitCounts.length) {
+                    throw new IllegalArgumentException("Illegal bit vector length");
+                } else {
+                    for (int i = 0; i < m_bitCounts.length; i++) {
+                        m_bitCounts[i] += classValue.m_bitCounts[i];
+                    }
+                }
+            }
+            m_missingValueRecs.add(classValue.m_missingValueRecs.intValue());
+            m_noOfRows = exactAdd(m_noOfRows, classValue.m_noOfRows);
+        }
+
         private double getLogProbability(final DataCell attributeValue, final double logProbThreshold) {
             final int noOfRows4Class = getNoOfRows();
             if (noOfRows4Class == 0) {
@@ -442,6 +461,29 @@ void addValueInternal(final String classValue, final DataCell attrValue) throws
 
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    AttributeModel createEmptyModel() {
+        return new BitVectorAttributeModel(getAttributeName(), ignoreMissingVals());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void mergeInternal(final AttributeModel model) {
+        for (final BitVectorClassValue value : ((BitVectorAttributeModel)model).m_classValues.values()) {
+            BitVectorClassValue classObject = m_classValues.get(value.m_classValue);
+            if (classObject == null) {
+                classObject = new BitVectorClassValue(value.m_classValue);
+                m_classValues.put(value.m_classValue, classObject);
+            }
+            classObject.merge(value);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
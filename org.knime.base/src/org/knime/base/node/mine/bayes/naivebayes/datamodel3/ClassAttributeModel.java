@@ -265,6 +265,35 @@ void addValueInternal(final String classValue, final DataCell attrValue) throws
         m_totalNoOfRecs = exactInc(m_totalNoOfRecs);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    AttributeModel createEmptyModel() {
+        return new ClassAttributeModel(getAttributeName(), ignoreMissingVals(), m_maxNoOfClassVals);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void mergeInternal(final AttributeModel model) throws TooManyValuesException {
+        final ClassAttributeModel classModel = (ClassAttributeModel)model;
+        for (final Map.Entry<String, MutableInteger> entry : classModel.m_recsCounterByClassVal.entrySet()) {
+            MutableInteger classCounter = m_recsCounterByClassVal.get(entry.getKey());
+            if (classCounter == null) {
+                if (m_recsCounterByClassVal.size() > m_maxNoOfClassVals) {
+                    throw new TooManyValuesException("Class value " + entry.getKey() + " doesn't fit into model");
+                }
+                classCounter = new MutableInteger(0);
+                m_recsCounterByClassVal.put(entry.getKey(), classCounter);
+            }
+            // no need to check classCounter since m_noOfRows >= classCounter
+            classCounter.add(entry.getValue().intValue());
+        }
+        m_totalNoOfRecs = exactAdd(m_totalNoOfRecs, classModel.m_totalNoOfRecs);
+    }
+
     /**
      * {@inheritDoc}
      */
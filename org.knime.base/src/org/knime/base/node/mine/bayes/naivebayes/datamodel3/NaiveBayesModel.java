@@ -46,14 +46,19 @@
 
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math3.util.FastMath;
@@ -90,13 +95,17 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.config.Config;
 import org.knime.core.node.config.ConfigRO;
 import org.knime.core.node.config.ConfigWO;
 import org.knime.core.node.port.pmml.PMMLDataDictionaryTranslator;
 import org.knime.core.node.port.pmml.preproc.DerivedFieldMapper;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.util.ThreadPool;
 
 /**
  * This class represents the learned Naive Bayes model. This basic model holds for each attribute an
@@ -195,6 +204,49 @@ public NaiveBayesModel(final BufferedDataTable data, final String classColName,
         final int maxNoOfNominalVals, final boolean ignoreMissingVals, final boolean pmmlCompatible,
         final double probabilityThreshold, final double minSdValue, final double minSdThreshold)
         throws CanceledExecutionException, InvalidSettingsException {
+        this(createRowInput(data), data.size(), classColName, exec, maxNoOfNominalVals, ignoreMissingVals,
+            pmmlCompatible, probabilityThreshold, minSdValue, minSdThreshold, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor which reads the rows of the given input to calculate the needed Bayes variables, e.g. when the
+     * learner is executed in streaming mode. The input is closed afterwards.
+     *
+     * @param data the <code>RowInput</code> providing the training data
+     * @param classColName The name of the column with the class
+     * @param exec the <code>ExecutionContext</code> to provide progress information and check for cancel
+     * @param maxNoOfNominalVals the maximum number of supported unique nominal attribute values
+     * @param ignoreMissingVals set to <code>true</code> if the missing values should be ignored during learning and
+     *            prediction
+     * @param pmmlCompatible flag that indicates that a PMML compatible model should be learned
+     * @param probabilityThreshold the probability to use in lieu of P(Ij | Tk) when count[IjTi] is zero for categorical
+     *            fields or when the calculated probability of the distribution falls below the threshold for continuous
+     *            fields.
+     * @param minSdValue the minimum standard deviation value used when the standard deviation is smaller than
+     *            {@code minSdThreshold}
+     * @param minSdThreshold enforces that all standard deviations less than or equal to this value are replaced by
+     *            {@code minSdValue}
+     * @throws CanceledExecutionException if the user presses the cancel button during model creation
+     * @throws InvalidSettingsException if the input data contains no rows or parameters are otherwise invalid,
+     * e.g. SD are <= 0
+     * @since 4.3
+     */
+    public NaiveBayesModel(final RowInput data, final String classColName, final ExecutionContext exec,
+        final int maxNoOfNominalVals, final boolean ignoreMissingVals, final boolean pmmlCompatible,
+        final double probabilityThreshold, final double minSdValue, final double minSdThreshold)
+        throws CanceledExecutionException, InvalidSettingsException {
+        this(data, -1, classColName, exec, maxNoOfNominalVals, ignoreMissingVals, pmmlCompatible,
+            probabilityThreshold, minSdValue, minSdThreshold, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor that learns partial models on chunks of the given number of rows, used in tests to compare
+     * different splits of the data.
+     */
+    NaiveBayesModel(final RowInput data, final long rowCount, final String classColName,
+        final ExecutionContext exec, final int maxNoOfNominalVals, final boolean ignoreMissingVals,
+        final boolean pmmlCompatible, final double probabilityThreshold, final double minSdValue,
+        final double minSdThreshold, final int chunkSize) throws CanceledExecutionException, InvalidSettingsException {
         if (exec == null) {
             throw new IllegalArgumentException("exec must not be null");
         }
@@ -202,10 +254,7 @@ public NaiveBayesModel(final BufferedDataTable data, final String classColName,
             throw new IllegalArgumentException("Probability threshold should be positive");
         }
         if (data == null) {
-            throw new NullPointerException("Training table must not be null.");
-        }
-        if (data.size() < 1) {
-            throw new InvalidSettingsException("Input data contains no rows");
+            throw new NullPointerException("Training data must not be null.");
         }
         if (classColName == null) {
             throw new NullPointerException("Class column must not be null.");
@@ -236,7 +285,7 @@ public NaiveBayesModel(final BufferedDataTable data, final String classColName,
         ExecutionMonitor subExec = null;
         exec.setMessage("Building model");
         subExec = exec.createSubProgress(0.8);
-        createModel(data, subExec, classColIdx);
+        createModel(data, rowCount, subExec, classColIdx, chunkSize);
         exec.setMessage("Model created");
         exec.checkCanceled();
         exec.setMessage("Validating model");
@@ -354,24 +403,152 @@ public static AttributeModel getCompatibleModel(final DataColumnSpec colSpec, fi
         return null;
     }
 
-    private void createModel(final BufferedDataTable data, final ExecutionMonitor exec, final int classColIdx)
-        throws InvalidSettingsException, CanceledExecutionException {
+    private static RowInput createRowInput(final BufferedDataTable data) throws InvalidSettingsException {
+        if (data == null) {
+            throw new NullPointerException("Training table must not be null.");
+        }
+        if (data.size() < 1) {
+            throw new InvalidSettingsException("Input data contains no rows");
+        }
+        return new DataTableRowInput(data);
+    }
+
+    /** Number of rows that are added to a partial model by one task. */
+    private static final int CHUNK_SIZE = 2048;
+
+    /**
+     * Reads the rows and learns partial models on chunks of them in parallel. The partial models are merged in chunk
+     * order, hence the result does not depend on the number of threads.
+     */
+    private void createModel(final RowInput data, final long rowCount, final ExecutionMonitor exec,
+        final int classColIdx, final int chunkSize) throws InvalidSettingsException, CanceledExecutionException {
         final DataTableSpec tableSpec = data.getDataTableSpec();
-        final double noOfRows = data.size();
-        long progress = 0;
-        //start to proceed row by row
-        for (final DataRow row : data) {
-            updateModel(row, tableSpec, classColIdx);
-            if (exec != null) {
-                exec.setProgress(progress / noOfRows);
-                exec.checkCanceled();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final int nrThreads = pool.getMaxThreads();
+        final Deque<Future<PartialModel>> pending = new ArrayDeque<>();
+        long noOfRows = 0;
+        try {
+            List<DataRow> chunk = new ArrayList<>(Math.min(chunkSize, CHUNK_SIZE));
+            //start to proceed row by row
+            for (DataRow row = data.poll(); row != null; row = data.poll()) {
+                chunk.add(row);
+                noOfRows++;
+                if (chunk.size() == chunkSize) {
+                    pending.add(pool.enqueue(createChunkTask(chunk, tableSpec, classColIdx)));
+                    chunk = new ArrayList<>(Math.min(chunkSize, CHUNK_SIZE));
+                    // bound the number of buffered rows
+                    while (pending.size() > 2 * nrThreads) {
+                        mergeModel(getChunkResult(pending.poll()));
+                    }
+                }
+                if (exec != null) {
+                    if (rowCount > 0) {
+                        exec.setProgress(noOfRows / (double)rowCount);
+                    } else {
+                        exec.setMessage("Row " + noOfRows);
+                    }
+                    exec.checkCanceled();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pending.add(pool.enqueue(createChunkTask(chunk, tableSpec, classColIdx)));
             }
+            while (!pending.isEmpty()) {
+                mergeModel(getChunkResult(pending.poll()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CanceledExecutionException("Interrupted while reading the training data");
+        } finally {
+            for (final Future<PartialModel> future : pending) {
+                future.cancel(true);
+            }
+            data.close();
+        }
+        if (noOfRows < 1) {
+            throw new InvalidSettingsException("Input data contains no rows");
         }
         if (exec != null) {
             exec.setProgress(1.0, "\'Naive Bayesian\' created ");
         }
     }
 
+    private Callable<PartialModel> createChunkTask(final List<DataRow> rows, final DataTableSpec tableSpec,
+        final int classColIdx) {
+        // the partial models are created with the same settings as the models of this instance
+        final LinkedHashMap<String, AttributeModel> models = new LinkedHashMap<>(m_modelByAttrName.size());
+        for (final AttributeModel model : m_modelByAttrName.values()) {
+            models.put(model.getAttributeName(), model.createEmptyModel());
+        }
+        return () -> {
+            final PartialModel partial = new PartialModel(models);
+            try {
+                for (final DataRow row : rows) {
+                    updateModel(row, tableSpec, classColIdx, m_ignoreMissingVals, partial.m_models,
+                        partial.m_skippedAttributes);
+                }
+            } catch (final InvalidSettingsException e) {
+                partial.m_exception = e;
+            }
+            return partial;
+        };
+    }
+
+    /** Waits for the partial model of a chunk, runtime exceptions of the chunk task are rethrown. */
+    private static PartialModel getChunkResult(final Future<PartialModel> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Adds the given partial model, which was learned on the rows following the ones already added to this model, to
+     * this model.
+     */
+    private void mergeModel(final PartialModel partial) throws InvalidSettingsException {
+        if (partial.m_exception != null) {
+            throw partial.m_exception;
+        }
+        for (final AttributeModel skipped : partial.m_skippedAttributes) {
+            final AttributeModel model = m_modelByAttrName.remove(skipped.getAttributeName());
+            if (model != null) {
+                model.setInvalidCause(skipped.getInvalidCause());
+                m_skippedAttributes.add(model);
+            }
+        }
+        for (final AttributeModel partialModel : partial.m_models.values()) {
+            final AttributeModel model = m_modelByAttrName.get(partialModel.getAttributeName());
+            if (model != null) {
+                try {
+                    model.merge(partialModel);
+                } catch (final TooManyValuesException e) {
+                    handleTooManyValues(model, m_modelByAttrName, m_skippedAttributes);
+                }
+            }
+        }
+    }
+
+    /** The models learned on a chunk of rows. */
+    private static final class PartialModel {
+
+        private final Map<String, AttributeModel> m_models;
+
+        private final List<AttributeModel> m_skippedAttributes = new ArrayList<>();
+
+        private InvalidSettingsException m_exception;
+
+        private PartialModel(final Map<String, AttributeModel> models) {
+            m_models = models;
+        }
+    }
+
     /**
      * Updates the current {@link NaiveBayesModel} with the values from the given {@link DataRow}.
      *
@@ -382,6 +559,12 @@ private void createModel(final BufferedDataTable data, final ExecutionMonitor ex
      */
     public void updateModel(final DataRow row, final DataTableSpec tableSpec, final int classColIdx)
         throws InvalidSettingsException {
+        updateModel(row, tableSpec, classColIdx, m_ignoreMissingVals, m_modelByAttrName, m_skippedAttributes);
+    }
+
+    private static void updateModel(final DataRow row, final DataTableSpec tableSpec, final int classColIdx,
+        final boolean ignoreMissingVals, final Map<String, AttributeModel> modelByAttrName,
+        final List<AttributeModel> skippedAttributes) throws InvalidSettingsException {
         if (row == null) {
             throw new NullPointerException("Row must not be null");
         }
@@ -390,7 +573,7 @@ public void updateModel(final DataRow row, final DataTableSpec tableSpec, final
         }
         final DataCell classCell = row.getCell(classColIdx);
         if (classCell.isMissing()) {
-            if (m_ignoreMissingVals) {
+            if (ignoreMissingVals) {
                 return;
             }
             //check if the class value is missing
@@ -400,26 +583,32 @@ public void updateModel(final DataRow row, final DataTableSpec tableSpec, final
         final String classVal = classCell.toString();
         final int numColumns = tableSpec.getNumColumns();
         for (int i = 0; i < numColumns; i++) {
-            final AttributeModel model = m_modelByAttrName.get(tableSpec.getColumnSpec(i).getName());
+            final AttributeModel model = modelByAttrName.get(tableSpec.getColumnSpec(i).getName());
             if (model != null) {
                 final DataCell cell = row.getCell(i);
                 try {
                     model.addValue(classVal, cell);
                 } catch (final TooManyValuesException e) {
-                    if (model instanceof ClassAttributeModel) {
-                        throw new InvalidSettingsException("Class attribute has too many unique values. "
-                            + "To avoid this exception increase the maximum number of allowed nominal "
-                            + "values in the node dialog");
-                    }
-                    //delete the model if it contains too many unique values
-                    m_modelByAttrName.remove(model.getAttributeName());
-                    model.setInvalidCause("Too many values");
-                    m_skippedAttributes.add(model);
+                    handleTooManyValues(model, modelByAttrName, skippedAttributes);
                 }
             }
         }
     }
 
+    private static void handleTooManyValues(final AttributeModel model,
+        final Map<String, AttributeModel> modelByAttrName, final List<AttributeModel> skippedAttributes)
+        throws InvalidSettingsException {
+        if (model instanceof ClassAttributeModel) {
+            throw new InvalidSettingsException("Class attribute has too many unique values. "
+                + "To avoid this exception increase the maximum number of allowed nominal "
+                + "values in the node dialog");
+        }
+        //delete the model if it contains too many unique values
+        modelByAttrName.remove(model.getAttributeName());
+        model.setInvalidCause("Too many values");
+        skippedAttributes.add(model);
+    }
+
     private void validateModel(final ExecutionMonitor exec) throws CanceledExecutionException {
         final Collection<AttributeModel> mapModels = m_modelByAttrName.values();
         final int noOfModels = mapModels.size();
@@ -206,6 +206,18 @@ private void addCount(final String attributeValue, final int rowCount) {
             m_noOfRows += rowCount;
         }
 
+        /**
+         * @param classValue the counts of the same class learned on other rows
+         */
+        private void merge(final NominalClassValue classValue) {
+            for (final Map.Entry<String, MutableInteger> entry : classValue.m_recsByAttrValue.entrySet()) {
+                addCount(entry.getKey(), entry.getValue().intValue());
+            }
+            final int missingValueRecs = classValue.m_missingValueRecs.intValue();
+            m_missingValueRecs.add(missingValueRecs);
+            m_noOfRows = exactAdd(m_noOfRows, missingValueRecs);
+        }
+
         /**
          * @return the classValue
          */
@@ -460,6 +472,39 @@ void addValueInternal(final String classValue, final DataCell attrValue) throws
         classObject.addValue(attrValue);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    AttributeModel createEmptyModel() {
+        return new NominalAttributeModel(getAttributeName(), ignoreMissingVals(), m_maxNoOfAttrVals);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void mergeInternal(final AttributeModel model) throws TooManyValuesException {
+        final NominalAttributeModel nominalModel = (NominalAttributeModel)model;
+        for (final String attrValString : nominalModel.m_attributeVals) {
+            if (!m_attributeVals.contains(attrValString)) {
+                //check the different number of attribute values
+                if (m_attributeVals.size() >= getMaxNoOfAttrVals()) {
+                    throw new TooManyValuesException("Attribute value " + attrValString + " doesn't fit into model");
+                }
+                m_attributeVals.add(attrValString);
+            }
+        }
+        for (final NominalClassValue value : nominalModel.m_classValues.values()) {
+            NominalClassValue classObject = m_classValues.get(value.getClassValue());
+            if (classObject == null) {
+                classObject = new NominalClassValue(value.getClassValue(), 0);
+                m_classValues.put(value.getClassValue(), classObject);
+            }
+            classObject.merge(value);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
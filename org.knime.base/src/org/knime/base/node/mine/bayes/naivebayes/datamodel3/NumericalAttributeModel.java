@@ -53,8 +53,6 @@
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import org.apache.commons.math3.stat.descriptive.moment.Mean;
-import org.apache.commons.math3.stat.descriptive.moment.Variance;
 import org.apache.commons.math3.util.FastMath;
 import org.dmg.pmml.BayesInputDocument.BayesInput;
 import org.dmg.pmml.GaussianDistributionDocument.GaussianDistribution;
@@ -120,9 +118,8 @@ private final class NumericalClassValue {
 
         private int m_noOfRows = 0;
 
-        private final Mean m_incMean;
-
-        private final Variance m_incVar;
+        /** The moments of the values, only available during training. */
+        private final Moments m_moments;
 
         // these three values are only relevant during prediction; irrelevant during training
         private double m_mean = Double.NaN;
@@ -141,8 +138,7 @@ private final class NumericalClassValue {
          */
         private NumericalClassValue(final String classValue) {
             m_classValue = classValue;
-            m_incMean = new Mean();
-            m_incVar = new Variance(CALC_SAMPLING_VAR);
+            m_moments = new Moments();
         }
 
         /**
@@ -159,8 +155,7 @@ private NumericalClassValue(final Config config) throws InvalidSettingsException
             m_mean = config.getDouble(MEAN_CFG);
             m_sd = config.getDouble(SD_CFG);
             CheckUtils.checkArgument(!Double.isNaN(m_sd), SD_NAN_EXCEPTION);
-            m_incVar = null;
-            m_incMean = null;
+            m_moments = null;
         }
 
         /**
@@ -184,8 +179,7 @@ private NumericalClassValue(final TargetValueStat targetValueStat) throws Invali
                     .setValue((int)PMMLNaiveBayesModelTranslator.getLongExtension(extensionMap, MISSING_VALUE_COUNTER));
                 m_noOfRows = (int)PMMLNaiveBayesModelTranslator.getLongExtension(extensionMap, NO_OF_ROWS);
             }
-            m_incMean = null;
-            m_incVar = null;
+            m_moments = null;
         }
 
         /**
@@ -237,8 +231,8 @@ private int getNoOfNotMissingRows() {
          * @return the mean
          */
         private double getMean() {
-            if (m_incMean != null) {
-                return m_incMean.getResult();
+            if (m_moments != null) {
+                return m_moments.getMean();
             }
             return m_mean;
         }
@@ -247,11 +241,11 @@ private double getMean() {
          * @return the standard deviation
          */
         private double getStdDeviation() {
-            if (m_incVar != null) {
+            if (m_moments != null) {
                 assert !Double.isNaN(m_minSdThreshold) && !Double
                     .isNaN(m_minSdValue) : "The minimum standard deviation value and threshold haven't been set";
-                final double sd = FastMath.sqrt(m_incVar.getResult());
-                // it's NaN if we have seen no rows (devision by (count - 1)), see Variance.getResult()
+                final double sd = FastMath.sqrt(m_moments.getVariance(CALC_SAMPLING_VAR));
+                // it's NaN if we have seen no rows, see Moments.getVariance()
                 return (Double.isNaN(sd) || sd <= m_minSdThreshold) ? m_minSdValue : sd;
             }
             return m_sd;
@@ -277,18 +271,26 @@ private void addValue(final DataCell attrVal) {
                     getAttributeName());
                 CheckUtils.checkArgument(!Double.isInfinite(val), "Data contain infinite values in column '%s'.",
                     getAttributeName());
-                m_incMean.increment(val);
-                m_incVar.increment(val);
+                m_moments.increment(val);
             }
             // no need to check missingValuesRecs since m_noOfRows >= missingValuesRecs
             m_noOfRows = exactInc(m_noOfRows);
         }
 
+        /**
+         * @param classValue the values of the same class learned on other rows
+         */
+        private void merge(final NumericalClassValue classValue) {
+            m_moments.merge(classValue.m_moments);
+            m_missingValueRecs.setValue(getNoOfMissingValueRecs() + classValue.getNoOfMissingValueRecs());
+            m_noOfRows = exactAdd(m_noOfRows, classValue.m_noOfRows);
+        }
+
         private double getLogProbability(final DataCell attributeValue, final double logProbThreshold) {
             /* This is soo wrong ... but actually we cannot call this method except we have loaded the
              * model from PMML => this should never happen.
              */
-            if (m_incMean != null) {
+            if (m_moments != null) {
                 throw new RuntimeException(
                     String.format("The mean hasn't been calculated for class '%s' in column '%s'.", m_classValue,
                         getAttributeName()));
@@ -376,6 +378,64 @@ public String toString() {
 
     }
 
+    /**
+     * Mean and sum of squared deviations of the values. Single values are added with the same updates as the ones of
+     * the commons math moments; partial results are combined with the pairwise update formulas of Chan et al.
+     */
+    private static final class Moments {
+
+        private long m_n;
+
+        private double m_m1 = Double.NaN;
+
+        private double m_m2 = Double.NaN;
+
+        private void increment(final double d) {
+            if (m_n == 0) {
+                m_m1 = 0.0;
+                m_m2 = 0.0;
+            }
+            m_n++;
+            final double dev = d - m_m1;
+            final double nDev = dev / m_n;
+            m_m1 += nDev;
+            m_m2 += (m_n - 1.0) * dev * nDev;
+        }
+
+        private void merge(final Moments other) {
+            if (other.m_n == 0) {
+                return;
+            }
+            if (m_n == 0) {
+                m_n = other.m_n;
+                m_m1 = other.m_m1;
+                m_m2 = other.m_m2;
+                return;
+            }
+            final double n1 = m_n;
+            final double n2 = other.m_n;
+            final double n = n1 + n2;
+            final double delta = other.m_m1 - m_m1;
+            m_m1 += delta * n2 / n;
+            m_m2 += other.m_m2 + delta * delta * n1 * n2 / n;
+            m_n += other.m_n;
+        }
+
+        private double getMean() {
+            return m_m1;
+        }
+
+        /** @return the variance, NaN if no value has been added and 0 for a single value */
+        private double getVariance(final boolean samplingVariance) {
+            if (m_n == 0) {
+                return Double.NaN;
+            } else if (m_n == 1) {
+                return 0.0;
+            }
+            return m_m2 / (samplingVariance ? (m_n - 1.0) : m_n);
+        }
+    }
+
     private final Map<String, NumericalClassValue> m_classValues;
 
     // these two values are only relevant during training to limit SD range; irrelevant for view or prediction
@@ -491,6 +551,29 @@ void addValueInternal(final String classValue, final DataCell attrValue) {
         classObject.addValue(attrValue);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    AttributeModel createEmptyModel() {
+        return new NumericalAttributeModel(getAttributeName(), ignoreMissingVals(), m_minSdValue, m_minSdThreshold);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void mergeInternal(final AttributeModel model) {
+        for (final NumericalClassValue value : ((NumericalAttributeModel)model).m_classValues.values()) {
+            NumericalClassValue classObject = m_classValues.get(value.getClassValue());
+            if (classObject == null) {
+                classObject = new NumericalClassValue(value.getClassValue());
+                m_classValues.put(value.getClassValue(), classObject);
+            }
+            classObject.merge(value);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
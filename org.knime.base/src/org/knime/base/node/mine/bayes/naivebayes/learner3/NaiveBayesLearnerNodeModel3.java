@@ -63,6 +63,7 @@
 import org.knime.base.node.mine.bayes.naivebayes.datamodel3.PMMLNaiveBayesModelTranslator;
 import org.knime.core.data.DataColumnDomain;
 import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.NominalValue;
@@ -88,6 +89,15 @@
 import org.knime.core.node.port.pmml.PMMLPortObject;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpec;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectOutput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
 
 /**
  * This is the <code>NodeModel</code> implementation of the "Naive Bayes Learner" node.
@@ -153,6 +163,9 @@ final class NaiveBayesLearnerNodeModel3 extends NodeModel {
      */
     public static final int BAYES_MODEL_PORT = 0;
 
+    /** The number of the statistics table out port. */
+    private static final int STATISTICS_PORT = 1;
+
     private final SettingsModelString m_classifyColumnName = createClassifyColumnModel();
 
     private final SettingsModelBoolean m_pmmlCompatible = createPMMLCompatibilityFlagModel();
@@ -357,12 +370,60 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             throw new IllegalArgumentException("Invalid input data");
         }
         final BufferedDataTable trainingTable = (BufferedDataTable)inObject;
-        final boolean ignoreMissingVals = m_ignoreMissingVals.getBooleanValue();
-        final boolean pmmlCompatible = m_pmmlCompatible.getBooleanValue();
-        final int maxNoOfNomVals = m_maxNoOfNominalVals.getIntValue();
-        m_model = new NaiveBayesModel(trainingTable, m_classifyColumnName.getStringValue(), exec, maxNoOfNomVals,
-            ignoreMissingVals, pmmlCompatible, m_threshold.getDoubleValue(), m_minSdValue.getDoubleValue(),
+        m_model = new NaiveBayesModel(trainingTable, m_classifyColumnName.getStringValue(), exec,
+            m_maxNoOfNominalVals.getIntValue(), m_ignoreMissingVals.getBooleanValue(),
+            m_pmmlCompatible.getBooleanValue(), m_threshold.getDoubleValue(), m_minSdValue.getDoubleValue(),
             m_minSdThreshold.getDoubleValue());
+        setModelWarnings();
+        LOGGER.debug("Exiting execute of " + NaiveBayesLearnerNodeModel3.class.getName());
+        return new PortObject[]{createPMMLPortObject(trainingTable.getSpec()), m_model.getStatisticsTable()};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_STREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputPortRole[] getOutputPortRoles() {
+        return new OutputPortRole[]{OutputPortRole.NONDISTRIBUTED, OutputPortRole.NONDISTRIBUTED};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                final RowInput trainingData = (RowInput)inputs[TRAINING_DATA_PORT];
+                m_model = new NaiveBayesModel(trainingData, m_classifyColumnName.getStringValue(), exec,
+                    m_maxNoOfNominalVals.getIntValue(), m_ignoreMissingVals.getBooleanValue(),
+                    m_pmmlCompatible.getBooleanValue(), m_threshold.getDoubleValue(), m_minSdValue.getDoubleValue(),
+                    m_minSdThreshold.getDoubleValue());
+                setModelWarnings();
+                ((PortObjectOutput)outputs[BAYES_MODEL_PORT])
+                    .setPortObject(createPMMLPortObject(trainingData.getDataTableSpec()));
+                final RowOutput statistics = (RowOutput)outputs[STATISTICS_PORT];
+                for (final DataRow row : m_model.getStatisticsTable()) {
+                    statistics.push(row);
+                }
+                statistics.close();
+            }
+        };
+    }
+
+    private void setModelWarnings() {
         final List<String> missingModels = m_model.getAttributesWithMissingVals();
         if (missingModels.size() > 0) {
             final StringBuilder buf = new StringBuilder();
@@ -382,15 +443,15 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
         if (m_model.containsSkippedAttributes()) {
             setWarningMessage(m_model.getSkippedAttributesString(3));
         }
-        LOGGER.debug("Exiting execute of " + NaiveBayesLearnerNodeModel3.class.getName());
+    }
 
+    private PMMLPortObject createPMMLPortObject(final DataTableSpec tableSpec) {
         // handle the optional PMML input
-        final DataTableSpec tableSpec = trainingTable.getSpec();
         final PMMLPortObjectSpec outPortSpec =
             createPMMLSpec(tableSpec, m_model.getPMMLLearningCols(), m_model.getClassColumnName());
         final PMMLPortObject outPMMLPort = new PMMLPortObject(outPortSpec, null, tableSpec);
         outPMMLPort.addModelTranslater(new PMMLNaiveBayesModelTranslator(m_model));
-        return new PortObject[]{outPMMLPort, m_model.getStatisticsTable()};
+        return outPMMLPort;
     }
 
     /**
@@ -55,6 +55,7 @@
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.CellFactory;
 import org.knime.core.data.def.DoubleCell;
@@ -79,6 +80,10 @@ public class ClusterMembershipFactory implements CellFactory {
 
     private int m_rowCounter;
 
+    private FCMAlgorithm m_algo;
+
+    private int[] m_columns;
+
     /**
      * Constructor.
      *
@@ -91,6 +96,20 @@ public ClusterMembershipFactory(final FCMAlgorithm algo) {
         m_rowCounter = 0;
     }
 
+    /**
+     * Constructor for a model that does not keep its weight matrix. The
+     * memberships are computed from the values of the given columns.
+     *
+     * @param algo the trained FCM-model
+     * @param columns indices of the columns the model was trained on
+     * @since 4.3
+     */
+    public ClusterMembershipFactory(final FCMAlgorithm algo, final int[] columns) {
+        this(algo);
+        m_algo = algo;
+        m_columns = columns;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -98,8 +117,9 @@ public DataCell[] getCells(final DataRow row) {
         DataCell[] memberships = new DataCell[m_nrClusters + 1];
         int winnercluster = -1;
         double maxmembership = Double.MIN_VALUE;
+        final double[] weights = m_weights != null ? m_weights[m_rowCounter] : computeWeights(row);
         for (int i = 0; i < m_nrClusters; i++) {
-            double membership = m_weights[m_rowCounter][i];
+            double membership = weights[i];
             memberships[i] = new DoubleCell(membership);
             if (membership > maxmembership) {
                 maxmembership = membership;
@@ -117,6 +137,15 @@ public DataCell[] getCells(final DataRow row) {
         return memberships;
     }
 
+    private double[] computeWeights(final DataRow row) {
+        final double[] values = new double[m_columns.length];
+        for (int j = 0; j < values.length; j++) {
+            DataCell cell = row.getCell(m_columns[j]);
+            values[j] = cell.isMissing() ? Double.NaN : ((DoubleValue)cell).getDoubleValue();
+        }
+        return m_algo.getMemberships(values);
+    }
+
     /**
      * {@inheritDoc}
      */
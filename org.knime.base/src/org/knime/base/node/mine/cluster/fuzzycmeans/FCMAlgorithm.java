@@ -47,17 +47,21 @@
  */
 package org.knime.base.node.mine.cluster.fuzzycmeans;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
-import org.knime.base.node.mine.bfn.Distance;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DoubleValue;
-import org.knime.core.data.RowIterator;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
+import org.knime.core.util.ThreadPool;
 
 /**
  * The Fuzzy c-means algorithm.
@@ -113,14 +117,51 @@ public class FCMAlgorithm {
     private DataTable m_table;
 
     /*
-     * Distance object to calculate distance
+     * Total change in the cluster prototypes
      */
-    private Distance m_distance;
+    private double m_totalChange = 0.0;
 
     /*
-     * Total change in the cluster prototypes
+     * Number of rows processed by one task.
      */
-    private double m_totalChange = 0.0;
+    private static final int BLOCK_SIZE = 1024;
+
+    /*
+     * Number of rows read from the table before they are processed.
+     */
+    private static final int CHUNK_SIZE = 16 * BLOCK_SIZE;
+
+    /*
+     * Pool used to process the row blocks, may be null.
+     */
+    private ThreadPool m_pool;
+
+    /*
+     * Whether the weight matrix is held in memory.
+     */
+    private boolean m_keepWeightMatrix = true;
+
+    /*
+     * Cluster prototypes and delta the memberships of the last iteration are
+     * based on.
+     */
+    private double[][] m_membershipClusters;
+
+    private double m_membershipDelta;
+
+    /*
+     * Whether NaN marks a missing value that is ignored. Rows read from a
+     * table encode missing cells as NaN; the in-memory variant computes on
+     * the cached values as they are.
+     */
+    private boolean m_ignoreNaN = true;
+
+    /*
+     * Whether the automatic noise delta is based on the Euclidean distances
+     * of the rows to the prototypes (as read from a table) or on the squared
+     * distances (in-memory variant).
+     */
+    private boolean m_euclideanDeltaDistance = true;
 
     /**
      * Constructor for a Fuzzy c-means algorithm (with no noise detection).
@@ -133,7 +174,6 @@ public FCMAlgorithm(final int nrClusters, final double fuzzifier) {
         m_fuzzifier = fuzzifier;
         m_noise = false;
         m_calculateDelta = false;
-        m_distance = Distance.getInstance();
     }
 
     /**
@@ -194,7 +234,8 @@ public void init(final int nrRows, final int dimension,
         m_dimension = dimension;
 
         // initialize membership matrix W
-        m_weightMatrix = new double[m_nrRows][m_nrClusters];
+        m_weightMatrix = m_keepWeightMatrix ? new double[m_nrRows][m_nrClusters] : null;
+        m_membershipClusters = null;
 
         m_clusters = new double[m_nrClusters][];
         for (int c = 0; c < m_nrClusters; c++) {
@@ -237,9 +278,38 @@ public void init(final DataTable table, final Random random) {
         init(nrRows, nrdimensions, table, random);
     }
 
+    /**
+     * Sets the pool in which the memberships of the row blocks are computed.
+     * If no pool is set (the default), all blocks are processed in the calling
+     * thread. The blocks have a fixed size and their sums are added in block
+     * order, so the prototypes and memberships are the same either way.
+     *
+     * @param pool the pool to use or <code>null</code> to compute sequentially
+     * @since 4.3
+     */
+    public void setThreadPool(final ThreadPool pool) {
+        m_pool = pool;
+    }
+
+    /**
+     * Sets whether the n&times;c weight matrix is held in memory. If not, the
+     * iterations stream over the data and {@link #getweightMatrix()} returns
+     * <code>null</code>; the memberships of a row can then be obtained via
+     * {@link #getMemberships(double[])}. Must be called before
+     * <code>init</code>.
+     *
+     * @param keepWeightMatrix <code>true</code> (default) to keep the matrix
+     * @since 4.3
+     */
+    public void setKeepWeightMatrix(final boolean keepWeightMatrix) {
+        m_keepWeightMatrix = keepWeightMatrix;
+    }
+
     /**
      * Does one iteration in the Fuzzy c-means algorithm. First, the weight
      * matrix is updated and then the cluster prototypes are recalculated.
+     * Both steps are done in a single pass over the table, which is read in
+     * chunks of primitive rows.
      *
      * @param exec execution context to cancel the execution
      * @return the total change in the cluster prototypes. Allows to decide
@@ -249,150 +319,219 @@ public void init(final DataTable table, final Random random) {
     public double doOneIteration(final ExecutionContext exec)
             throws CanceledExecutionException {
         assert (m_table != null);
-        exec.checkCanceled();
-        updateWeightMatrix(m_table, exec);
-        m_totalChange = 0.0;
-        updateClusterCenters(m_table, exec);
+        if (exec != null) {
+            exec.checkCanceled();
+        }
+        startIteration();
+        final CenterSums sums = new CenterSums(m_nrClusters, m_dimension);
+        final double[][] chunk = new double[Math.min(CHUNK_SIZE, Math.max(m_nrRows, 1))][m_dimension];
+        int chunkRows = 0;
+        int offset = 0;
+        for (DataRow dRow : m_table) {
+            double[] row = chunk[chunkRows];
+            for (int j = 0; j < m_dimension; j++) {
+                DataCell cell = dRow.getCell(j);
+                row[j] = cell.isMissing() ? Double.NaN : ((DoubleValue)cell).getDoubleValue();
+            }
+            chunkRows++;
+            if (chunkRows == chunk.length) {
+                if (exec != null) {
+                    exec.checkCanceled();
+                }
+                sums.add(processRows(chunk, chunkRows, offset));
+                offset += chunkRows;
+                chunkRows = 0;
+            }
+        }
+        if (chunkRows > 0) {
+            sums.add(processRows(chunk, chunkRows, offset));
+        }
+        finishIteration(sums);
         return m_totalChange;
     }
 
-    /*
-     * The update method for the weight matrix
+    /**
+     * Switches to the computation of the in-memory variant, which does not
+     * treat NaN as missing value and bases the automatic noise delta on the
+     * squared distances.
      */
-    private void updateWeightMatrix(final DataTable inData,
-            final ExecutionContext exec) throws CanceledExecutionException {
-        RowIterator ri = inData.iterator();
+    void setInMemoryComputation() {
+        m_ignoreNaN = false;
+        m_euclideanDeltaDistance = false;
+    }
 
-        for (int currentRow = 0; currentRow < m_nrRows; currentRow++) {
-            DataRow dRow = ri.next();
-            exec.checkCanceled();
-            int i = 0;
-
-            // first check if the actual row is equal to a cluster center
-            int sameCluster = -1;
-
-            int nrClusters = (m_noise) ? m_clusters.length - 1
-                    : m_clusters.length;
-            while ((sameCluster < 0) && (i < nrClusters)) {
-                for (int j = 0; j < dRow.getNumCells(); j++) {
-                    if (!(dRow.getCell(j).isMissing())) {
-                        DataCell currentCell = dRow.getCell(j);
-                        if (currentCell instanceof DoubleValue) {
-                            if (((DoubleValue)currentCell).
-                                    getDoubleValue() == m_clusters[i][j]) {
-                                sameCluster = i;
-                            } else {
-                                sameCluster = -1;
-                                break;
-                            }
-                        }
+    /**
+     * Remembers the prototypes and delta the memberships of the current
+     * iteration are based on. Must be called before {@link #processRows}.
+     *
+     * @since 4.3
+     */
+    protected final void startIteration() {
+        m_membershipClusters = new double[m_clusters.length][];
+        for (int c = 0; c < m_clusters.length; c++) {
+            m_membershipClusters[c] = m_clusters[c].clone();
+        }
+        m_membershipDelta = m_delta;
+    }
+
+    /**
+     * Computes the memberships of the given rows and sums them up for the
+     * update of the cluster prototypes. The rows are split into blocks of
+     * fixed size that are processed in parallel if a pool is set; the partial
+     * sums are added in block order.
+     *
+     * @param data the rows, missing values are represented as NaN
+     * @param nrRows number of rows in <code>data</code> to process
+     * @param offset index of the first row in the weight matrix
+     * @return the sums of the rows
+     * @since 4.3
+     */
+    protected final CenterSums processRows(final double[][] data, final int nrRows, final int offset) {
+        final int nrBlocks = (nrRows + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final CenterSums[] blockSums = new CenterSums[nrBlocks];
+        if (m_pool == null || nrBlocks < 2) {
+            for (int b = 0; b < nrBlocks; b++) {
+                blockSums[b] = processBlock(data, b * BLOCK_SIZE, Math.min(nrRows, (b + 1) * BLOCK_SIZE), offset);
+            }
+        } else {
+            final List<Future<CenterSums>> futures = new ArrayList<>(nrBlocks);
+            try {
+                for (int b = 0; b < nrBlocks; b++) {
+                    final int block = b;
+                    futures.add(m_pool.enqueue(() -> processBlock(data, block * BLOCK_SIZE,
+                        Math.min(nrRows, (block + 1) * BLOCK_SIZE), offset)));
+                }
+                for (int b = 0; b < nrBlocks; b++) {
+                    blockSums[b] = futures.get(b).get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while computing the memberships", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error)e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } finally {
+                for (Future<CenterSums> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+        final CenterSums sums = new CenterSums(m_nrClusters, m_dimension);
+        for (CenterSums s : blockSums) {
+            sums.add(s);
+        }
+        return sums;
+    }
+
+    private CenterSums processBlock(final double[][] data, final int from, final int to, final int offset) {
+        final CenterSums sums = new CenterSums(m_nrClusters, m_dimension);
+        final int nrClusters = m_noise ? m_nrClusters - 1 : m_nrClusters;
+        final double[] distances = new double[m_nrClusters];
+        final double[] buffer = new double[m_nrClusters];
+        for (int r = from; r < to; r++) {
+            final double[] row = data[r];
+            final double[] weights = m_weightMatrix != null ? m_weightMatrix[offset + r] : buffer;
+            computeMemberships(row, m_membershipClusters, m_membershipDelta, distances, weights);
+            for (int c = 0; c < nrClusters; c++) {
+                double w = Math.pow(weights[c], m_fuzzifier);
+                double[] numerator = sums.m_numerator[c];
+                for (int j = 0; j < row.length; j++) {
+                    if (!m_ignoreNaN || !Double.isNaN(row[j])) {
+                        numerator[j] += w * row[j];
                     }
                 }
+                sums.m_denominator[c] += w;
+                sums.m_distanceSum += m_euclideanDeltaDistance ? Math.sqrt(distances[c]) : distances[c];
+            }
+        }
+        return sums;
+    }
 
-                i++;
+    /*
+     * Computes the fuzzy memberships of a row and the squared distances to
+     * the prototypes.
+     */
+    private void computeMemberships(final double[] row, final double[][] clusters, final double delta,
+        final double[] distances, final double[] weights) {
+        final int nrClusters = m_noise ? clusters.length - 1 : clusters.length;
+        // first check if the actual row is equal to a cluster center
+        int sameCluster = -1;
+        for (int i = 0; i < nrClusters; i++) {
+            distances[i] = getDistance(clusters[i], row, m_ignoreNaN);
+            if (sameCluster < 0 && isSame(clusters[i], row, m_ignoreNaN)) {
+                sameCluster = i;
             }
+        }
+        if (m_noise) {
+            distances[clusters.length - 1] = Math.pow(delta, 2.0);
+        }
 
-            /*
-             * The weight of a data point is 1 if it is exactly on the position
-             * of the cluster, in this case 0 for the others
-             */
-            if (sameCluster >= 0) {
-                for (i = 0; i < m_weightMatrix[0].length; i++) {
-                    if (i != sameCluster) {
-                        m_weightMatrix[currentRow][i] = 0;
-                    } else {
-                        m_weightMatrix[currentRow][i] = 1;
-                    }
+        /*
+         * The weight of a data point is 1 if it is exactly on the position
+         * of the cluster, in this case 0 for the others
+         */
+        if (sameCluster >= 0) {
+            Arrays.fill(weights, 0);
+            weights[sameCluster] = 1;
+        } else {
+            // calculate the fuzzy membership to each cluster
+            for (int j = 0; j < clusters.length; j++) {
+                double sum = 0;
+                for (int k = 0; k < clusters.length; k++) {
+                    sum += Math.pow((distances[j] / distances[k]),
+                            (1.0 / (m_fuzzifier - 1.0)));
                 }
-            } else {
-                // calculate the fuzzy membership to each cluster
-                for (int j = 0; j < m_clusters.length; j++) {
-                    // for each cluster
-                    double distNumerator = 0;
-                    if (m_noise && j == m_clusters.length - 1) {
-                        distNumerator = Math.pow(m_delta, 2.0);
-                    } else {
-                        distNumerator = getDistance(m_clusters[j], dRow);
-                    }
-                    double sum = 0;
-                    for (int k = 0; k < m_clusters.length; k++) {
-                        double distance = 0;
-                        if (m_noise && k == m_clusters.length - 1) {
-                            distance = Math.pow(m_delta, 2.0);
-                        } else {
-                            distance = getDistance(m_clusters[k], dRow);
-                        }
-                        sum += Math.pow((distNumerator / distance),
-                                (1.0 / (m_fuzzifier - 1.0)));
-                    }
-                    m_weightMatrix[currentRow][j] = 1 / sum;
+                weights[j] = 1 / sum;
+            }
+        }
+    }
+
+    private static boolean isSame(final double[] cluster, final double[] row, final boolean ignoreNaN) {
+        boolean same = false;
+        for (int j = 0; j < row.length; j++) {
+            if (!ignoreNaN || !Double.isNaN(row[j])) {
+                if (row[j] == cluster[j]) {
+                    same = true;
+                } else {
+                    return false;
                 }
             }
         }
+        return same;
     }
 
     /*
-     * Helper method for the quadratic distance between a double-array and a
-     * DataRow
-     *
+     * Helper method for the quadratic distance between a cluster prototype
+     * and a row, missing values (NaN) are ignored if requested.
      */
-    private double getDistance(final double[] vector1, final DataRow vector2) {
+    private static double getDistance(final double[] cluster, final double[] row, final boolean ignoreNaN) {
         double distance = 0.0;
-        assert (vector1.length == vector2.getNumCells());
-        for (int i = 0; i < vector1.length; i++) {
-            double diff = 0;
-            if (!vector2.getCell(i).isMissing()) {
-                diff = vector1[i]
-                        - ((DoubleValue)vector2.getCell(i)).getDoubleValue();
+        for (int i = 0; i < cluster.length; i++) {
+            if (!ignoreNaN || !Double.isNaN(row[i])) {
+                double diff = cluster[i] - row[i];
+                distance += diff * diff;
             }
-            distance += diff * diff;
         }
         return distance;
     }
 
-    /*
-     * The update method for the cluster centers
-     */
-    private void updateClusterCenters(final DataTable inData,
-            final ExecutionContext exec) throws CanceledExecutionException {
-        double[] sumNumerator = new double[m_dimension];
-        double sumDenominator = 0;
-        double sumupdate = 0;
-        // for each cluster center
-        for (int c = 0; c < m_nrClusters; c++) {
-            if (m_noise && (c == m_nrClusters - 1)) {
-                // stop updating at noise cluster position.
-                break;
-            }
-            for (int j = 0; j < m_dimension; j++) {
-                sumNumerator[j] = 0;
-            }
-            sumDenominator = 0;
-
-            RowIterator ri = inData.iterator();
-            int i = 0;
-            while (ri.hasNext()) {
-                exec.checkCanceled();
-                DataRow dRow = ri.next();
-                // for all attributes in X
-                for (int j = 0; j < m_dimension; j++) {
-                    if (!(dRow.getCell(j).isMissing())) {
-                        DataCell dc = dRow.getCell(j);
-                        if (dc instanceof DoubleValue) {
-                            sumNumerator[j] += Math.pow(m_weightMatrix[i][c],
-                                    m_fuzzifier)
-                                    * ((DoubleValue)dc).getDoubleValue();
-                        }
-                    }
-                }
-                sumDenominator += Math.pow(m_weightMatrix[i][c], m_fuzzifier);
-                i++;
-                if (m_noise && m_calculateDelta) {
-                    sumupdate += m_distance.compute(m_clusters[c], dRow);
-                }
-            } // end while for all datarows sum up
+    /**
+     * Updates the cluster prototypes (and delta if it is calculated
+     * automatically) from the sums of all rows.
+     *
+     * @param sums the sums over all rows
+     * @since 4.3
+     */
+    protected final void finishIteration(final CenterSums sums) {
+        m_totalChange = 0.0;
+        final int nrClusters = m_noise ? m_nrClusters - 1 : m_nrClusters;
+        for (int c = 0; c < nrClusters; c++) {
             for (int j = 0; j < m_dimension; j++) {
-                double newValue = sumNumerator[j] / sumDenominator;
+                double newValue = sums.m_numerator[c][j] / sums.m_denominator[c];
                 m_totalChange += Math.abs(m_clusters[c][j] - newValue);
                 m_clusters[c][j] = newValue;
             }
@@ -403,10 +542,55 @@ private void updateClusterCenters(final DataTable inData,
          */
         if (m_noise && m_calculateDelta) {
             m_delta = Math.sqrt(m_lambda
-                    * (sumupdate / (m_nrRows * (m_clusters.length - 1))));
+                    * (sums.m_distanceSum / (m_nrRows * (m_clusters.length - 1))));
+        }
+    }
+
+    /**
+     * Computes the memberships of a row to the cluster prototypes of the last
+     * iteration, i.e. the values that are stored in the weight matrix if it is
+     * kept.
+     *
+     * @param row the row, missing values are represented as NaN
+     * @return the memberships to each cluster
+     * @since 4.3
+     */
+    public double[] getMemberships(final double[] row) {
+        final double[][] clusters = m_membershipClusters != null ? m_membershipClusters : m_clusters;
+        final double delta = m_membershipClusters != null ? m_membershipDelta : m_delta;
+        final double[] weights = new double[clusters.length];
+        computeMemberships(row, clusters, delta, new double[clusters.length], weights);
+        return weights;
+    }
+
+    /**
+     * Sums of the weighted rows for the update of the cluster prototypes.
+     *
+     * @since 4.3
+     */
+    protected static final class CenterSums {
+
+        private final double[][] m_numerator;
+
+        private final double[] m_denominator;
+
+        private double m_distanceSum;
+
+        CenterSums(final int nrClusters, final int dimension) {
+            m_numerator = new double[nrClusters][dimension];
+            m_denominator = new double[nrClusters];
         }
 
-    } // end update cluster centers
+        void add(final CenterSums other) {
+            for (int c = 0; c < m_numerator.length; c++) {
+                for (int j = 0; j < m_numerator[c].length; j++) {
+                    m_numerator[c][j] += other.m_numerator[c][j];
+                }
+                m_denominator[c] += other.m_denominator[c];
+            }
+            m_distanceSum += other.m_distanceSum;
+        }
+    }
 
     /**
      * @return the cluster centres in a 2-dimensional double matrix
@@ -82,6 +82,7 @@ public class FCMAlgorithmMemory extends FCMAlgorithm {
      */
     public FCMAlgorithmMemory(final int nrClusters, final double fuzzifier) {
         super(nrClusters, fuzzifier);
+        setInMemoryComputation();
     }
 
     /**
@@ -102,6 +103,7 @@ public FCMAlgorithmMemory(final int nrClusters, final double fuzzifier) {
     public FCMAlgorithmMemory(final int nrClusters, final double fuzzifier,
             final boolean calculateDelta, final double deltalambda) {
         super(nrClusters, fuzzifier, calculateDelta, deltalambda);
+        setInMemoryComputation();
     }
 
     /**
@@ -235,6 +237,7 @@ public RowKey[] getRowKeys() {
     /**
      * Does one iteration in the Fuzzy c-means algorithm. First, the weight
      * matrix is updated and then the cluster prototypes are recalculated.
+     * Both steps are done in a single pass over the cached data.
      *
      * @param exec execution context to cancel the execution
      * @return the total change in the cluster prototypes. Allows to decide
@@ -248,155 +251,8 @@ public double doOneIteration(final ExecutionContext exec)
         if (exec != null) {
             exec.checkCanceled();
         }
-        updateWeightMatrix(m_data);
-        setTotalChange(0.0);
-        updateClusterCenters(m_data);
+        startIteration();
+        finishIteration(processRows(m_data, getNrRows(), 0));
         return getTotalChange();
     }
-
-    /*
-     * The update method for the weight matrix
-     */
-    private void updateWeightMatrix(final double[][] data) {
-       int nrRows = getNrRows();
-       double[][] clusters = getClusters();
-       double[][] weightMatrix = getweightMatrix();
-       boolean noise = isNoise();
-       double fuzzifier = getFuzzifier();
-       double delta = getDelta();
-        for (int currentRow = 0; currentRow < nrRows; currentRow++) {
-            double[] row = data[currentRow];
-            int i = 0;
-
-            // first check if the actual row is equal to a cluster center
-            int sameCluster = -1;
-
-            int nrClusters = (noise) ? clusters.length - 1
-                    : clusters.length;
-            while ((sameCluster < 0) && (i < nrClusters)) {
-                for (int j = 0; j < row.length; j++) {
-                    if (row[j] == clusters[i][j]) {
-                        sameCluster = i;
-                    } else {
-                        sameCluster = -1;
-                        break;
-                    }
-                }
-                i++;
-            }
-
-            /*
-             * The weight of a data point is 1 if it is exactly on the position
-             * of the cluster, in this case 0 for the others
-             */
-            if (sameCluster >= 0) {
-                for (i = 0; i < weightMatrix[0].length; i++) {
-                    if (i != sameCluster) {
-                        setWeightMatrixValue(currentRow, i, 0);
-                    } else {
-                        setWeightMatrixValue(currentRow, i, 1);
-                    }
-                }
-            } else {
-                // calculate the fuzzy membership to each cluster
-                for (int j = 0; j < clusters.length; j++) {
-                    // for each cluster
-                    double distNumerator = 0;
-                    if (noise && j == clusters.length - 1) {
-                        distNumerator = Math.pow(delta, 2.0);
-                    } else {
-                        distNumerator = getDistance(clusters[j], row);
-                    }
-                    double sum = 0;
-                    for (int k = 0; k < clusters.length; k++) {
-                        double distance = 0;
-                        if (noise && k == clusters.length - 1) {
-                            distance = Math.pow(delta, 2.0);
-                        } else {
-                            distance = getDistance(clusters[k], row);
-                        }
-                        sum += Math.pow((distNumerator / distance),
-                                (1.0 / (fuzzifier - 1.0)));
-                    }
-                    setWeightMatrixValue(currentRow, j, (1 / sum));
-                }
-            }
-        }
-    }
-
-    /*
-     * Helper method for the quadratic distance between two double-arrays.
-     *
-     */
-    private double getDistance(final double[] vector1, final double[] vector2) {
-        double distance = 0.0;
-        assert (vector1.length == vector2.length);
-        for (int i = 0; i < vector1.length; i++) {
-            double diff = 0;
-            diff = vector1[i] - vector2[i];
-            distance += diff * diff;
-        }
-        return distance;
-    }
-
-    /*
-     * The update method for the cluster centers
-     */
-    private void updateClusterCenters(final double[][] data) {
-        int dimension = getDimension();
-        int nrRows = getNrRows();
-        int nrClusters = getNrClusters();
-        double[][] clusters = getClusters();
-        double[][] weightMatrix = getweightMatrix();
-        double fuzzifier = getFuzzifier();
-        boolean noise = isNoise();
-        double[] sumNumerator = new double[dimension];
-        double sumDenominator = 0;
-        double sumupdate = 0;
-        // for each cluster center
-        for (int c = 0; c < nrClusters; c++) {
-            if (noise && (c == nrClusters - 1)) {
-                break;
-            }
-            for (int j = 0; j < dimension; j++) {
-                sumNumerator[j] = 0;
-            }
-            sumDenominator = 0;
-
-            int i = 0;
-           for (int currentRow = 0; currentRow < nrRows; currentRow++) {
-                double[] row = data[currentRow];
-                // for all attributes in X
-                for (int j = 0; j < dimension; j++) {
-
-                            sumNumerator[j] += Math.pow(weightMatrix[i][c],
-                                    fuzzifier)
-                                    * row[j];
-
-                }
-                sumDenominator += Math.pow(weightMatrix[i][c], fuzzifier);
-                i++;
-                if (noise && isCalculateDelta()) {
-                    sumupdate += getDistance(clusters[c], row);
-                }
-            } // end while for all datarows sum up
-            for (int j = 0; j < dimension; j++) {
-                double newValue = sumNumerator[j] / sumDenominator;
-                addTotalChange(Math.abs(clusters[c][j] - newValue));
-                setClusterValue(c, j, newValue);
-            }
-        }
-
-        /*
-         * Update the delta-value automatically if choosen.
-         */
-        if (noise && isCalculateDelta()) {
-            setDelta(Math.sqrt(getLambda()
-                    * (sumupdate / (nrRows * (clusters.length - 1)))));
-        }
-
-    } // end update cluster centers
-
-
-
 }
@@ -73,6 +73,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -368,21 +369,29 @@ protected PortObject[] execute(final PortObject[] inData,
             random.setSeed(m_randomSeed);
         }
 
+        // the weight matrix is only needed for the quality measures or if
+        // the data is held in memory anyway
+        m_fcmAlgo.setKeepWeightMatrix(m_memory || m_measures);
         m_fcmAlgo.init(nrRows, dimension, filteredtable, random);
 
         // main loop - until clusters stop changing or maxNrIterations reached
         int currentIteration = 0;
         double totalchange = Double.MAX_VALUE;
-        while ((totalchange > 1e-7)
-                && (currentIteration < m_maxNrIterations)) {
-            exec.checkCanceled();
-            exec.setProgress((double)currentIteration
-                    / (double)m_maxNrIterations, "Iteration "
-                    + currentIteration
-                    + " Total change of prototypes: " + totalchange);
-            totalchange = m_fcmAlgo.doOneIteration(exec);
-            currentIteration++;
-        } // while(!finished & nrIt<maxNrIt)
+        m_fcmAlgo.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool());
+        try {
+            while ((totalchange > 1e-7)
+                    && (currentIteration < m_maxNrIterations)) {
+                exec.checkCanceled();
+                exec.setProgress((double)currentIteration
+                        / (double)m_maxNrIterations, "Iteration "
+                        + currentIteration
+                        + " Total change of prototypes: " + totalchange);
+                totalchange = m_fcmAlgo.doOneIteration(exec);
+                currentIteration++;
+            } // while(!finished & nrIt<maxNrIt)
+        } finally {
+            m_fcmAlgo.setThreadPool(null);
+        }
 
         if (m_measures) {
             double[][] data = null;
@@ -411,7 +420,8 @@ protected PortObject[] execute(final PortObject[] inData,
         }
 
         ColumnRearranger colRearranger = new ColumnRearranger(spec);
-        CellFactory membershipFac = new ClusterMembershipFactory(m_fcmAlgo);
+        CellFactory membershipFac = m_fcmAlgo.getweightMatrix() != null ? new ClusterMembershipFactory(m_fcmAlgo)
+            : new ClusterMembershipFactory(m_fcmAlgo, columns);
         colRearranger.append(membershipFac);
         BufferedDataTable result =
                 exec.createColumnRearrangeTable(indata, colRearranger, exec);
@@ -674,7 +684,8 @@ public double[][] getClusterCentres() {
     }
 
     /**
-     * @return the 2-dimensional weight matrix
+     * @return the 2-dimensional weight matrix, <code>null</code> if it is not
+     *         available
      */
     public double[][] getweightMatrix() {
         if (m_fcmAlgo != null) {
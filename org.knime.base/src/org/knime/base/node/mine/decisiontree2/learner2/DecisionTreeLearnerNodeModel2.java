@@ -50,7 +50,6 @@
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -58,6 +57,9 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -89,6 +91,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.ModelContent;
 import org.knime.core.node.ModelContentRO;
 import org.knime.core.node.NodeLogger;
@@ -104,7 +107,8 @@
 import org.knime.core.node.port.pmml.PMMLPortObject;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpec;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
-import org.knime.core.util.ThreadUtils.ThreadWithContext;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Implements a decision tree induction algorithm based on C4.5 and SPRINT.
@@ -407,7 +411,8 @@ public class DecisionTreeLearnerNodeModel2 extends NodeModel {
     private final SettingsModelBoolean m_useFirstSplitCol =
         DecisionTreeLearnerNodeDialog2.createSettingsUseFirstSplitColumn();
 
-    private final SettingsModelString m_firstSplitCol = DecisionTreeLearnerNodeDialog2.createSettingsFirstSplitColumn(m_useFirstSplitCol);
+    private final SettingsModelString m_firstSplitCol =
+        DecisionTreeLearnerNodeDialog2.createSettingsFirstSplitColumn(m_useFirstSplitCol);
 
     /**
      * The decision tree model to be induced by the execute method.
@@ -429,8 +434,8 @@ public DecisionTreeLearnerNodeModel2() {
      * port. In addition it has an optional model input.
      */
     public DecisionTreeLearnerNodeModel2(final boolean pmmlInEnabled) {
-        super(pmmlInEnabled ? new PortType[]{BufferedDataTable.TYPE, PMMLPortObject.TYPE_OPTIONAL} : new PortType[]{BufferedDataTable.TYPE},
-            new PortType[]{PMMLPortObject.TYPE});
+        super(pmmlInEnabled ? new PortType[]{BufferedDataTable.TYPE, PMMLPortObject.TYPE_OPTIONAL}
+            : new PortType[]{BufferedDataTable.TYPE}, new PortType[]{PMMLPortObject.TYPE});
         m_pmmlInEnabled = pmmlInEnabled;
     }
 
@@ -449,14 +454,10 @@ protected PortObject[] execute(final PortObject[] data,
             final ExecutionContext exec) throws Exception {
         // holds the warning message displayed after execution
         m_warningMessageSb = new StringBuilder();
-        ParallelProcessing parallelProcessing = new ParallelProcessing(
-                m_parallelProcessing.getIntValue());
+        final int numberThreads = m_parallelProcessing.getIntValue();
 
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("Number available threads: "
-                    + parallelProcessing.getMaxNumberThreads()
-                    + " used threads: "
-                    + parallelProcessing.getCurrentThreadsInUse());
+            LOGGER.debug("Number available threads: " + numberThreads);
         }
 
         exec.setProgress("Preparing...");
@@ -503,6 +504,12 @@ protected PortObject[] execute(final PortObject[] data,
             m_warningMessageSb
                     .append(" rows removed due to missing class value;");
         }
+        // sort the numeric attributes once; the sorted row indices are
+        // partitioned down the tree instead of sorting in each node
+        exec.setProgress("Sort numeric attributes...");
+        initialTable.presortNumericAttributes();
+        exec.checkCanceled();
+
         // the all over row count is used to report progress
         m_alloverRowCount = initialTable.getSumOfWeights();
 
@@ -531,8 +538,13 @@ protected PortObject[] execute(final PortObject[] data,
 
         final int firstSplitColIdx = initialTable.getAttributeIndex(m_firstSplitCol.getStringValue());
 
-        DecisionTreeNode root = null;
-        root = buildTree(initialTable, exec, 0, splitQualityMeasure, parallelProcessing, firstSplitColIdx);
+        // subtrees and attribute evaluations are processed as tasks of a sub
+        // pool of the global thread pool, which also respects the thread
+        // limit of the KNIME preferences
+        final ThreadPool pool =
+            numberThreads > 1 ? KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numberThreads) : null;
+        DecisionTreeNode root =
+            buildTree(initialTable, exec, 0, splitQualityMeasure, firstSplitColIdx, pool);
         boolean isBinaryNominal = m_binaryNominalSplitMode.getBooleanValue();
         boolean isFilterInvalidAttributeValues =
             m_filterNominalValuesFromParent.getBooleanValue();
@@ -568,10 +580,6 @@ protected PortObject[] execute(final PortObject[] data,
             setWarningMessage(m_warningMessageSb.toString());
         }
 
-        // reset the number available threads
-        parallelProcessing.reset();
-        parallelProcessing = null;
-
         // no data out table is created -> return an empty table array
         exec.setMessage("Creating PMML decision tree model...");
 
@@ -697,10 +705,13 @@ private void pruneTree(final DecisionTree decisionTree) {
      *            partitioning
      * @param exec the execution context for progress information
      * @param depth the current recursion depth
+     * @param pool the pool in which subtrees and attributes are processed
+     *            concurrently, <code>null</code> to build the tree in the
+     *            calling thread
      */
     private DecisionTreeNode buildTree(final InMemoryTable table, final ExecutionContext exec, final int depth,
-        final SplitQualityMeasure splitQualityMeasure, final ParallelProcessing parallelProcessing,
-        final int firstSplitCol) throws CanceledExecutionException, IllegalAccessException {
+        final SplitQualityMeasure splitQualityMeasure, final int firstSplitCol, final ThreadPool pool)
+        throws CanceledExecutionException, IllegalAccessException {
 
         exec.checkCanceled();
         // derive this node's id from the counter
@@ -744,7 +755,8 @@ private DecisionTreeNode buildTree(final InMemoryTable table, final ExecutionCon
                 // find the best splits for all attributes
                 SplitFinder splittFinder = new SplitFinder(table, splitQualityMeasure,
                     m_averageSplitpoint.getBooleanValue(), m_minNumberRecordsPerNode.getIntValue(),
-                    m_binaryNominalSplitMode.getBooleanValue(), m_maxNumNominalsForCompleteComputation.getIntValue());
+                    m_binaryNominalSplitMode.getBooleanValue(), m_maxNumNominalsForCompleteComputation.getIntValue(),
+                    pool);
                 // check for enough memory
                 checkMemory();
 
@@ -786,48 +798,55 @@ private DecisionTreeNode buildTree(final InMemoryTable table, final ExecutionCon
             DecisionTreeNode[] children =
                     new DecisionTreeNode[partitionTables.length];
 
-            ArrayList<ParallelBuilding> threads =
-                    new ArrayList<ParallelBuilding>();
-
-            int i = 0;
-            for (InMemoryTable partitionTable : partitionTables) {
-                exec.checkCanceled();
-                if (partitionTable.getNumberDataRows() * m_numberAttributes
-                        < 10000 || !parallelProcessing.isThreadAvailable()) {
-                    children[i] = buildTree(partitionTable, exec, depth + 1,
-                            splitQualityMeasure, parallelProcessing, firstSplitCol);
-                } else {
-                    String threadName =
-                            "Build thread, node: " + nodeId + "." + i;
-                    ParallelBuilding buildThread =
-                            new ParallelBuilding(threadName, partitionTable,
-                                    exec, depth + 1, i, splitQualityMeasure,
-                                    parallelProcessing);
-                    LOGGER.debug("Start new parallel building thread: "
-                            + threadName);
-                    threads.add(buildThread);
-                    buildThread.start();
+            // large partitions are built as tasks of the pool, the last one
+            // (or small ones) directly in this thread
+            Future<?>[] futures = new Future<?>[partitionTables.length];
+            try {
+                for (int i = 0; i < partitionTables.length; i++) {
+                    exec.checkCanceled();
+                    InMemoryTable partitionTable = partitionTables[i];
+                    if (partitionTable.getNumberDataRows() * m_numberAttributes < 10000
+                            || i == partitionTables.length - 1 || pool == null) {
+                        children[i] =
+                            buildTree(partitionTable, exec, depth + 1, splitQualityMeasure, firstSplitCol, pool);
+                    } else {
+                        // Setting firstSplitCol to -1 is valid because only child nodes with a depth
+                        // larger than 0 are built in parallel
+                        futures[i] = pool.enqueue(new BuildTreeTask(partitionTable, exec, depth + 1,
+                            cloneQualityMeasure(splitQualityMeasure), pool, NodeContext.getContext()));
+                    }
                 }
-                i++;
-            }
 
-            // retrieve all results from the thread array the getResultNode
-            // method is a blocking method until the result is available
-            // NOTE: the non parallel calculated children have been
-            // already assigned to the child array
-            for (ParallelBuilding buildThread : threads) {
-                children[buildThread.getThreadIndex()] =
-                        buildThread.getResultNode();
-                exec.checkCanceled();
-                if (buildThread.getException() != null) {
-                    for (ParallelBuilding buildThread2 : threads) {
-                        buildThread2.stop();
+                // retrieve all results from the tasks; the waiting thread
+                // is not counted as running thread of the pool meanwhile
+                // NOTE: the non parallel calculated children have been
+                // already assigned to the child array
+                for (int i = 0; i < futures.length; i++) {
+                    if (futures[i] != null) {
+                        children[i] = (DecisionTreeNode)futures[i].get();
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new CanceledExecutionException(e.getMessage());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CanceledExecutionException) {
+                    throw (CanceledExecutionException)cause;
+                } else if (cause instanceof IllegalAccessException) {
+                    throw (IllegalAccessException)cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                } else if (cause instanceof Error) {
+                    throw (Error)cause;
+                }
+                throw new RuntimeException(cause);
+            } finally {
+                for (Future<?> future : futures) {
+                    if (future != null) {
+                        future.cancel(true);
                     }
-                    throw new RuntimeException(buildThread.getException()
-                            .getMessage());
                 }
             }
-            threads.clear();
 
             if (split instanceof SplitContinuous) {
                 double splitValue =
@@ -1183,7 +1202,18 @@ public DecisionTree getDecisionTree() {
         return m_decisionTree;
     }
 
-    private final class ParallelBuilding extends ThreadWithContext {
+    private static SplitQualityMeasure cloneQualityMeasure(final SplitQualityMeasure splitQM) {
+        try {
+            return (SplitQualityMeasure)splitQM.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Builds a subtree (below the root) as task of the thread pool.
+     */
+    private final class BuildTreeTask implements Callable<DecisionTreeNode> {
 
         private final InMemoryTable m_table;
 
@@ -1191,88 +1221,37 @@ private final class ParallelBuilding extends ThreadWithContext {
 
         private final int m_depth;
 
-        private DecisionTreeNode m_resultNode;
-
-        private Exception m_exception;
-
-        private final int m_threadIndex;
-
         private final SplitQualityMeasure m_splitQM;
 
-        private final ParallelProcessing m_parallelProcessingInner;
+        private final ThreadPool m_pool;
 
-        private ParallelBuilding(final String name, final InMemoryTable table,
-                final ExecutionContext exec, final int depth,
-                final int threadIndex, final SplitQualityMeasure splitQM,
-                final ParallelProcessing parallelProcessing) {
-            super(name);
+        private final NodeContext m_nodeContext;
+
+        private BuildTreeTask(final InMemoryTable table, final ExecutionContext exec, final int depth,
+            final SplitQualityMeasure splitQM, final ThreadPool pool, final NodeContext nodeContext) {
             m_table = table;
             m_exec = exec;
             m_depth = depth;
-            m_resultNode = null;
-            m_threadIndex = threadIndex;
             m_splitQM = splitQM;
-            m_parallelProcessingInner = parallelProcessing;
+            m_pool = pool;
+            m_nodeContext = nodeContext;
         }
 
         /**
          * {@inheritDoc}
          */
         @Override
-        protected void runWithContext() {
-            try {
-                // Setting firstSplitCol to -1 is valid because only child nodes with a depth
-                // larger than 0 are built in parallel
-                m_resultNode = buildTree(m_table, m_exec, m_depth, (SplitQualityMeasure)m_splitQM.clone(),
-                    m_parallelProcessingInner, -1);
-                LOGGER.debug("Thread: " + getName() + " finished");
-            } catch (Exception e) {
-                m_exception = e;
+        public DecisionTreeNode call() throws CanceledExecutionException, IllegalAccessException {
+            if (m_nodeContext != null) {
+                NodeContext.pushContext(m_nodeContext);
             }
-
-            m_parallelProcessingInner.threadTaskFinished();
-            synchronized (this) {
-                notifyAll();
-            }
-        }
-
-        /**
-         * Returns a possible exception after execution.
-         *
-         * @return a possible exception after execution
-         */
-        public Exception getException() {
-            return m_exception;
-        }
-
-        /**
-         * Returns the result node created in this thread.
-         *
-         * @return the result node created in this threads
-         */
-        public DecisionTreeNode getResultNode() {
-
-            // if the result is not available yet
-            synchronized (this) {
-                if (m_exception != null) {
-                    throw new RuntimeException(m_exception.getMessage());
-                }
-                if (m_resultNode == null) {
-                    try {
-                        this.wait();
-                    } catch (Exception e) {
-                        // do nothing
-                    }
+            try {
+                return buildTree(m_table, m_exec, m_depth, m_splitQM, -1, m_pool);
+            } finally {
+                if (m_nodeContext != null) {
+                    NodeContext.removeLastContext();
                 }
             }
-            return m_resultNode;
-        }
-
-        /**
-         * @return the threadIndex
-         */
-        public int getThreadIndex() {
-            return m_threadIndex;
         }
     }
 
@@ -133,6 +133,15 @@ public class InMemoryTable implements Iterable<DataRowWeighted> {
      */
     private double m_sumOfWeights;
 
+    /**
+     * The positions of the data rows in ascending order of each numeric
+     * attribute (missing values at the end), as in the SLIQ/SPRINT attribute
+     * lists. The first dimension are the attributes; entries of nominal
+     * attributes are <code>null</code>. The array itself is
+     * <code>null</code> if the table has not been presorted.
+     */
+    private int[][] m_sortedRowIndices;
+
     /**
      * Creates an empty table that keeps all rows in memory. The
      * {@link ValueMapper} array must contain mappers only at array positions
@@ -299,6 +308,7 @@ public boolean isNominal(final int index) {
      */
     public void freeUnderlyingDataRows() {
         m_rows = null;
+        m_sortedRowIndices = null;
     }
 
 
@@ -643,6 +653,21 @@ public double[] sortDataRows(final int attributeIndex) {
         double[] sumOfMissingValueWeights =
                 new double[m_classFrequencyArray.length];
 
+        if (isPresorted(attributeIndex)) {
+            // the order is already known, the missing values are at the end
+            // of the index array; the rows itself are not touched
+            int[] sortedIndices = m_sortedRowIndices[attributeIndex];
+            for (int i = sortedIndices.length - 1; i >= 0; i--) {
+                DataRowWeighted row = m_rows[sortedIndices[i]];
+                if (!Double.isNaN(row.getValue(attributeIndex))) {
+                    break;
+                }
+                sumOfMissingValueWeights[row.getClassValue()] +=
+                        row.getWeight();
+            }
+            return sumOfMissingValueWeights;
+        }
+
         // put all missing values (encoded as not a number - NaN) at the end
         // of the row array
         int left = 0;
@@ -671,6 +696,214 @@ public double[] sortDataRows(final int attributeIndex) {
         return sumOfMissingValueWeights;
     }
 
+    /**
+     * Returns an iterator over the data rows in ascending order of the given
+     * numeric attribute with the missing values at the end. If this table has
+     * been presorted (see {@link #presortNumericAttributes()}) the rows are
+     * returned via the precomputed index, otherwise this iterator is only
+     * valid after {@link #sortDataRows(int)} has been invoked for the
+     * attribute.
+     *
+     * @param attributeIndex the index of the numeric attribute
+     * @return an iterator over the rows in ascending attribute order
+     */
+    public Iterator<DataRowWeighted> sortedIterator(final int attributeIndex) {
+        if (!isPresorted(attributeIndex)) {
+            return iterator();
+        }
+        if (m_rows == null) {
+            throw new RuntimeException("Data rows have been removed.");
+        }
+        final int[] sortedIndices = m_sortedRowIndices[attributeIndex];
+        return new Iterator<DataRowWeighted>() {
+
+            private int m_next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return m_next < sortedIndices.length;
+            }
+
+            @Override
+            public DataRowWeighted next() {
+                return m_rows[sortedIndices[m_next++]];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException(
+                        "Remove is not supported.");
+            }
+        };
+    }
+
+    /**
+     * Whether a sorted row index is available for the given attribute.
+     *
+     * @param attributeIndex the attribute index
+     * @return true, if the rows of this table have been presorted on the
+     *         given attribute
+     */
+    public boolean isPresorted(final int attributeIndex) {
+        return m_sortedRowIndices != null
+                && m_sortedRowIndices[attributeIndex] != null;
+    }
+
+    /**
+     * Whether this table holds sorted row indices for all numeric attributes.
+     * In this case the numeric splits do not reorder the rows and can thus be
+     * evaluated concurrently.
+     *
+     * @return true, if this table has been presorted
+     */
+    public boolean isPresorted() {
+        return m_sortedRowIndices != null;
+    }
+
+    /**
+     * Sorts the rows once for every numeric attribute and keeps the result as
+     * index arrays. The row order itself is not changed. The indices are
+     * handed down to the partitions by the {@link Partitioner}, hence the
+     * rows need not be sorted again in deeper levels of the tree. The table
+     * must be packed before.
+     */
+    public void presortNumericAttributes() {
+        int[][] sortedRowIndices = new int[getNumAttributes()][];
+        for (int i = 0; i < sortedRowIndices.length; i++) {
+            if (!isNominal(i)) {
+                sortedRowIndices[i] = createSortedIndex(i);
+            }
+        }
+        m_sortedRowIndices = sortedRowIndices;
+    }
+
+    /**
+     * Returns the sorted row indices of the given attribute.
+     *
+     * @param attributeIndex the attribute index
+     * @return the row positions in ascending attribute order or
+     *         <code>null</code> if not available
+     */
+    int[] getSortedRowIndices(final int attributeIndex) {
+        return m_sortedRowIndices == null ? null
+                : m_sortedRowIndices[attributeIndex];
+    }
+
+    /**
+     * Sets the sorted row indices for the given attribute. Used by the
+     * {@link Partitioner} to pass the order of the parent table on to the
+     * partitions.
+     *
+     * @param attributeIndex the attribute index
+     * @param sortedIndices the row positions in ascending attribute order with
+     *            the missing values at the end
+     */
+    void setSortedRowIndices(final int attributeIndex,
+            final int[] sortedIndices) {
+        assert sortedIndices.length == m_size;
+        if (m_sortedRowIndices == null) {
+            m_sortedRowIndices = new int[getNumAttributes()][];
+        }
+        m_sortedRowIndices[attributeIndex] = sortedIndices;
+    }
+
+    private int[] createSortedIndex(final int attributeIndex) {
+        int numValid = 0;
+        for (int i = 0; i < m_size; i++) {
+            if (!Double.isNaN(m_rows[i].getValue(attributeIndex))) {
+                numValid++;
+            }
+        }
+        int[] indices = new int[m_size];
+        double[] values = new double[m_size];
+        // valid values are put at the front, missing values at the end; both
+        // parts keep the row order
+        int left = 0;
+        int right = numValid;
+        for (int i = 0; i < m_size; i++) {
+            double value = m_rows[i].getValue(attributeIndex);
+            if (Double.isNaN(value)) {
+                indices[right++] = i;
+            } else {
+                indices[left] = i;
+                values[left] = value;
+                left++;
+            }
+        }
+        indexQuicksort(indices, values, 0, numValid - 1);
+        return indices;
+    }
+
+    /**
+     * Sorts the given index array according to the values. Both arrays are
+     * rearranged in parallel. Equal values are ordered by their row index,
+     * hence the result is the same as the one of a stable sort of the rows.
+     */
+    private static void indexQuicksort(final int[] indices,
+            final double[] values, final int left, final int right) {
+        int ileft = left;
+        int iright = right;
+        while (iright - ileft > 16) {
+            final int mid = (ileft + iright) >>> 1;
+            final double pivot = values[mid];
+            final int pivotIndex = indices[mid];
+            int i = ileft;
+            int j = iright;
+            while (i <= j) {
+                while (compare(values[i], indices[i], pivot, pivotIndex) < 0) {
+                    i++;
+                }
+                while (compare(values[j], indices[j], pivot, pivotIndex) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(indices, values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // recurse into the smaller part to bound the stack depth
+            if (j - ileft < iright - i) {
+                indexQuicksort(indices, values, ileft, j);
+                ileft = i;
+            } else {
+                indexQuicksort(indices, values, i, iright);
+                iright = j;
+            }
+        }
+        // insertion sort for the small remainder
+        for (int i = ileft + 1; i <= iright; i++) {
+            for (int j = i; j > ileft && compare(values[j - 1],
+                    indices[j - 1], values[j], indices[j]) > 0; j--) {
+                swap(indices, values, j - 1, j);
+            }
+        }
+    }
+
+    /**
+     * Compares two rows by their value and, for equal values, by their row
+     * index.
+     */
+    private static int compare(final double value1, final int index1,
+            final double value2, final int index2) {
+        if (value1 < value2) {
+            return -1;
+        } else if (value1 > value2) {
+            return 1;
+        }
+        return Integer.compare(index1, index2);
+    }
+
+    private static void swap(final int[] indices, final double[] values,
+            final int i, final int j) {
+        int tempIndex = indices[i];
+        indices[i] = indices[j];
+        indices[j] = tempIndex;
+        double tempValue = values[i];
+        values[i] = values[j];
+        values[j] = tempValue;
+    }
+
     /**
      * Implements the basic quicksort algorithm.
      *
@@ -54,7 +54,11 @@
  * @author Christoph Sieb, University of Konstanz
  *
  * @since 2.6
+ * @deprecated the decision tree learner schedules its subtrees in a
+ *             sub pool of the KNIME global thread pool; this class is not
+ *             used anymore
  */
+@Deprecated
 public class ParallelProcessing {
     private int m_maxNumberThreads;
 
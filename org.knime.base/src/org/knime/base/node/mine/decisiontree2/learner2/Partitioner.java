@@ -47,6 +47,7 @@
  */
 package org.knime.base.node.mine.decisiontree2.learner2;
 
+import java.util.Arrays;
 
 /**
  * Partitions a table according to a given split.
@@ -109,11 +110,31 @@ public Partitioner(final InMemoryTable table, final Split split,
         // iterate over the rows and assign them to the corresponding
         // partition table
         // for the missing values get the partition weights from the split
+        // if the table is presorted, the target partition and the position
+        // therein is remembered for each row, to pass the sort order on
+        boolean presorted = table.isPresorted();
+        int numRows = table.getNumberDataRows();
+        int[] rowPartition = presorted ? new int[numRows] : null;
+        int[] rowPosition = presorted ? new int[numRows] : null;
+        IntArrayList[] missingRowPositions = null;
+        if (presorted) {
+            missingRowPositions = new IntArrayList[partitionTables.length];
+            for (int i = 0; i < partitionTables.length; i++) {
+                missingRowPositions[i] = new IntArrayList();
+            }
+        }
         double[] partitionWeights = split.getPartitionWeights();
+        int rowIndex = 0;
+        int numMissingRows = 0;
         for (DataRowWeighted row : table) {
             int partitionIndex = split.getPartitionForRow(row);
             if (partitionIndex >= 0) {
                 // the split attribute value is not missing
+                if (presorted) {
+                    rowPartition[rowIndex] = partitionIndex;
+                    rowPosition[rowIndex] =
+                            partitionTables[partitionIndex].getNumberDataRows();
+                }
                 partitionTables[partitionIndex].addRow(row);
             } else {
                 // the split attribute value is missing
@@ -121,12 +142,22 @@ public Partitioner(final InMemoryTable table, final Split split,
                 // to the valid number of rows in each partition
                 // (this information was collected during split calculation,
                 // see "partitionWeights" above)
+                if (presorted) {
+                    rowPartition[rowIndex] = -1;
+                    rowPosition[rowIndex] = numMissingRows;
+                }
                 for (int i = 0; i < partitionTables.length; i++) {
+                    if (presorted) {
+                        missingRowPositions[i].add(
+                                partitionTables[i].getNumberDataRows());
+                    }
                     double newWeight = row.getWeight() * partitionWeights[i];
                     partitionTables[i].addRow(new DataRowWeighted(row,
                             newWeight));
                 }
+                numMissingRows++;
             }
+            rowIndex++;
         }
 
         // pack the table
@@ -134,6 +165,11 @@ public Partitioner(final InMemoryTable table, final Split split,
             partitionTable.pack();
         }
 
+        if (presorted) {
+            partitionSortedIndices(table, partitionTables, rowPartition,
+                    rowPosition, missingRowPositions);
+        }
+
         // delete the undelying data row array
         // NOTE: just the array is garbage collected, not the rows itself
         // as they are distributed over the new partition tables
@@ -155,6 +191,68 @@ public Partitioner(final InMemoryTable table, final Split split,
         m_partitionedTables = partitionTables;
     }
 
+    /**
+     * Passes the sorted row indices of the parent table on to the partitions.
+     * The parent order is walked once per numeric attribute and each row is
+     * appended to the index of its partition. Thus, the partitions are sorted
+     * as well without comparing any values (SPRINT-like attribute list
+     * splitting).
+     */
+    private static void partitionSortedIndices(final InMemoryTable table,
+            final InMemoryTable[] partitionTables, final int[] rowPartition,
+            final int[] rowPosition, final IntArrayList[] missingRowPositions) {
+        for (int a = 0; a < table.getNumAttributes(); a++) {
+            int[] parentIndices = table.getSortedRowIndices(a);
+            if (parentIndices == null) {
+                continue;
+            }
+            int[][] childIndices = new int[partitionTables.length][];
+            int[] childSize = new int[partitionTables.length];
+            for (int i = 0; i < partitionTables.length; i++) {
+                childIndices[i] =
+                        new int[partitionTables[i].getNumberDataRows()];
+            }
+            for (int parentIndex : parentIndices) {
+                int partition = rowPartition[parentIndex];
+                if (partition >= 0) {
+                    childIndices[partition][childSize[partition]++] =
+                            rowPosition[parentIndex];
+                } else {
+                    // rows missing the split value are in each partition
+                    for (int i = 0; i < partitionTables.length; i++) {
+                        childIndices[i][childSize[i]++] =
+                                missingRowPositions[i].get(
+                                        rowPosition[parentIndex]);
+                    }
+                }
+            }
+            for (int i = 0; i < partitionTables.length; i++) {
+                partitionTables[i].setSortedRowIndices(a, childIndices[i]);
+            }
+        }
+    }
+
+    /**
+     * Minimal growable list of primitive ints.
+     */
+    private static final class IntArrayList {
+
+        private int[] m_values = new int[16];
+
+        private int m_size;
+
+        void add(final int value) {
+            if (m_size == m_values.length) {
+                m_values = Arrays.copyOf(m_values, m_size * 2);
+            }
+            m_values[m_size++] = value;
+        }
+
+        int get(final int index) {
+            return m_values[index];
+        }
+    }
+
     /**
      * Return the partition tables.
      *
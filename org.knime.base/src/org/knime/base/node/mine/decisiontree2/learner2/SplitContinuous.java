@@ -121,9 +121,18 @@ private void findBestSplit(final InMemoryTable table,
         // default value is the worst one
         setBestQualityMeasure(splitQualityMeasure.getWorstValue());
 
-        // get the iterator for the data rows of the table
+        // now sort the table on this splits attribute index and get the
+        // frequency array for the missing values
+        // the missing value frequencies must be subtracted from the
+        // counter (if the table is presorted, the rows are not reordered
+        // but accessed via the sorted index)
+        double[] missingValueClassFrequencies =
+                table.sortDataRows(attributeIndex);
+
+        // get the iterator for the data rows of the table in sort order
         // (NOTE: the missing values are at the end of the table)
-        Iterator<DataRowWeighted> rowIterator = table.iterator();
+        Iterator<DataRowWeighted> rowIterator =
+                table.sortedIterator(attributeIndex);
         // if there are no rows return
         if (!rowIterator.hasNext()) {
             // set the quality measure to NaN marking as "not a valid split"
@@ -131,13 +140,6 @@ private void findBestSplit(final InMemoryTable table,
             return;
         }
 
-        // now sort the table on this splits attribute index and get the
-        // frequency array for the missing values
-        // the missing value frequencies must be subtracted from the
-        // counter
-        double[] missingValueClassFrequencies =
-                table.sortDataRows(attributeIndex);
-
         // the split is determined by sweeping linearly through the
         // ordered attribute list
         // two histograms are maintained: one for the class distribution
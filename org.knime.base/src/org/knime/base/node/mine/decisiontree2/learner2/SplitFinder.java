@@ -49,6 +49,10 @@
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.util.ThreadPool;
 
 
 /**
@@ -60,6 +64,13 @@
  * @since 2.6
  */
 public class SplitFinder {
+
+    /**
+     * The minimum number of rows for which the attributes are evaluated in
+     * parallel (if a thread pool is given).
+     */
+    private static final int MIN_ROWS_PARALLEL = 1000;
+
     private int m_splitAttributeIndex;
 
     private Split m_split;
@@ -89,28 +100,61 @@ public SplitFinder(final InMemoryTable table,
             final boolean averageSplitpoint, final double minObjectsCount,
             final boolean binaryNominalSplits,
             final int maxNumNominalsForCompleteComputation) {
+        this(table, splitQualityMeasure, averageSplitpoint, minObjectsCount,
+                binaryNominalSplits, maxNumNominalsForCompleteComputation,
+                null);
+    }
 
-        // create the best splits for each attribute
-        List<Split> splitCandidates = new ArrayList<Split>();
+    /**
+     * Finds the best split for the given data. If a thread pool is given and
+     * the table is presorted, the attributes are evaluated concurrently.
+     *
+     * @param table the data table for which to find the best split attribute
+     *            and for this the best split
+     * @param splitQualityMeasure the quality measure (e.g. gini or gain
+     *            ratio)
+     * @param averageSplitpoint if true, the split point is set as the average
+     *            of the partition borders, else the upper value of the lower
+     *            partition is used
+     * @param minObjectsCount minimum number of examples for a partition
+     * @param binaryNominalSplits if true, nominal attributes are split
+     *            according to binary subsets, else each nominal value
+     *            represents one branch
+     * @param maxNumNominalsForCompleteComputation the maximum number of nominal
+     *            values for which all subsets are calculated (results in the
+     *            optimal binary split); this parameter is only use if
+     *            <code>binaryNominalSplits</code> is <code>true</code>; if
+     *            the number of nominal values is higher, a heuristic is applied
+     * @param pool the pool in which the attributes are evaluated, may be
+     *            <code>null</code>
+     * @since 4.3
+     */
+    public SplitFinder(final InMemoryTable table,
+            final SplitQualityMeasure splitQualityMeasure,
+            final boolean averageSplitpoint, final double minObjectsCount,
+            final boolean binaryNominalSplits,
+            final int maxNumNominalsForCompleteComputation,
+            final ThreadPool pool) {
 
-        for (int i = 0; i < table.getNumAttributes(); i++) {
-            // check if the attribute should be considered
-            if (!table.considerAttribute(i)) {
-                continue;
-            }
-            if (table.isNominal(i)) {
-                if (binaryNominalSplits) {
-                    splitCandidates.add(new SplitNominalBinary(table, i,
-                            splitQualityMeasure, minObjectsCount,
-                            maxNumNominalsForCompleteComputation));
-                } else {
-                    splitCandidates.add(new SplitNominalNormal(table, i,
-                            splitQualityMeasure, minObjectsCount));
+        // create the best splits for each attribute
+        List<Split> splitCandidates;
+        if (table.isPresorted() && pool != null
+                && table.getNumberDataRows() >= MIN_ROWS_PARALLEL) {
+            splitCandidates = findSplitCandidatesParallel(table,
+                    splitQualityMeasure, averageSplitpoint, minObjectsCount,
+                    binaryNominalSplits, maxNumNominalsForCompleteComputation,
+                    pool);
+        } else {
+            splitCandidates = new ArrayList<Split>();
+            for (int i = 0; i < table.getNumAttributes(); i++) {
+                // check if the attribute should be considered
+                if (!table.considerAttribute(i)) {
+                    continue;
                 }
-            } else {
-                splitCandidates.add(new SplitContinuous(table, i,
-                        splitQualityMeasure, averageSplitpoint,
-                        minObjectsCount));
+                splitCandidates.add(createSplit(table, i, splitQualityMeasure,
+                        averageSplitpoint, minObjectsCount,
+                        binaryNominalSplits,
+                        maxNumNominalsForCompleteComputation));
             }
         }
 
@@ -134,6 +178,83 @@ public SplitFinder(final InMemoryTable table,
         m_split = bestSplit;
     }
 
+    private static Split createSplit(final InMemoryTable table,
+            final int attributeIndex,
+            final SplitQualityMeasure splitQualityMeasure,
+            final boolean averageSplitpoint, final double minObjectsCount,
+            final boolean binaryNominalSplits,
+            final int maxNumNominalsForCompleteComputation) {
+        if (table.isNominal(attributeIndex)) {
+            if (binaryNominalSplits) {
+                return new SplitNominalBinary(table, attributeIndex,
+                        splitQualityMeasure, minObjectsCount,
+                        maxNumNominalsForCompleteComputation);
+            } else {
+                return new SplitNominalNormal(table, attributeIndex,
+                        splitQualityMeasure, minObjectsCount);
+            }
+        } else {
+            return new SplitContinuous(table, attributeIndex,
+                    splitQualityMeasure, averageSplitpoint, minObjectsCount);
+        }
+    }
+
+    /**
+     * Evaluates the attributes as tasks of the given thread pool. This
+     * is only valid if the table is presorted, as otherwise the numeric
+     * splits reorder the rows of the table. Each task gets its own copy of the
+     * quality measure as the measures keep state. The candidates are returned
+     * in attribute order, hence the result equals the sequential one.
+     */
+    private static List<Split> findSplitCandidatesParallel(
+            final InMemoryTable table,
+            final SplitQualityMeasure splitQualityMeasure,
+            final boolean averageSplitpoint, final double minObjectsCount,
+            final boolean binaryNominalSplits,
+            final int maxNumNominalsForCompleteComputation,
+            final ThreadPool pool) {
+        List<Future<Split>> futures = new ArrayList<Future<Split>>();
+        for (int i = 0; i < table.getNumAttributes(); i++) {
+            // check if the attribute should be considered
+            if (!table.considerAttribute(i)) {
+                continue;
+            }
+            final int attributeIndex = i;
+            final SplitQualityMeasure measure;
+            try {
+                measure = (SplitQualityMeasure)splitQualityMeasure.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            futures.add(pool.enqueue(() -> createSplit(table, attributeIndex,
+                    measure, averageSplitpoint, minObjectsCount,
+                    binaryNominalSplits,
+                    maxNumNominalsForCompleteComputation)));
+        }
+        List<Split> splitCandidates = new ArrayList<Split>(futures.size());
+        try {
+            for (Future<Split> future : futures) {
+                splitCandidates.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(
+                    "Interrupted while evaluating split attributes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<Split> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return splitCandidates;
+    }
+
     /**
      * Returns the split evaluated as the best for the given data.
      *
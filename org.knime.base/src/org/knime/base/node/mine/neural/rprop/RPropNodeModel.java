@@ -76,6 +76,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -255,8 +256,8 @@ public RPropNodeModel() {
      *
      */
     public RPropNodeModel(final boolean pmmlInEnabled) {
-        super(pmmlInEnabled ? new PortType[]{BufferedDataTable.TYPE, PMMLPortObject.TYPE_OPTIONAL} : new PortType[]{BufferedDataTable.TYPE},
-                new PortType[]{PMMLPortObject.TYPE});
+        super(pmmlInEnabled ? new PortType[]{BufferedDataTable.TYPE, PMMLPortObject.TYPE_OPTIONAL}
+                : new PortType[]{BufferedDataTable.TYPE}, new PortType[]{PMMLPortObject.TYPE});
         m_architecture = new Architecture();
         m_mlp = new MultiLayerPerceptron();
         m_pmmlInEnabled = pmmlInEnabled;
@@ -508,33 +509,27 @@ protected PortObject[] execute(final PortObject[] inData,
                 rowcounter++;
             }
         }
-        Double[][] samplesarr = new Double[rowcounter][nrInputs];
-        Double[][] outputsarr = new Double[rowcounter][nrInputs];
+        double[][] samplesarr = new double[rowcounter][];
+        double[][] outputsarr = new double[rowcounter][];
         for (int i = 0; i < samplesarr.length; i++) {
-            samplesarr[i] = samples.get(i);
-            outputsarr[i] = outputs.get(i);
+            samplesarr[i] = toPrimitive(samples.get(i));
+            outputsarr[i] = toPrimitive(outputs.get(i));
         }
+        samples = null;
+        outputs = null;
         // Now finally train the network.
         m_mlp.setClassMapping(classMap);
         m_mlp.setInputMapping(inputmap);
         RProp myrprop = new RProp();
         m_errors = new double[m_nrIterations.getIntValue()];
+        myrprop.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool());
         for (int iteration = 0; iteration < m_nrIterations.getIntValue();
                 iteration++) {
             exec.setProgress((double)iteration
                     / (double)m_nrIterations.getIntValue(), "Iteration "
                     + iteration);
             myrprop.train(m_mlp, samplesarr, outputsarr);
-            double error = 0;
-            for (int j = 0; j < outputsarr.length; j++) {
-                double[] myoutput = m_mlp.output(samplesarr[j]);
-                for (int o = 0; o < outputsarr[0].length; o++) {
-                    error +=
-                            (myoutput[o] - outputsarr[j][o])
-                                    * (myoutput[o] - outputsarr[j][o]);
-                }
-            }
-            m_errors[iteration] = error;
+            m_errors[iteration] = myrprop.error(m_mlp, samplesarr, outputsarr);
             exec.checkCanceled();
         }
 
@@ -553,6 +548,14 @@ protected PortObject[] execute(final PortObject[] inData,
         return new PortObject[]{outPMMLPort};
     }
 
+    private static double[] toPrimitive(final Double[] values) {
+        double[] result = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
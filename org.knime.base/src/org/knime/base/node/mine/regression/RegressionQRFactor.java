@@ -0,0 +1,313 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ */
+package org.knime.base.node.mine.regression;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.exception.util.LocalizedFormats;
+import org.apache.commons.math3.stat.regression.MillerUpdatingRegression;
+import org.apache.commons.math3.stat.regression.ModelSpecificationException;
+import org.apache.commons.math3.stat.regression.RegressionResults;
+import org.apache.commons.math3.util.Precision;
+
+/**
+ * The QR factorization of the regressors and the response of a linear model in the square root free form of
+ * Gentleman's algorithm (as in {@link MillerUpdatingRegression}). Observations are added with Givens rotations.
+ * Factors of disjoint sets of rows can be merged by rotating the rows of one factor into the other, so the rows can be
+ * factorized in independent chunks without forming the normal equations.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.3
+ */
+public final class RegressionQRFactor {
+
+    /** The number of columns of the factor, including the constant term. */
+    private final int m_nvars;
+
+    private final boolean m_hasIntercept;
+
+    /** The squared diagonal of the triangular factor. */
+    private final double[] m_d;
+
+    /** The unit upper triangular factor, {@code m_r[i][j]} is used for {@code j > i}. */
+    private final double[][] m_r;
+
+    /** The rotated response. */
+    private final double[] m_rhs;
+
+    /** The sum of squared residuals. */
+    private double m_sserr;
+
+    private long m_nobs;
+
+    private double m_sumy;
+
+    private double m_sumsqy;
+
+    /**
+     * Creates an empty factor.
+     *
+     * @param regressorCount the number of regressors (without the constant term)
+     * @param includeConstant whether a constant term is estimated
+     */
+    public RegressionQRFactor(final int regressorCount, final boolean includeConstant) {
+        m_hasIntercept = includeConstant;
+        m_nvars = regressorCount + (includeConstant ? 1 : 0);
+        m_d = new double[m_nvars];
+        m_r = new double[m_nvars][m_nvars];
+        m_rhs = new double[m_nvars];
+    }
+
+    /** Copy constructor. */
+    private RegressionQRFactor(final RegressionQRFactor other) {
+        m_hasIntercept = other.m_hasIntercept;
+        m_nvars = other.m_nvars;
+        m_d = other.m_d.clone();
+        m_r = new double[m_nvars][];
+        for (int i = 0; i < m_nvars; i++) {
+            m_r[i] = other.m_r[i].clone();
+        }
+        m_rhs = other.m_rhs.clone();
+        m_sserr = other.m_sserr;
+        m_nobs = other.m_nobs;
+        m_sumy = other.m_sumy;
+        m_sumsqy = other.m_sumsqy;
+    }
+
+    /**
+     * @return the number of observations
+     */
+    public long getN() {
+        return m_nobs;
+    }
+
+    /**
+     * Adds an observation to the factor.
+     *
+     * @param x the regressors of the observation (without the constant term)
+     * @param y the response of the observation
+     * @throws ModelSpecificationException if the length of {@code x} does not match the number of regressors
+     */
+    public void addObservation(final double[] x, final double y) {
+        final int offset = m_hasIntercept ? 1 : 0;
+        if (x.length + offset != m_nvars) {
+            throw new ModelSpecificationException(LocalizedFormats.INVALID_REGRESSION_OBSERVATION, x.length,
+                m_nvars - offset);
+        }
+        final double[] row = new double[m_nvars];
+        if (m_hasIntercept) {
+            row[0] = 1.0;
+        }
+        System.arraycopy(x, 0, row, offset, x.length);
+        include(row, 1.0, y);
+        m_nobs++;
+        m_sumy += y;
+        m_sumsqy += y * y;
+    }
+
+    /**
+     * Adds the observations of another factor to this one. The rows of the other factor are rotated into this factor
+     * with their weights, so the result is the factor of the observations of both.
+     *
+     * @param other the factor of another set of observations with the same regressors, not modified
+     * @throws IllegalArgumentException if the factors have different regressors
+     */
+    public void merge(final RegressionQRFactor other) {
+        if (other.m_nvars != m_nvars || other.m_hasIntercept != m_hasIntercept) {
+            throw new IllegalArgumentException("Cannot merge factors of different models");
+        }
+        for (int i = 0; i < m_nvars; i++) {
+            if (other.m_d[i] != 0.0) {
+                final double[] row = new double[m_nvars];
+                row[i] = 1.0;
+                System.arraycopy(other.m_r[i], i + 1, row, i + 1, m_nvars - i - 1);
+                include(row, other.m_d[i], other.m_rhs[i]);
+            }
+        }
+        m_sserr += other.m_sserr;
+        m_nobs += other.m_nobs;
+        m_sumy += other.m_sumy;
+        m_sumsqy += other.m_sumsqy;
+    }
+
+    /**
+     * Rotates a weighted row into the factor, {@code x} is overwritten.
+     */
+    private void include(final double[] x, final double weight, final double y) {
+        double w = weight;
+        double residual = y;
+        for (int i = 0; i < m_nvars && w != 0.0; i++) {
+            final double xi = x[i];
+            if (xi == 0.0) {
+                continue;
+            }
+            final double di = m_d[i];
+            final double wxi = w * xi;
+            final double dpi = di + wxi * xi;
+            final double[] ri = m_r[i];
+            for (int k = i + 1; k < m_nvars; k++) {
+                final double xk = x[k];
+                x[k] = xk - xi * ri[k];
+                ri[k] = di == 0.0 ? xk / xi : (di * ri[k] + wxi * xk) / dpi;
+            }
+            final double yi = residual;
+            residual = yi - xi * m_rhs[i];
+            m_rhs[i] = di == 0.0 ? yi / xi : (di * m_rhs[i] + wxi * yi) / dpi;
+            m_d[i] = dpi;
+            w = di == 0.0 ? 0.0 : di * w / dpi;
+        }
+        m_sserr += w * residual * residual;
+    }
+
+    /**
+     * Estimates the model. Regressors that are linearly dependent on earlier ones get {@link Double#NaN} coefficients
+     * and covariances, the other estimates are those of the model without them. This factor is not modified.
+     *
+     * @return the estimates of the model
+     * @throws ModelSpecificationException if there are not more observations than coefficients
+     */
+    public RegressionResults regress() {
+        if (m_nobs <= m_nvars) {
+            throw new ModelSpecificationException(LocalizedFormats.NOT_ENOUGH_DATA_FOR_NUMBER_OF_PREDICTORS, m_nobs,
+                m_nvars);
+        }
+        final RegressionQRFactor factor = new RegressionQRFactor(this);
+        final boolean[] dependent = factor.removeDependentColumns();
+
+        final double[] beta = new double[m_nvars];
+        for (int i = m_nvars - 1; i >= 0; i--) {
+            if (!dependent[i]) {
+                double value = factor.m_rhs[i];
+                for (int k = i + 1; k < m_nvars; k++) {
+                    value -= factor.m_r[i][k] * beta[k];
+                }
+                beta[i] = value;
+            }
+        }
+        int rank = 0;
+        final int[] independent = new int[m_nvars];
+        for (int i = 0; i < m_nvars; i++) {
+            if (dependent[i]) {
+                beta[i] = Double.NaN;
+            } else {
+                independent[rank++] = i;
+            }
+        }
+
+        // inverse of the unit upper triangular factor of the independent columns
+        final double[][] rinv = new double[rank][rank];
+        for (int j = 0; j < rank; j++) {
+            rinv[j][j] = 1.0;
+            for (int i = j - 1; i >= 0; i--) {
+                double value = 0.0;
+                for (int k = i + 1; k <= j; k++) {
+                    value -= factor.m_r[independent[i]][independent[k]] * rinv[k][j];
+                }
+                rinv[i][j] = value;
+            }
+        }
+        final double var = factor.m_sserr / (m_nobs - rank);
+        final double[][] cov = new double[m_nvars][m_nvars];
+        for (final double[] row : cov) {
+            Arrays.fill(row, Double.NaN);
+        }
+        for (int a = 0; a < rank; a++) {
+            for (int b = a; b < rank; b++) {
+                double value = 0.0;
+                for (int k = b; k < rank; k++) {
+                    value += rinv[a][k] * rinv[b][k] / factor.m_d[independent[k]];
+                }
+                cov[independent[a]][independent[b]] = value * var;
+                cov[independent[b]][independent[a]] = value * var;
+            }
+        }
+        return new RegressionResults(beta, cov, false, m_nobs, rank, m_sumy, m_sumsqy, factor.m_sserr, m_hasIntercept,
+            false);
+    }
+
+    /**
+     * Finds the columns whose diagonal is negligible compared to the rest of the column (with the tolerances of
+     * {@link MillerUpdatingRegression}) and rotates their rows into the later columns.
+     *
+     * @return which columns are linearly dependent on earlier ones
+     */
+    private boolean[] removeDependentColumns() {
+        final double[] sqrtD = new double[m_nvars];
+        for (int i = 0; i < m_nvars; i++) {
+            sqrtD[i] = Math.sqrt(m_d[i]);
+        }
+        final double[] tol = new double[m_nvars];
+        for (int col = 0; col < m_nvars; col++) {
+            double total = sqrtD[col];
+            for (int row = 0; row < col; row++) {
+                total += Math.abs(m_r[row][col]) * sqrtD[row];
+            }
+            tol[col] = Precision.EPSILON * total;
+        }
+        final boolean[] dependent = new boolean[m_nvars];
+        for (int col = 0; col < m_nvars; col++) {
+            for (int row = 0; row < col; row++) {
+                if (Math.abs(m_r[row][col]) * sqrtD[row] < tol[col]) {
+                    m_r[row][col] = 0.0;
+                }
+            }
+            if (sqrtD[col] <= tol[col]) {
+                dependent[col] = true;
+                final double[] x = new double[m_nvars];
+                for (int k = col + 1; k < m_nvars; k++) {
+                    x[k] = m_r[col][k];
+                    m_r[col][k] = 0.0;
+                }
+                final double weight = m_d[col];
+                final double y = m_rhs[col];
+                m_d[col] = 0.0;
+                m_rhs[col] = 0.0;
+                include(x, weight, y);
+            }
+        }
+        return dependent;
+    }
+}
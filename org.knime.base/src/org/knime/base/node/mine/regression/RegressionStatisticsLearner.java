@@ -46,10 +46,15 @@
  */
 package org.knime.base.node.mine.regression;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.apache.commons.math3.linear.RealMatrix;
@@ -64,7 +69,9 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpec;
+import org.knime.core.util.ThreadPool;
 
 
 /**
@@ -79,6 +86,9 @@
  */
 public abstract class RegressionStatisticsLearner {
 
+    /** The number of rows that are factorized by one task. */
+    private static final int CHUNK_SIZE = 2048;
+
     /** The output {@link PMMLPortObjectSpec}. */
     protected final PMMLPortObjectSpec m_outSpec;
 
@@ -145,6 +155,115 @@ protected abstract void processTable(final ExecutionMonitor exec, RegressionTrai
         SummaryStatistics[] stats, UpdatingMultipleLinearRegression regr)
         throws CanceledExecutionException;
 
+    /**
+     * Reads the table and computes the QR factor of the model. Chunks of rows are factorized in parallel and the
+     * factors are merged in row order, the statistics ({@code stats}) are updated in row order.
+     *
+     * @param exec An {@link ExecutionMonitor}.
+     * @param trainingData The training data.
+     * @param stats Array of statistics for each regressor, its entries are created by this method.
+     * @return The factor of the rows without missing cells.
+     * @throws CanceledExecutionException Processing was cancelled.
+     * @since 4.3
+     */
+    protected RegressionQRFactor computeFactor(final ExecutionMonitor exec, final RegressionTrainingData trainingData,
+        final SummaryStatistics[] stats) throws CanceledExecutionException {
+        final int regressorCount = stats.length;
+        for (int i = 0; i < regressorCount; i++) {
+            stats[i] = new SummaryStatistics();
+        }
+        final RegressionQRFactor factor = new RegressionQRFactor(regressorCount, m_includeConstant);
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final int nrThreads = pool.getMaxThreads();
+        final Deque<Future<RegressionQRFactor>> pending = new ArrayDeque<>();
+        try {
+            double[][] x = new double[CHUNK_SIZE][];
+            double[] y = new double[CHUNK_SIZE];
+            int count = 0;
+            long r = 1;
+            final long rowCount = trainingData.getRowCount();
+            for (RegressionTrainingRow row : trainingData) {
+                exec.checkCanceled();
+                if (!row.hasMissingCells()) {
+                    final double[] regressors = new double[regressorCount];
+                    y[count] = fillObservation(row, regressors);
+                    for (int i = 0; i < regressorCount; i++) {
+                        stats[i].addValue(regressors[i]);
+                    }
+                    x[count++] = regressors;
+                    if (count == CHUNK_SIZE) {
+                        pending.add(pool.enqueue(createChunkTask(x, y, count)));
+                        x = new double[CHUNK_SIZE][];
+                        y = new double[CHUNK_SIZE];
+                        count = 0;
+                        // bound the number of buffered rows
+                        while (pending.size() > 2 * nrThreads) {
+                            factor.merge(getChunkResult(pending.poll()));
+                        }
+                    }
+                }
+                exec.setProgress(r / (double)rowCount, String.format("Row %d/%d", r, rowCount));
+                r++;
+            }
+            if (count > 0) {
+                pending.add(pool.enqueue(createChunkTask(x, y, count)));
+            }
+            while (!pending.isEmpty()) {
+                factor.merge(getChunkResult(pending.poll()));
+            }
+        } finally {
+            for (Future<RegressionQRFactor> future : pending) {
+                future.cancel(true);
+            }
+        }
+        return factor;
+    }
+
+    /**
+     * Computes the regressor values and the response of a row without missing cells. The default implementation
+     * uses the parameters of the row as regressors and subtracts the offset value from the target if no constant
+     * term is estimated.
+     *
+     * @param row A training row without missing cells.
+     * @param regressors The array to fill with the regressor values.
+     * @return The response of the row.
+     * @since 4.3
+     */
+    protected double fillObservation(final RegressionTrainingRow row, final double[] regressors) {
+        final double[] parameter = row.getParameter().getRow(0);
+        System.arraycopy(parameter, 0, regressors, 0, Math.min(parameter.length, regressors.length));
+        return row.getTarget() + (m_includeConstant ? 0 : -m_offsetValue);
+    }
+
+    private Callable<RegressionQRFactor> createChunkTask(final double[][] x, final double[] y, final int count) {
+        final int regressorCount = x[0].length;
+        return () -> {
+            final RegressionQRFactor chunkFactor = new RegressionQRFactor(regressorCount, m_includeConstant);
+            for (int i = 0; i < count; i++) {
+                chunkFactor.addObservation(x[i], y[i]);
+            }
+            return chunkFactor;
+        };
+    }
+
+    /** Waits for the factor of a chunk, runtime exceptions of the chunk task are rethrown. */
+    private static RegressionQRFactor getChunkResult(final Future<RegressionQRFactor> future)
+        throws CanceledExecutionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException(e.getMessage());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
     /**
      * Creates the covariance matrix from the {@link RegressionResults}.
      *
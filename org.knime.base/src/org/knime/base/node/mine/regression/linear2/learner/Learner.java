@@ -57,6 +57,7 @@
 import org.apache.commons.math3.stat.regression.ModelSpecificationException;
 import org.apache.commons.math3.stat.regression.RegressionResults;
 import org.apache.commons.math3.stat.regression.UpdatingMultipleLinearRegression;
+import org.knime.base.node.mine.regression.RegressionQRFactor;
 import org.knime.base.node.mine.regression.RegressionStatisticsLearner;
 import org.knime.base.node.mine.regression.RegressionTrainingData;
 import org.knime.base.node.mine.regression.RegressionTrainingRow;
@@ -109,14 +110,12 @@ public LinearRegressionContent perform(final BufferedDataTable data, final Execu
 
         final int regressorCount = Math.max(1,trainingData.getRegressorCount());
         SummaryStatistics[] stats = new SummaryStatistics[regressorCount];
-        UpdatingMultipleLinearRegression regr = initStatistics(regressorCount, stats);
-
-        processTable(exec, trainingData, stats, regr);
+        RegressionQRFactor factor = computeFactor(exec, trainingData, stats);
 
         List<String> factorList = new ArrayList<String>();
         List<String> covariateList = createCovariateListAndFillFactors(data, trainingData, factorList);
         try {
-            RegressionResults result = regr.regress();
+            RegressionResults result = factor.regress();
 
             RealMatrix beta = MatrixUtils.createRowRealMatrix(result.getParameterEstimates());
 
@@ -125,6 +125,8 @@ public final class LogRegLearnerNodeDialogPane extends NodeDialogPane {
 
     private JSpinner m_maxEpochSpinner;
 
+    private JSpinner m_miniBatchSizeSpinner;
+
     private JCheckBox m_calcCovMatrixCheckBox;
 
     private JTextField m_epsilonField;
@@ -169,6 +171,8 @@ public LogRegLearnerNodeDialogPane() {
         m_calcCovMatrixCheckBox = new JCheckBox("Calculate statistics for coefficients");
         m_maxEpochSpinner =
             new JSpinner(new SpinnerNumberModel(LogRegLearnerSettings.DEFAULT_MAX_EPOCH, 1, Integer.MAX_VALUE, 1));
+        m_miniBatchSizeSpinner = new JSpinner(
+            new SpinnerNumberModel(LogRegLearnerSettings.DEFAULT_MINI_BATCH_SIZE, 1, Integer.MAX_VALUE, 100));
         m_epsilonField =
             new JTextField(Double.toString(LogRegLearnerSettings.DEFAULT_EPSILON), NUMBER_INPUT_FIELD_COLS);
         m_initialLearningRateField =
@@ -318,6 +322,7 @@ private void solverChanged(final Solver solver) {
 
     private void setEnabledSGRelated(final boolean enable) {
         m_lazyCalculationCheckBox.setEnabled(enable);
+        m_miniBatchSizeSpinner.setEnabled(enable);
         m_learningRateStrategyComboBox.setEnabled(enable);
         m_initialLearningRateField.setEnabled(enable);
         m_priorComboBox.setEnabled(enable);
@@ -388,6 +393,11 @@ private JPanel createSolverOptionsPanel() {
         panel.add(m_lazyCalculationCheckBox, c);
         c.gridy++;
         panel.add(m_calcCovMatrixCheckBox, c);
+        c.gridy++;
+        c.gridwidth = 1;
+        panel.add(new JLabel("Mini-batch size:"), c);
+        c.gridx++;
+        panel.add(m_miniBatchSizeSpinner, c);
 
         return panel;
     }
@@ -638,6 +648,7 @@ protected void loadSettingsFrom(final NodeSettingsRO s, final PortObjectSpec[] s
         }
         m_maxEpochSpinner.setValue(settings.getMaxEpoch());
         m_lazyCalculationCheckBox.setSelected(settings.isPerformLazy());
+        m_miniBatchSizeSpinner.setValue(settings.getMiniBatchSize());
         m_calcCovMatrixCheckBox.setSelected(settings.isCalcCovMatrix());
         double epsilon = settings.getEpsilon();
         m_epsilonField.setText(Double.toString(epsilon));
@@ -670,6 +681,7 @@ protected void saveSettingsTo(final NodeSettingsWO s) throws InvalidSettingsExce
         settings.setSolver((Solver)m_solverComboBox.getSelectedItem());
         settings.setMaxEpoch((int)m_maxEpochSpinner.getValue());
         settings.setPerformLazy(m_lazyCalculationCheckBox.isSelected());
+        settings.setMiniBatchSize((int)m_miniBatchSizeSpinner.getValue());
         settings.setCalcCovMatrix(m_calcCovMatrixCheckBox.isSelected());
         try {
             String str = m_epsilonField.getText();
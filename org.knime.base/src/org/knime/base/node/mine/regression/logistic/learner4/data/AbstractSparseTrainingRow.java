@@ -52,6 +52,8 @@
  * Abstract implementation of a sparse {@link TrainingRow}.
  * Stores only the non zero values and their indices in the row.
  * This allows for a fast {@link FeatureIterator} but the random access via {@link #getFeature(int)} is slow.
+ * If a row is dense, i.e. all features are non zero, the indices are implicit and only the primitive values are
+ * stored.
  *
  * @author Adrian Nembach, KNIME.com
  */
@@ -63,10 +65,20 @@ abstract class AbstractSparseTrainingRow implements TrainingRow {
 
     protected AbstractSparseTrainingRow(final float[] values, final int[] indices, final int id) {
         m_values = values;
-        m_indices = indices;
+        // for dense rows the index array is redundant
+        m_indices = isDense(indices) ? null : indices;
         m_id = id;
     }
 
+    private static boolean isDense(final int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -80,7 +92,7 @@ public int getId() {
      */
     @Override
     public String toString() {
-        return "[id=" + m_id + "; numNonZero=" + m_indices.length + "]";
+        return "[id=" + m_id + "; numNonZero=" + m_values.length + "]";
     }
 
 
@@ -123,7 +135,7 @@ public boolean next() {
          */
         @Override
         public int getFeatureIndex() {
-            return m_indices[m_idx];
+            return m_indices == null ? m_idx : m_indices[m_idx];
         }
 
         /**
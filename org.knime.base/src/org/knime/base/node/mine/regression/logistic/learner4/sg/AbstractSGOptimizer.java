@@ -104,7 +104,6 @@ public AbstractSGOptimizer(final TrainingData<T> data, final Loss<T> loss, final
 
     public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> data, final Progress progress) throws CanceledExecutionException {
 
-        final int nRows = data.getRowCount();
         final int nFets = data.getFeatureCount();
         final int nCats = data.getTargetDimension();
         final U updater = m_updaterFactory.create();
@@ -115,22 +114,7 @@ public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> da
             // notify learning rate strategy that a new epoch starts
             m_lrStrategy.startNewEpoch(epoch);
             progress.setProgress(((double)epoch) / maxEpoch, "Start epoch " + epoch + " of " + maxEpoch);
-            for (int k = 0; k < nRows; k++) {
-                progress.checkCanceled();
-                T x = data.getRandomRow();
-                prepareIteration(beta, x, updater, m_regUpdater, k);
-                double[] prediction = beta.predict(x);
-                double[] sig = m_loss.gradient(x, prediction);
-                double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
-                // beta is updated in two steps
-                m_regUpdater.update(beta, stepSize, k);
-                performUpdate(x, updater, sig, beta, stepSize, k);
-                double scale = beta.getScale();
-                if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
-                    normalize(beta, updater, k);
-                    beta.normalize();
-                }
-            }
+            performEpoch(beta, updater, data, progress);
             postProcessEpoch(beta, updater, m_regUpdater);
             if (m_stoppingCriterion.checkConvergence(beta)) {
                 break;
@@ -164,6 +148,69 @@ public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> da
         return new LogRegLearnerResult(betaMat, covMat, epoch, -lossSum);
     }
 
+    /**
+     * Performs a single epoch i.e. as many updates as there are rows in <b>data</b>.
+     * Each update draws a random row, calculates its gradient and updates <b>beta</b> accordingly.
+     *
+     * @param beta current estimate of the coefficient matrix
+     * @param updater the loss updater used for this training run
+     * @param data the training data
+     * @param progress used to check for cancellation
+     * @throws CanceledExecutionException if the training is canceled
+     */
+    protected void performEpoch(final WeightMatrix<T> beta, final U updater, final TrainingData<T> data,
+        final Progress progress) throws CanceledExecutionException {
+        final int nRows = data.getRowCount();
+        for (int k = 0; k < nRows; k++) {
+            progress.checkCanceled();
+            T x = data.getRandomRow();
+            prepareIteration(beta, x, updater, m_regUpdater, k);
+            double[] prediction = beta.predict(x);
+            double[] sig = m_loss.gradient(x, prediction);
+            double stepSize = m_lrStrategy.getCurrentLearningRate(x, prediction, sig);
+            // beta is updated in two steps
+            m_regUpdater.update(beta, stepSize, k);
+            performUpdate(x, updater, sig, beta, stepSize, k);
+            normalizeIfNecessary(beta, updater, k);
+        }
+    }
+
+    /**
+     * Normalizes <b>beta</b> if its scale became too large or too small.
+     *
+     * @param beta current estimate of the coefficient matrix
+     * @param updater the updater used for the current run
+     * @param iteration current iteration
+     */
+    protected final void normalizeIfNecessary(final WeightMatrix<T> beta, final U updater, final int iteration) {
+        double scale = beta.getScale();
+        if (scale > 1e10 || scale < -1e10 || (scale > 0 && scale < 1e-10) || (scale < 0 && scale > -1e-10)) {
+            normalize(beta, updater, iteration);
+            beta.normalize();
+        }
+    }
+
+    /**
+     * @return the loss function to minimize
+     */
+    protected Loss<T> getLoss() {
+        return m_loss;
+    }
+
+    /**
+     * @return the updater for the regularization term
+     */
+    protected R getRegularizationUpdater() {
+        return m_regUpdater;
+    }
+
+    /**
+     * @return the learning rate strategy
+     */
+    protected LearningRateStrategy<T> getLearningRateStrategy() {
+        return m_lrStrategy;
+    }
+
     /**
      * Calculates the sum of losses of all rows.
      *
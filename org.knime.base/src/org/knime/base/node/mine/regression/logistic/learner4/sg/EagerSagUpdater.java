@@ -60,7 +60,7 @@
  *
  * @author Adrian Nembach, KNIME.com
  */
-final class EagerSagUpdater <T extends TrainingRow> implements EagerUpdater<T> {
+final class EagerSagUpdater <T extends TrainingRow> implements MiniBatchUpdater<T> {
 
     private double[][] m_gradientSum;
     private double[][] m_gradientMemory;
@@ -80,6 +80,15 @@ private EagerSagUpdater(final int nRows, final int nFets, final int nCats) {
      */
     @Override
     public void update(final T x, final double[] sig, final WeightMatrix<T> beta, final double stepSize, final int iteration) {
+        accumulate(x, sig);
+        step(beta, stepSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void accumulate(final T x, final double[] sig) {
         int id = x.getId();
         if (!m_seen.get(id)) {
             m_seen.set(id);
@@ -98,6 +107,13 @@ public void update(final T x, final double[] sig, final WeightMatrix<T> beta, fi
         for (int c = 0; c < m_nCats; c++) {
             m_gradientMemory[c][id] = sig[c];
         }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void step(final WeightMatrix<T> beta, final double stepSize) {
         double scale = beta.getScale();
         beta.update((val, c, i) -> performUpdate(val, stepSize, scale, c, i), true);
     }
@@ -109,7 +125,10 @@ private double performUpdate(final double betaValue, final double stepSize, fina
         return betaValue - (stepSize/ (scale * m_nCovered)) * m_gradientSum[catIdx][fetIdx] ;
     }
 
-    static class EagerSagUpdaterFactory <T extends TrainingRow> implements UpdaterFactory<T, EagerUpdater<T>> {
+    /**
+     * The created updaters can be used row by row as {@link EagerUpdater} or in mini-batch mode.
+     */
+    static class EagerSagUpdaterFactory <T extends TrainingRow> implements UpdaterFactory<T, MiniBatchUpdater<T>> {
         private final int m_nRows;
         private final int m_nFets;
         private final int m_nCats;
@@ -0,0 +1,234 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerResult;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Mini-batch implementation of stochastic gradient descent like optimization schemes for linear models.
+ * The rows of a batch are drawn sequentially from the training data, hence the same rows are visited as in the
+ * sequential version. The predictions and gradients of the rows in a batch only depend on the coefficients at the
+ * beginning of the batch and are therefore calculated in parallel. Afterwards they are incorporated into the updater
+ * in batch order and the coefficients are updated once per batch. The prior is applied once per batch as well, with
+ * the step size scaled by the number of rows in the batch, so that its weight relative to the data does not depend on
+ * the batch size.
+ * Consequently, the result is deterministic for a given seed and batch size and does not depend on the number of
+ * threads. The gradients are calculated in a sub pool of the global KNIME thread pool, hence the thread limit of the
+ * KNIME preferences applies.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class MiniBatchSgOptimizer <T extends TrainingRow, R extends RegularizationUpdater>
+    extends AbstractSGOptimizer<T, MiniBatchUpdater<T>, R> {
+
+    /**
+     * Batches (or parts of batches) with fewer rows are processed in a single task.
+     */
+    private static final int MIN_ROWS_PER_TASK = 64;
+
+    private final int m_batchSize;
+
+    private ThreadPool m_pool;
+
+    /**
+     * @param data the training data to learn on
+     * @param loss the loss function to minimize
+     * @param updaterFactory a factory object for mini-batch updater objects
+     * @param regularizationUpdater used to perform regularization updates
+     * @param learningRateStrategy scheme for the learning rate or step size
+     * @param stoppingCriterion criterion that indicates when to stop training
+     * @param calcCovMatrix flag that indicates whether the cofficient covariance matrix should be calculated
+     * @param batchSize the number of rows per mini-batch
+     */
+    public MiniBatchSgOptimizer(final TrainingData<T> data, final Loss<T> loss,
+        final UpdaterFactory<T, MiniBatchUpdater<T>> updaterFactory, final R regularizationUpdater,
+        final LearningRateStrategy<T> learningRateStrategy, final StoppingCriterion<T> stoppingCriterion,
+        final boolean calcCovMatrix, final int batchSize) {
+        super(data, loss, updaterFactory, regularizationUpdater, learningRateStrategy, stoppingCriterion,
+            calcCovMatrix);
+        m_batchSize = batchSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public LogRegLearnerResult optimize(final int maxEpoch, final TrainingData<T> data, final Progress progress)
+        throws CanceledExecutionException {
+        m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        try {
+            return super.optimize(maxEpoch, data, progress);
+        } finally {
+            m_pool = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void performEpoch(final WeightMatrix<T> beta, final MiniBatchUpdater<T> updater,
+        final TrainingData<T> data, final Progress progress) throws CanceledExecutionException {
+        final int nRows = data.getRowCount();
+        final Loss<T> loss = getLoss();
+        final R regUpdater = getRegularizationUpdater();
+        final LearningRateStrategy<T> lrStrategy = getLearningRateStrategy();
+        final List<T> batch = new ArrayList<>(Math.min(m_batchSize, nRows));
+        final double[][] predictions = new double[Math.min(m_batchSize, nRows)][];
+        final double[][] gradients = new double[predictions.length][];
+        for (int k = 0; k < nRows; k += m_batchSize) {
+            progress.checkCanceled();
+            final int size = Math.min(m_batchSize, nRows - k);
+            batch.clear();
+            for (int i = 0; i < size; i++) {
+                batch.add(data.getRandomRow());
+            }
+            // beta is not modified while the gradients are calculated
+            calculateGradients(batch, beta, loss, predictions, gradients, size);
+            double stepSize = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < size; i++) {
+                final T x = batch.get(i);
+                stepSize = Math.min(stepSize, lrStrategy.getCurrentLearningRate(x, predictions[i], gradients[i]));
+                updater.accumulate(x, gradients[i]);
+            }
+            // beta is updated in two steps, the prior step covers all rows of the batch
+            regUpdater.update(beta, stepSize * size, k);
+            updater.step(beta, stepSize);
+            normalizeIfNecessary(beta, updater, k);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void prepareIteration(final WeightMatrix<T> beta, final T x, final MiniBatchUpdater<T> updater,
+        final R regUpdater, final int iteration) {
+        // nothing to prepare
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void postProcessEpoch(final WeightMatrix<T> beta, final MiniBatchUpdater<T> updater,
+        final R regUpdater) {
+        // nothing to postprocess
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void performUpdate(final T x, final MiniBatchUpdater<T> updater, final double[] gradient,
+        final WeightMatrix<T> beta, final double stepSize, final int iteration) {
+        updater.update(x, gradient, beta, stepSize, iteration);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void normalize(final WeightMatrix<T> beta, final MiniBatchUpdater<T> updater, final int iteration) {
+        // nothing to do
+    }
+
+    /**
+     * Calculates predictions and gradients of the first <b>size</b> rows in <b>batch</b>. The batch is split into
+     * ranges that are processed in the pool, the last range is processed in the calling thread. Each row writes only
+     * into its own slot of the result arrays.
+     */
+    private void calculateGradients(final List<T> batch, final WeightMatrix<T> beta, final Loss<T> loss,
+        final double[][] predictions, final double[][] gradients, final int size) throws CanceledExecutionException {
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            int from = 0;
+            for (; size - from > MIN_ROWS_PER_TASK; from += MIN_ROWS_PER_TASK) {
+                final int rangeFrom = from;
+                futures.add(m_pool.enqueue(() -> calculateRange(batch, beta, loss, predictions, gradients,
+                    rangeFrom, rangeFrom + MIN_ROWS_PER_TASK)));
+            }
+            calculateRange(batch, beta, loss, predictions, gradients, from, size);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException(e.getMessage());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static <T extends TrainingRow> void calculateRange(final List<T> batch, final WeightMatrix<T> beta,
+        final Loss<T> loss, final double[][] predictions, final double[][] gradients, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final T x = batch.get(i);
+            final double[] prediction = beta.predict(x);
+            predictions[i] = prediction;
+            gradients[i] = loss.gradient(x, prediction);
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.sg;
+
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow;
+
+/**
+ * An {@link EagerUpdater} that allows to separate the accumulation of gradients from the update of the coefficients.
+ * This allows to accumulate the gradients of a whole mini-batch before the coefficients are updated once.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+interface MiniBatchUpdater<T extends TrainingRow> extends EagerUpdater<T> {
+
+    /**
+     * Incorporates the gradient of row <b>x</b> into the state of the updater without touching the coefficients.
+     * Note that <b>sig</b> is not the actual gradient for the individual coefficients and the gradient
+     * must be obtained by multiplying the feature value with sig for the corresponding class.
+     *
+     * @param x the currently looked at row
+     * @param sig the gradient for each model
+     */
+    void accumulate(T x, double[] sig);
+
+    /**
+     * Updates all coefficients based on the gradients accumulated so far.
+     *
+     * @param beta the current estimate of the coefficient matrix
+     * @param stepSize to use for gradient descent
+     */
+    void step(WeightMatrix<T> beta, double stepSize);
+}
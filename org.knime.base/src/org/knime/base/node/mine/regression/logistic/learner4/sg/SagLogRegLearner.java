@@ -111,7 +111,7 @@ private RegularizationUpdater createRegularizationUpdater(final LogRegLearnerSet
             default:
                 throw new InvalidSettingsException("Unknown prior type \"" + settings.getPrior() + "\".");
         }
-        if (settings.isPerformLazy()) {
+        if (performLazy(settings)) {
             return new LazyPriorUpdater(prior, data.getRowCount(), true);
         } else {
             return new EagerPriorUpdater(prior, data.getRowCount(), true);
@@ -134,8 +134,8 @@ private UpdaterFactory<ClassificationTrainingRow, LazyUpdater<ClassificationTrai
         }
     }
 
-    private UpdaterFactory<ClassificationTrainingRow, EagerUpdater<ClassificationTrainingRow>> createEagerUpdater(
-        final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data) {
+    private UpdaterFactory<ClassificationTrainingRow, ? extends EagerUpdater<ClassificationTrainingRow>>
+        createEagerUpdater(final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data) {
         assert !settings.isPerformLazy() : "This method should only be called if an eager updater is required.";
         int nRows = data.getRowCount();
         int nFets = data.getFeatureCount();
@@ -150,6 +150,31 @@ private UpdaterFactory<ClassificationTrainingRow, EagerUpdater<ClassificationTra
         }
     }
 
+    private UpdaterFactory<ClassificationTrainingRow, MiniBatchUpdater<ClassificationTrainingRow>>
+        createMiniBatchUpdater(final LogRegLearnerSettings settings,
+            final TrainingData<ClassificationTrainingRow> data) {
+        assert settings.getMiniBatchSize() > 1 : "This method should only be called if mini-batches are used.";
+        int nRows = data.getRowCount();
+        int nFets = data.getFeatureCount();
+        int betaDim = data.getTargetDimension();
+        switch (settings.getSolver()) {
+            case IRLS:
+                throw new IllegalStateException("IRLS as solver in SG Framework detected. "
+                    + "This indicates a coding error in the settings propagation.");
+            case SAG:
+                return new EagerSagUpdater.EagerSagUpdaterFactory<>(nRows, nFets, betaDim);
+            default:
+                throw new IllegalArgumentException("The solver \"" + settings.getSolver() + "\" is unknown.");
+        }
+    }
+
+    /**
+     * Mini-batches are always processed eagerly.
+     */
+    private static boolean performLazy(final LogRegLearnerSettings settings) {
+        return settings.isPerformLazy() && settings.getMiniBatchSize() <= 1;
+    }
+
     private AbstractSGOptimizer createOptimizer(
         final LogRegLearnerSettings settings, final TrainingData<ClassificationTrainingRow> data) throws InvalidSettingsException {
         final Loss<ClassificationTrainingRow> loss = MultinomialLoss.INSTANCE;
@@ -157,12 +182,18 @@ private AbstractSGOptimizer createOptimizer(
                 new BetaChangeStoppingCriterion<>(data.getFeatureCount(), data.getTargetDimension(), settings.getEpsilon());
         LearningRateStrategy<ClassificationTrainingRow> lrs = createLearningRateStrategy(settings, data, loss);
         RegularizationUpdater regUpdater = createRegularizationUpdater(settings, data);
-        if (settings.isPerformLazy()) {
+        if (settings.getMiniBatchSize() > 1) {
+            UpdaterFactory<ClassificationTrainingRow, MiniBatchUpdater<ClassificationTrainingRow>> updaterFactory =
+                createMiniBatchUpdater(settings, data);
+            return new MiniBatchSgOptimizer<>(data, loss, updaterFactory, regUpdater, lrs, stoppingCriterion,
+                m_settings.isCalcCovMatrix(), settings.getMiniBatchSize());
+        } else if (settings.isPerformLazy()) {
             UpdaterFactory<ClassificationTrainingRow, LazyUpdater<ClassificationTrainingRow>> updaterFactory = createLazyUpdater(settings, data);
             return new LazySGOptimizer<ClassificationTrainingRow, LazyUpdater<ClassificationTrainingRow>, LazyRegularizationUpdater>(
                     data, loss, updaterFactory, (LazyRegularizationUpdater)regUpdater, lrs, stoppingCriterion, m_settings.isCalcCovMatrix());
         } else {
-            UpdaterFactory<ClassificationTrainingRow, EagerUpdater<ClassificationTrainingRow>> updaterFactory = createEagerUpdater(settings, data);
+            UpdaterFactory<ClassificationTrainingRow, ? extends EagerUpdater<ClassificationTrainingRow>>
+                updaterFactory = createEagerUpdater(settings, data);
             return new EagerSgOptimizer<>(data, loss, updaterFactory, regUpdater, lrs, stoppingCriterion, m_settings.isCalcCovMatrix());
 
         }
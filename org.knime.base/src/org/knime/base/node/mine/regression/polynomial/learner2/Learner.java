@@ -55,6 +55,7 @@
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.apache.commons.math3.stat.regression.RegressionResults;
 import org.apache.commons.math3.stat.regression.UpdatingMultipleLinearRegression;
+import org.knime.base.node.mine.regression.RegressionQRFactor;
 import org.knime.base.node.mine.regression.RegressionStatisticsLearner;
 import org.knime.base.node.mine.regression.RegressionTrainingData;
 import org.knime.base.node.mine.regression.RegressionTrainingRow;
@@ -121,13 +122,12 @@ public PolyRegContent perform(final BufferedDataTable data, final ExecutionConte
 
         int regressorCount = trainingData.getRegressorCount() * m_maxExponent;
         SummaryStatistics[] stats = new SummaryStatistics[regressorCount];
-        UpdatingMultipleLinearRegression regr = initStatistics(regressorCount, stats);
 
 
         exec.setProgress(0, "Estimating polynomial regression model.");
-        processTable(exec, trainingData, stats, regr);
+        RegressionQRFactor factor = computeFactor(exec, trainingData, stats);
 
-        RegressionResults result = regr.regress();
+        RegressionResults result = factor.regress();
 
         RealMatrix beta = MatrixUtils.createRowRealMatrix(result.getParameterEstimates());
 
@@ -146,6 +146,24 @@ public PolyRegContent perform(final BufferedDataTable data, final ExecutionConte
     }
 
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected double fillObservation(final RegressionTrainingRow row, final double[] regressors) {
+        final double[] parameter = row.getParameter().getRow(0);
+        final int parameterCount = regressors.length / m_maxExponent;
+        for (int i = 0; i < parameterCount; i++) {
+            final double v = parameter[i];
+            double value = v;
+            for (int n = 0; n < m_maxExponent; ++n) {
+                regressors[i + n * parameterCount] = value;
+                value *= v;
+            }
+        }
+        return row.getTarget() - m_offsetValue;
+    }
+
     /**
      * @param exec
      * @param trainingData
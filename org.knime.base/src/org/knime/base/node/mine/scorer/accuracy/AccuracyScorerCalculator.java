@@ -52,11 +52,16 @@
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.knime.base.util.SortingStrategy;
 import org.knime.base.util.StringValueComparator;
@@ -69,6 +74,8 @@
 import org.knime.core.data.DataValue;
 import org.knime.core.data.DataValueComparator;
 import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
@@ -79,8 +86,11 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.CheckUtils;
+import org.knime.core.node.workflow.NodeContext;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Class calculating the confusion matrix, class statistics and overall statistics.
@@ -103,7 +113,7 @@ public class AccuracyScorerCalculator {
 
     private int[][] m_scorerCount;
 
-    private List<RowKey>[][] m_keyStore;
+    private RowKeySet[][] m_rowKeys;
 
     private int m_falseCount;
 
@@ -111,6 +121,9 @@ public class AccuracyScorerCalculator {
 
     private final List<String> m_warnings;
 
+    /** Minimal number of rows counted by one task. */
+    private static final long MIN_CHUNK_SIZE = 10000;
+
     /**
      * @param inSpec input data table specification
      * @param firstCol name of the column containing actual classes
@@ -496,12 +509,23 @@ public BufferedDataTable getOverallStatisticsTable(final OverallStatisticsConfig
 
     /**
      * This is a getter method for the keystore of RowKey associated to the confusion matrix. It will be used in the JS
-     * view for selecting the rows related to a given cell of the confusion matrix.
+     * view for selecting the rows related to a given cell of the confusion matrix. The row keys are kept in a compact
+     * form and a new keystore is created on each call.
      *
      * @return the keystore as a matrix of RowKey lists
      */
     public List<RowKey>[][] getKeyStore() {
-        return m_keyStore;
+        if (m_rowKeys == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        final List<RowKey>[][] keyStore = new List[m_rowKeys.length][m_rowKeys.length];
+        for (int i = 0; i < m_rowKeys.length; i++) {
+            for (int j = 0; j < m_rowKeys[i].length; j++) {
+                keyStore[i][j] = m_rowKeys[i][j].toList();
+            }
+        }
+        return keyStore;
     }
 
     /**
@@ -531,65 +555,75 @@ private void calculate(final BufferedDataTable data, final String firstColumnNam
         m_targetValues = m_confusionMatrixSpec.getColumnNames();
 
         DataCell[] values = determineColValues(inSpec, index1, index2, config);
-        List<DataCell> valuesList = Arrays.asList(values);
-        Set<DataCell> valuesInCol2 = new HashSet<DataCell>();
+        Map<DataCell, Integer> valueIndices = new HashMap<DataCell, Integer>();
+        for (int i = values.length - 1; i >= 0; i--) {
+            // first occurrence wins, as with List#indexOf
+            valueIndices.put(values[i], i);
+        }
 
         // the scorerCount counts the confusions
         m_scorerCount = new int[m_targetValues.length][m_targetValues.length];
 
-        // the key store remembers the row key for later hiliting
-        m_keyStore = new List[m_targetValues.length][m_targetValues.length];
-        for (int i = 0; i < m_keyStore.length; i++) {
-            for (int j = 0; j < m_keyStore[i].length; j++) {
-                m_keyStore[i][j] = new ArrayList<RowKey>();
+        // the row keys are remembered for later hiliting
+        m_rowKeys = new RowKeySet[m_targetValues.length][m_targetValues.length];
+        for (int i = 0; i < m_rowKeys.length; i++) {
+            for (int j = 0; j < m_rowKeys[i].length; j++) {
+                m_rowKeys[i][j] = new RowKeySet();
             }
         }
 
-        // filling in the confusion matrix and the keystore
+        // filling in the confusion matrix and the row indices, chunks of rows are counted in parallel
         long rowCnt = data.size();
-        int rowsNumber = 0;
         m_correctCount = 0;
         m_falseCount = 0;
         int missingCount = 0;
         ExecutionMonitor subExec = exec.createSubProgress(0.5);
-        for (Iterator<DataRow> it = data.iterator(); it.hasNext(); rowsNumber++) {
-            DataRow row = it.next();
-            subExec.setProgress((1.0 + rowsNumber) / rowCnt,
-                "Computing score, row " + rowsNumber + " (\"" + row.getKey() + "\") of " + data.size());
-            try {
-                subExec.checkCanceled();
-            } catch (CanceledExecutionException cee) {
-                reset();
-                throw cee;
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final int nrChunks = (int)Math.max(1, Math.min(4L * pool.getMaxThreads(), rowCnt / MIN_CHUNK_SIZE));
+        final List<Future<CountChunkTask>> futures = new ArrayList<Future<CountChunkTask>>(nrChunks);
+        final AtomicLong processed = new AtomicLong();
+        try {
+            for (int c = 0; c < nrChunks; c++) {
+                futures.add(pool.enqueue(new CountChunkTask(data, rowCnt * c / nrChunks, rowCnt * (c + 1) / nrChunks,
+                    index1, index2, valueIndices, subExec, processed, NodeContext.getContext(),
+                    m_config.isIgnoreMissingValues())));
             }
-            DataCell cell1 = row.getCell(index1);
-            DataCell cell2 = row.getCell(index2);
-            valuesInCol2.add(cell2);
-            if (cell1.isMissing() || cell2.isMissing()) {
-                ++missingCount;
-                CheckUtils.checkState(m_config.isIgnoreMissingValues(), "Missing value in row: " + row.getKey());
-                if (m_config.isIgnoreMissingValues()) {
-                    continue;
+            // merge in chunk order, this keeps the row keys in table order
+            for (Future<CountChunkTask> future : futures) {
+                final CountChunkTask chunk = future.get();
+                for (int i = 0; i < m_scorerCount.length; i++) {
+                    for (int j = 0; j < m_scorerCount[i].length; j++) {
+                        m_scorerCount[i][j] += chunk.m_counts[i][j];
+                        m_rowKeys[i][j].addAll(chunk.m_rowKeys[i][j]);
+                    }
                 }
+                m_correctCount += chunk.m_correct;
+                m_falseCount += chunk.m_false;
+                missingCount += chunk.m_missing;
             }
-            boolean areEqual = cell1.equals(cell2);
-
-            int i1 = valuesList.indexOf(cell1);
-            int i2 = areEqual ? i1 : valuesList.indexOf(cell2);
-            assert i1 >= 0 : "column spec lacks possible value " + cell1;
-            assert i2 >= 0 : "column spec lacks possible value " + cell2;
-            // i2 must be equal to i1 if cells are equal (implication)
-            assert (!areEqual || i1 == valuesList.indexOf(cell2));
-            m_keyStore[i1][i2].add(row.getKey());
-            m_scorerCount[i1][i2]++;
-
-            if (areEqual) {
-                m_correctCount++;
-            } else {
-                m_falseCount++;
+        } catch (InterruptedException e) {
+            reset();
+            throw new CanceledExecutionException(e.getMessage());
+        } catch (ExecutionException e) {
+            reset();
+            if (e.getCause() instanceof CanceledExecutionException) {
+                throw (CanceledExecutionException)e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (RuntimeException e) {
+            reset();
+            throw e;
+        } finally {
+            for (Future<CountChunkTask> future : futures) {
+                future.cancel(true);
             }
         }
-        int missing = rowsNumber - m_correctCount - m_falseCount;
+        long rowsNumber = rowCnt;
+        long missing = rowsNumber - m_correctCount - m_falseCount;
         if (missingCount > 0) {
             addWarning(
                 "There were " + missing + " missing values in the reference or in the prediction class columns.");
@@ -600,6 +634,110 @@ private void calculate(final BufferedDataTable data, final String firstColumnNam
         return;
     }
 
+    /**
+     * Counts the confusions of a range of rows and remembers their keys. Returns itself as result.
+     */
+    private static final class CountChunkTask implements Callable<CountChunkTask> {
+
+        private final BufferedDataTable m_table;
+
+        private final long m_from;
+
+        private final long m_to;
+
+        private final int m_index1;
+
+        private final int m_index2;
+
+        private final Map<DataCell, Integer> m_valueIndices;
+
+        private final ExecutionMonitor m_exec;
+
+        private final AtomicLong m_processed;
+
+        private final NodeContext m_nodeContext;
+
+        private final boolean m_ignoreMissingValues;
+
+        private final int[][] m_counts;
+
+        private final RowKeySet[][] m_rowKeys;
+
+        private int m_correct;
+
+        private int m_false;
+
+        private int m_missing;
+
+        CountChunkTask(final BufferedDataTable table, final long from, final long to, final int index1,
+            final int index2, final Map<DataCell, Integer> valueIndices, final ExecutionMonitor exec,
+            final AtomicLong processed, final NodeContext nodeContext, final boolean ignoreMissingValues) {
+            m_table = table;
+            m_from = from;
+            m_to = to;
+            m_index1 = index1;
+            m_index2 = index2;
+            m_valueIndices = valueIndices;
+            m_exec = exec;
+            m_processed = processed;
+            m_nodeContext = nodeContext;
+            m_ignoreMissingValues = ignoreMissingValues;
+            final int nrValues = valueIndices.size();
+            m_counts = new int[nrValues][nrValues];
+            m_rowKeys = new RowKeySet[nrValues][nrValues];
+            for (int i = 0; i < nrValues; i++) {
+                for (int j = 0; j < nrValues; j++) {
+                    m_rowKeys[i][j] = new RowKeySet();
+                }
+            }
+        }
+
+        @Override
+        public CountChunkTask call() throws CanceledExecutionException {
+            if (m_from >= m_to) {
+                return this;
+            }
+            NodeContext.pushContext(m_nodeContext);
+            final TableFilter filter = new TableFilter.Builder().withFromRowIndex(m_from).withToRowIndex(m_to - 1)
+                .withMaterializeColumnIndices(m_index1, m_index2).build();
+            try (CloseableRowIterator it = m_table.filter(filter).iterator()) {
+                final long rowCnt = m_table.size();
+                for (long r = m_from; it.hasNext(); r++) {
+                    DataRow row = it.next();
+                    if (((r - m_from) & 0x3FF) == 0) {
+                        final long done = m_processed.addAndGet(Math.min(0x400, m_to - r));
+                        m_exec.setProgress((double)done / rowCnt, "Computing score, row " + done + " of " + rowCnt);
+                        m_exec.checkCanceled();
+                    }
+                    DataCell cell1 = row.getCell(m_index1);
+                    DataCell cell2 = row.getCell(m_index2);
+                    if (cell1.isMissing() || cell2.isMissing()) {
+                        ++m_missing;
+                        CheckUtils.checkState(m_ignoreMissingValues, "Missing value in row: " + row.getKey());
+                        continue;
+                    }
+                    boolean areEqual = cell1.equals(cell2);
+
+                    Integer i1 = m_valueIndices.get(cell1);
+                    Integer i2 = areEqual ? i1 : m_valueIndices.get(cell2);
+                    assert i1 != null : "column spec lacks possible value " + cell1;
+                    assert i2 != null : "column spec lacks possible value " + cell2;
+                    m_rowKeys[i1][i2].add(row.getKey());
+                    m_counts[i1][i2]++;
+
+                    if (areEqual) {
+                        m_correct++;
+                    } else {
+                        m_false++;
+                    }
+                }
+            } finally {
+                NodeContext.removeLastContext();
+            }
+            return this;
+        }
+    }
+
     /**
      * Called to determine all possible values in the respective columns.
      *
@@ -742,7 +880,7 @@ private void addWarning(final String warning) {
     public void reset() {
         m_targetValues = null;
         m_scorerCount = null;
-        m_keyStore = null;
+        m_rowKeys = null;
         m_correctCount = 0;
         m_falseCount = 0;
     }
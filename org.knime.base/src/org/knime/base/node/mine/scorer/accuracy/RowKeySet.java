@@ -0,0 +1,135 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.scorer.accuracy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.knime.core.data.RowKey;
+
+/**
+ * Compact list of row keys, used instead of a list of {@link RowKey} objects to remember which rows fall into a cell
+ * of the confusion matrix. The keys are stored as length prefixed UTF-8 bytes in a single array, which for typical
+ * keys takes about a tenth of the memory of the key objects. The keys are turned back into {@link RowKey} objects on
+ * demand.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class RowKeySet {
+
+    private byte[] m_bytes = new byte[16];
+
+    private int m_length;
+
+    private int m_size;
+
+    /**
+     * Appends a row key.
+     *
+     * @param key the key to append
+     */
+    void add(final RowKey key) {
+        final byte[] bytes = key.getString().getBytes(StandardCharsets.UTF_8);
+        ensureCapacity(m_length + 5 + bytes.length);
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            m_bytes[m_length++] = (byte)((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        m_bytes[m_length++] = (byte)length;
+        System.arraycopy(bytes, 0, m_bytes, m_length, bytes.length);
+        m_length += bytes.length;
+        m_size++;
+    }
+
+    /**
+     * Appends all keys of the argument set.
+     *
+     * @param other the set whose keys are appended in their order
+     */
+    void addAll(final RowKeySet other) {
+        ensureCapacity(m_length + other.m_length);
+        System.arraycopy(other.m_bytes, 0, m_bytes, m_length, other.m_length);
+        m_length += other.m_length;
+        m_size += other.m_size;
+    }
+
+    /**
+     * @return the number of keys in this set
+     */
+    int size() {
+        return m_size;
+    }
+
+    /**
+     * @return a new list with the keys in the order in which they were added
+     */
+    List<RowKey> toList() {
+        final List<RowKey> keys = new ArrayList<RowKey>(m_size);
+        int pos = 0;
+        while (pos < m_length) {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = m_bytes[pos++];
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            keys.add(new RowKey(new String(m_bytes, pos, length, StandardCharsets.UTF_8)));
+            pos += length;
+        }
+        return keys;
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity > m_bytes.length) {
+            m_bytes = Arrays.copyOf(m_bytes, Math.max(minCapacity, 2 * m_bytes.length));
+        }
+    }
+}
@@ -66,6 +66,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.ModelContent;
 import org.knime.core.node.ModelContentRO;
 import org.knime.core.node.NodeModel;
@@ -239,9 +240,15 @@ protected PortObject[] execute(final PortObject[] inData,
         indexOfClassCol = dataTableToUse.getDataTableSpec().findColumnIndex(
                 m_classCol.getStringValue());
 
+        m_sota.setThreadPool(
+                KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool());
+        try {
             m_sota.initializeTree(dataTableToUse, origRowContainer, exec,
                     indexOfClassCol);
             m_sota.doTraining();
+        } finally {
+            m_sota.setThreadPool(null);
+        }
 
         if (m_withOutPort) {
             return new PortObject[]{new SotaPortObject(m_sota,
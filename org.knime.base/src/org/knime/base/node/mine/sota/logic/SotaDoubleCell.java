@@ -87,11 +87,21 @@ public double getDoubleValue() {
      */
     public void adjustCell(final DataCell cell, final double learningrate) {
         if (SotaUtil.isNumberType(cell.getType())) {
-            m_value = m_value + (learningrate * (((DoubleValue)cell)
-                    .getDoubleValue() - m_value));
+            adjustCell(((DoubleValue)cell).getDoubleValue(), learningrate);
         }
     }
 
+    /**
+     * Adjusts the cells value towards the given value.
+     *
+     * @param value the value to adjust the cell with
+     * @param learningrate the learningrate to use
+     * @since 4.3
+     */
+    public void adjustCell(final double value, final double learningrate) {
+        m_value = m_value + (learningrate * (value - m_value));
+    }
+
     /**
      * {@inheritDoc}
      */
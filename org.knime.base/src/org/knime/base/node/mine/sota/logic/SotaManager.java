@@ -48,7 +48,11 @@
 package org.knime.base.node.mine.sota.logic;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.knime.base.node.mine.sota.SotaConfigKeys;
 import org.knime.base.node.mine.sota.distances.DistanceManager;
@@ -60,6 +64,7 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.StringValue;
 import org.knime.core.node.CanceledExecutionException;
@@ -67,6 +72,7 @@
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.util.ThreadPool;
 
 /**
  *
@@ -174,6 +180,12 @@ public class SotaManager {
      */
     public static final boolean USE_HIERARCHICAL_FUZZY_DATA = false;
 
+    /** The offset of the cosinus distance. */
+    private static final double COS_OFFSET = 1;
+
+    /** The number of rows whose variability is computed by one task. */
+    private static final int VARIABILITY_BLOCK_SIZE = 256;
+
     private SotaTreeCell m_root;
 
     private int m_dimension;
@@ -226,6 +238,14 @@ public class SotaManager {
 
     private int m_indexOfClassColumn = -1;
 
+    /**
+     * The values of the number cells of each row, <code>null</code> for rows with missing values. Only available if
+     * the data is not fuzzy and the euclidean or cosinus distance is used, otherwise <code>null</code>.
+     */
+    private double[][] m_vectors;
+
+    private ThreadPool m_pool;
+
     /**
      * Creates new instance of SotaManager with default settings.
      */
@@ -269,11 +289,25 @@ public void reset() {
         m_currentMaxResource = 0;
         m_dimension = 0;
         m_inDataContainer = null;
+        m_vectors = null;
         m_trained = false;
         m_currentHierarchyLevel = 1;
         m_state = 0;
     }
 
+    /**
+     * Sets the pool used to compute the resources of the cells and the variabilities of their data in parallel. The
+     * pool is only used if the row values are cached (euclidean or cosinus distance on number data), otherwise and
+     * if no pool is set (the default) all computations are done in the calling thread. Each resource is still summed
+     * over the data of its cell in order and the variability is a maximum, so the trained tree is the same.
+     *
+     * @param pool the pool to use, may be <code>null</code>
+     * @since 4.3
+     */
+    public void setThreadPool(final ThreadPool pool) {
+        m_pool = pool;
+    }
+
     /**
      * Initializes the tree by creating the root node and two children cells of
      * the root node. The nodes data are the mean values of the input data
@@ -325,7 +359,7 @@ public void initializeTree(final DataTable inData,
         //
         /// Create distance metric
         //
-        double offset = 1;
+        double offset = COS_OFFSET;
         m_distanceManager = DistanceManagerFactory.createDistanceManager(
                 m_distance, m_isFuzzy, offset);
 
@@ -349,13 +383,18 @@ public void initializeTree(final DataTable inData,
 
         m_exec.checkCanceled();
 
+        m_vectors = null;
+        if (!m_isFuzzy && (m_distance.equals(DistanceManagerFactory.EUCLIDEAN_DIST)
+                || m_distance.equals(DistanceManagerFactory.COS_DIST))) {
+            m_vectors = createVectors();
+        }
+
         // assign all Data to the root cell which have no missing values
         for (int i = 0; i < m_inDataContainer.size(); i++) {
-            if (m_root.getDataIds().indexOf(i) == -1) {
-                DataRow row = m_inDataContainer.getRow(i);
-                if (!SotaUtil.hasMissingValues(row)) {
-                    m_root.getDataIds().add(i);
-                }
+            final boolean hasMissingValues = m_vectors != null ? m_vectors[i] == null
+                    : SotaUtil.hasMissingValues(m_inDataContainer.getRow(i));
+            if (!hasMissingValues) {
+                m_root.getDataIds().add(i);
             }
 
             m_exec.checkCanceled();
@@ -366,6 +405,35 @@ public void initializeTree(final DataTable inData,
         assignDataToChildren(m_root);
     }
 
+    /**
+     * Reads the values of the number cells of all rows into an array, so that
+     * the distances can be computed without accessing the rows.
+     *
+     * @return the values of each row, <code>null</code> for rows with missing
+     * values
+     * @throws CanceledExecutionException if user canceled the process
+     */
+    private double[][] createVectors() throws CanceledExecutionException {
+        final double[][] vectors = new double[m_inDataContainer.size()][];
+        final double[] values = new double[m_dimension];
+        for (int i = 0; i < vectors.length; i++) {
+            m_exec.checkCanceled();
+            DataRow row = m_inDataContainer.getRow(i);
+            if (SotaUtil.hasMissingValues(row)) {
+                continue;
+            }
+            int col = 0;
+            for (int j = 0; j < row.getNumCells() && col < m_dimension; j++) {
+                DataCell cell = row.getCell(j);
+                if (SotaUtil.isNumberType(cell.getType())) {
+                    values[col++] = ((DoubleValue)cell).getDoubleValue();
+                }
+            }
+            vectors[i] = Arrays.copyOf(values, col);
+        }
+        return vectors;
+    }
+
     /**
      * Trains the tree as many cycles as it takes to reduce the variability
      * value to the given minimum and returns the variability value.
@@ -512,31 +580,22 @@ public double doEpoch() throws CanceledExecutionException {
         for (int i = 0; i < cells.size(); i++) {
             for (int j = 0; j < cells.get(i).getDataIds().size(); j++) {
                 m_exec.checkCanceled();
-                DataRow row = m_inDataContainer.getRow(
-                        cells.get(i).getDataIds().get(j));
-                adjustCell(cells.get(i), row, null);
+                adjustCell(cells.get(i), cells.get(i).getDataIds().get(j),
+                        null);
             }
         }
 
         //
         // / Compute the resource values of all cells
         //
+        double[] resources = computeResources(cells);
         double res;
         double error = 0;
         double maxRes = 0;
         SotaTreeCell maxResCell = null;
 
         for (int i = 0; i < cells.size(); i++) {
-            res = 0;
-
-            for (int j = 0; j < cells.get(i).getDataIds().size(); j++) {
-                m_exec.checkCanceled();
-
-                int index = cells.get(i).getDataIds().get(j).intValue();
-                DataRow row = m_inDataContainer.getRow(index);
-
-                res += m_distanceManager.getDistance(row, cells.get(i));
-            }
+            res = resources[i];
 
             if (res > 0) {
                 res = res / cells.get(i).getDataIds().size();
@@ -561,6 +620,121 @@ public double doEpoch() throws CanceledExecutionException {
         return error;
     }
 
+    /**
+     * Computes the sum of the distances between each cell and its assigned
+     * data. If the row values are cached, the cells are processed in parallel.
+     *
+     * @param cells the cells to compute the resources of
+     * @return the sum of the distances of each cell
+     * @throws CanceledExecutionException if execution was canceled.
+     */
+    double[] computeResources(final List<SotaTreeCell> cells)
+    throws CanceledExecutionException {
+        final double[] resources = new double[cells.size()];
+        if (m_pool != null && m_vectors != null) {
+            final List<Future<Double>> futures = new ArrayList<>(cells.size());
+            try {
+                for (final SotaTreeCell cell : cells) {
+                    futures.add(m_pool.enqueue(() -> getResource(cell)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    resources[i] = getResult(futures.get(i));
+                    m_exec.checkCanceled();
+                }
+            } finally {
+                for (Future<Double> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        } else {
+            for (int i = 0; i < cells.size(); i++) {
+                m_exec.checkCanceled();
+                resources[i] = getResource(cells.get(i));
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * @param cell the cell to compute the resource of
+     * @return the sum of the distances between the cell and its assigned data
+     */
+    private double getResource(final SotaTreeCell cell) {
+        double res = 0;
+        for (int j = 0; j < cell.getDataIds().size(); j++) {
+            res += getDistance(cell.getDataIds().get(j), cell);
+        }
+        return res;
+    }
+
+    /**
+     * @param index the index of the row
+     * @param cell the cell
+     * @return the distance between the row and the cell
+     */
+    double getDistance(final int index, final SotaTreeCell cell) {
+        if (m_vectors == null) {
+            return m_distanceManager.getDistance(
+                    m_inDataContainer.getRow(index), cell);
+        }
+        final double[] vector = m_vectors[index];
+        final SotaCell[] data = cell.getData();
+        final int length = Math.min(vector.length, data.length);
+        if (m_distance.equals(DistanceManagerFactory.COS_DIST)) {
+            double vectorMultRes = 0;
+            double vectorLength = 0;
+            double cellLength = 0;
+            for (int i = 0; i < length; i++) {
+                final double value = data[i].getValue();
+                vectorMultRes += value * vector[i];
+                vectorLength += vector[i] * vector[i];
+                cellLength += value * value;
+            }
+            return COS_OFFSET - vectorMultRes
+                    / (Math.sqrt(vectorLength) * Math.sqrt(cellLength));
+        }
+        double distance = 0;
+        for (int i = 0; i < length; i++) {
+            final double diff = data[i].getValue() - vector[i];
+            distance += diff * diff;
+        }
+        return Math.sqrt(distance);
+    }
+
+    /**
+     * @param index1 the index of the first row
+     * @param index2 the index of the second row
+     * @return the distance between the two rows
+     */
+    double getDistance(final int index1, final int index2) {
+        if (m_vectors == null) {
+            return m_distanceManager.getDistance(
+                    m_inDataContainer.getRow(index1),
+                    m_inDataContainer.getRow(index2));
+        }
+        final double[] vector1 = m_vectors[index1];
+        final double[] vector2 = m_vectors[index2];
+        final int length = Math.min(vector1.length, vector2.length);
+        if (m_distance.equals(DistanceManagerFactory.COS_DIST)) {
+            double vectorMultRes = 0;
+            double vector1Length = 0;
+            double vector2Length = 0;
+            for (int i = 0; i < length; i++) {
+                vectorMultRes += vector1[i] * vector2[i];
+                vector1Length += vector1[i] * vector1[i];
+                vector2Length += vector2[i] * vector2[i];
+            }
+            return COS_OFFSET - vectorMultRes
+                    / (Math.sqrt(vector1Length) * Math.sqrt(vector2Length));
+        }
+        double distance = 0;
+        for (int i = 0; i < length; i++) {
+            final double diff = vector1[i] - vector2[i];
+            distance += diff * diff;
+        }
+        return Math.sqrt(distance);
+    }
+
     /**
      * Collects all cells of the tree recursive.
      *
@@ -597,20 +771,79 @@ public static void initDefaultLocations(
      * @return the variability value
      * @throws CanceledExecutionException if execution was canceled.
      */
-    private double getVariability(final ArrayList<Integer> ids)
+    double getVariability(final ArrayList<Integer> ids)
     throws CanceledExecutionException {
+        // the maximum does not depend on the order, the rows are split into
+        // blocks which are processed in parallel if the values are cached
+        double maxDist = 0;
+        if (m_pool == null || m_vectors == null) {
+            for (int from = 0; from < ids.size();
+                    from += VARIABILITY_BLOCK_SIZE) {
+                m_exec.checkCanceled();
+                maxDist = Math.max(maxDist, getVariability(ids, from,
+                        Math.min(from + VARIABILITY_BLOCK_SIZE, ids.size())));
+            }
+            return maxDist;
+        }
+        final List<Future<Double>> futures = new ArrayList<>();
+        try {
+            for (int from = 0; from < ids.size();
+                    from += VARIABILITY_BLOCK_SIZE) {
+                final int start = from;
+                final int end = Math.min(from + VARIABILITY_BLOCK_SIZE,
+                        ids.size());
+                futures.add(m_pool.enqueue(
+                        () -> getVariability(ids, start, end)));
+            }
+            for (Future<Double> future : futures) {
+                maxDist = Math.max(maxDist, getResult(future));
+                m_exec.checkCanceled();
+            }
+        } finally {
+            for (Future<Double> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return maxDist;
+    }
+
+    /**
+     * Waits for the result of a task, runtime exceptions of the task are
+     * rethrown.
+     */
+    private static <T> T getResult(final Future<T> future)
+    throws CanceledExecutionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            throw new CanceledExecutionException(e.getMessage());
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Computes the maximal distance between the rows with the ids at the
+     * positions <code>from</code> (inclusive) to <code>to</code> (exclusive)
+     * and all other rows of the given ids.
+     */
+    private double getVariability(final List<Integer> ids, final int from,
+            final int to) {
         double maxDist = 0;
         double tmpDist;
 
-        for (int i = 0; i < ids.size(); i++) {
-            DataRow row1 = this.m_inDataContainer.getRow(ids.get(i));
+        for (int i = from; i < to; i++) {
+            final int id1 = ids.get(i);
 
             for (int j = 0; j < ids.size(); j++) {
-                m_exec.checkCanceled();
-
                 if (i != j) {
-                    DataRow row2 = this.m_inDataContainer.getRow(ids.get(j));
-                    tmpDist = m_distanceManager.getDistance(row1, row2);
+                    tmpDist = getDistance(id1, ids.get(j).intValue());
 
                     if (tmpDist > maxDist) {
                         maxDist = tmpDist;
@@ -631,17 +864,18 @@ private double getVariability(final ArrayList<Integer> ids)
      */
     private void assignDataToChildren(final SotaTreeCell cell)
     throws CanceledExecutionException {
+        // the ids of a cell are unique and the children of a split cell
+        // have no data assigned yet, hence no need to check for duplicates
         if (cell.getDataIds().size() > 2) {
             for (int i = 0; i < cell.getDataIds().size(); i++) {
-                DataRow row = m_inDataContainer.getRow(
-                        cell.getDataIds().get(i));
+                final int id = cell.getDataIds().get(i);
 
                 // find winner for current row
                 SotaTreeCell winner;
                 double tmpDist1, tmpDist2;
 
-                tmpDist1 = m_distanceManager.getDistance(row, cell.getLeft());
-                tmpDist2 = m_distanceManager.getDistance(row, cell.getRight());
+                tmpDist1 = getDistance(id, cell.getLeft());
+                tmpDist2 = getDistance(id, cell.getRight());
 
                 if (tmpDist1 > tmpDist2) {
                     winner = cell.getRight();
@@ -650,22 +884,19 @@ private void assignDataToChildren(final SotaTreeCell cell)
                 }
 
                 // add data row id to winners data ids
-                if (winner.getDataIds().indexOf(
-                        cell.getDataIds().get(i)) == -1) {
-                    winner.getDataIds().add(
-                            cell.getDataIds().get(i));
-                }
+                winner.getDataIds().add(id);
 
                 // get class string for row
                 String cellClass = null;
                 if (m_indexOfClassColumn >= 0) {
-                    DataCell dataCell = row.getCell(m_indexOfClassColumn);
+                    DataCell dataCell = m_inDataContainer.getRow(id)
+                            .getCell(m_indexOfClassColumn);
                     if (dataCell instanceof StringValue) {
                         cellClass = ((StringValue)dataCell).getStringValue();
                     }
                 }
 
-                adjustCell(winner, row, cellClass);
+                adjustCell(winner, id, cellClass);
 
                 m_exec.checkCanceled();
             }
@@ -674,16 +905,8 @@ private void assignDataToChildren(final SotaTreeCell cell)
             DataRow row2 = m_inDataContainer.getRow(cell.getDataIds().get(1));
 
             // add data row id to winners data ids
-            if (cell.getLeft().getDataIds().indexOf(
-                    cell.getDataIds().get(0)) == -1) {
-                cell.getLeft().getDataIds().add(
-                        cell.getDataIds().get(0));
-            }
-            if (cell.getRight().getDataIds().indexOf(
-                    cell.getDataIds().get(1)) == -1) {
-                cell.getRight().getDataIds().add(
-                        cell.getDataIds().get(1));
-            }
+            cell.getLeft().getDataIds().add(cell.getDataIds().get(0));
+            cell.getRight().getDataIds().add(cell.getDataIds().get(1));
 
             // get class string for rows
             String cellClass1 = null;
@@ -699,8 +922,8 @@ private void assignDataToChildren(final SotaTreeCell cell)
                 }
             }
 
-            adjustCell(cell.getLeft(), row1, cellClass1);
-            adjustCell(cell.getRight(), row2, cellClass2);
+            adjustCell(cell.getLeft(), cell.getDataIds().get(0), cellClass1);
+            adjustCell(cell.getRight(), cell.getDataIds().get(1), cellClass2);
 
             m_exec.checkCanceled();
         }
@@ -713,15 +936,43 @@ private void assignDataToChildren(final SotaTreeCell cell)
      * @param winner winner cell to adjust
      * @param row row to adjust winner cell with
      */
-    private void adjustCell(final SotaTreeCell winner, final DataRow row,
+    private void adjustCell(final SotaTreeCell winner, final int index,
             final String cellClass) {
-        // adjust winner weights and those of its neighbors.
-        m_helper.adjustSotaCell(winner, row, m_learningrateWinner, cellClass);
-        if (winner.getSister().isCell()) {
-            m_helper.adjustSotaCell(winner.getSister(), row,
-                    m_learningrateSister, cellClass);
-            m_helper.adjustSotaCell(winner.getAncestor(), row,
-                    m_learningrateAncestor, cellClass);
+        if (m_vectors == null) {
+            final DataRow row = m_inDataContainer.getRow(index);
+            // adjust winner weights and those of its neighbors.
+            m_helper.adjustSotaCell(winner, row, m_learningrateWinner,
+                    cellClass);
+            if (winner.getSister().isCell()) {
+                m_helper.adjustSotaCell(winner.getSister(), row,
+                        m_learningrateSister, cellClass);
+                m_helper.adjustSotaCell(winner.getAncestor(), row,
+                        m_learningrateAncestor, cellClass);
+            }
+        } else {
+            final double[] vector = m_vectors[index];
+            adjustSotaCell(winner, vector, m_learningrateWinner, cellClass);
+            if (winner.getSister().isCell()) {
+                adjustSotaCell(winner.getSister(), vector,
+                        m_learningrateSister, cellClass);
+                adjustSotaCell(winner.getAncestor(), vector,
+                        m_learningrateAncestor, cellClass);
+            }
+        }
+    }
+
+    /**
+     * Adjusts the cell according to the given row values, the same way as
+     * {@link SotaNumberHelper#adjustSotaCell(SotaTreeCell, DataRow, double,
+     * String)} does.
+     */
+    private static void adjustSotaCell(final SotaTreeCell cell,
+            final double[] vector, final double learningrate,
+            final String cellClass) {
+        cell.addTreeCellClass(cellClass);
+        final SotaCell[] data = cell.getData();
+        for (int i = 0; i < vector.length && i < data.length; i++) {
+            ((SotaDoubleCell)data[i]).adjustCell(vector[i], learningrate);
         }
     }
 
@@ -770,10 +1021,9 @@ private void assignNewData(final ArrayList<SotaTreeCell> cells)
                 }
             }
 
-            // add data row id to winners data ids
-            if (winner.getDataIds().indexOf(i) == -1) {
-                winner.getDataIds().add(i);
-            }
+            // add data row id to winners data ids, the data ids of the
+            // cells have been cleaned before
+            winner.getDataIds().add(i);
         }
     }
 
@@ -109,21 +109,24 @@ public SotaTreeCell initializeTree() throws CanceledExecutionException {
         }
 
         int col = 0;
+        final int numColumns = this.getRowContainer().getDataTableSpec()
+                .getNumColumns();
+        final boolean[] isNumber = new boolean[numColumns];
+        for (int j = 0; j < numColumns; j++) {
+            isNumber[j] = SotaUtil.isNumberType(this.getRowContainer()
+                    .getDataTableSpec().getColumnSpec(j).getType());
+        }
         for (int i = 0; i < this.getRowContainer().size(); i++) {
-
+            getExec().checkCanceled();
+            final DataRow row = getRowContainer().getRow(i);
+            if (SotaUtil.hasMissingValues(row)) {
+                continue;
+            }
             col = 0;
-            for (int j = 0; j < this.getRowContainer().getDataTableSpec()
-                    .getNumColumns(); j++) {
-                getExec().checkCanceled();
-                
-                DataType type = this.getRowContainer().getDataTableSpec()
-                        .getColumnSpec(j).getType();
-
-                if (SotaUtil.isNumberType(type)
-                        && !SotaUtil.hasMissingValues(getRowContainer().getRow(
-                                i))) {
-                    means[col] += ((DoubleValue)this.getRowContainer()
-                            .getRow(i).getCell(j)).getDoubleValue();
+            for (int j = 0; j < numColumns; j++) {
+                if (isNumber[j]) {
+                    means[col] += ((DoubleValue)row.getCell(j))
+                            .getDoubleValue();
                     col++;
                 }
             }
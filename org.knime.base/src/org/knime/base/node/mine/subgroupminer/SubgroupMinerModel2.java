@@ -59,6 +59,7 @@
 
 import org.knime.base.node.mine.subgroupminer.apriori.AprioriAlgorithm;
 import org.knime.base.node.mine.subgroupminer.apriori.AprioriAlgorithmFactory;
+import org.knime.base.node.mine.subgroupminer.apriori.EclatApriori;
 import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
 import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
 import org.knime.core.data.DataCell;
@@ -85,6 +86,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
@@ -382,6 +384,9 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
 		        AprioriAlgorithmFactory.AlgorithmDataStructure
 		                .valueOf(m_underlyingStruct.getStringValue()),
 		        maxBitsetLength.get(), input.getRowCount());
+        if (apriori instanceof EclatApriori) {
+            ((EclatApriori)apriori).setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool());
+        }
         LOGGER.debug("support: " + m_minSupport);
         LOGGER.debug(m_minSupport + " start apriori: " + new Date());
         try{
@@ -70,7 +70,13 @@ public enum AlgorithmDataStructure {
         ARRAY,
         /* LIST */
         /** The TIDList stores the ids of the transactions. * */
-        TIDList;
+        TIDList,
+        /**
+         * Eclat on compressed bitsets of the transaction ids, mining independent branches in parallel.
+         *
+         * @since 4.3
+         */
+        TIDBitSet;
 
         /**
          * Returns the values of this enum as a list of strings.
@@ -108,6 +114,8 @@ public static AprioriAlgorithm getAprioriAlgorithm(
             return new ArrayApriori(bitSetLength, dbsize);
         } else if (type.equals(AlgorithmDataStructure.TIDList)) {
             return new TIDApriori();
+        } else if (type.equals(AlgorithmDataStructure.TIDBitSet)) {
+            return new EclatApriori();
         } else {
             throw new RuntimeException("Type not supported: " + type);
         }
@@ -0,0 +1,176 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of transaction ids used by the {@link EclatApriori}. The ids are stored as a bitset whose leading and
+ * trailing zero words are cut off, hence the memory consumption and the cost of the intersections shrink with the
+ * range of transactions the set actually spans, which quickly becomes small for deeper itemsets.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class CompressedTIDSet {
+
+    private static final long[] NO_WORDS = new long[0];
+
+    /** The empty set. */
+    static final CompressedTIDSet EMPTY = new CompressedTIDSet(NO_WORDS, 0, 0);
+
+    /** The words from {@link #m_offset} on, the first and the last word are never zero. */
+    private final long[] m_words;
+
+    /** Index of the first stored word, i.e. the first id is at least {@code 64 * m_offset}. */
+    private final int m_offset;
+
+    private final int m_cardinality;
+
+    private CompressedTIDSet(final long[] words, final int offset, final int cardinality) {
+        m_words = words;
+        m_offset = offset;
+        m_cardinality = cardinality;
+    }
+
+    /**
+     * Creates a set from the given (uncompressed) words, bit {@code i} of word {@code w} representing the transaction
+     * id {@code 64 * w + i}.
+     *
+     * @param words the words of the bitset, not modified
+     * @return the set of ids
+     */
+    static CompressedTIDSet valueOf(final long[] words) {
+        return trim(words.clone(), 0);
+    }
+
+    private static CompressedTIDSet trim(final long[] words, final int wordOffset) {
+        int from = 0;
+        int to = words.length;
+        while (from < to && words[from] == 0L) {
+            from++;
+        }
+        while (to > from && words[to - 1] == 0L) {
+            to--;
+        }
+        if (from == to) {
+            return EMPTY;
+        }
+        long[] trimmed = from == 0 && to == words.length ? words : Arrays.copyOfRange(words, from, to);
+        int cardinality = 0;
+        for (long w : trimmed) {
+            cardinality += Long.bitCount(w);
+        }
+        return new CompressedTIDSet(trimmed, wordOffset + from, cardinality);
+    }
+
+    /**
+     * @return the number of ids in this set
+     */
+    int cardinality() {
+        return m_cardinality;
+    }
+
+    /**
+     * @return the number of stored words, i.e. the cost of an operation on this set
+     */
+    int wordCount() {
+        return m_words.length;
+    }
+
+    /**
+     * @param other another set
+     * @return the intersection of this and the other set
+     */
+    CompressedTIDSet and(final CompressedTIDSet other) {
+        int from = Math.max(m_offset, other.m_offset);
+        int to = Math.min(m_offset + m_words.length, other.m_offset + other.m_words.length);
+        if (from >= to) {
+            return EMPTY;
+        }
+        long[] words = new long[to - from];
+        for (int w = from; w < to; w++) {
+            words[w - from] = m_words[w - m_offset] & other.m_words[w - other.m_offset];
+        }
+        return trim(words, from);
+    }
+
+    /**
+     * @param other another set
+     * @return the size of the intersection of this and the other set
+     */
+    int andCardinality(final CompressedTIDSet other) {
+        int from = Math.max(m_offset, other.m_offset);
+        int to = Math.min(m_offset + m_words.length, other.m_offset + other.m_words.length);
+        int cardinality = 0;
+        for (int w = from; w < to; w++) {
+            cardinality += Long.bitCount(m_words[w - m_offset] & other.m_words[w - other.m_offset]);
+        }
+        return cardinality;
+    }
+
+    /**
+     * @param other another set
+     * @return whether all ids of this set are also contained in the other one
+     */
+    boolean isSubsetOf(final CompressedTIDSet other) {
+        if (m_cardinality > other.m_cardinality) {
+            return false;
+        }
+        if (m_cardinality == 0) {
+            return true;
+        }
+        if (m_offset < other.m_offset
+            || m_offset + m_words.length > other.m_offset + other.m_words.length) {
+            // the first and the last word of this set are not empty
+            return false;
+        }
+        for (int w = 0; w < m_words.length; w++) {
+            if ((m_words[w] & ~other.m_words[w + m_offset - other.m_offset]) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet.Type;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Eclat implementation working on the vertical layout of the database: for every frequent item the ids of the
+ * transactions containing it are stored in a {@link CompressedTIDSet}. Itemsets are enumerated depth first, the
+ * transaction ids of an itemset being the intersection of the ids of its prefix and of its last item. The branches
+ * below the frequent items (and, if large enough, the branches below them) are independent of each other and are
+ * mined in parallel if a pool is set via {@link #setThreadPool(ThreadPool)}.
+ * <p>
+ * The found itemsets, their support and their order as well as the association rules are the same as the ones of the
+ * {@link ArrayApriori}. Items occurring in every transaction are, as there, not mined but reported separately.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.3
+ */
+public class EclatApriori implements AprioriAlgorithm {
+
+    /** Minimum number of words to intersect before the branches below an itemset are mined in parallel. */
+    private static final long MIN_PARALLEL_WORK = 1 << 12;
+
+    /** Same order as used by {@link ArrayApriori} for closed (and maximal) itemsets. */
+    private static final Comparator<FrequentItemSet> SUPPORT_SIZE_COMPARATOR = (s1, s2) -> {
+        if (s1.getSupport() == s2.getSupport()) {
+            return s1.getItems().size() - s2.getItems().size();
+        }
+        return Double.compare(s1.getSupport(), s2.getSupport());
+    };
+
+    private ThreadPool m_pool;
+
+    private double m_minSupport;
+
+    private int m_maxDepth;
+
+    private int m_dbsize;
+
+    /** The ids of the mined items in ascending order. */
+    private int[] m_items = new int[0];
+
+    /** The transaction ids of the mined items. */
+    private CompressedTIDSet[] m_itemTIDs = new CompressedTIDSet[0];
+
+    private List<Integer> m_alwaysFrequentItems = new ArrayList<Integer>();
+
+    private List<MinedItemSet> m_itemSets = new ArrayList<MinedItemSet>();
+
+    private volatile boolean m_canceled;
+
+    private int m_idCounter;
+
+    /**
+     * Sets the pool used to mine the branches of the search tree and to compute the antecedent supports of the
+     * association rules. If no pool is set (the default) everything is computed in the calling thread. The itemsets
+     * of the branches are concatenated in item order, so they are found in the same order as without a pool.
+     *
+     * @param pool the pool to use, may be <code>null</code>
+     */
+    public void setThreadPool(final ThreadPool pool) {
+        m_pool = pool;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void findFrequentItemSets(final List<BitVectorValue> transactions,
+            final double minSupport, final int maxDepth,
+            final FrequentItemSet.Type type, final ExecutionMonitor exec)
+            throws CanceledExecutionException {
+        m_minSupport = minSupport;
+        // as in the ArrayApriori the frequent items are always reported
+        m_maxDepth = Math.max(1, maxDepth);
+        m_dbsize = transactions.size();
+        m_canceled = false;
+
+        exec.setMessage("detecting frequent items");
+        findFrequentItems(transactions, exec);
+
+        Extension[] root = new Extension[m_items.length];
+        for (int i = 0; i < root.length; i++) {
+            root[i] = new Extension(i, m_itemTIDs[i]);
+        }
+        m_itemSets = new ArrayList<MinedItemSet>();
+        if (m_pool == null) {
+            for (int k = 0; k < root.length; k++) {
+                exec.checkCanceled();
+                exec.setProgress(k / (double)root.length, "mining itemsets with item " + m_items[k]);
+                m_itemSets.addAll(mineBranch(new int[0], root, k));
+            }
+        } else {
+            List<Future<List<MinedItemSet>>> tasks = new ArrayList<Future<List<MinedItemSet>>>();
+            boolean completed = false;
+            try {
+                for (int k = 0; k < root.length; k++) {
+                    tasks.add(m_pool.enqueue(new BranchTask(new int[0], root, k)));
+                }
+                for (int k = 0; k < root.length; k++) {
+                    exec.checkCanceled();
+                    exec.setProgress(k / (double)root.length, "mining itemsets with item " + m_items[k]);
+                    m_itemSets.addAll(getResult(tasks.get(k)));
+                }
+                completed = true;
+            } catch (InterruptedException e) {
+                throw new CanceledExecutionException(e.getMessage());
+            } finally {
+                if (!completed) {
+                    m_canceled = true;
+                    for (Future<List<MinedItemSet>> task : tasks) {
+                        task.cancel(true);
+                    }
+                }
+            }
+        }
+        exec.setProgress(1.0);
+    }
+
+    /**
+     * Counts the items, determines the frequent and the always frequent ones and collects the transaction ids of the
+     * frequent ones.
+     */
+    private void findFrequentItems(final List<BitVectorValue> transactions, final ExecutionMonitor exec)
+            throws CanceledExecutionException {
+        int[] counts = new int[0];
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            // this type cast is save since the maximum length was checked in
+            // SubgroupMinerModel2#preprocess
+            for (int item = (int)transaction.nextSetBit(0); item >= 0;
+                    item = (int)transaction.nextSetBit(item + 1)) {
+                if (item >= counts.length) {
+                    counts = Arrays.copyOf(counts, Math.max(item + 1, 2 * counts.length));
+                }
+                counts[item]++;
+            }
+        }
+        m_alwaysFrequentItems = new ArrayList<Integer>();
+        int[] index = new int[counts.length];
+        int nrItems = 0;
+        for (int item = 0; item < counts.length; item++) {
+            index[item] = -1;
+            if (counts[item] == m_dbsize && m_dbsize > 0) {
+                m_alwaysFrequentItems.add(item);
+            } else if (isFrequent(counts[item])) {
+                index[item] = nrItems++;
+            }
+        }
+        m_items = new int[nrItems];
+        long[][] words = new long[nrItems][];
+        for (int item = 0; item < counts.length; item++) {
+            if (index[item] >= 0) {
+                m_items[index[item]] = item;
+                words[index[item]] = new long[(m_dbsize + 63) >>> 6];
+            }
+        }
+        int tid = 0;
+        for (BitVectorValue transaction : transactions) {
+            for (int item = (int)transaction.nextSetBit(0); item >= 0;
+                    item = (int)transaction.nextSetBit(item + 1)) {
+                if (index[item] >= 0) {
+                    words[index[item]][tid >>> 6] |= 1L << tid;
+                }
+            }
+            tid++;
+        }
+        m_itemTIDs = new CompressedTIDSet[nrItems];
+        for (int i = 0; i < nrItems; i++) {
+            m_itemTIDs[i] = CompressedTIDSet.valueOf(words[i]);
+            words[i] = null;
+        }
+    }
+
+    private boolean isFrequent(final int count) {
+        // same test as in the ArrayApriori to obtain identical results, items which never occur are not mined
+        return count > 0 && ((double)count / (double)m_dbsize) >= m_minSupport;
+    }
+
+    /**
+     * Mines the itemset consisting of the prefix and the k-th extension and all itemsets starting with it.
+     *
+     * @param prefix the indices of the items of the prefix
+     * @param extensions the frequent extensions of the prefix, sorted by item
+     * @param k the index of the extension to add to the prefix
+     * @return the itemsets in depth first order
+     */
+    private List<MinedItemSet> mineBranch(final int[] prefix, final Extension[] extensions, final int k) {
+        if (m_canceled) {
+            return Collections.emptyList();
+        }
+        int[] items = Arrays.copyOf(prefix, prefix.length + 1);
+        items[prefix.length] = extensions[k].m_item;
+        CompressedTIDSet tids = extensions[k].m_tids;
+        List<MinedItemSet> result = new ArrayList<MinedItemSet>();
+        result.add(createItemSet(items, tids));
+        if (items.length >= m_maxDepth) {
+            return result;
+        }
+        List<Extension> children = new ArrayList<Extension>();
+        for (int j = k + 1; j < extensions.length; j++) {
+            if (isFrequent(tids.andCardinality(extensions[j].m_tids))) {
+                children.add(new Extension(extensions[j].m_item, tids.and(extensions[j].m_tids)));
+            }
+        }
+        Extension[] childArray = children.toArray(new Extension[children.size()]);
+        if (m_pool != null && childArray.length > 1
+                && (long)tids.wordCount() * childArray.length >= MIN_PARALLEL_WORK) {
+            // the first child is mined in this thread, the others in the pool; the results are added in item order
+            List<Future<List<MinedItemSet>>> tasks = new ArrayList<Future<List<MinedItemSet>>>();
+            boolean completed = false;
+            try {
+                for (int j = 1; j < childArray.length; j++) {
+                    tasks.add(m_pool.enqueue(new BranchTask(items, childArray, j)));
+                }
+                result.addAll(mineBranch(items, childArray, 0));
+                for (Future<List<MinedItemSet>> task : tasks) {
+                    result.addAll(getResult(task));
+                }
+                completed = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while mining itemsets", e);
+            } finally {
+                if (!completed) {
+                    for (Future<List<MinedItemSet>> task : tasks) {
+                        task.cancel(true);
+                    }
+                }
+            }
+        } else {
+            for (int j = 0; j < childArray.length; j++) {
+                result.addAll(mineBranch(items, childArray, j));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determines whether the itemset is closed and maximal among the found itemsets. Any found superset with the same
+     * support contains an item whose transactions include the ones of the itemset and vice versa; the same holds for
+     * frequent supersets and items whose common transactions are frequent. Supersets can only be found if the itemset
+     * is shorter than the maximal length.
+     */
+    private MinedItemSet createItemSet(final int[] items, final CompressedTIDSet tids) {
+        boolean closed = true;
+        boolean maximal = true;
+        if (items.length < m_maxDepth) {
+            int next = 0;
+            for (int i = 0; i < m_items.length && closed; i++) {
+                if (next < items.length && items[next] == i) {
+                    next++;
+                    continue;
+                }
+                if (maximal) {
+                    int count = tids.andCardinality(m_itemTIDs[i]);
+                    closed = count < tids.cardinality();
+                    maximal = !isFrequent(count);
+                } else {
+                    closed = !tids.isSubsetOf(m_itemTIDs[i]);
+                }
+            }
+        }
+        return new MinedItemSet(items, tids.cardinality(), closed, closed && maximal);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FrequentItemSet> getFrequentItemSets(final Type type) {
+        List<FrequentItemSet> list = new ArrayList<FrequentItemSet>();
+        boolean free = type.equals(FrequentItemSet.Type.FREE);
+        for (Integer i : m_alwaysFrequentItems) {
+            List<Integer> id = new ArrayList<Integer>();
+            id.add(i);
+            list.add(new FrequentItemSet(Integer.toString(m_idCounter++), id, 1, !free, false));
+        }
+        for (MinedItemSet s : m_itemSets) {
+            if (free || (type.equals(FrequentItemSet.Type.CLOSED) && s.m_closed)
+                    || (type.equals(FrequentItemSet.Type.MAXIMAL) && s.m_maximal)) {
+                List<Integer> ids = new ArrayList<Integer>(s.m_items.length);
+                for (int i : s.m_items) {
+                    ids.add(m_items[i]);
+                }
+                list.add(new FrequentItemSet(Integer.toString(m_idCounter++), ids,
+                    (double)s.m_count / (double)m_dbsize, !free, false));
+            }
+        }
+        if (!free) {
+            // stable, hence the depth first order is kept for ties
+            Collections.sort(list, SUPPORT_SIZE_COMPARATOR);
+        }
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AssociationRule> getAssociationRules(final double confidence) {
+        final List<FrequentItemSet> frequentItemSets = getFrequentItemSets(FrequentItemSet.Type.CLOSED);
+        List<AssociationRule> associationRules = new ArrayList<AssociationRule>();
+        // the always frequent items imply each other with confidence 1
+        for (Integer i : m_alwaysFrequentItems) {
+            List<Integer> withoutI = new ArrayList<Integer>(m_alwaysFrequentItems);
+            withoutI.remove(i);
+            List<Integer> iList = new ArrayList<Integer>(1);
+            iList.add(i);
+            associationRules.add(new AssociationRule(
+                new FrequentItemSet(Integer.toString(m_idCounter++), withoutI, 1.0),
+                new FrequentItemSet(Integer.toString(m_idCounter++), iList, 1.0), 1.0, 1.0, 1.0));
+        }
+        // the supports of the antecedents, i.e. the itemsets without one of their items, are computed in parallel
+        final double[][] antecedentSupports = new double[frequentItemSets.size()][];
+        forEach(frequentItemSets.size(), i -> antecedentSupports[i] = getAntecedentSupports(frequentItemSets.get(i)));
+        for (int k = 0; k < frequentItemSets.size(); k++) {
+            FrequentItemSet s = frequentItemSets.get(k);
+            List<Integer> items = s.getItems();
+            if (items.size() <= 1) {
+                continue;
+            }
+            for (int pos = 0; pos < items.size(); pos++) {
+                Integer i = items.get(pos);
+                double newSupport = antecedentSupports[k][pos];
+                double c = s.getSupport() / newSupport;
+                if (c >= confidence) {
+                    List<Integer> sWithoutI = new ArrayList<Integer>(items);
+                    sWithoutI.remove(i);
+                    List<Integer> iList = new ArrayList<Integer>();
+                    iList.add(i);
+                    double itemSupport = m_itemTIDs[indexOf(i)].cardinality() / (double)m_dbsize;
+                    associationRules.add(new AssociationRule(
+                        new FrequentItemSet(Integer.toString(m_idCounter++), sWithoutI, newSupport),
+                        new FrequentItemSet(Integer.toString(m_idCounter++), iList, itemSupport),
+                        s.getSupport(), c, c / itemSupport));
+                }
+            }
+        }
+        return associationRules;
+    }
+
+    /**
+     * @return the supports of the given itemset without its i-th item, <code>null</code> for itemsets with a single
+     *         item
+     */
+    private double[] getAntecedentSupports(final FrequentItemSet set) {
+        List<Integer> items = set.getItems();
+        int n = items.size();
+        if (n <= 1) {
+            return null;
+        }
+        CompressedTIDSet[] tids = new CompressedTIDSet[n];
+        for (int i = 0; i < n; i++) {
+            tids[i] = m_itemTIDs[indexOf(items.get(i))];
+        }
+        // prefix[i] holds the common transactions of the items before i, suffix[i] the ones of the items from i on
+        CompressedTIDSet[] prefix = new CompressedTIDSet[n];
+        CompressedTIDSet[] suffix = new CompressedTIDSet[n + 1];
+        for (int i = 1; i < n; i++) {
+            prefix[i] = i == 1 ? tids[0] : prefix[i - 1].and(tids[i - 1]);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            suffix[i] = i == n - 1 ? tids[n - 1] : suffix[i + 1].and(tids[i]);
+        }
+        double[] supports = new double[n];
+        for (int i = 0; i < n; i++) {
+            int count;
+            if (i == 0) {
+                count = suffix[1].cardinality();
+            } else if (i == n - 1) {
+                count = prefix[n - 1].cardinality();
+            } else {
+                count = prefix[i].andCardinality(suffix[i + 1]);
+            }
+            supports[i] = count / (double)m_dbsize;
+        }
+        return supports;
+    }
+
+    private int indexOf(final int item) {
+        return Arrays.binarySearch(m_items, item);
+    }
+
+    /**
+     * Runs the action for all indices from 0 (inclusive) to count (exclusive), split into contiguous ranges that are
+     * processed in the pool if one is set.
+     */
+    private void forEach(final int count, final IntConsumer action) {
+        final int nrRanges = m_pool == null ? 1 : Math.max(1, Math.min(count, m_pool.getMaxThreads()));
+        if (nrRanges == 1) {
+            for (int i = 0; i < count; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        final List<Future<?>> futures = new ArrayList<Future<?>>(nrRanges - 1);
+        try {
+            for (int r = 1; r < nrRanges; r++) {
+                final int from = (int)((long)count * r / nrRanges);
+                final int to = (int)((long)count * (r + 1) / nrRanges);
+                futures.add(m_pool.enqueue(() -> {
+                    for (int i = from; i < to; i++) {
+                        action.accept(i);
+                    }
+                }));
+            }
+            for (int i = 0; i < count / nrRanges; i++) {
+                action.accept(i);
+            }
+            for (Future<?> future : futures) {
+                getResult(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating association rules", e);
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /** Waits for the result of the future, exceptions of the task are rethrown unchecked. */
+    private static <T> T getResult(final Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /** A frequent extension of a prefix: the item and the transactions containing the prefix and the item. */
+    private static final class Extension {
+
+        private final int m_item;
+
+        private final CompressedTIDSet m_tids;
+
+        Extension(final int item, final CompressedTIDSet tids) {
+            m_item = item;
+            m_tids = tids;
+        }
+    }
+
+    /** A found itemset, the items are the indices into {@link EclatApriori#m_items}. */
+    private static final class MinedItemSet {
+
+        private final int[] m_items;
+
+        private final int m_count;
+
+        private final boolean m_closed;
+
+        private final boolean m_maximal;
+
+        MinedItemSet(final int[] items, final int count, final boolean closed, final boolean maximal) {
+            m_items = items;
+            m_count = count;
+            m_closed = closed;
+            m_maximal = maximal;
+        }
+    }
+
+    private final class BranchTask implements Callable<List<MinedItemSet>> {
+
+        private final int[] m_prefix;
+
+        private final Extension[] m_extensions;
+
+        private final int m_index;
+
+        BranchTask(final int[] prefix, final Extension[] extensions, final int index) {
+            m_prefix = prefix;
+            m_extensions = extensions;
+            m_index = index;
+        }
+
+        @Override
+        public List<MinedItemSet> call() {
+            return mineBranch(m_prefix, m_extensions, m_index);
+        }
+    }
+}
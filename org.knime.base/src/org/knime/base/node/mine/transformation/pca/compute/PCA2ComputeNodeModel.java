@@ -66,6 +66,7 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
@@ -89,6 +90,7 @@ final class PCA2ComputeNodeModel extends AbstractPCA2NodeModel {
     protected PortObject[] doExecute(final BufferedDataTable inTable, final ExecutionContext exec)
         throws InvalidSettingsException, CanceledExecutionException {
         final PCA pca = new PCA();
+        pca.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool());
         TransformationMatrix transMtx = pca.calcTransformationMatrix(exec.createSubExecutionContext(0.9), inTable,
             getColumnNames(), m_computeSettings.getFailOnMissingsModel().getBooleanValue());
         // the PCA's covariance matrix cannot be null so it's save to call get without further checks
@@ -81,6 +81,8 @@ final class PCA2NodeDialog extends NodeDialogPane {
 
     private final DialogComponentBoolean m_failOnMissingsComp;
 
+    private final DialogComponentBoolean m_approximateComp;
+
     private DataTableSpec[] m_lastSpecs;
 
     private final JPanel m_panel;
@@ -105,6 +107,11 @@ final class PCA2NodeDialog extends NodeDialogPane {
         m_failOnMissingsComp =
             new DialogComponentBoolean(compSettings.getFailOnMissingsModel(), "Fail if missing values are encountered");
 
+        m_approximateComp = new DialogComponentBoolean(PCA2NodeModel.createApproximateModel(),
+            "Approximate the leading components only");
+        m_approximateComp.setToolTipText("Computes only the selected number of leading components with a randomized "
+            + "truncated decomposition, has no effect if the information preservation is used");
+
         m_panel = new JPanel();
         final BoxLayout bl = new BoxLayout(m_panel, 1);
         m_panel.setLayout(bl);
@@ -112,6 +119,7 @@ final class PCA2NodeDialog extends NodeDialogPane {
         m_panel.add(m_usedColsComponent.getComponentPanel());
         m_panel.add(m_remUsedColsComp.getComponentPanel());
         m_panel.add(m_failOnMissingsComp.getComponentPanel());
+        m_panel.add(m_approximateComp.getComponentPanel());
         m_panel.add(m_dimSelection.getErrorPanel());
         addTab("Settings", m_panel);
     }
@@ -131,6 +139,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         m_usedColsComponent.saveSettingsTo(settings);
         m_remUsedColsComp.saveSettingsTo(settings);
         m_failOnMissingsComp.saveSettingsTo(settings);
+        m_approximateComp.saveSettingsTo(settings);
     }
 
     @Override
@@ -140,6 +149,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSp
         m_usedColsComponent.loadSettingsFrom(settings, specs);
         m_remUsedColsComp.loadSettingsFrom(settings, specs);
         m_failOnMissingsComp.loadSettingsFrom(settings, specs);
+        m_approximateComp.loadSettingsFrom(settings, specs);
         m_dimSelection.loadSettingsFrom(settings, specs);
         updateSettings();
     }
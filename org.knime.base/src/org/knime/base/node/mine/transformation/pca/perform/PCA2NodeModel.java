@@ -60,8 +60,10 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.port.PortType;
@@ -74,16 +76,35 @@
  */
 final class PCA2NodeModel extends AbstractPCA2NodeModel {
 
+    /** The configuration key of the flag whether to approximate the leading components only. */
+    private static final String APPROXIMATE_CFG = "approximate_leading_components";
+
     private final PCAApplySettings m_applySettings = new PCAApplySettings();
 
+    private final SettingsModelBoolean m_approximate = createApproximateModel();
+
     PCA2NodeModel() {
         super(new PortType[]{BufferedDataTable.TYPE});
     }
 
+    /**
+     * Creates the model storing the flag whether to compute only the leading components with a randomized truncated
+     * decomposition if the number of dimensions is fixed.
+     *
+     * @return the model storing the approximate leading components flag
+     */
+    static SettingsModelBoolean createApproximateModel() {
+        return new SettingsModelBoolean(APPROXIMATE_CFG, false);
+    }
+
     @Override
     protected PortObject[] doExecute(final BufferedDataTable inTable, final ExecutionContext exec)
         throws InvalidSettingsException, CanceledExecutionException {
         final PCA pca = new PCA();
+        if (m_applySettings.getUseFixedDimensionModel().getBooleanValue() && m_approximate.getBooleanValue()) {
+            pca.setNumberOfComponents(m_applySettings.getDimModel().getIntValue());
+        }
+        pca.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool());
         final TransformationMatrix transformationMatrix =
             pca.calcTransformationMatrix(exec.createSubExecutionContext(0.7), inTable, getColumnNames(),
                 m_computeSettings.getFailOnMissingsModel().getBooleanValue());
@@ -141,12 +162,19 @@ private ColumnRearranger createColumnRearranger(final DataTableSpec inSpec, fina
     protected void saveSettingsTo(final NodeSettingsWO settings) {
         super.saveSettingsTo(settings);
         m_applySettings.saveSettingsTo(settings);
+        m_approximate.saveSettingsTo(settings);
     }
 
     @Override
     protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
         super.loadValidatedSettingsFrom(settings);
         m_applySettings.loadValidatedSettingsFrom(settings);
+        // added in 4.3
+        if (settings.containsKey(APPROXIMATE_CFG)) {
+            m_approximate.loadSettingsFrom(settings);
+        } else {
+            m_approximate.setBooleanValue(false);
+        }
     }
 
     @Override
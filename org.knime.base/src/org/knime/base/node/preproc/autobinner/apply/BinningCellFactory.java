@@ -53,12 +53,14 @@
 import org.knime.base.node.preproc.autobinner.pmml.PMMLDiscretize;
 import org.knime.base.node.preproc.autobinner.pmml.PMMLDiscretizeBin;
 import org.knime.base.node.preproc.autobinner.pmml.PMMLInterval;
+import org.knime.base.node.preproc.pmml.binner.BinLookup;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnDomainCreator;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.CellFactory;
 import org.knime.core.data.def.StringCell;
@@ -74,6 +76,7 @@ public class BinningCellFactory implements CellFactory {
     private final List<NumericBin> m_bins;
     private final DataCell m_mapMissingTo;
     private final DataCell m_defaultValue;
+    private final BinLookup m_lookup;
 
     /**
      * @param name The name of the column
@@ -91,6 +94,7 @@ public BinningCellFactory(final String name, final int colIdx,
             ? new StringCell(discretize.getDefaultValue())
             : DataType.getMissingCell();
         m_bins = new ArrayList<NumericBin>();
+        List<Double> margins = new ArrayList<Double>();
         for (PMMLDiscretizeBin pmmlBin : discretize.getBins()) {
             DataCell binValue = new StringCell(pmmlBin.getBinValue());
             for (PMMLInterval pmmlInterval : pmmlBin.getIntervals()) {
@@ -105,8 +109,11 @@ public BinningCellFactory(final String name, final int colIdx,
                 m_bins.add(new NumericBin(binValue,
                         isLeftOpen, pmmlInterval.getLeftMargin(),
                         isRightOpen, pmmlInterval.getRightMargin()));
+                margins.add(pmmlInterval.getLeftMargin());
+                margins.add(pmmlInterval.getRightMargin());
             }
         }
+        m_lookup = new BinLookup(margins.stream().mapToDouble(Double::doubleValue).toArray(), this::applyLinear);
     }
 
     /**
@@ -128,6 +135,16 @@ private DataCell apply(final DataCell cell) {
         if (cell.isMissing()) {
             return m_mapMissingTo;
         }
+        return m_lookup.apply(((DoubleValue)cell).getDoubleValue());
+    }
+
+    /**
+     * Checks all bins in order, used to compile the lookup.
+     *
+     * @param cell the (non-missing) value to cover
+     * @return the name of the first bin covering the value or the default value
+     */
+    private DataCell applyLinear(final DataCell cell) {
         for (NumericBin bin : m_bins) {
             if (bin.covers(cell)) {
                 return bin.getValue();
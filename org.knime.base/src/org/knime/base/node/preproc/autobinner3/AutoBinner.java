@@ -83,7 +83,9 @@
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowIterator;
+import org.knime.core.data.container.CloseableRowIterator;
 import org.knime.core.data.container.ColumnRearranger;
+import org.knime.core.data.container.filter.TableFilter;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
@@ -178,6 +180,9 @@ public PMMLPreprocDiscretize execute(final BufferedDataTable data, final Executi
             }
         } else if (m_settings.getMethod().equals(Method.sampleQuantiles)) {
             init(spec);
+            if (m_settings.getApproximateQuantiles()) {
+                return createDisretizeOp(createEdgesFromSketches(data, exec));
+            }
             Map<String, double[]> edgesMap = new LinkedHashMap<String, double[]>();
             final int colCount = m_included.length;
             // contains all numeric columns if include all is set!
@@ -336,6 +341,59 @@ private static double[] createEdgesFromQuantiles(final BufferedDataTable data, f
         return edges;
     }
 
+    /**
+     * Estimates the sample quantiles of all included columns in a single pass over the data. Missing values are
+     * skipped, columns without any non-missing value get no bins.
+     *
+     * @param data the input data
+     * @param exec the execution context
+     * @return the boundaries of each included column
+     * @throws CanceledExecutionException if canceled
+     */
+    private Map<String, double[]> createEdgesFromSketches(final BufferedDataTable data, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        final DataTableSpec spec = data.getDataTableSpec();
+        final int[] colIndices = new int[m_included.length];
+        final QuantileSketch[] sketches = new QuantileSketch[m_included.length];
+        for (int i = 0; i < m_included.length; i++) {
+            colIndices[i] = spec.findColumnIndex(m_included[i]);
+            sketches[i] = new QuantileSketch(m_settings.getQuantileError(), data.size());
+        }
+        exec.setMessage("Calculating quantiles");
+        final long n = data.size();
+        long rowIdx = 0;
+        try (CloseableRowIterator iter =
+            data.filter(new TableFilter.Builder().withMaterializeColumnIndices(colIndices).build()).iterator()) {
+            while (iter.hasNext()) {
+                final DataRow row = iter.next();
+                for (int i = 0; i < colIndices.length; i++) {
+                    final DataCell cell = row.getCell(colIndices[i]);
+                    // missing values are ignored, the quantiles refer to the non-missing values
+                    if (!cell.isMissing()) {
+                        sketches[i].add(((DoubleValue)cell).getDoubleValue());
+                    }
+                }
+                rowIdx++;
+                exec.setProgress(rowIdx / (double)n);
+                exec.checkCanceled();
+            }
+        }
+        final Map<String, double[]> edgesMap = new LinkedHashMap<String, double[]>();
+        for (int i = 0; i < m_included.length; i++) {
+            if (sketches[i].getCount() == 0) {
+                // only missing values, no bins
+                edgesMap.put(m_included[i], null);
+                continue;
+            }
+            double[] edges = sketches[i].getQuantiles(m_settings.getSampleQuantiles());
+            if (m_settings.getIntegerBounds()) {
+                edges = toIntegerBoundaries(edges);
+            }
+            edgesMap.put(m_included[i], edges);
+        }
+        return edgesMap;
+    }
+
     /**
      * @param edgesMap the boundary map
      * @return the {@link PMMLPreprocDiscretize} model
@@ -104,6 +104,10 @@ public class AutoBinnerLearnNodeDialogPane extends NodeDialogPane {
 
     private JTextField m_sampleQuantiles;
 
+    private JCheckBox m_approximateQuantiles;
+
+    private JSpinner m_quantileError;
+
     private JRadioButton m_binNamingNumbered;
 
     private JRadioButton m_binNamingEdges;
@@ -279,6 +283,7 @@ public void actionPerformed(final ActionEvent e) {
                 m_numBins.setEnabled(m_methodFixedNumber.isSelected());
                 m_equalityMethod.setEnabled(m_methodFixedNumber.isSelected());
                 m_sampleQuantiles.setEnabled(!m_methodFixedNumber.isSelected());
+                updateQuantileErrorEnabled();
             }
         });
 
@@ -326,6 +331,7 @@ public void actionPerformed(final ActionEvent e) {
                 m_numBins.setEnabled(!m_methodSampleQuantiles.isSelected());
                 m_equalityMethod.setEnabled(!m_methodSampleQuantiles.isSelected());
                 m_sampleQuantiles.setEnabled(m_methodSampleQuantiles.isSelected());
+                updateQuantileErrorEnabled();
             }
         });
         if (supportsQuantile) {
@@ -343,6 +349,22 @@ public void actionPerformed(final ActionEvent e) {
         c.weightx = 1;
         m_sampleQuantiles = new JTextField();
         quantilesPanel.add(m_sampleQuantiles, c);
+        c.gridy++;
+        c.gridx = 0;
+        c.weightx = 0;
+        m_approximateQuantiles = new JCheckBox("Approximate quantiles (single pass), maximum rank error:");
+        m_approximateQuantiles.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(final ActionEvent e) {
+                updateQuantileErrorEnabled();
+            }
+        });
+        quantilesPanel.add(m_approximateQuantiles, c);
+        c.gridx++;
+        c.weightx = 1;
+        m_quantileError = new JSpinner(new SpinnerNumberModel(0.01, 0.0001, 0.5, 0.001));
+        m_quantileError.setEditor(new JSpinner.NumberEditor(m_quantileError, "0.0###"));
+        quantilesPanel.add(m_quantileError, c);
         quantilesPanel.setBorder(BorderFactory.createEmptyBorder(0, 17, 0, 0));
         c.gridy = gridy;
         c.gridx = 0;
@@ -451,6 +473,9 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
         m_numBins.setValue(m_settings.getBinCount());
         m_equalityMethod.setSelectedItem(m_settings.getEqualityMethod());
         m_sampleQuantiles.setText(implode(m_settings.getSampleQuantiles()));
+        m_approximateQuantiles.setSelected(m_settings.getApproximateQuantiles());
+        m_quantileError.setValue(m_settings.getQuantileError());
+        updateQuantileErrorEnabled();
         m_binNamingNumbered.setSelected(m_settings.getBinNaming().equals(BinNaming.numbered));
         m_binNamingEdges.setSelected(m_settings.getBinNaming().equals(BinNaming.edges));
         m_binNamingMidpoints.setSelected(m_settings.getBinNaming().equals(BinNaming.midpoints));
@@ -468,6 +493,11 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
         m_roundingMode.setSelectedItem(m_settings.getRoundingMode());
     }
 
+    private void updateQuantileErrorEnabled() {
+        m_approximateQuantiles.setEnabled(m_methodSampleQuantiles.isSelected());
+        m_quantileError.setEnabled(m_methodSampleQuantiles.isSelected() && m_approximateQuantiles.isSelected());
+    }
+
     private String implode(final double[] values) {
         StringBuilder str = new StringBuilder();
         for (int i = 0; i < values.length - 1; i++) {
@@ -502,6 +532,8 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         } catch (NumberFormatException e) {
             throw new InvalidSettingsException("Cannot parse the list of quantiles. Changes are " + "not applied.");
         }
+        m_settings.setApproximateQuantiles(m_approximateQuantiles.isSelected());
+        m_settings.setQuantileError(((Number)m_quantileError.getValue()).doubleValue());
         BinNaming binNaming = null;
         if (m_binNamingNumbered.isSelected()) {
             binNaming = BinNaming.numbered;
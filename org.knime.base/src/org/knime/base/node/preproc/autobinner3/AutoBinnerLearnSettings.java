@@ -217,6 +217,10 @@ public String toString() {
 
     private static final String CFG_SAMPLE_QUANTILES = "sampleQuantiles";
 
+    private static final String CFG_APPROXIMATE_QUANTILES = "approximateQuantiles";
+
+    private static final String CFG_QUANTILE_ERROR = "quantileError";
+
     private static final String CFG_BIN_NAMING = "binNaming";
 
     private static final String CFG_REPLACE_COLUMN = "replaceColumn";
@@ -241,6 +245,10 @@ public String toString() {
 
     private double[] m_sampleQuantiles = new double[]{0, 0.25, 0.5, 0.75, 1};
 
+    private boolean m_approximateQuantiles = false;
+
+    private double m_quantileError = 0.01;
+
     private BinNaming m_binNaming = BinNaming.numbered;
 
     private boolean m_replaceColumn = false;
@@ -330,6 +338,39 @@ public void setSampleQuantiles(final double[] sampleQuantiles) {
         m_sampleQuantiles = sampleQuantiles;
     }
 
+    /**
+     * @return whether the sample quantiles are estimated in a single pass instead of sorting each column
+     * @since 4.3
+     */
+    public boolean getApproximateQuantiles() {
+        return m_approximateQuantiles;
+    }
+
+    /**
+     * @param approximateQuantiles whether the sample quantiles are estimated in a single pass instead of sorting
+     *            each column
+     * @since 4.3
+     */
+    public void setApproximateQuantiles(final boolean approximateQuantiles) {
+        m_approximateQuantiles = approximateQuantiles;
+    }
+
+    /**
+     * @return the maximal rank error of approximated quantiles, relative to the number of rows
+     * @since 4.3
+     */
+    public double getQuantileError() {
+        return m_quantileError;
+    }
+
+    /**
+     * @param quantileError the maximal rank error of approximated quantiles, relative to the number of rows
+     * @since 4.3
+     */
+    public void setQuantileError(final double quantileError) {
+        m_quantileError = quantileError;
+    }
+
     /**
      * @return the binNaming
      */
@@ -443,6 +484,13 @@ public void loadSettings(final NodeSettingsRO settings) throws InvalidSettingsEx
         m_equalityMethod = EqualityMethod.valueOf(settings.getString(CFG_EQUALITY_METHOD));
         m_integerBounds = settings.getBoolean(CFG_INTEGER_BOUNDS);
         m_sampleQuantiles = settings.getDoubleArray(CFG_SAMPLE_QUANTILES);
+        // added in 4.3
+        m_approximateQuantiles = settings.getBoolean(CFG_APPROXIMATE_QUANTILES, false);
+        m_quantileError = settings.getDouble(CFG_QUANTILE_ERROR, 0.01);
+        if (!(m_quantileError > 0 && m_quantileError < 1)) {
+            throw new InvalidSettingsException(
+                "The quantile error must be larger than 0 and smaller than 1: " + m_quantileError);
+        }
         m_binNaming = BinNaming.valueOf(settings.getString(CFG_BIN_NAMING));
         m_replaceColumn = settings.getBoolean(CFG_REPLACE_COLUMN);
         m_advancedFormatting = settings.getBoolean(CFG_ADVANCED_FORMATTING);
@@ -466,6 +514,8 @@ public void loadSettingsForDialog(final NodeSettingsRO settings, final DataTable
         m_equalityMethod = EqualityMethod.valueOf(settings.getString(CFG_EQUALITY_METHOD, EqualityMethod.width.name()));
         m_integerBounds = settings.getBoolean(CFG_INTEGER_BOUNDS, false);
         m_sampleQuantiles = settings.getDoubleArray(CFG_SAMPLE_QUANTILES, new double[]{0, 0.25, 0.5, 0.75, 1});
+        m_approximateQuantiles = settings.getBoolean(CFG_APPROXIMATE_QUANTILES, false);
+        m_quantileError = settings.getDouble(CFG_QUANTILE_ERROR, 0.01);
         m_binNaming = BinNaming.valueOf(settings.getString(CFG_BIN_NAMING, BinNaming.numbered.toString()));
         m_replaceColumn = settings.getBoolean(CFG_REPLACE_COLUMN, false);
         m_advancedFormatting = settings.getBoolean(CFG_ADVANCED_FORMATTING, false);
@@ -487,6 +537,8 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addString(CFG_EQUALITY_METHOD, m_equalityMethod.name());
         settings.addBoolean(CFG_INTEGER_BOUNDS, m_integerBounds);
         settings.addDoubleArray(CFG_SAMPLE_QUANTILES, m_sampleQuantiles);
+        settings.addBoolean(CFG_APPROXIMATE_QUANTILES, m_approximateQuantiles);
+        settings.addDouble(CFG_QUANTILE_ERROR, m_quantileError);
         settings.addString(CFG_BIN_NAMING, m_binNaming.name());
         settings.addBoolean(CFG_REPLACE_COLUMN, m_replaceColumn);
         settings.addBoolean(CFG_ADVANCED_FORMATTING, m_advancedFormatting);
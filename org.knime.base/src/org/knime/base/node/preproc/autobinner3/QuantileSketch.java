@@ -0,0 +1,255 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.base.node.preproc.autobinner3;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch used to estimate the sample quantiles of a column in a single pass. Values are collected
+ * in a hierarchy of buffers; a full buffer is sorted and every second value is promoted (with twice the weight) to the
+ * buffer of the next level, alternating between the odd and even positions. With the capacity chosen by
+ * {@link #QuantileSketch(double, long)} the rank of each estimated order statistic deviates by at most
+ * {@code epsilon * n} from the exact one, minimum and maximum are tracked exactly. As long as no buffer was compacted
+ * (i.e. at most capacity many values were added) the results are exact.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class QuantileSketch {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private final int m_capacity;
+
+    private double[][] m_levels = new double[0][];
+
+    private int[] m_sizes = new int[0];
+
+    /** Whether the next compaction of a level promotes the values at the odd positions. */
+    private boolean[] m_oddOffset = new boolean[0];
+
+    private long m_count;
+
+    private double m_min = Double.NaN;
+
+    private double m_max = Double.NaN;
+
+    /**
+     * Creates a sketch for the given rank error.
+     *
+     * @param epsilon the maximal rank error relative to the number of values, in (0, 1)
+     * @param expectedCount the number of values that will be added, the error guarantee only holds up to this number
+     */
+    QuantileSketch(final double epsilon, final long expectedCount) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Error must be in (0, 1): " + epsilon);
+        }
+        // each compaction on level h moves the rank of any value by at most 2^h, there are at most
+        // n / (capacity * 2^h) of them, hence capacity >= levels / epsilon guarantees an error <= epsilon * n
+        long capacity = Math.max(MIN_CAPACITY, (long)Math.ceil(1 / epsilon));
+        for (int i = 0; i < 4; i++) {
+            capacity = Math.max(capacity, (long)Math.ceil(levelCount(capacity, expectedCount) / epsilon));
+        }
+        capacity += capacity & 1;
+        m_capacity = (int)Math.min(capacity, Integer.MAX_VALUE - 8);
+    }
+
+    private static int levelCount(final long capacity, final long count) {
+        int levels = 1;
+        for (long c = capacity; c < count; c *= 2) {
+            levels++;
+        }
+        return levels;
+    }
+
+    /**
+     * Adds a value. NaN is treated as larger than all other values (as in {@link Double#compare(double, double)}).
+     *
+     * @param value the value to add
+     */
+    void add(final double value) {
+        if (m_count == 0 || Double.compare(value, m_min) < 0) {
+            m_min = value;
+        }
+        if (m_count == 0 || Double.compare(value, m_max) > 0) {
+            m_max = value;
+        }
+        m_count++;
+        append(0, value);
+        if (m_sizes[0] > m_capacity) {
+            compact(0);
+        }
+    }
+
+    /**
+     * Adds all values of another sketch to this one. The error bounds add up accordingly.
+     *
+     * @param other the sketch to merge into this one, not modified
+     */
+    void merge(final QuantileSketch other) {
+        if (other.m_count == 0) {
+            return;
+        }
+        if (m_count == 0 || Double.compare(other.m_min, m_min) < 0) {
+            m_min = other.m_min;
+        }
+        if (m_count == 0 || Double.compare(other.m_max, m_max) > 0) {
+            m_max = other.m_max;
+        }
+        m_count += other.m_count;
+        for (int level = 0; level < other.m_sizes.length; level++) {
+            for (int i = 0; i < other.m_sizes[level]; i++) {
+                append(level, other.m_levels[level][i]);
+            }
+        }
+        for (int level = 0; level < m_sizes.length; level++) {
+            if (m_sizes[level] > m_capacity) {
+                compact(level);
+            }
+        }
+    }
+
+    /** @return the number of added values */
+    long getCount() {
+        return m_count;
+    }
+
+    private void append(final int level, final double value) {
+        if (level >= m_levels.length) {
+            m_levels = Arrays.copyOf(m_levels, level + 1);
+            m_sizes = Arrays.copyOf(m_sizes, level + 1);
+            m_oddOffset = Arrays.copyOf(m_oddOffset, level + 1);
+        }
+        double[] values = m_levels[level];
+        if (values == null) {
+            values = new double[Math.min(m_capacity, 1024)];
+            m_levels[level] = values;
+        } else if (m_sizes[level] == values.length) {
+            values = Arrays.copyOf(values, (int)Math.min(Integer.MAX_VALUE - 8, 2L * values.length));
+            m_levels[level] = values;
+        }
+        values[m_sizes[level]++] = value;
+    }
+
+    /** Halves the given level, promoting every second value to the next level (may cascade). */
+    private void compact(final int level) {
+        final double[] values = m_levels[level];
+        final int size = m_sizes[level];
+        Arrays.sort(values, 0, size);
+        // an odd element (only possible after merging) stays on this level
+        final int even = size & ~1;
+        final int offset = m_oddOffset[level] ? 1 : 0;
+        m_oddOffset[level] = !m_oddOffset[level];
+        for (int i = offset; i < even; i += 2) {
+            append(level + 1, values[i]);
+        }
+        values[0] = values[size - 1];
+        m_sizes[level] = size - even;
+        if (m_sizes[level + 1] > m_capacity) {
+            compact(level + 1);
+        }
+    }
+
+    /**
+     * Estimates the sample quantiles the same way as R-7 (linear interpolation between the order statistics).
+     *
+     * @param probabilities the probabilities, in [0, 1]
+     * @return the estimated quantiles, in the order of the given probabilities
+     * @throws IllegalStateException if no value was added
+     */
+    double[] getQuantiles(final double[] probabilities) {
+        if (m_count == 0) {
+            throw new IllegalStateException("No values to compute quantiles from.");
+        }
+        int total = 0;
+        for (int level = 0; level < m_sizes.length; level++) {
+            total += m_sizes[level];
+        }
+        final long[] cumulativeWeights = new long[total];
+        final double[] values = new double[total];
+        // sort the (value, weight) pairs by value via an index sort on the values
+        final Integer[] order = new Integer[total];
+        final long[] weights = new long[total];
+        int k = 0;
+        for (int level = 0; level < m_sizes.length; level++) {
+            for (int i = 0; i < m_sizes[level]; i++) {
+                values[k] = m_levels[level][i];
+                weights[k] = 1L << level;
+                order[k] = k;
+                k++;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        long cumulative = 0;
+        for (int i = 0; i < total; i++) {
+            cumulative += weights[order[i]];
+            cumulativeWeights[i] = cumulative;
+        }
+        final double[] quantiles = new double[probabilities.length];
+        for (int i = 0; i < probabilities.length; i++) {
+            final double h = (m_count - 1) * probabilities[i] + 1;
+            final long q = (long)Math.floor(h);
+            final double xq = getOrderStatistic(q, values, order, cumulativeWeights);
+            final double xq1 = getOrderStatistic(Math.min(q + 1, m_count), values, order, cumulativeWeights);
+            quantiles[i] = xq + (h - q) * (xq1 - xq);
+        }
+        return quantiles;
+    }
+
+    /** The (estimated) value of the given 1-based rank. */
+    private double getOrderStatistic(final long rank, final double[] values, final Integer[] order,
+        final long[] cumulativeWeights) {
+        if (rank <= 1) {
+            return m_min;
+        }
+        if (rank >= m_count) {
+            return m_max;
+        }
+        int index = Arrays.binarySearch(cumulativeWeights, rank);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return values[order[Math.min(index, order.length - 1)]];
+    }
+}
@@ -66,6 +66,7 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
@@ -203,17 +204,22 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
             new CorrelationComputer2(filteredTableSpec, m_maxPossValueCountModel.getIntValue());
 
         // Calculate statistics on the table
-        exec.setMessage("Calculating table statistics");
-        ExecutionContext execStep1 = exec.createSubExecutionContext(PROG_STEP1);
-        calculator.calculateStatistics(filteredTable, execStep1);
-        execStep1.setProgress(1.0);
-
-        // Calculate the correlation
-        exec.setMessage("Calculating correlation values");
-        ExecutionMonitor execStep2 = exec.createSubExecutionContext(PROG_STEP2);
-        CorrelationResult correlationResult =
-            calculator.calculateOutput(filteredTable, execStep2, selectedPValAlternative());
-        execStep2.setProgress(1.0);
+        calculator.setThreadPool(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool());
+        final CorrelationResult correlationResult;
+        try {
+            exec.setMessage("Calculating table statistics");
+            ExecutionContext execStep1 = exec.createSubExecutionContext(PROG_STEP1);
+            calculator.calculateStatistics(filteredTable, execStep1);
+            execStep1.setProgress(1.0);
+
+            // Calculate the correlation
+            exec.setMessage("Calculating correlation values");
+            ExecutionMonitor execStep2 = exec.createSubExecutionContext(PROG_STEP2);
+            correlationResult = calculator.calculateOutput(filteredTable, execStep2, selectedPValAlternative());
+            execStep2.setProgress(1.0);
+        } finally {
+            calculator.setThreadPool(null);
+        }
 
         // Create the output
         exec.setMessage("Assembling output");
@@ -47,6 +47,7 @@
  */
 package org.knime.base.node.preproc.correlation.compute2;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -56,6 +57,9 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
 
 import org.apache.commons.lang3.tuple.ImmutableTriple;
 import org.apache.commons.lang3.tuple.Triple;
@@ -76,6 +80,7 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.util.Pair;
+import org.knime.core.util.ThreadPool;
 
 import com.google.common.primitives.Ints;
 
@@ -92,6 +97,12 @@
  */
 public final class CorrelationComputer2 {
 
+    /** Number of rows that are collected before they are added to the matrices. */
+    private static final int BLOCK_SIZE = 512;
+
+    /** Minimal number of operations per block to justify processing it in parallel. */
+    private static final long MIN_PARALLEL_WORK = 1 << 16;
+
     private final DataTableSpec m_tableSpec;
 
     /** indices of numeric columns. */
@@ -132,6 +143,9 @@ public final class CorrelationComputer2 {
      */
     private final List<Pair<Integer, Integer>> m_numericsWithConstantValues;
 
+    /** The pool used to process the columns of a row block in parallel, null to compute sequentially. */
+    private ThreadPool m_pool;
+
     /**
      * Inits fields.
      *
@@ -160,6 +174,19 @@ public CorrelationComputer2(final DataTableSpec filteredSpec, final int maxPossi
         m_numericsWithMissings = new LinkedHashSet<>();
     }
 
+    /**
+     * Sets the pool used to process the numeric columns and categorical column pairs of a row block in parallel. If no
+     * pool is set (the default), everything is computed in the calling thread. Each column is handled by a single
+     * thread that adds the rows in table order, so the sums, means and correlation values are identical to the
+     * sequential computation.
+     *
+     * @param pool the pool to use or <code>null</code> to compute sequentially
+     * @since 4.3
+     */
+    public void setThreadPool(final ThreadPool pool) {
+        m_pool = pool;
+    }
+
     /**
      * First scan on the data. Calculates (pair wise) means and std dev and determines the list of distinct values for
      * each categorical column.
@@ -180,21 +207,24 @@ public void calculateStatistics(final BufferedDataTable table, final ExecutionMo
         }
         final int numericColCount = m_numericColIndexMap.length;
         // sumMatrix[i][j] contains the sum of all values in column i were the column j cell is not missing
-        double[][] sumMatrix = new double[numericColCount][numericColCount];
+        final double[][] sumMatrix = new double[numericColCount][numericColCount];
         // sumSqMatrix contains the sum of the squared values as sumMatrix
-        double[][] sumSqMatrix = new double[numericColCount][numericColCount];
-        // validCountMatrix[i][j] contains the number of rows were neither column i nor column j is missing
-        m_numericValidCountMatrix = new HalfIntMatrix(numericColCount, true);
-        // A cell buffer for the numeric cells (They need to be accessed multiple times)
-        final DataCell[] numericCellBuffer = new DataCell[m_numericColIndexMap.length];
+        final double[][] sumSqMatrix = new double[numericColCount][numericColCount];
+        // validCounts[i][j] (j >= i) contains the number of rows were neither column i nor column j is missing
+        final int[][] validCounts = new int[numericColCount][numericColCount];
+        final NumericBlock block = new NumericBlock(numericColCount);
 
         // Loop over the rows and fill the sum/sumSq/validCount matrix and possible categorical values
         long rowIndex = 1;
         final long rowCount = table.size();
         for (DataRow r : table) {
 
-            addToSumIfValid(r, sumMatrix, sumSqMatrix, m_numericValidCountMatrix, numericCellBuffer);
+            block.add(r);
             addPossibleValues(r);
+            if (block.m_rowCount == BLOCK_SIZE) {
+                addToSumIfValid(block, sumMatrix, sumSqMatrix, validCounts);
+                block.m_rowCount = 0;
+            }
 
             exec.checkCanceled();
             final long currentRow = rowIndex;
@@ -202,6 +232,14 @@ public void calculateStatistics(final BufferedDataTable table, final ExecutionMo
                 () -> String.format("Calculating statistics - %d/%d (\"%s\")", currentRow, rowCount, r.getKey()));
             rowIndex += 1;
         }
+        addToSumIfValid(block, sumMatrix, sumSqMatrix, validCounts);
+
+        m_numericValidCountMatrix = new HalfIntMatrix(numericColCount, true);
+        for (int i = 0; i < numericColCount; i++) {
+            for (int j = i; j < numericColCount; j++) {
+                m_numericValidCountMatrix.set(i, j, validCounts[i][j]);
+            }
+        }
 
         assignIndexToCategoricalValues();
 
@@ -209,36 +247,124 @@ public void calculateStatistics(final BufferedDataTable table, final ExecutionMo
     }
 
     /**
-     * Adds the given row to the sum matrix and sum square matrix and increases the counts in the valid count matrix if
-     * valid.
+     * The numeric values of a block of rows, row-major. Missing cells have a value of 0 and a mask of 0, all other
+     * cells a mask of 1. This allows to accumulate the sums of a column restricted to the rows where another column is
+     * not missing as (masked) matrix product over the rows of the block.
      */
-    private void addToSumIfValid(final DataRow row, final double[][] sumMatrix, final double[][] sumSqMatrix,
-        final HalfIntMatrix validCountMatrix, final DataCell[] cellBuffer) {
-        // getCell may be an expensive operation and we may access a cell
-        // multiple times, so we buffer it
-        for (int i = 0; i < cellBuffer.length; i++) {
-            cellBuffer[i] = row.getCell(m_numericColIndexMap[i]);
-        }
-        // Loop over numeric columns
-        for (int i = 0; i < m_numericColIndexMap.length; i++) {
-            DataCell c = cellBuffer[i];
-            final boolean isMissing = c.isMissing();
-            if (isMissing) {
-                // Remember that there was a missing cell
-                m_numericsWithMissings.add(m_numericColIndexMap[i]);
-            } else {
-                // Add values to the sumMatrix and sumSqMatrix
-                final double val = ((DoubleValue)c).getDoubleValue();
+    private final class NumericBlock {
+
+        private final double[][] m_values;
+
+        private final double[][] m_mask;
+
+        private int m_rowCount;
+
+        NumericBlock(final int columnCount) {
+            m_values = new double[BLOCK_SIZE][columnCount];
+            m_mask = new double[BLOCK_SIZE][columnCount];
+        }
+
+        void add(final DataRow row) {
+            final double[] values = m_values[m_rowCount];
+            final double[] mask = m_mask[m_rowCount];
+            for (int i = 0; i < m_numericColIndexMap.length; i++) {
+                final DataCell c = row.getCell(m_numericColIndexMap[i]);
+                if (c.isMissing()) {
+                    // Remember that there was a missing cell
+                    m_numericsWithMissings.add(m_numericColIndexMap[i]);
+                    values[i] = 0.0;
+                    mask[i] = 0.0;
+                } else {
+                    values[i] = ((DoubleValue)c).getDoubleValue();
+                    mask[i] = 1.0;
+                }
+            }
+            m_rowCount++;
+        }
+    }
+
+    /**
+     * Adds the rows of the block to the sum matrix and sum square matrix and increases the counts in the valid count
+     * matrix if valid. The rows of the matrices are processed in parallel.
+     */
+    private void addToSumIfValid(final NumericBlock block, final double[][] sumMatrix, final double[][] sumSqMatrix,
+        final int[][] validCounts) {
+        final int colCount = m_numericColIndexMap.length;
+        forEach(colCount, (long)block.m_rowCount * colCount * colCount, i -> {
+            final double[] sums = sumMatrix[i];
+            final double[] sumSqs = sumSqMatrix[i];
+            final int[] counts = validCounts[i];
+            for (int r = 0; r < block.m_rowCount; r++) {
+                final double[] mask = block.m_mask[r];
+                if (mask[i] == 0.0) {
+                    continue;
+                }
+                final double val = block.m_values[r][i];
                 final double valSquare = val * val;
-                for (int j = 0; j < m_numericColIndexMap.length; j++) {
-                    if (!cellBuffer[j].isMissing()) {
-                        sumMatrix[i][j] += val;
-                        sumSqMatrix[i][j] += valSquare;
-                        if (j >= i) { // don't count twice
-                            validCountMatrix.add(i, j, 1);
+                if (Double.isFinite(valSquare)) {
+                    // adding 0 for missing cells in column j does not change the sums
+                    for (int j = 0; j < colCount; j++) {
+                        sums[j] += val * mask[j];
+                        sumSqs[j] += valSquare * mask[j];
+                    }
+                } else {
+                    // infinite * 0 would be NaN
+                    for (int j = 0; j < colCount; j++) {
+                        if (mask[j] != 0.0) {
+                            sums[j] += val;
+                            sumSqs[j] += valSquare;
                         }
                     }
                 }
+                for (int j = i; j < colCount; j++) { // don't count twice
+                    counts[j] += (int)mask[j];
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs the action for all indices from 0 (inclusive) to count (exclusive), in parallel if a pool is set and
+     * there is enough work (the total number of operations). The indices are distributed round robin since the work
+     * per index decreases for the triangular matrices.
+     */
+    private void forEach(final int count, final long work, final IntConsumer action) {
+        final int nrParts = m_pool == null || work < MIN_PARALLEL_WORK ? 1 : Math.min(count, m_pool.getMaxThreads());
+        if (nrParts < 2) {
+            for (int i = 0; i < count; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+        final List<Future<?>> futures = new ArrayList<>(nrParts - 1);
+        try {
+            for (int p = 1; p < nrParts; p++) {
+                final int first = p;
+                futures.add(m_pool.enqueue(() -> {
+                    for (int i = first; i < count; i += nrParts) {
+                        action.accept(i);
+                    }
+                }));
+            }
+            for (int i = 0; i < count; i += nrParts) {
+                action.accept(i);
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing correlations", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
             }
         }
     }
@@ -332,22 +458,43 @@ public CorrelationResult calculateOutput(final BufferedDataTable table, final Ex
 
         handleZeroStdDev(nominatorMatrix);
 
-        // A cell buffer for the numeric cells (They need to be accessed multiple times)
-        final DataCell[] numericCellBuffer = new DataCell[m_numericColIndexMap.length];
+        final int numericColCount = m_numericColIndexMap.length;
+        // nominators[i][j - i - 1] for j > i, added to the nominator matrix at the end
+        final double[][] nominators = new double[numericColCount][];
+        for (int i = 0; i < numericColCount; i++) {
+            nominators[i] = new double[numericColCount - i - 1];
+        }
+        final NumericBlock block = new NumericBlock(numericColCount);
+        final int[][] categoricalIndices = new int[BLOCK_SIZE][m_categoricalColIndexMap.length];
+        final int[][] categoricalPairs = getCategoricalPairs(contingencyTables);
 
         long rowIndex = 0;
         final long rowCount = table.size();
+        int blockRowCount = 0;
         for (DataRow r : table) {
 
-            addRowToNominatorMatrix(r, nominatorMatrix, numericCellBuffer);
-
-            addRowToContigencyTable(r, contingencyTables);
+            block.add(r);
+            addCategoricalIndices(r, categoricalIndices[blockRowCount]);
+            blockRowCount++;
+            if (blockRowCount == BLOCK_SIZE) {
+                addBlockToNominators(block, nominators);
+                addBlockToContingencyTables(categoricalIndices, blockRowCount, categoricalPairs, contingencyTables);
+                block.m_rowCount = 0;
+                blockRowCount = 0;
+            }
 
             exec.checkCanceled();
             exec.setProgress(rowIndex / (double)rowCount,
                 String.format("Calculating statistics - %d/%d (\"%s\")", rowIndex, rowCount, r.getKey()));
             rowIndex += 1;
         }
+        addBlockToNominators(block, nominators);
+        addBlockToContingencyTables(categoricalIndices, blockRowCount, categoricalPairs, contingencyTables);
+        for (int i = 0; i < numericColCount; i++) {
+            for (int j = i + 1; j < numericColCount; j++) {
+                nominatorMatrix.add(m_numericColIndexMap[i], m_numericColIndexMap[j], nominators[i][j - i - 1]);
+            }
+        }
 
         normalizeNumericCorrelation(nominatorMatrix);
 
@@ -423,69 +570,86 @@ private void handleZeroStdDev(final HalfDoubleMatrix nominatorMatrix) {
     }
 
     /**
-     * Adds the numeric values of the row to the nominator matrix.
+     * Adds the numeric values of the rows of the block to the nominators (the rows of the matrix are processed in
+     * parallel).
      */
-    private void addRowToNominatorMatrix(final DataRow row, final HalfDoubleMatrix nominatorMatrix,
-        final DataCell[] cellBuffer) {
-        // getCell may be an expensive operation and we may access a cell
-        // multiple times, so we buffer it
-        for (int i = 0; i < cellBuffer.length; i++) {
-            cellBuffer[i] = row.getCell(m_numericColIndexMap[i]);
-        }
-        for (int i = 0; i < m_numericColIndexMap.length; i++) {
-            final DataCell ci = cellBuffer[i];
-
-            // Skip for missing cells and constant columns
-            if (ci.isMissing()) {
-                continue;
-            }
+    private void addBlockToNominators(final NumericBlock block, final double[][] nominators) {
+        final int colCount = m_numericColIndexMap.length;
+        forEach(colCount, (long)block.m_rowCount * colCount * colCount / 2, i -> {
             if (m_numericStdDevMatrix[i][i] == 0.0) {
-                continue; // constant column, reported above
+                return; // constant column, reported above
             }
-
-            final double di = ((DoubleValue)ci).getDoubleValue();
-
-            for (int j = i + 1; j < m_numericColIndexMap.length; j++) {
-                final DataCell cj = cellBuffer[j];
-                if (cj.isMissing()) {
+            final double[] nominator = nominators[i];
+            final double[] meanI = m_numericMeanMatrix[i];
+            final double[] stdDevI = m_numericStdDevMatrix[i];
+            // mean and stddev of the other columns where column i is not missing
+            final double[] meanJ = new double[colCount];
+            final double[] stdDevJ = new double[colCount];
+            for (int j = i + 1; j < colCount; j++) {
+                meanJ[j] = m_numericMeanMatrix[j][i];
+                stdDevJ[j] = m_numericStdDevMatrix[j][i];
+            }
+            for (int r = 0; r < block.m_rowCount; r++) {
+                final double[] mask = block.m_mask[r];
+                // Skip for missing cells
+                if (mask[i] == 0.0) {
                     continue;
                 }
-                final double meanI = m_numericMeanMatrix[i][j];
-                final double stdDevI = m_numericStdDevMatrix[i][j];
-                final double meanJ = m_numericMeanMatrix[j][i];
-                final double stdDevJ = m_numericStdDevMatrix[j][i];
-
-                if (stdDevI == 0.0 || stdDevJ == 0.0) {
-                    continue; // constant with respect to other column, reported above
+                final double[] values = block.m_values[r];
+                final double di = values[i];
+                for (int j = i + 1; j < colCount; j++) {
+                    if (mask[j] == 0.0 || stdDevI[j] == 0.0 || stdDevJ[j] == 0.0) {
+                        continue; // missing or constant with respect to other column, reported above
+                    }
+                    final double vi = (di - meanI[j]) / stdDevI[j];
+                    final double vj = (values[j] - meanJ[j]) / stdDevJ[j];
+                    nominator[j - i - 1] += vi * vj;
                 }
-
-                final double vi = (di - meanI) / stdDevI;
-                final double dj = ((DoubleValue)cj).getDoubleValue();
-                final double vj = (dj - meanJ) / stdDevJ;
-                nominatorMatrix.add(m_numericColIndexMap[i], m_numericColIndexMap[j], vi * vj);
             }
+        });
+    }
+
+    /**
+     * Determines the index of the value of each categorical column of the row (-1 for columns with too many values).
+     */
+    private void addCategoricalIndices(final DataRow row, final int[] indices) {
+        for (int i = 0; i < m_categoricalColIndexMap.length; i++) {
+            final LinkedHashMap<DataCell, Integer> possibleValues = m_possibleValues[i];
+            indices[i] = possibleValues == null ? -1 : possibleValues.get(row.getCell(m_categoricalColIndexMap[i]));
         }
     }
 
     /**
-     * Adds the categorical values of the given row to the contingency table
+     * @return the categorical columns i and j (as elements 0 and 1) and the index of the contingency table (element 2)
+     *         of all pairs that have a contingency table
      */
-    private void addRowToContigencyTable(final DataRow row, final int[][][] contingencyTables) {
+    private int[][] getCategoricalPairs(final int[][][] contingencyTables) {
+        final List<int[]> pairs = new ArrayList<>();
         int valIndex = 0;
         for (int i = 0; i < m_categoricalColIndexMap.length; i++) {
             for (int j = i + 1; j < m_categoricalColIndexMap.length; j++, valIndex++) {
-                LinkedHashMap<DataCell, Integer> possibleValuesI = m_possibleValues[i];
-                LinkedHashMap<DataCell, Integer> possibleValuesJ = m_possibleValues[j];
-                if (possibleValuesI == null || possibleValuesJ == null) {
-                    continue;
+                if (contingencyTables[valIndex] != null) {
+                    pairs.add(new int[]{i, j, valIndex});
                 }
-                DataCell ci = row.getCell(m_categoricalColIndexMap[i]);
-                DataCell cj = row.getCell(m_categoricalColIndexMap[j]);
-                Integer indexI = possibleValuesI.get(ci);
-                Integer indexJ = possibleValuesJ.get(cj);
-                contingencyTables[valIndex][indexI][indexJ]++;
             }
         }
+        return pairs.toArray(new int[pairs.size()][]);
+    }
+
+    /**
+     * Adds the categorical values of the rows of the block to the contingency tables, the pairs are counted in
+     * parallel.
+     */
+    private void addBlockToContingencyTables(final int[][] categoricalIndices, final int rowCount,
+        final int[][] categoricalPairs, final int[][][] contingencyTables) {
+        forEach(categoricalPairs.length, (long)rowCount * categoricalPairs.length, p -> {
+            final int i = categoricalPairs[p][0];
+            final int j = categoricalPairs[p][1];
+            final int[][] contingencyTable = contingencyTables[categoricalPairs[p][2]];
+            for (int r = 0; r < rowCount; r++) {
+                contingencyTable[categoricalIndices[r][i]][categoricalIndices[r][j]]++;
+            }
+        });
     }
 
     /** Divides the nominator for numeric column combinations by (N - 1) */
@@ -0,0 +1,134 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * -------------------------------------------------------------------
+ */
+package org.knime.base.node.preproc.pmml.binner;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.def.DoubleCell;
+
+/**
+ * Compiled form of a list of interval bins. The interval margins are kept in a sorted array; they split the real line
+ * into the margins themselves and the open ranges between them. As the coverage of an interval can only change at its
+ * margins, the resulting cell is the same for all values of such a range and is computed once up front. A lookup is
+ * then a binary search over the margins and returns a shared, pre-allocated cell.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ * @since 4.3
+ */
+public final class BinLookup {
+
+    /** Sorted, distinct, non-NaN margins, -0.0 is represented by 0.0. */
+    private final double[] m_margins;
+
+    private final DataCell[] m_marginCells;
+
+    /** Element i is the cell of the range right below margin i (the last one the range above the largest margin). */
+    private final DataCell[] m_rangeCells;
+
+    private final DataCell m_nanCell;
+
+    /**
+     * Creates the lookup.
+     *
+     * @param margins the margins of all intervals (in any order, duplicates allowed)
+     * @param binning the reference binning of a (double) cell, for instance checking all bins one after another; it
+     *            is only called while creating the lookup and must not depend on the value other than through its
+     *            position relative to the margins
+     */
+    public BinLookup(final double[] margins, final Function<DataCell, DataCell> binning) {
+        m_margins = DoubleStream.of(margins).filter(d -> !Double.isNaN(d)).map(d -> d + 0.0).sorted().distinct()
+            .toArray();
+        final int n = m_margins.length;
+        m_marginCells = new DataCell[n];
+        m_rangeCells = new DataCell[n + 1];
+        for (int i = 0; i < n; i++) {
+            m_marginCells[i] = binning.apply(new DoubleCell(m_margins[i]));
+        }
+        for (int i = 0; i <= n; i++) {
+            m_rangeCells[i] = binning.apply(new DoubleCell(representative(i)));
+        }
+        m_nanCell = binning.apply(new DoubleCell(Double.NaN));
+    }
+
+    /** A value strictly between margin i - 1 and margin i (if there is any). */
+    private double representative(final int i) {
+        final int n = m_margins.length;
+        if (n == 0) {
+            return 0;
+        }
+        if (i == 0) {
+            return Math.nextDown(m_margins[0]);
+        }
+        if (i == n) {
+            return Math.nextUp(m_margins[n - 1]);
+        }
+        final double lower = m_margins[i - 1];
+        final double upper = m_margins[i];
+        if (lower == Double.NEGATIVE_INFINITY) {
+            return upper == Double.POSITIVE_INFINITY ? 0 : Math.nextDown(upper);
+        }
+        if (upper == Double.POSITIVE_INFINITY) {
+            return Math.nextUp(lower);
+        }
+        return lower / 2 + upper / 2;
+    }
+
+    /**
+     * Returns the cell of the given value, i.e. the same cell the reference binning returns for it.
+     *
+     * @param value the value to bin
+     * @return the resulting cell (shared between calls)
+     */
+    public DataCell apply(final double value) {
+        if (Double.isNaN(value)) {
+            return m_nanCell;
+        }
+        final int index = Arrays.binarySearch(m_margins, value + 0.0);
+        return index >= 0 ? m_marginCells[index] : m_rangeCells[-index - 1];
+    }
+}
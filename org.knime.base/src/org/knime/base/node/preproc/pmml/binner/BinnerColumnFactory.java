@@ -54,6 +54,7 @@
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.CellFactory;
 import org.knime.core.data.def.StringCell;
@@ -73,6 +74,12 @@ public final class BinnerColumnFactory implements CellFactory {
 
     private final Bin[] m_bins;
 
+    /** The bin names as cells, shared by all results. */
+    private final StringCell[] m_binCells;
+
+    /** Binary search lookup, <code>null</code> if not all bins are numeric. */
+    private final BinLookup m_lookup;
+
     private final DataColumnSpec m_columnSpec;
 
     private final boolean m_append;
@@ -94,12 +101,13 @@ public BinnerColumnFactory(final int columnIdx, final Bin[] bins,
         // in the column spec, the buffereddatatable will iterate all values
         // (and hence determine the possible values) but some of the names
         // might not be used in the table (no value for this bin)
-        StringCell[] binNames = new StringCell[bins.length];
-        for (int i = 0; i < binNames.length; i++) {
-            binNames[i] = new StringCell(bins[i].getBinName());
+        m_binCells = new StringCell[bins.length];
+        for (int i = 0; i < m_binCells.length; i++) {
+            m_binCells[i] = new StringCell(bins[i].getBinName());
         }
+        m_lookup = createLookup();
         DataColumnDomain dom =
-            new DataColumnDomainCreator(binNames).createDomain();
+            new DataColumnDomainCreator(m_binCells).createDomain();
         DataColumnSpecCreator specCreator =
             new DataColumnSpecCreator(name, StringCell.TYPE);
         specCreator.setDomain(dom);
@@ -156,14 +164,36 @@ DataCell apply(final DataCell cell) {
         if (cell.isMissing()) {
             return DataType.getMissingCell();
         }
+        if (m_lookup != null) {
+            return m_lookup.apply(((DoubleValue)cell).getDoubleValue());
+        }
+        return applyLinear(cell);
+    }
+
+    /** Checks all bins in order, the first covering one wins. */
+    private DataCell applyLinear(final DataCell cell) {
         for (int i = 0; i < m_bins.length; i++) {
             if (m_bins[i].covers(cell)) {
-                return new StringCell(m_bins[i].getBinName());
+                return m_binCells[i];
             }
         }
         return DataType.getMissingCell();
     }
 
+    /** Compiles the bins into a lookup if the intervals of all bins are known. */
+    private BinLookup createLookup() {
+        final double[] margins = new double[2 * m_bins.length];
+        for (int i = 0; i < m_bins.length; i++) {
+            if (m_bins[i].getClass() != NumericBin.class) {
+                return null;
+            }
+            final NumericBin bin = (NumericBin)m_bins[i];
+            margins[2 * i] = bin.getLeftValue();
+            margins[2 * i + 1] = bin.getRightValue();
+        }
+        return new BinLookup(margins, this::applyLinear);
+    }
+
     /**
      * General bin.
      */
@@ -0,0 +1,307 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.filehandling.core.defaultnodesettings.filechooser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.config.Config;
+import org.knime.filehandling.core.defaultnodesettings.filechooser.reader.FileFilterStatistic;
+import org.knime.filehandling.core.defaultnodesettings.filtermode.FileAndFolderFilter;
+import org.knime.filehandling.core.defaultnodesettings.filtermode.SettingsModelFilterMode;
+import org.knime.filehandling.core.defaultnodesettings.filtermode.SettingsModelFilterMode.FilterMode;
+
+/**
+ * Tests that the {@link ParallelFilterWalker} passes the same paths in the same order to its consumer and computes
+ * the same {@link FileFilterStatistic} as a sequential {@link Files#walkFileTree(Path, java.util.Set, int,
+ * java.nio.file.FileVisitor) walkFileTree} on randomly generated file trees.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class ParallelFilterWalkerTest {
+
+    private static final String CFG_FILTER_MODE = "filter_mode";
+
+    private static final String CFG_FILTER_OPTIONS = "filter_options";
+
+    private static final int NUMBER_OF_TREES = 5;
+
+    private static final int MAX_DEPTH = 4;
+
+    private static final String[] NAMES = {"a", "a-b", "a.txt", "b.csv", "B.TXT", "c1", "d1.txt", "_e", ".hidden",
+        ".h.txt"};
+
+    /**
+     * Temporary folder in which the file trees are generated.
+     */
+    @Rule
+    public final TemporaryFolder m_testFolder = new TemporaryFolder();
+
+    /**
+     * Tests the walker without any filter options, i.e. hidden files and folders are filtered out.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testDefaultFilter() throws Exception {
+        testAllModes(c -> {
+        });
+    }
+
+    /**
+     * Tests the walker if hidden files and folders are included.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testHiddenIncluded() throws Exception {
+        testAllModes(c -> {
+            c.addBoolean("include_hidden_files", true);
+            c.addBoolean("include_hidden_folders", true);
+        });
+    }
+
+    /**
+     * Tests the walker with a file extension and a case sensitive wildcard file name filter.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFileFilters() throws Exception {
+        testAllModes(c -> {
+            c.addBoolean("filter_files_extension", true);
+            c.addString("files_extension_expression", "txt;csv");
+            c.addBoolean("filter_files_name", true);
+            c.addString("files_name_expression", "*a*");
+            c.addBoolean("files_name_case_sensitive", true);
+        });
+    }
+
+    /**
+     * Tests the walker with a folder name filter, which also decides whether the files of a folder are visited.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFolderFilter() throws Exception {
+        testAllModes(c -> {
+            c.addBoolean("filter_folders_name", true);
+            c.addString("folders_name_filter_type", "REGEX");
+            c.addString("folders_name_expression", "(a.*|c1)");
+            c.addBoolean("include_hidden_folders", true);
+        });
+    }
+
+    private void testAllModes(final Consumer<Config> filterOptions) throws IOException, InvalidSettingsException {
+        for (int seed = 0; seed < NUMBER_OF_TREES; seed++) {
+            final Path root = m_testFolder.newFolder("tree" + seed).toPath();
+            createTree(root, new Random(seed), 0);
+            for (final boolean includeSubfolders : new boolean[]{false, true}) {
+                testWalk(root, filterOptions, true, false, includeSubfolders);
+                testWalk(root, filterOptions, false, true, includeSubfolders);
+                testWalk(root, filterOptions, true, true, includeSubfolders);
+            }
+        }
+    }
+
+    private static void testWalk(final Path root, final Consumer<Config> filterOptions, final boolean includeFiles,
+        final boolean includeFolders, final boolean includeSubfolders) throws IOException, InvalidSettingsException {
+        final String mode = String.format("%s (files: %b, folders: %b, subfolders: %b)", root.getFileName(),
+            includeFiles, includeFolders, includeSubfolders);
+
+        // each walk needs its own filter as the filter counts the filtered paths
+        final ReferenceVisitor visitor = new ReferenceVisitor(createFilter(root, filterOptions), includeFiles,
+            includeFolders, includeSubfolders);
+        Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class),
+            includeSubfolders ? Integer.MAX_VALUE : 1, visitor);
+        final List<Path> expected = visitor.getPaths();
+        expected.sort(Comparator.comparing(Path::toString));
+
+        final ParallelFilterWalker walker = new ParallelFilterWalker(createFilter(root, filterOptions), includeFiles,
+            includeFolders, includeSubfolders);
+        final List<Path> actual = new ArrayList<>();
+        walker.walk(root, actual::add);
+
+        assertEquals(mode, expected, actual);
+        assertStatisticEquals(mode, visitor.getFileFilterStatistic(), walker.getFileFilterStatistic());
+    }
+
+    private static FileAndFolderFilter createFilter(final Path root, final Consumer<Config> filterOptions)
+        throws InvalidSettingsException {
+        final SettingsModelFilterMode model = new SettingsModelFilterMode(CFG_FILTER_MODE, FilterMode.FILE);
+        final NodeSettings settings = new NodeSettings("settings");
+        model.saveSettingsTo(settings);
+        filterOptions.accept(settings.getNodeSettings(CFG_FILTER_MODE).getConfig(CFG_FILTER_OPTIONS));
+        model.loadSettingsFrom(settings);
+        return new FileAndFolderFilter(root, model.getFilterOptionsSettings());
+    }
+
+    private static void assertStatisticEquals(final String mode, final FileFilterStatistic expected,
+        final FileFilterStatistic actual) {
+        assertEquals(mode + " filtered files", expected.getFilteredFiles(), actual.getFilteredFiles());
+        assertEquals(mode + " included files", expected.getIncludedFiles(), actual.getIncludedFiles());
+        assertEquals(mode + " visited files", expected.getVisitedFiles(), actual.getVisitedFiles());
+        assertEquals(mode + " filtered folders", expected.getFilteredFolders(), actual.getFilteredFolders());
+        assertEquals(mode + " included folders", expected.getIncludedFolders(), actual.getIncludedFolders());
+        assertEquals(mode + " visited folders", expected.getVisitedFolders(), actual.getVisitedFolders());
+    }
+
+    /**
+     * Creates a random mix of files, folders and symbolic links whose names share prefixes and contain characters
+     * that are ordered before the separator.
+     */
+    private static void createTree(final Path folder, final Random random, final int depth) throws IOException {
+        for (final String name : NAMES) {
+            final int kind = random.nextInt(depth < MAX_DEPTH ? 8 : 4);
+            final Path path = folder.resolve(name);
+            if (kind < 3) {
+                Files.createFile(path);
+            } else if (kind == 3) {
+                createSymbolicLink(path, folder);
+            } else if (kind < 6) {
+                createTree(Files.createDirectory(path), random, depth + 1);
+            } else {
+                // leave this name unused
+            }
+        }
+    }
+
+    private static void createSymbolicLink(final Path link, final Path target) throws IOException {
+        try {
+            Files.createSymbolicLink(link, target);
+        } catch (UnsupportedOperationException | IOException e) { // NOSONAR links are optional
+            // e.g. insufficient privileges on Windows, create a plain file instead
+            Files.createFile(link);
+        }
+    }
+
+    /**
+     * Collects the accepted paths in the order they are visited by
+     * {@link Files#walkFileTree(Path, java.util.Set, int, java.nio.file.FileVisitor)} and computes the statistic the
+     * way the file chooser did before the walk was parallelized.
+     */
+    private static final class ReferenceVisitor extends SimpleFileVisitor<Path> {
+
+        private final FileAndFolderFilter m_filter;
+
+        private final boolean m_includeFiles;
+
+        private final boolean m_includeFolders;
+
+        private final boolean m_includeSubfolders;
+
+        private final List<Path> m_paths = new ArrayList<>();
+
+        private int m_visitedFiles;
+
+        private int m_visitedFolders = -1;
+
+        ReferenceVisitor(final FileAndFolderFilter filter, final boolean includeFiles, final boolean includeFolders,
+            final boolean includeSubfolders) {
+            m_filter = filter;
+            m_includeFiles = includeFiles;
+            m_includeFolders = includeFolders;
+            m_includeSubfolders = includeSubfolders;
+        }
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+            // also called for folders if the max depth is hit
+            if (attrs.isRegularFile() && m_filter.testFolderName(file.getParent())) {
+                m_visitedFiles++;
+                if (m_includeFiles && m_filter.test(file, attrs)) {
+                    m_paths.add(file);
+                }
+            } else if (attrs.isDirectory()) {
+                m_visitedFolders++;
+                if (m_includeFolders && m_filter.test(file, attrs)) {
+                    m_paths.add(file);
+                }
+            }
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+            m_visitedFolders++;
+            // the root folder is ignored
+            if (m_visitedFolders > 0 && m_includeSubfolders && m_includeFolders && m_filter.test(dir, attrs)) {
+                m_paths.add(dir);
+            }
+            return m_visitedFolders == 0 || m_filter.visitFolder(dir) ? FileVisitResult.CONTINUE
+                : FileVisitResult.SKIP_SUBTREE;
+        }
+
+        List<Path> getPaths() {
+            return m_paths;
+        }
+
+        FileFilterStatistic getFileFilterStatistic() {
+            return new FileFilterStatistic(m_filter.getNumberOfFilteredFiles(),
+                m_filter.getNumberOfFilteredHiddenFiles(), m_visitedFiles, m_filter.getNumberOfFilteredFolders(),
+                m_filter.getNumberOfFilteredHiddenFolders(), m_visitedFolders);
+        }
+    }
+
+}
@@ -49,12 +49,11 @@
 package org.knime.filehandling.core.defaultnodesettings.filechooser;
 
 import java.io.IOException;
-import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -78,6 +77,7 @@
 import org.knime.filehandling.core.defaultnodesettings.status.DefaultStatusMessage;
 import org.knime.filehandling.core.defaultnodesettings.status.StatusMessage;
 import org.knime.filehandling.core.defaultnodesettings.status.StatusMessage.MessageType;
+import org.knime.filehandling.core.util.CheckedExceptionConsumer;
 
 /**
  * Allows access to the {@link FSPath FSPaths} referred to by the {@link AbstractSettingsModelFileChooser} provided in
@@ -203,12 +203,25 @@ public final List<FSPath> getFSPaths(final Consumer<StatusMessage> statusMessage
         if (m_filterMode == FilterMode.FILE || m_filterMode == FilterMode.FOLDER) {
             return handleSinglePath(rootPath);
         } else {
-            List<FSPath> fsPaths = walkFileTree(rootPath);
-            FSFiles.sortPathsLexicographically(fsPaths);
+            // the walker passes the paths in lexicographical order
+            final List<FSPath> fsPaths = new ArrayList<>();
+            walkFileTree(rootPath, fsPaths::add);
             return fsPaths;
         }
     }
 
+    @Override
+    public final <E extends Exception> void visitFSPaths(final Consumer<StatusMessage> statusMessageConsumer,
+        final CheckedExceptionConsumer<FSPath, E> pathConsumer) throws IOException, InvalidSettingsException, E {
+        final FSPath rootPath = getRootPath(statusMessageConsumer);
+
+        if (m_filterMode == FilterMode.FILE || m_filterMode == FilterMode.FOLDER) {
+            pathConsumer.accept(handleSinglePath(rootPath).get(0));
+        } else {
+            walkFileTree(rootPath, pathConsumer);
+        }
+    }
+
     private List<FSPath> handleSinglePath(final FSPath rootPath) throws IOException, InvalidSettingsException {
         final BasicFileAttributes attr = Files.readAttributes(rootPath, BasicFileAttributes.class);
         if (m_filterMode == FilterMode.FILE) {
@@ -231,18 +244,14 @@ public FileFilterStatistic getFileFilterStatistic() {
         return m_fileFilterStatistic;
     }
 
-    private List<FSPath> walkFileTree(final Path rootPath) throws IOException, InvalidSettingsException {
+    private <E extends Exception> void walkFileTree(final FSPath rootPath,
+        final CheckedExceptionConsumer<FSPath, E> pathConsumer) throws IOException, InvalidSettingsException, E {
         final BasicFileAttributes attrs = Files.readAttributes(rootPath, BasicFileAttributes.class);
         checkIsFolder(rootPath, attrs);
-        final FilterVisitor visitor = createVisitor(rootPath);
-        final boolean includeSubfolders = m_settings.getFilterModeModel().isIncludeSubfolders();
-        Files.walkFileTree(rootPath, EnumSet.noneOf(FileVisitOption.class), includeSubfolders ? Integer.MAX_VALUE : 1,
-            visitor);
-        m_fileFilterStatistic = visitor.getFileFilterStatistic();
-        final List<?> paths = visitor.getPaths();
-        @SuppressWarnings("unchecked") // we know it better
-        final List<FSPath> fsPaths = (List<FSPath>)paths;
-        return fsPaths;
+        final ParallelFilterWalker walker = createWalker(rootPath);
+        // the walker only encounters paths of the root's file system
+        walker.walk(rootPath, p -> pathConsumer.accept((FSPath)p));
+        m_fileFilterStatistic = walker.getFileFilterStatistic();
     }
 
     private static void checkIsFolder(final Path rootPath, final BasicFileAttributes attrs)
@@ -250,17 +259,17 @@ private static void checkIsFolder(final Path rootPath, final BasicFileAttributes
         CheckUtils.checkSetting(attrs.isDirectory(), "%s is not a folder. Please specify a folder.", rootPath);
     }
 
-    private FilterVisitor createVisitor(final Path rootPath) {
+    private ParallelFilterWalker createWalker(final Path rootPath) {
         final SettingsModelFilterMode settings = m_settings.getFilterModeModel();
         final boolean includeSubfolders = settings.isIncludeSubfolders();
         final FileAndFolderFilter filter = new FileAndFolderFilter(rootPath, settings.getFilterOptionsSettings());
         switch (m_filterMode) {
             case FILES_AND_FOLDERS:
-                return new FilterVisitor(filter, true, true, includeSubfolders);
+                return new ParallelFilterWalker(filter, true, true, includeSubfolders);
             case FILES_IN_FOLDERS:
-                return new FilterVisitor(filter, true, false, includeSubfolders);
+                return new ParallelFilterWalker(filter, true, false, includeSubfolders);
             case FOLDERS:
-                return new FilterVisitor(filter, false, true, includeSubfolders);
+                return new ParallelFilterWalker(filter, false, true, includeSubfolders);
             case FOLDER:
             case FILE:
                 throw new IllegalStateException(
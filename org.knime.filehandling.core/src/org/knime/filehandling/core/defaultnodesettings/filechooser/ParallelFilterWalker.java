@@ -0,0 +1,317 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.filehandling.core.defaultnodesettings.filechooser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.defaultnodesettings.ExceptionUtil;
+import org.knime.filehandling.core.defaultnodesettings.filechooser.reader.FileFilterStatistic;
+import org.knime.filehandling.core.defaultnodesettings.filtermode.FileAndFolderFilter;
+import org.knime.filehandling.core.util.CheckedExceptionConsumer;
+
+/**
+ * Walks a file tree and uses a {@link FileAndFolderFilter} to filter the observed files and folders.</br>
+ * The folders are listed concurrently in a sub pool of the {@link KNIMEConstants#GLOBAL_THREAD_POOL}, which respects
+ * the configured thread limit, while the accepted files/folders are passed to a consumer in lexicographical order,
+ * i.e. the order of {@link Path#toString()}, as soon as all folders that might contain smaller paths have been
+ * listed.</br>
+ * The files and folders are visited as {@link Files#walkFileTree(Path, java.util.Set, int, java.nio.file.FileVisitor)}
+ * without following links would visit them: If a folder is filtered out, its subtree is skipped. The walker keeps
+ * track of the number of visited files and folders, as well as the number of filtered out files and folders, which can
+ * be retrieved via the getFileFilterStatistic() method after the walk completes.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class ParallelFilterWalker {
+
+    private final FileAndFolderFilter m_filter;
+
+    private final boolean m_includeFiles;
+
+    private final boolean m_includeFolders;
+
+    private final boolean m_includeSubfolders;
+
+    private final int m_maxDepth;
+
+    private final AtomicInteger m_visitedFiles = new AtomicInteger();
+
+    private final AtomicInteger m_visitedFolders = new AtomicInteger();
+
+    /**
+     * Constructor.
+     *
+     * @param filter for filtering files and folders
+     * @param includeFiles whether files should be passed to the consumer
+     * @param includeFolders whether folders should be passed to the consumer
+     * @param includeSubfolders whether the subfolders should be walked as well
+     */
+    ParallelFilterWalker(final FileAndFolderFilter filter, final boolean includeFiles, final boolean includeFolders,
+        final boolean includeSubfolders) {
+        m_filter = filter;
+        m_includeFiles = includeFiles;
+        m_includeFolders = includeFolders;
+        m_includeSubfolders = includeSubfolders;
+        m_maxDepth = includeSubfolders ? Integer.MAX_VALUE : 1;
+    }
+
+    /**
+     * Walks the file tree starting at the provided root folder, which itself is not passed to the consumer.
+     *
+     * @param rootPath the folder to start from
+     * @param pathConsumer consumes the accepted paths in lexicographical order
+     * @throws IOException if a folder could not be listed or the attributes of a path could not be read
+     * @throws E if the consumer throws an exception
+     */
+    <E extends Exception> void walk(final Path rootPath, final CheckedExceptionConsumer<Path, E> pathConsumer)
+        throws IOException, E {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final PriorityQueue<Entry> queue = new PriorityQueue<>();
+        try {
+            queue.add(new Entry(rootPath, pool.enqueue(new ListFolderTask(pool, rootPath, 0, true))));
+            while (!queue.isEmpty()) {
+                final Entry entry = queue.poll();
+                if (entry.m_listing == null) {
+                    pathConsumer.accept(entry.m_path);
+                } else {
+                    // all paths inside the folder are larger than the entries that have been consumed so far
+                    queue.addAll(getListing(entry.m_listing).getEntries());
+                }
+            }
+        } finally {
+            // stop listing the remaining folders if the consumer or a listing failed
+            for (final Entry entry : queue) {
+                if (entry.m_listing != null) {
+                    entry.m_listing.cancel(true);
+                }
+            }
+        }
+    }
+
+    private static Listing getListing(final Future<Listing> listing) throws InterruptedIOException {
+        try {
+            return listing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException ex = new InterruptedIOException("Listing the folders has been interrupted.");
+            ex.initCause(e);
+            throw ex;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    FileFilterStatistic getFileFilterStatistic() {
+        return new FileFilterStatistic(m_filter.getNumberOfFilteredFiles(), m_filter.getNumberOfFilteredHiddenFiles(),
+            m_visitedFiles.get(), m_filter.getNumberOfFilteredFolders(), m_filter.getNumberOfFilteredHiddenFolders(),
+            m_visitedFolders.get());
+    }
+
+    /**
+     * Either a path that is passed to the consumer, or the pending listing of a folder. A folder is ordered by its
+     * path followed by the separator, which is a prefix of all paths inside the folder.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private final Path m_path;
+
+        private final String m_key;
+
+        private final Future<Listing> m_listing;
+
+        Entry(final Path path) {
+            m_path = path;
+            m_key = path.toString();
+            m_listing = null;
+        }
+
+        Entry(final Path folder, final Future<Listing> listing) {
+            m_path = folder;
+            final String path = folder.toString();
+            final String separator = folder.getFileSystem().getSeparator();
+            m_key = path.endsWith(separator) ? path : (path + separator);
+            m_listing = listing;
+        }
+
+        @Override
+        public int compareTo(final Entry o) {
+            return m_key.compareTo(o.m_key);
+        }
+    }
+
+    /**
+     * The entries found in a folder, or the exception that occurred while listing it.
+     */
+    private static final class Listing {
+
+        private final List<Entry> m_entries;
+
+        private final IOException m_exception;
+
+        Listing(final List<Entry> entries) {
+            m_entries = entries;
+            m_exception = null;
+        }
+
+        Listing(final IOException exception) {
+            m_entries = null;
+            m_exception = exception;
+        }
+
+        List<Entry> getEntries() throws IOException {
+            if (m_exception != null) {
+                throw m_exception;
+            }
+            return m_entries;
+        }
+    }
+
+    /**
+     * Lists a folder and enqueues the listing of its subfolders in the same pool.
+     */
+    private final class ListFolderTask implements Callable<Listing> {
+
+        private final ThreadPool m_pool;
+
+        private final Path m_folder;
+
+        private final int m_depth;
+
+        private final boolean m_visit;
+
+        /**
+         * @param pool the pool to list the subfolders in
+         * @param folder the folder to list
+         * @param depth the depth of the folder, the root folder has depth 0
+         * @param visit whether the folder content is visited, otherwise the folder is only opened as
+         *            {@link Files#walkFileTree(Path, java.util.Set, int, java.nio.file.FileVisitor)} does
+         */
+        ListFolderTask(final ThreadPool pool, final Path folder, final int depth, final boolean visit) {
+            m_pool = pool;
+            m_folder = folder;
+            m_depth = depth;
+            m_visit = visit;
+        }
+
+        @Override
+        public Listing call() {
+            final DirectoryStream<Path> stream;
+            try {
+                stream = Files.newDirectoryStream(m_folder);
+            } catch (IOException e) {
+                return new Listing(ExceptionUtil.wrapIOException(e));
+            }
+            final List<Entry> entries = new ArrayList<>();
+            try (final DirectoryStream<Path> s = stream) {
+                if (m_visit) {
+                    for (final Path path : s) {
+                        visit(path, entries);
+                    }
+                }
+            } catch (IOException e) {
+                return new Listing(e);
+            } catch (DirectoryIteratorException e) {
+                return new Listing(e.getCause());
+            }
+            return new Listing(entries);
+        }
+
+        private void visit(final Path path, final List<Entry> entries) throws IOException {
+            final BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (IOException e) {
+                throw ExceptionUtil.wrapIOException(e);
+            }
+            if (attrs.isDirectory() && m_depth + 1 < m_maxDepth) {
+                // corresponds to FileVisitor#preVisitDirectory
+                m_visitedFolders.incrementAndGet();
+                if (m_includeSubfolders && m_includeFolders && m_filter.test(path, attrs)) {
+                    entries.add(new Entry(path));
+                }
+                final ListFolderTask task =
+                    new ListFolderTask(m_pool, path, m_depth + 1, m_filter.visitFolder(path));
+                entries.add(new Entry(path, m_pool.enqueue(task)));
+            } else if (attrs.isRegularFile() && m_filter.testFolderName(path.getParent())) {
+                // corresponds to FileVisitor#visitFile, which is also called for folders if max depth is hit
+                m_visitedFiles.incrementAndGet();
+                if (m_includeFiles && m_filter.test(path, attrs)) {
+                    entries.add(new Entry(path));
+                }
+            } else if (attrs.isDirectory()) {
+                m_visitedFolders.incrementAndGet();
+                if (m_includeFolders && m_filter.test(path, attrs)) {
+                    entries.add(new Entry(path));
+                }
+            } else {
+                // we only care for files and folders
+            }
+        }
+    }
+
+}
@@ -58,6 +58,7 @@
 import org.knime.core.node.InvalidSettingsException;
 import org.knime.filehandling.core.connections.FSPath;
 import org.knime.filehandling.core.defaultnodesettings.status.StatusMessage;
+import org.knime.filehandling.core.util.CheckedExceptionConsumer;
 
 /**
  * Allows to access {@link FSPath} objects in reader nodes.
@@ -98,6 +99,26 @@ default List<Path> getPaths(final Consumer<StatusMessage> statusMessageConsumer)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Passes the {@link FSPath paths} corresponding to the settings provided in the constructor to the provided
+     * consumer in lexicographical order.</br>
+     * In contrast to {@link #getFSPaths(Consumer)} implementations may pass the first paths while the remaining paths
+     * are still being listed, which allows nodes to process the paths incrementally.
+     *
+     * @param statusMessageConsumer for communicating non-fatal errors and warnings
+     * @param pathConsumer consumes the paths corresponding to the settings
+     * @param <E> the exception thrown by the path consumer
+     * @throws IOException if an I/O problem occurs while listing the files
+     * @throws InvalidSettingsException if the settings are invalid e.g. the root path is invalid
+     * @throws E if the path consumer throws an exception
+     */
+    default <E extends Exception> void visitFSPaths(final Consumer<StatusMessage> statusMessageConsumer,
+        final CheckedExceptionConsumer<FSPath, E> pathConsumer) throws IOException, InvalidSettingsException, E {
+        for (final FSPath path : getFSPaths(statusMessageConsumer)) {
+            pathConsumer.accept(path);
+        }
+    }
+
     /**
      * Returns the root {@link FSPath} from which {@link #getFSPaths(Consumer)} starts its search.
      *
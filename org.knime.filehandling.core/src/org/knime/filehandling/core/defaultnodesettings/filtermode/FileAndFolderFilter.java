@@ -54,6 +54,7 @@
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -145,17 +146,19 @@ public boolean isDefault() {
         }
     }
 
+    // the counters are atomic since the filter might be used by several threads when walking a file tree
+
     /** Total number of filtered files */
-    private int m_numberOfFilteredFiles;
+    private final AtomicInteger m_numberOfFilteredFiles = new AtomicInteger();
 
     /** Total number of filtered folders */
-    private int m_numberOfFilteredFolders;
+    private final AtomicInteger m_numberOfFilteredFolders = new AtomicInteger();
 
     /** Total number of hidden files. */
-    private int m_numberOfFilteredHiddenFiles;
+    private final AtomicInteger m_numberOfFilteredHiddenFiles = new AtomicInteger();
 
     /** Total number of hidden folders. */
-    private int m_numberOfFilteredHiddenFolders;
+    private final AtomicInteger m_numberOfFilteredHiddenFolders = new AtomicInteger();
 
     private final FilterOptionsSettings m_filterOptionsSettings;
 
@@ -198,7 +201,7 @@ private boolean isSatisfiedFileHidden(final Path path) {
         try {
             final boolean accept = m_filterOptionsSettings.isIncludeHiddenFiles() || !Files.isHidden(path);
             if (!accept) {
-                ++m_numberOfFilteredHiddenFiles;
+                m_numberOfFilteredHiddenFiles.incrementAndGet();
             }
             return accept;
         } catch (final IOException ex) {
@@ -210,7 +213,7 @@ private boolean isSatisfiedFolderHidden(final Path path, final boolean incCounte
         try {
             final boolean accept = m_filterOptionsSettings.isIncludeHiddenFolders() || !Files.isHidden(path);
             if (incCounter && !accept) {
-                ++m_numberOfFilteredHiddenFolders;
+                m_numberOfFilteredHiddenFolders.incrementAndGet();
             }
             return accept;
         } catch (final IOException ex) {
@@ -230,7 +233,7 @@ private boolean isSatisfiedFileExtension(final Path path) {
             accept = m_extensions.stream().anyMatch(ext -> pathAsString.toLowerCase().endsWith(ext.toLowerCase()));
         }
         if (!accept) {
-            m_numberOfFilteredFiles++;
+            m_numberOfFilteredFiles.incrementAndGet();
         }
         return accept;
     }
@@ -242,7 +245,7 @@ private boolean isSatisfiedFileName(final Path path) {
         final String pathAsString = path.getFileName().toString();
         final boolean accept = m_regexFileName.matcher(pathAsString).matches();
         if (!accept) {
-            m_numberOfFilteredFiles++;
+            m_numberOfFilteredFiles.incrementAndGet();
         }
 
         return accept;
@@ -255,7 +258,7 @@ private boolean isSatisfiedFolderName(final Path path, final boolean incCounter)
         final String pathAsString = m_rootPath.relativize(path).toString();
         final boolean accept = m_regexFolderName.matcher(pathAsString).matches();
         if (incCounter && !accept) {
-            m_numberOfFilteredFolders++;
+            m_numberOfFilteredFolders.incrementAndGet();
         }
         return accept;
     }
@@ -266,7 +269,7 @@ private boolean isSatisfiedFolderName(final Path path, final boolean incCounter)
      * @return the number of filtered files
      */
     public int getNumberOfFilteredFiles() {
-        return m_numberOfFilteredFiles;
+        return m_numberOfFilteredFiles.get();
     }
 
     /**
@@ -275,7 +278,7 @@ public int getNumberOfFilteredFiles() {
      * @return the number of filtered folders
      */
     public int getNumberOfFilteredFolders() {
-        return m_numberOfFilteredFolders;
+        return m_numberOfFilteredFolders.get();
     }
 
     /**
@@ -284,7 +287,7 @@ public int getNumberOfFilteredFolders() {
      * @return the number of filtered hidden files
      */
     public int getNumberOfFilteredHiddenFiles() {
-        return m_numberOfFilteredHiddenFiles;
+        return m_numberOfFilteredHiddenFiles.get();
     }
 
     /**
@@ -293,7 +296,7 @@ public int getNumberOfFilteredHiddenFiles() {
      * @return the number of filtered hidden folders
      */
     public int getNumberOfFilteredHiddenFolders() {
-        return m_numberOfFilteredHiddenFolders;
+        return m_numberOfFilteredHiddenFolders.get();
     }
 
     /**
@@ -320,8 +323,8 @@ public boolean visitFolder(final Path folder) {
      * Resets the counters of filtered files and filtered folders.
      */
     public void resetCounter() {
-        m_numberOfFilteredFiles = 0;
-        m_numberOfFilteredFolders = 0;
+        m_numberOfFilteredFiles.set(0);
+        m_numberOfFilteredFolders.set(0);
     }
 
     @Override
@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.filehandling.utility.nodes.transfer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.filestore.FileStoreFactory;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.filehandling.core.connections.FSCategory;
+import org.knime.filehandling.core.connections.FSLocation;
+import org.knime.filehandling.core.data.location.cell.FSLocationCellFactory;
+import org.knime.filehandling.core.defaultnodesettings.filechooser.writer.FileOverwritePolicy;
+import org.knime.filehandling.utility.nodes.utils.FileStatus;
+
+/**
+ * Tests the {@link PathCopier} for the different {@link FileOverwritePolicy FileOverwritePolicies} with more files
+ * than are copied concurrently.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public final class PathCopierTest {
+
+    private static final int NUMBER_OF_FILES = 30;
+
+    private static final int NUMBER_OF_SUBFOLDER_FILES = 5;
+
+    /** the indices of the source paths whose destination exists before copying */
+    private static final List<Integer> EXISTING = Arrays.asList(5, 17, 29);
+
+    /** the index of the source path of the folder */
+    private static final int FOLDER_IDX = NUMBER_OF_FILES;
+
+    /** the folder containing the source and the destination folder */
+    @Rule
+    public final TemporaryFolder m_tempFolder = new TemporaryFolder();
+
+    private Path m_source;
+
+    private Path m_destination;
+
+    private final List<Path> m_sourcePaths = new ArrayList<>();
+
+    private final List<DataRow> m_rows = new ArrayList<>();
+
+    /**
+     * Creates the source files, a folder with further files, and the destination files that exist already.
+     *
+     * @throws IOException if a file cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        m_source = m_tempFolder.newFolder("source").toPath();
+        m_destination = m_tempFolder.newFolder("destination").toPath();
+        for (int i = 0; i < NUMBER_OF_FILES; i++) {
+            m_sourcePaths.add(write(m_source.resolve("file" + i + ".txt"), "source " + i));
+        }
+        final Path folder = Files.createDirectory(m_source.resolve("folder"));
+        m_sourcePaths.add(folder);
+        for (int i = 0; i < NUMBER_OF_SUBFOLDER_FILES; i++) {
+            m_sourcePaths.add(write(folder.resolve("file" + i + ".txt"), "folder source " + i));
+        }
+        for (final int idx : EXISTING) {
+            write(getDestination(m_sourcePaths.get(idx)), "existing");
+        }
+    }
+
+    /**
+     * Tests that existing files are overwritten.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testOverwrite() throws Exception {
+        copy(FileOverwritePolicy.OVERWRITE);
+        assertEquals(m_sourcePaths.size(), m_rows.size());
+        for (int i = 0; i < m_sourcePaths.size(); i++) {
+            final FileStatus status = EXISTING.contains(i) ? FileStatus.OVERWRITTEN : FileStatus.CREATED;
+            assertRow(i, status);
+            if (i != FOLDER_IDX) {
+                assertEquals(read(m_sourcePaths.get(i)), read(getDestination(m_sourcePaths.get(i))));
+            }
+        }
+    }
+
+    /**
+     * Tests that existing files are left unmodified.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testIgnore() throws Exception {
+        copy(FileOverwritePolicy.IGNORE);
+        assertEquals(m_sourcePaths.size(), m_rows.size());
+        for (int i = 0; i < m_sourcePaths.size(); i++) {
+            final FileStatus status = EXISTING.contains(i) ? FileStatus.UNMODIFIED : FileStatus.CREATED;
+            assertRow(i, status);
+            if (i != FOLDER_IDX) {
+                assertEquals(EXISTING.contains(i) ? "existing" : read(m_sourcePaths.get(i)),
+                    read(getDestination(m_sourcePaths.get(i))));
+            }
+        }
+    }
+
+    /**
+     * Tests that the copying stops at the first existing file, i.e. the preceding files are copied and none of the
+     * following paths.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testFail() throws Exception {
+        try {
+            copy(FileOverwritePolicy.FAIL);
+            fail("Existing file has been overwritten");
+        } catch (IOException e) { // NOSONAR expected
+        }
+        final int firstExisting = EXISTING.get(0);
+        assertEquals(firstExisting, m_rows.size());
+        for (int i = 0; i < m_sourcePaths.size(); i++) {
+            final Path destination = getDestination(m_sourcePaths.get(i));
+            if (i < firstExisting) {
+                assertRow(i, FileStatus.CREATED);
+                assertEquals(read(m_sourcePaths.get(i)), read(destination));
+            } else if (EXISTING.contains(i)) {
+                assertEquals("existing", read(destination));
+            } else {
+                assertFalse("Path " + i + " has been copied after the failure", Files.exists(destination));
+            }
+        }
+    }
+
+    private void copy(final FileOverwritePolicy policy) throws IOException, CanceledExecutionException {
+        final FileStoreFactory fileStoreFactory = FileStoreFactory.createNotInWorkflowFileStoreFactory();
+        final PathCopier copier = new PathCopier(m_rows::add,
+            new FSLocationCellFactory(fileStoreFactory, new FSLocation(FSCategory.LOCAL, m_source.toString())),
+            new FSLocationCellFactory(fileStoreFactory, new FSLocation(FSCategory.LOCAL, m_destination.toString())),
+            policy);
+        copier.copyPaths(m_sourcePaths, this::getDestination, new ExecutionMonitor());
+    }
+
+    private void assertRow(final int idx, final FileStatus status) {
+        final DataRow row = m_rows.get(idx);
+        assertEquals("Row" + idx, row.getKey().getString());
+        assertEquals("Status of path " + idx, status.getText(), ((StringValue)row.getCell(3)).getStringValue());
+    }
+
+    private Path getDestination(final Path source) {
+        return m_destination.resolve(m_source.relativize(source).toString());
+    }
+
+    private static Path write(final Path path, final String content) throws IOException {
+        return Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(final Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
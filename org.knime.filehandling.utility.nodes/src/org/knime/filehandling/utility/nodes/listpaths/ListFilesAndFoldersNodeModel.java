@@ -53,7 +53,6 @@
 import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.EnumSet;
-import java.util.List;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -189,37 +188,49 @@ public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final
     private void writeOutput(final RowOutput rowOutput, final ExecutionContext exec)
         throws IOException, InvalidSettingsException, InterruptedException, CanceledExecutionException {
         try (final ReadPathAccessor accessor = m_config.getFileChooserSettings().createReadPathAccessor()) {
-            final List<FSPath> fsPaths = accessor.getFSPaths(m_statusConsumer);
+            final FSLocationCellFactory locationFactory = new FSLocationCellFactory(
+                FileStoreFactory.createFileStoreFactory(exec), m_config.getFileChooserSettings().getLocation());
+            final long[] rec = new long[1];
             if (m_config.includeRootDir()) {
                 // paths are sorted lexicographically so the selected folder is the first value
-                fsPaths.add(0, accessor.getRootPath(m_statusConsumer));
+                pushRow(rowOutput, exec, locationFactory, accessor.getRootPath(m_statusConsumer), rec);
             }
-            m_statusConsumer.setWarningsIfRequired(this::setWarningMessage);
-            long rec = 0;
-            final int numEntries = fsPaths.size();
-            final FSLocationCellFactory locationFactory = new FSLocationCellFactory(
-                FileStoreFactory.createFileStoreFactory(exec), m_config.getFileChooserSettings().getLocation());
-
-            for (final FSPath p : fsPaths) {
-                final FSLocationCell locationCell = locationFactory.createCell(p.toFSLocation());
-                final DataCell[] cells;
-                if (m_config.addDirIndicatorColumn()) {
-                    cells = new DataCell[]{locationCell, createDirCell(p)};
-                } else {
-                    cells = new DataCell[]{locationCell};
-                }
-                rowOutput.push(new DefaultRow(RowKey.createRowKey(rec), cells));
-                rec++;
-                final long curEntry = rec;
-                exec.checkCanceled();
-                exec.setProgress(rec / (double)numEntries,
-                    () -> String.format("Processing entry %d out of %d", curEntry, numEntries));
+            try {
+                // the rows are pushed while the remaining folders are still being listed
+                accessor.visitFSPaths(m_statusConsumer, p -> pushRow(rowOutput, exec, locationFactory, p, rec));
+            } catch (IOException | InvalidSettingsException | InterruptedException | CanceledExecutionException
+                    | RuntimeException e) {
+                throw e;
+            } catch (Exception e) { // NOSONAR pushRow throws no other checked exceptions
+                throw new IllegalStateException(e);
             }
+            m_statusConsumer.setWarningsIfRequired(this::setWarningMessage);
         } finally {
             rowOutput.close();
         }
     }
 
+    /**
+     * Pushes the row of the given path and reports the number of rows pushed so far, the total number is unknown
+     * while the file tree is listed.
+     */
+    private void pushRow(final RowOutput rowOutput, final ExecutionContext exec,
+        final FSLocationCellFactory locationFactory, final FSPath p, final long[] rec)
+        throws IOException, InterruptedException, CanceledExecutionException {
+        final FSLocationCell locationCell = locationFactory.createCell(p.toFSLocation());
+        final DataCell[] cells;
+        if (m_config.addDirIndicatorColumn()) {
+            cells = new DataCell[]{locationCell, createDirCell(p)};
+        } else {
+            cells = new DataCell[]{locationCell};
+        }
+        rowOutput.push(new DefaultRow(RowKey.createRowKey(rec[0]), cells));
+        rec[0]++;
+        final long curEntry = rec[0];
+        exec.checkCanceled();
+        exec.setMessage(() -> String.format("Processing entry %d", curEntry));
+    }
+
     private static DataCell createDirCell(final FSPath p) throws IOException {
         return BooleanCellFactory
             .create(Files.readAttributes(p, BasicFileAttributes.class).isDirectory());
@@ -53,8 +53,21 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -68,6 +81,8 @@
 import org.knime.core.data.def.StringCell;
 import org.knime.core.data.def.StringCell.StringCellFactory;
 import org.knime.core.data.filestore.FileStoreFactory;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.NodeLogger;
 import org.knime.filehandling.core.connections.FSFiles;
 import org.knime.filehandling.core.connections.FSLocation;
@@ -101,9 +116,12 @@ final class PathCopier {
 
     private static final int STATUS_COL_IDX = 3;
 
-    private final Consumer<DataRow> m_rowConsumer;
+    /** the maximum number of files that are copied concurrently */
+    private static final int NUMBER_OF_THREADS = 8;
+
+    private static final long CANCEL_CHECK_INTERVAL_MS = 500;
 
-    private final TransferFilesNodeConfig m_config;
+    private final Consumer<DataRow> m_rowConsumer;
 
     private final FSLocationCellFactory m_sourceFSLocationCellFactory;
 
@@ -113,6 +131,9 @@ final class PathCopier {
 
     private final TransferFunction m_copyFunction;
 
+    /** the destination folders that are known to exist */
+    private final Set<Path> m_existingDirectories = ConcurrentHashMap.newKeySet();
+
     /**
      * Constructor.
      *
@@ -123,13 +144,26 @@ final class PathCopier {
      */
     PathCopier(final Consumer<DataRow> rowConsumer, final TransferFilesNodeConfig config,
         final FileStoreFactory fileStoreFactory) {
+        this(rowConsumer,
+            new FSLocationCellFactory(fileStoreFactory, config.getSourceFileChooserModel().getLocation()),
+            new FSLocationCellFactory(fileStoreFactory, config.getDestinationFileChooserModel().getLocation()),
+            config.getDestinationFileChooserModel().getFileOverwritePolicy());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rowConsumer the {@link Consumer} of {@link DataRow}
+     * @param sourceFSLocationCellFactory the {@link FSLocationCellFactory} for the source paths
+     * @param destinationFSLocationCellFactory the {@link FSLocationCellFactory} for the destination paths
+     * @param fileOverWritePolicy the {@link FileOverwritePolicy}
+     */
+    PathCopier(final Consumer<DataRow> rowConsumer, final FSLocationCellFactory sourceFSLocationCellFactory,
+        final FSLocationCellFactory destinationFSLocationCellFactory, final FileOverwritePolicy fileOverWritePolicy) {
         m_rowConsumer = rowConsumer;
-        m_config = config;
-        m_sourceFSLocationCellFactory =
-            new FSLocationCellFactory(fileStoreFactory, m_config.getSourceFileChooserModel().getLocation());
-        m_destinationFSLocationCellFactory =
-            new FSLocationCellFactory(fileStoreFactory, m_config.getDestinationFileChooserModel().getLocation());
-        m_fileOverWritePolicy = m_config.getDestinationFileChooserModel().getFileOverwritePolicy();
+        m_sourceFSLocationCellFactory = sourceFSLocationCellFactory;
+        m_destinationFSLocationCellFactory = destinationFSLocationCellFactory;
+        m_fileOverWritePolicy = fileOverWritePolicy;
         m_copyFunction = getCopyFunction(m_fileOverWritePolicy);
     }
 
@@ -226,52 +260,144 @@ static boolean createDirectories(final Path path) throws IOException {
     }
 
     /**
-     * Copies a file or folder from a source to a specified destination.
+     * Copies the files and folders from their source to the respective destination. Folders are created in the order
+     * of the source paths, while files are copied concurrently by a bounded number of threads. The rows are pushed in
+     * the order of the source paths. If the copying must fail for existing files, the paths are copied one after
+     * another, as no file must be copied after the first existing one.
      *
-     * @param sourcePath the source {@link Path}
-     * @param destinationPath the destination {@link Path}
-     * @param rowIdx the current row index
+     * @param sourcePaths the source {@link Path}s
+     * @param destinationResolver the {@link Function} mapping a source {@link Path} to its destination {@link Path}
+     * @param exec the {@link ExecutionMonitor}
      * @throws IOException
+     * @throws CanceledExecutionException
      */
-    void copyPath(final Path sourcePath, final Path destinationPath, final long rowIdx) throws IOException {
-        if (FSFiles.isDirectory(sourcePath)) {
-            copyDirectories(sourcePath, destinationPath, rowIdx);
-        } else {
-            copyFiles(sourcePath, destinationPath, rowIdx);
+    void copyPaths(final List<? extends Path> sourcePaths, final Function<Path, Path> destinationResolver,
+        final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+        if (m_fileOverWritePolicy == FileOverwritePolicy.FAIL) {
+            copyPathsSequentially(sourcePaths, destinationResolver, exec);
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        final Deque<PendingCopy> pending = new ArrayDeque<>();
+        final long noPaths = sourcePaths.size();
+        try {
+            long rowIdx = 0;
+            for (final Path sourcePath : sourcePaths) {
+                final Path destinationPath = destinationResolver.apply(sourcePath);
+                if (FSFiles.isDirectory(sourcePath)) {
+                    // files that are still copied must not create the folder before its status is determined
+                    while (containsCopyInto(pending, destinationPath)) {
+                        pushNext(pending, exec, noPaths);
+                    }
+                    // the folder is created right away, but its row must wait for the preceding files
+                    pending.add(new PendingCopy(rowIdx, sourcePath, destinationPath, true,
+                        CompletableFuture.completedFuture(copyDirectories(destinationPath))));
+                } else {
+                    pending.add(new PendingCopy(rowIdx, sourcePath, destinationPath, false,
+                        executor.submit(() -> copyFiles(sourcePath, destinationPath))));
+                }
+                // bound the number of copies that are in flight
+                while (pending.size() > 2 * NUMBER_OF_THREADS) {
+                    pushNext(pending, exec, noPaths);
+                }
+                exec.checkCanceled();
+                rowIdx++;
+            }
+            while (!pending.isEmpty()) {
+                pushNext(pending, exec, noPaths);
+            }
+        } finally {
+            // copies that did not start yet are dropped, running copies are not interrupted as this could leave
+            // truncated files behind
+            pending.forEach(p -> p.m_future.cancel(false));
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+    }
+
+    private void copyPathsSequentially(final List<? extends Path> sourcePaths,
+        final Function<Path, Path> destinationResolver, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final long noPaths = sourcePaths.size();
+        long rowIdx = 0;
+        for (final Path sourcePath : sourcePaths) {
+            final Path destinationPath = destinationResolver.apply(sourcePath);
+            if (FSFiles.isDirectory(sourcePath)) {
+                pushPathRow(rowIdx, sourcePath, destinationPath, true, copyDirectories(destinationPath));
+            } else {
+                pushPathRow(rowIdx, sourcePath, destinationPath, false, copyFiles(sourcePath, destinationPath));
+            }
+            setProgress(exec, rowIdx + 1, noPaths);
+            exec.checkCanceled();
+            rowIdx++;
         }
     }
 
+    private static void awaitTermination(final ExecutorService executor) {
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean containsCopyInto(final Deque<PendingCopy> pending, final Path directory) {
+        return pending.stream().anyMatch(p -> !p.m_isDirectory && p.m_destinationPath.startsWith(directory));
+    }
+
+    /**
+     * Waits for the oldest pending copy to finish and pushes its row.
+     */
+    private void pushNext(final Deque<PendingCopy> pending, final ExecutionMonitor exec, final long noPaths)
+        throws IOException, CanceledExecutionException {
+        final PendingCopy copy = pending.poll();
+        pushPathRow(copy.m_rowIdx, copy.m_sourcePath, copy.m_destinationPath, copy.m_isDirectory, copy.get(exec));
+        setProgress(exec, copy.m_rowIdx + 1, noPaths);
+    }
+
+    private void pushPathRow(final long rowIdx, final Path sourcePath, final Path destinationPath,
+        final boolean isDirectory, final FileStatus fileStatus) {
+        if (fileStatus != null) {
+            pushRow(rowIdx, m_sourceFSLocationCellFactory.createCell(sourcePath.toString()),
+                m_destinationFSLocationCellFactory.createCell(destinationPath.toString()), isDirectory,
+                fileStatus.getText());
+        }
+    }
+
+    private static void setProgress(final ExecutionMonitor exec, final long copiedPaths, final long noPaths) {
+        exec.setProgress(copiedPaths / (double)noPaths, () -> ("Copied files/folder :" + copiedPaths));
+    }
+
     /**
      * Copies a directory.
      *
-     * @param sourcePath the source {@link Path}
      * @param destinationPath the destination {@link Path}
-     * @param rowIdx the current row index
+     * @return the {@link FileStatus}
      * @throws IOException
      */
-    private void copyDirectories(final Path sourcePath, final Path destinationPath, final long rowIdx)
-        throws IOException {
+    private FileStatus copyDirectories(final Path destinationPath) throws IOException {
         final boolean existed = createDirectories(destinationPath);
-        final FileStatus fileStatus = existed ? FileStatus.ALREADY_EXISTED : FileStatus.CREATED;
-
-        pushRow(rowIdx, m_sourceFSLocationCellFactory.createCell(sourcePath.toString()),
-            m_destinationFSLocationCellFactory.createCell(destinationPath.toString()), true, fileStatus.getText());
+        m_existingDirectories.add(destinationPath);
+        return existed ? FileStatus.ALREADY_EXISTED : FileStatus.CREATED;
     }
 
     /**
-     * Copies a file.
+     * Copies a file. This method is called concurrently.
      *
      * @param sourcePath the source {@link Path}
      * @param destinationPath the destination {@link Path}
-     * @param rowIdx the current row index
+     * @return the {@link FileStatus} or {@code null} if no row must be created for this file
      * @throws IOException
      */
-    private void copyFiles(final Path sourcePath, final Path destinationPath, final long rowIdx) throws IOException {
-        createDirectories(destinationPath.getParent());
+    private FileStatus copyFiles(final Path sourcePath, final Path destinationPath) throws IOException {
+        final Path parent = destinationPath.getParent();
+        // the parent folder is shared by many files, it is only checked and created once
+        if (!m_existingDirectories.contains(parent)) {
+            createDirectories(parent);
+            m_existingDirectories.add(parent);
+        }
         try {
-            final FileStatus fileStatus = m_copyFunction.apply(sourcePath, destinationPath);
-            pushRow(rowIdx, m_sourceFSLocationCellFactory.createCell(sourcePath.toString()),
-                m_destinationFSLocationCellFactory.createCell(destinationPath.toString()), false, fileStatus.getText());
+            return m_copyFunction.apply(sourcePath, destinationPath);
         } catch (FileAlreadyExistsException e) {
             if (m_fileOverWritePolicy == FileOverwritePolicy.FAIL) {
                 throw new IOException(
@@ -280,6 +406,7 @@ private void copyFiles(final Path sourcePath, final Path destinationPath, final
             }
             //should not occur since we always check if a file exists already
             LOGGER.warn("Unexpected FileAlreadyExistsException has been thrown. See log for further details.", e);
+            return null;
         } catch (IOException e) {
             LOGGER.warn(ERROR_MESSAGE, e);
             throw e;
@@ -336,4 +463,55 @@ private static DataColumnSpec createMetaColumnSpec(final FSLocation locationsSpe
         fsLocationSpec.addMetaData(metaData, true);
         return fsLocationSpec.createSpec();
     }
+
+    /**
+     * A file copy that has been submitted or a folder that has been created, together with the information required to
+     * create its row.
+     */
+    private static final class PendingCopy {
+
+        private final long m_rowIdx;
+
+        private final Path m_sourcePath;
+
+        private final Path m_destinationPath;
+
+        private final boolean m_isDirectory;
+
+        private final Future<FileStatus> m_future;
+
+        PendingCopy(final long rowIdx, final Path sourcePath, final Path destinationPath, final boolean isDirectory,
+            final Future<FileStatus> future) {
+            m_rowIdx = rowIdx;
+            m_sourcePath = sourcePath;
+            m_destinationPath = destinationPath;
+            m_isDirectory = isDirectory;
+            m_future = future;
+        }
+
+        FileStatus get(final ExecutionMonitor exec) throws IOException, CanceledExecutionException {
+            try {
+                while (true) {
+                    exec.checkCanceled();
+                    try {
+                        return m_future.get(CANCEL_CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) { // NOSONAR check for cancellation and wait again
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CanceledExecutionException(e.getMessage());
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException)cause;
+                } else if (cause instanceof Error) {
+                    throw (Error)cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
 }
@@ -51,7 +51,6 @@
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -169,18 +168,7 @@ private BufferedDataTable copy(final BufferedDataContainer container, final Read
         final FileStoreFactory fileStoreFactory = FileStoreFactory.createFileStoreFactory(exec);
         final PathCopier pathCopier = new PathCopier(container::addRowToTable, m_config, fileStoreFactory);
 
-        long rowIdx = 0;
-        final long noPaths = sourcePaths.size();
-        for (final Path sourcePath : sourcePaths) {
-            final Path destinationPath = destinationDir.resolve(pathRelativizer.apply(sourcePath));
-
-            pathCopier.copyPath(sourcePath, destinationPath, rowIdx);
-
-            final long copiedPaths = rowIdx + 1;
-            exec.setProgress(copiedPaths / (double)noPaths, () -> ("Copied files/folder :" + copiedPaths));
-            exec.checkCanceled();
-            rowIdx++;
-        }
+        pathCopier.copyPaths(sourcePaths, p -> destinationDir.resolve(pathRelativizer.apply(p)), exec);
 
         BufferedDataTable table;
         if (m_config.getDeleteSourceFilesModel().getBooleanValue()) {
@@ -0,0 +1,219 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.time.node.convert.stringtodatetime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.chrono.Chronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.time.util.DateTimeType;
+
+/**
+ * Tests that {@link FastDateTimeParser} returns the same values as the {@link DateTimeFormatter} of the pattern.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class FastDateTimeParserTest {
+
+    private static DateTimeFormatter formatter(final String pattern) {
+        return DateTimeFormatter.ofPattern(pattern, Locale.US).withChronology(Chronology.ofLocale(Locale.US));
+    }
+
+    private static FastDateTimeParser parser(final String pattern, final DateTimeType type) {
+        final FastDateTimeParser parser = FastDateTimeParser.create(pattern, Locale.US, type);
+        assertNotNull("Pattern should be supported: " + pattern, parser);
+        return parser;
+    }
+
+    /** @return the value parsed by the formatter or <code>null</code> if the formatter rejects the input */
+    private static Temporal parseWithFormatter(final DateTimeFormatter formatter, final DateTimeType type,
+        final String input) {
+        try {
+            switch (type) {
+                case LOCAL_DATE:
+                    return LocalDate.parse(input, formatter);
+                case LOCAL_TIME:
+                    return LocalTime.parse(input, formatter);
+                case LOCAL_DATE_TIME:
+                    return LocalDateTime.parse(input, formatter);
+                default:
+                    return ZonedDateTime.parse(input, formatter);
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Asserts that the fast parser accepts exactly the inputs the formatter accepts and returns the same values.
+     */
+    private static void assertSameAsFormatter(final String pattern, final DateTimeType type,
+        final String... inputs) {
+        final DateTimeFormatter formatter = formatter(pattern);
+        final FastDateTimeParser parser = parser(pattern, type);
+        for (final String input : inputs) {
+            assertEquals("Input: " + input, parseWithFormatter(formatter, type, input), parser.parse(input));
+        }
+    }
+
+    /**
+     * Asserts that the fast parser rejects inputs that the formatter accepts, i.e., that these are left to the
+     * formatter.
+     */
+    private static void assertFallback(final String pattern, final DateTimeType type, final String... inputs) {
+        final DateTimeFormatter formatter = formatter(pattern);
+        final FastDateTimeParser parser = parser(pattern, type);
+        for (final String input : inputs) {
+            assertNotNull("Formatter should accept input: " + input, parseWithFormatter(formatter, type, input));
+            assertNull("Fast parser should leave input to the formatter: " + input, parser.parse(input));
+        }
+    }
+
+    /**
+     * Tests dates including days that the smart resolver reduces to the last day of the month.
+     */
+    @Test
+    public void testDates() {
+        assertSameAsFormatter("yyyy-MM-dd", DateTimeType.LOCAL_DATE, "2019-01-01", "2019-12-31", "2019-02-29",
+            "2020-02-30", "2019-04-31", "2019-04-32", "2019-13-01", "0000-01-01", "0001-01-01", "2019-1-01",
+            "2019-01-01T", "2019/01/01", "");
+        assertSameAsFormatter("uuuuMMdd", DateTimeType.LOCAL_DATE, "00000101", "20191231", "2019123");
+        assertSameAsFormatter("dd.MM.yyyy", DateTimeType.LOCAL_DATE, "31.12.1999", "31.11.1999", "3.12.1999");
+    }
+
+    /**
+     * Tests times and date&amp;times with optional sections.
+     */
+    @Test
+    public void testDateTimes() {
+        assertSameAsFormatter("HH:mm[:ss[.SSS]]", DateTimeType.LOCAL_TIME, "00:00", "23:59:59", "23:59:59.999",
+            "12:60", "12:30:5", "12:30:05.12", "12:30:05.");
+        assertSameAsFormatter("yyyy-MM-dd'T'HH:mm[:ss[.SSS]]", DateTimeType.LOCAL_DATE_TIME, "2019-10-19T12:30",
+            "2019-10-19T12:30:45", "2019-10-19T12:30:45.123", "2019-10-19 12:30", "2019-10-19T12:30:45.1234");
+        assertSameAsFormatter("dd.MM.yyyy;HH:mm:ss.S", DateTimeType.LOCAL_DATE_TIME, "19.10.2019;12:30:45.1",
+            "19.10.2019;12:30:45.12");
+        assertSameAsFormatter("yyyy-MM-dd'T'HH:mm:ss.SSSSSSSSS", DateTimeType.LOCAL_DATE_TIME,
+            "2019-10-19T12:30:45.123456789");
+    }
+
+    /**
+     * Tests offsets.
+     */
+    @Test
+    public void testOffsets() {
+        assertSameAsFormatter("yyyy-MM-dd'T'HH:mm:ssXXX", DateTimeType.ZONED_DATE_TIME, "2019-10-19T12:30:45Z",
+            "2019-10-19T12:30:45+02:00", "2019-10-19T12:30:45-09:30", "2019-10-19T12:30:45+00:00",
+            "2019-10-19T12:30:45+18:00", "2019-10-19T12:30:45+19:00", "2019-10-19T12:30:45+02",
+            "2019-10-19T12:30:45+02:00:00");
+        assertSameAsFormatter("yyyy-MM-dd'T'HH:mm:ssxxx", DateTimeType.ZONED_DATE_TIME, "2019-10-19T12:30:45Z",
+            "2019-10-19T12:30:45+00:00", "2019-10-19T12:30:45-01:00");
+    }
+
+    /**
+     * Tests that the fast parser accepts the formatted values of random date&amp;times.
+     */
+    @Test
+    public void testFormattedValues() {
+        final String[] patterns = {"yyyy-MM-dd'T'HH:mm", "yyyy-MM-dd'T'HH:mm[:ss[.SSS]]",
+            "dd.MM.uuuu HH:mm:ss.SSSSSSSSS", "yyyy-MM-dd'T'HH:mm:ssXXX", "yyyy-MM-dd'T'HH:mm:ssxxx"};
+        final Random random = new Random(41);
+        for (final String pattern : patterns) {
+            final DateTimeType type =
+                pattern.endsWith("XXX") || pattern.endsWith("xxx") ? DateTimeType.ZONED_DATE_TIME
+                    : DateTimeType.LOCAL_DATE_TIME;
+            final DateTimeFormatter formatter = formatter(pattern);
+            final FastDateTimeParser parser = parser(pattern, type);
+            for (int i = 0; i < 1000; i++) {
+                final LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                    random.nextInt(1000000000));
+                final ZoneOffset offset = ZoneOffset.ofTotalSeconds(60 * (random.nextInt(2 * 18 * 60 + 1) - 18 * 60));
+                final String input = formatter.format(ZonedDateTime.of(dateTime, offset));
+                final Temporal actual = parser.parse(input);
+                assertNotNull("Input: " + input, actual);
+                assertEquals("Input: " + input, parseWithFormatter(formatter, type, input), actual);
+            }
+        }
+    }
+
+    /**
+     * Tests the documented shapes that are left to the formatter although it accepts them, i.e., hour 24 which the
+     * formatter resolves to the start of the next day.
+     */
+    @Test
+    public void testFallback() {
+        assertFallback("HH:mm[:ss[.SSS]]", DateTimeType.LOCAL_TIME, "24:00", "24:00:00", "24:00:00.000");
+        assertFallback("yyyy-MM-dd'T'HH:mm", DateTimeType.LOCAL_DATE_TIME, "2019-12-31T24:00");
+    }
+
+    /**
+     * Tests that unsupported patterns, types and chronologies are left to the formatter.
+     */
+    @Test
+    public void testUnsupported() {
+        assertNull(FastDateTimeParser.create("yyyy-MM-dd", Locale.US, DateTimeType.LOCAL_DATE_TIME));
+        assertNull(FastDateTimeParser.create("yyyy-MM-dd HH:mm", Locale.US, DateTimeType.LOCAL_DATE));
+        assertNull(FastDateTimeParser.create("yyyy-MM-dd'T'HH:mm:ssVV", Locale.US, DateTimeType.ZONED_DATE_TIME));
+        assertNull(FastDateTimeParser.create("d.M.yyyy", Locale.US, DateTimeType.LOCAL_DATE));
+        assertNull(FastDateTimeParser.create("yyyy-MMM-dd", Locale.US, DateTimeType.LOCAL_DATE));
+        assertNull(FastDateTimeParser.create("HH:mm[:ss]'h'", Locale.US, DateTimeType.LOCAL_TIME));
+        assertNull(FastDateTimeParser.create("yyyy-MM-dd",
+            Locale.forLanguageTag("th-TH-u-ca-buddhist"), DateTimeType.LOCAL_DATE));
+    }
+}
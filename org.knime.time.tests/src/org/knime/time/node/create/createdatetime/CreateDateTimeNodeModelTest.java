@@ -0,0 +1,313 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.create.createdatetime;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeCellFactory;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelLong;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+import org.knime.time.util.DateTimeType;
+import org.knime.time.util.SettingsModelDateTime;
+
+/**
+ * Tests that the {@link CreateDateTimeNodeModel}, which computes the rows of a duration interval in parallel chunks,
+ * creates the same rows as adding the duration one step after the other. The number of rows exceeds the size of a
+ * chunk.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class CreateDateTimeNodeModelTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    private static final long NR_ROWS = 20_000;
+
+    private ExecutionContext m_exec;
+
+    /** Creates the execution context. */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Tests a fixed number of local times whose values wrap around midnight, forwards and backwards.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testFixedLocalTimeWrapsAroundMidnight() throws Exception {
+        final LocalTime start = LocalTime.of(23, 0);
+        for (final Duration duration : new Duration[]{Duration.parse("PT7M13S"), Duration.parse("-PT1H17M")}) {
+            final List<DataCell> expected = new ArrayList<>();
+            LocalTime time = start;
+            for (long i = 0; i < NR_ROWS; i++) {
+                expected.add(LocalTimeCellFactory.create(time));
+                time = time.plus(duration);
+            }
+            assertRows(duration.toString(), expected,
+                executeFixed(DateTimeType.LOCAL_TIME, start, start, duration.toString()));
+        }
+    }
+
+    /**
+     * Tests a fixed number of local date times with a negative duration with milliseconds.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testFixedNegativeDuration() throws Exception {
+        final LocalDateTime start = LocalDateTime.of(2020, 3, 1, 0, 0, 1);
+        final Duration duration = Duration.parse("-PT0.25S");
+        final List<DataCell> expected = new ArrayList<>();
+        LocalDateTime dateTime = start;
+        for (long i = 0; i < NR_ROWS; i++) {
+            expected.add(LocalDateTimeCellFactory.create(dateTime));
+            dateTime = dateTime.plus(duration);
+        }
+        assertRows(duration.toString(), expected,
+            executeFixed(DateTimeType.LOCAL_DATE_TIME, start, start, duration.toString()));
+    }
+
+    /**
+     * Tests a fixed number of zoned date times across the daylight saving time changes in spring and autumn.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testFixedZonedAcrossDaylightSavingTime() throws Exception {
+        final Duration duration = Duration.parse("PT1M");
+        for (final LocalDateTime local : new LocalDateTime[]{LocalDateTime.of(2021, 3, 27, 12, 0),
+            LocalDateTime.of(2021, 10, 30, 12, 0)}) {
+            final ZonedDateTime start = ZonedDateTime.of(local, ZONE);
+            final List<DataCell> expected = new ArrayList<>();
+            ZonedDateTime dateTime = start;
+            for (long i = 0; i < NR_ROWS; i++) {
+                expected.add(ZonedDateTimeCellFactory.create(dateTime));
+                dateTime = dateTime.plus(duration);
+            }
+            assertRows(start.toString(), expected,
+                executeFixed(DateTimeType.ZONED_DATE_TIME, start, local, duration.toString()));
+        }
+    }
+
+    /**
+     * Tests a variable number of local date times whose end is not a multiple of the duration after the start, in
+     * both directions.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testVariableEndNotMultipleOfDuration() throws Exception {
+        final LocalDateTime first = LocalDateTime.of(2020, 1, 1, 0, 0);
+        final LocalDateTime second = first.plusDays(1).plusNanos(3_000_000);
+        assertVariable(DateTimeType.LOCAL_DATE_TIME, first, second, Duration.parse("PT7S"));
+        assertVariable(DateTimeType.LOCAL_DATE_TIME, second, first, Duration.parse("-PT7S"));
+        assertVariable(DateTimeType.LOCAL_DATE_TIME, first, second, Duration.parse("PT6.5S"));
+    }
+
+    /**
+     * Tests a variable number of local times whose interval contains midnight, in both directions.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testVariableLocalTimeWrapsAroundMidnight() throws Exception {
+        final LocalTime late = LocalTime.of(22, 0);
+        final LocalTime early = LocalTime.of(2, 0);
+        assertVariable(DateTimeType.LOCAL_TIME, late, early, Duration.parse("PT1.7S"));
+        assertVariable(DateTimeType.LOCAL_TIME, early, late, Duration.parse("-PT1.7S"));
+        assertVariable(DateTimeType.LOCAL_TIME, late, late, Duration.parse("PT7S"));
+    }
+
+    /**
+     * Tests a variable number of zoned date times across the daylight saving time changes in spring and autumn, in
+     * both directions.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testVariableZonedAcrossDaylightSavingTime() throws Exception {
+        for (final LocalDate day : new LocalDate[]{LocalDate.of(2021, 3, 28), LocalDate.of(2021, 10, 31)}) {
+            final LocalDateTime midnight = day.atStartOfDay();
+            final LocalDateTime morning = midnight.plusHours(5);
+            assertVariable(DateTimeType.ZONED_DATE_TIME, ZonedDateTime.of(midnight, ZONE), morning,
+                Duration.parse("PT1.3S"));
+            assertVariable(DateTimeType.ZONED_DATE_TIME, ZonedDateTime.of(morning, ZONE), midnight,
+                Duration.parse("-PT1.3S"));
+        }
+    }
+
+    /**
+     * Compares the rows created for a variable number of rows with the rows of the iteration which adds the duration
+     * to the start until the end is passed. Like the node, it adds local times to a local date time, as a local time
+     * interval is assumed to contain midnight if its end is before its start in the direction of the duration.
+     */
+    private void assertVariable(final DateTimeType type, final Temporal start, final Temporal end,
+        final Duration duration) throws Exception {
+        Temporal first = start;
+        Temporal last = end;
+        if (start instanceof LocalTime) {
+            final boolean isStartAfterEnd = ((LocalTime)start).isAfter((LocalTime)end);
+            int daysAddedToEnd = 0;
+            if (!start.equals(end) && isStartAfterEnd != duration.isNegative()) {
+                daysAddedToEnd = duration.isNegative() ? -1 : 1;
+            }
+            first = LocalDate.ofYearDay(2010, 10).atTime((LocalTime)start);
+            last = LocalDate.ofYearDay(2010, 10 + daysAddedToEnd).atTime((LocalTime)end);
+        } else if (start instanceof ZonedDateTime) {
+            last = ZonedDateTime.of((LocalDateTime)end, ((ZonedDateTime)start).getZone());
+        }
+        final List<DataCell> expected = new ArrayList<>();
+        Temporal dateTime = first;
+        while (dateTime.equals(last) || Duration.between(dateTime, last).isNegative() == duration.isNegative()) {
+            expected.add(createCell(dateTime, start instanceof LocalTime));
+            dateTime = dateTime.plus(duration);
+        }
+        assertRows(start + " to " + end + " by " + duration, expected, executeVariable(type, start, end, duration));
+    }
+
+    private static DataCell createCell(final Temporal dateTime, final boolean isLocalTime) {
+        if (isLocalTime) {
+            return LocalTimeCellFactory.create(((LocalDateTime)dateTime).toLocalTime());
+        } else if (dateTime instanceof LocalDateTime) {
+            return LocalDateTimeCellFactory.create((LocalDateTime)dateTime);
+        }
+        return ZonedDateTimeCellFactory.create((ZonedDateTime)dateTime);
+    }
+
+    private static void assertRows(final String description, final List<DataCell> expected,
+        final BufferedDataTable table) {
+        assertEquals("Number of rows for " + description, expected.size(), table.size());
+        long rowIdx = 0;
+        for (final DataRow row : table) {
+            assertEquals("Row key for " + description, new RowKey("Row" + rowIdx), row.getKey());
+            assertEquals("Row " + rowIdx + " for " + description, expected.get((int)rowIdx), row.getCell(0));
+            rowIdx++;
+        }
+    }
+
+    private BufferedDataTable executeFixed(final DateTimeType type, final Temporal start, final Temporal end,
+        final String duration) throws Exception {
+        return execute(type, RowNrMode.Fixed, start, end, duration);
+    }
+
+    private BufferedDataTable executeVariable(final DateTimeType type, final Temporal start, final Temporal end,
+        final Duration duration) throws Exception {
+        return execute(type, RowNrMode.Variable, start, end, duration.toString());
+    }
+
+    private BufferedDataTable execute(final DateTimeType type, final RowNrMode rowNrMode, final Temporal start,
+        final Temporal end, final String duration) throws Exception {
+        final NodeSettings settings = new NodeSettings("create_date_time");
+        CreateDateTimeNodeModel.createColumnNameModel().saveSettingsTo(settings);
+        final SettingsModelString rowNrOption = CreateDateTimeNodeModel.createRowNrOptionSelectionModel();
+        rowNrOption.setStringValue(rowNrMode.name());
+        rowNrOption.saveSettingsTo(settings);
+        final SettingsModelLong nrRows = CreateDateTimeNodeModel.createRowNrFixedModel(rowNrOption);
+        nrRows.setLongValue(NR_ROWS);
+        nrRows.saveSettingsTo(settings);
+        final SettingsModelBoolean startUseExecTime = CreateDateTimeNodeModel.createStartUseExecTimeModel();
+        startUseExecTime.saveSettingsTo(settings);
+        final SettingsModelDateTime startModel = CreateDateTimeNodeModel.createStartModel(startUseExecTime);
+        startModel.setTemporal(start);
+        startModel.saveSettingsTo(settings);
+        final SettingsModelString durationOrEnd = CreateDateTimeNodeModel.createDurationOrEndSelectionModel();
+        durationOrEnd.setStringValue(EndMode.Duration.name());
+        durationOrEnd.saveSettingsTo(settings);
+        final SettingsModelString durationModel =
+            CreateDateTimeNodeModel.createDurationModel(rowNrOption, durationOrEnd);
+        durationModel.setStringValue(duration);
+        durationModel.saveSettingsTo(settings);
+        final SettingsModelBoolean endUseExecTime =
+            CreateDateTimeNodeModel.createEndUseExecTimeModel(rowNrOption, durationOrEnd);
+        endUseExecTime.saveSettingsTo(settings);
+        final SettingsModelDateTime endModel =
+            CreateDateTimeNodeModel.createEndModel(rowNrOption, durationOrEnd, endUseExecTime);
+        endModel.setTemporal(end);
+        endModel.saveSettingsTo(settings);
+        settings.addString("type", type.name());
+
+        final CreateDateTimeNodeModel model = new CreateDateTimeNodeModel();
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+        return model.execute(new BufferedDataTable[0], m_exec)[0];
+    }
+}
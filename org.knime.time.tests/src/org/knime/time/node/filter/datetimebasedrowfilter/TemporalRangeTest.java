@@ -0,0 +1,122 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.filter.datetimebasedrowfilter;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link TemporalRange} of the Date&amp;Time-based Row Filter.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class TemporalRangeTest {
+
+    private static final LocalDate START = LocalDate.of(2020, 3, 1);
+
+    private static final LocalDate END = LocalDate.of(2020, 3, 31);
+
+    /**
+     * Tests inclusive and exclusive bounds.
+     */
+    @Test
+    public void testBounds() {
+        final TemporalRange inclusive = new TemporalRange(START, true, END, true, false);
+        assertTrue(inclusive.test(START));
+        assertTrue(inclusive.test(END));
+        assertTrue(inclusive.test(START.plusDays(10)));
+        assertFalse(inclusive.test(START.minusDays(1)));
+        assertFalse(inclusive.test(END.plusDays(1)));
+
+        final TemporalRange exclusive = new TemporalRange(START, false, END, false, false);
+        assertFalse(exclusive.test(START));
+        assertFalse(exclusive.test(END));
+        assertTrue(exclusive.test(START.plusDays(1)));
+
+        final TemporalRange startOnly = new TemporalRange(START, true, null, false, false);
+        assertTrue(startOnly.test(LocalDate.MAX));
+        assertFalse(startOnly.isAfterRange(LocalDate.MAX));
+        final TemporalRange endOnly = new TemporalRange(null, false, END, true, false);
+        assertTrue(endOnly.test(LocalDate.MIN));
+        assertTrue(endOnly.isAfterRange(END.plusDays(1)));
+    }
+
+    /**
+     * Tests a range whose end is computed by a negative duration, i.e. lies before the start.
+     */
+    @Test
+    public void testRelativeEndBeforeStart() {
+        final TemporalRange relative = new TemporalRange(END, true, START, true, true);
+        assertTrue(relative.test(START.plusDays(10)));
+        assertFalse(relative.isAfterRange(END));
+        assertTrue(relative.isAfterRange(END.plusDays(1)));
+        assertFalse(relative.isStartAfterEnd());
+
+        final TemporalRange absolute = new TemporalRange(END, true, START, true, false);
+        assertFalse(absolute.test(START.plusDays(10)));
+        assertTrue(absolute.isStartAfterEnd());
+    }
+
+    /**
+     * Tests that zoned date&amp;times are ordered by their instant but only the identical value matches the bounds.
+     */
+    @Test
+    public void testZonedDateTime() {
+        final ZonedDateTime start = ZonedDateTime.of(2020, 3, 1, 12, 0, 0, 0, ZoneId.of("UTC"));
+        final ZonedDateTime end = start.plusHours(2);
+        final TemporalRange range = new TemporalRange(start, true, end, true, false);
+        final ZonedDateTime sameInstant = start.withZoneSameInstant(ZoneId.of("Europe/Berlin"));
+        assertTrue(range.test(start));
+        assertFalse(range.test(sameInstant));
+        assertTrue(range.test(sameInstant.plusMinutes(1)));
+        assertFalse(range.isAfterRange(end.withZoneSameInstant(ZoneId.of("Europe/Berlin"))));
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.manipulate.modifytimezone;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeCellFactory;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeValue;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.util.filter.column.DataColumnSpecFilterConfiguration;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+import org.knime.time.util.SettingsModelDateTime;
+
+/**
+ * Tests that the {@link ModifyTimeZoneNodeModel}, whose cell factories convert the rows in parallel, keeps the row
+ * order and resolves daylight saving time gaps and overlaps as {@link ZonedDateTime} does.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class ModifyTimeZoneNodeModelTest {
+
+    private static final String LOCAL_COLUMN = "Local";
+
+    private static final String ZONED_COLUMN = "Zoned";
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    /** In Berlin, the clocks are set from 2:00 to 3:00 on this day. */
+    private static final LocalDateTime GAP_DAY = LocalDateTime.of(2021, 3, 28, 0, 0);
+
+    /** In Berlin, the clocks are set from 3:00 back to 2:00 on this day. */
+    private static final LocalDateTime OVERLAP_DAY = LocalDateTime.of(2021, 10, 31, 0, 0);
+
+    private static final int ROWS_PER_DAY = 4 * 360;
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * Creates the execution context and a table with a row every 10 seconds from midnight to 4:00 on the days of the
+     * gap and the overlap, both as local date time and as date time in UTC. Some local date times are missing.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        final DataTableSpec spec = new DataTableSpec(new String[]{LOCAL_COLUMN, ZONED_COLUMN},
+            new DataType[]{LocalDateTimeCellFactory.TYPE, ZonedDateTimeCellFactory.TYPE});
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        long rowIdx = 0;
+        for (final LocalDateTime day : new LocalDateTime[]{GAP_DAY, OVERLAP_DAY}) {
+            for (int i = 0; i < ROWS_PER_DAY; i++) {
+                final LocalDateTime time = day.plusSeconds(10L * i);
+                final DataCell local =
+                    rowIdx % 97 == 0 ? DataType.getMissingCell() : LocalDateTimeCellFactory.create(time);
+                container.addRowToTable(new DefaultRow(RowKey.createRowKey(rowIdx++), local,
+                    ZonedDateTimeCellFactory.create(time.atZone(ZoneOffset.UTC))));
+            }
+        }
+        container.close();
+        m_table = container.getTable();
+    }
+
+    /**
+     * Tests setting the time zone, local date times in the gap are moved forward by the length of the gap and the
+     * earlier offset is used in the overlap.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testSetTimeZone() throws Exception {
+        final BufferedDataTable out = execute(ModifyTimeZoneNodeModel.MODIFY_OPTION_SET);
+        assertEquals(m_table.size(), out.size());
+        try (final CloseableRowIterator inIt = m_table.iterator()) {
+            for (final DataRow row : out) {
+                final DataRow in = inIt.next();
+                assertEquals(in.getKey(), row.getKey());
+                final DataCell local = in.getCell(0);
+                if (local.isMissing()) {
+                    assertEquals(local, row.getCell(0));
+                } else {
+                    assertEquals(ZonedDateTime.of(((LocalDateTimeValue)local).getLocalDateTime(), ZONE),
+                        getZoned(row, 0));
+                }
+                assertEquals(
+                    ZonedDateTime.of(((ZonedDateTimeValue)in.getCell(1)).getZonedDateTime().toLocalDateTime(), ZONE),
+                    getZoned(row, 1));
+            }
+        }
+        // 2:30 on the gap day does not exist and becomes 3:30 summer time
+        final ZonedDateTime inGap = getZoned(getRow(out, 0, 150 * 6), 1);
+        assertEquals(GAP_DAY.withHour(3).withMinute(30), inGap.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHours(2), inGap.getOffset());
+        // 2:30 on the overlap day exists twice, the summer time is taken
+        assertEquals(ZoneOffset.ofHours(2), getZoned(getRow(out, 1, 150 * 6), 1).getOffset());
+    }
+
+    /**
+     * Tests shifting the time zone, instants before and after the gap and within the overlap keep the instant and get
+     * the offset that is valid at the instant.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testShiftTimeZone() throws Exception {
+        final BufferedDataTable out = execute(ModifyTimeZoneNodeModel.MODIFY_OPTION_SHIFT);
+        assertEquals(m_table.size(), out.size());
+        try (final CloseableRowIterator inIt = m_table.iterator()) {
+            for (final DataRow row : out) {
+                final DataRow in = inIt.next();
+                assertEquals(in.getKey(), row.getKey());
+                // local date times are not affected by shifting
+                assertEquals(in.getCell(0), row.getCell(0));
+                final ZonedDateTime utc = ((ZonedDateTimeValue)in.getCell(1)).getZonedDateTime();
+                final ZonedDateTime shifted = getZoned(row, 1);
+                assertEquals(utc.toInstant(), shifted.toInstant());
+                assertEquals(utc.withZoneSameInstant(ZONE), shifted);
+            }
+        }
+        // 0:30 and 1:30 UTC on the overlap day are both 2:30 in Berlin, first in summer and then in winter time
+        final ZonedDateTime summer = getZoned(getRow(out, 1, 30 * 6), 1);
+        final ZonedDateTime winter = getZoned(getRow(out, 1, 90 * 6), 1);
+        assertEquals(summer.toLocalDateTime(), winter.toLocalDateTime());
+        assertEquals(ZoneOffset.ofHours(2), summer.getOffset());
+        assertEquals(ZoneOffset.ofHours(1), winter.getOffset());
+        // 0:59:50 and 1:00 UTC on the gap day are 1:59:50 and 3:00 in Berlin
+        assertEquals(GAP_DAY.withHour(1).withMinute(59).withSecond(50),
+            getZoned(getRow(out, 0, 60 * 6 - 1), 1).toLocalDateTime());
+        assertEquals(GAP_DAY.withHour(3), getZoned(getRow(out, 0, 60 * 6), 1).toLocalDateTime());
+    }
+
+    /**
+     * Tests removing the time zone, the local date time of each value is kept.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testRemoveTimeZone() throws Exception {
+        final BufferedDataTable out = execute(ModifyTimeZoneNodeModel.MODIFY_OPTION_REMOVE);
+        assertEquals(m_table.size(), out.size());
+        try (final CloseableRowIterator inIt = m_table.iterator()) {
+            for (final DataRow row : out) {
+                final DataRow in = inIt.next();
+                assertEquals(in.getKey(), row.getKey());
+                assertEquals(in.getCell(0), row.getCell(0));
+                assertEquals(((ZonedDateTimeValue)in.getCell(1)).getZonedDateTime().toLocalDateTime(),
+                    ((LocalDateTimeValue)row.getCell(1)).getLocalDateTime());
+            }
+        }
+    }
+
+    /** Replaces all selected columns of the test table by the modified ones using the node's column rearranger. */
+    private BufferedDataTable execute(final String modification) throws Exception {
+        final DataTableSpec spec = m_table.getDataTableSpec();
+        final NodeSettings settings = new NodeSettings("modify_time_zone");
+        final DataColumnSpecFilterConfiguration colSelect =
+            ModifyTimeZoneNodeModel.createDCFilterConfiguration(ModifyTimeZoneNodeModel.ZONED_AND_LOCAL_FILTER);
+        colSelect.loadDefaults(spec, true);
+        colSelect.saveConfiguration(settings);
+        final SettingsModelString replaceOrAppend = ModifyTimeZoneNodeModel.createReplaceAppendStringBool();
+        replaceOrAppend.saveSettingsTo(settings);
+        ModifyTimeZoneNodeModel.createSuffixModel(replaceOrAppend).saveSettingsTo(settings);
+        final SettingsModelDateTime timeZone = ModifyTimeZoneNodeModel.createTimeZoneModel();
+        timeZone.setZone(ZONE);
+        timeZone.saveSettingsTo(settings);
+        final SettingsModelString modifySelect = ModifyTimeZoneNodeModel.createModifySelectModel();
+        modifySelect.setStringValue(modification);
+        modifySelect.saveSettingsTo(settings);
+
+        final ModifyTimeZoneNodeModel model = new ModifyTimeZoneNodeModel();
+        model.validateSettings(settings);
+        model.loadValidatedSettingsFrom(settings);
+        return m_exec.createColumnRearrangeTable(m_table, model.createColumnRearranger(spec), m_exec);
+    }
+
+    private static DataRow getRow(final BufferedDataTable table, final int day, final int rowOfDay) {
+        final RowKey key = RowKey.createRowKey((long)day * ROWS_PER_DAY + rowOfDay);
+        for (final DataRow row : table) {
+            if (row.getKey().equals(key)) {
+                return row;
+            }
+        }
+        throw new IllegalArgumentException("No row " + key);
+    }
+
+    private static ZonedDateTime getZoned(final DataRow row, final int colIdx) {
+        return ((ZonedDateTimeValue)row.getCell(colIdx)).getZonedDateTime();
+    }
+}
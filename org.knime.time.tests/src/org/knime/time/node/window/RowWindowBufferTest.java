@@ -0,0 +1,216 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.window;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+
+/**
+ * Tests the {@link RowWindowBuffer} against an {@link ArrayDeque} of the same rows.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class RowWindowBufferTest {
+
+    private long m_rowIndex;
+
+    /**
+     * Applies random operations to the buffer and the deque. The size of the buffer alternately grows and shrinks,
+     * hence the buffer grows while the rows wrap around the end of the array and rows are inserted at the front after
+     * wrapping around. Some keys are out of order, which forces the unsorted compaction in
+     * {@link RowWindowBuffer#removeBefore(int, Temporal)}.
+     */
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(11);
+        final RowWindowBuffer buffer = new RowWindowBuffer();
+        final ArrayDeque<Entry> deque = new ArrayDeque<>();
+        int maxSize = 1;
+        boolean growing = true;
+        int nextSecond = 20000;
+        for (int op = 0; op < 20000; op++) {
+            if (growing && deque.size() >= maxSize) {
+                growing = false;
+            } else if (!growing && deque.isEmpty()) {
+                growing = true;
+                maxSize = 1 + random.nextInt(150);
+            }
+            final int action = random.nextInt(10);
+            if (deque.isEmpty() || (growing ? action < 7 : action < 3)) {
+                final boolean unsorted = random.nextInt(20) == 0;
+                if (random.nextInt(4) == 0) {
+                    final int first = deque.isEmpty() ? nextSecond : deque.getFirst().getSecond();
+                    final Entry entry = createEntry(unsorted ? first + random.nextInt(5) : first - random.nextInt(3));
+                    buffer.addFirst(entry.m_row, entry.m_key);
+                    deque.addFirst(entry);
+                } else {
+                    nextSecond += random.nextInt(3);
+                    final Entry entry = createEntry(unsorted ? nextSecond - 1 - random.nextInt(5) : nextSecond);
+                    buffer.addLast(entry.m_row, entry.m_key);
+                    deque.addLast(entry);
+                }
+            } else if (action < 6) {
+                final int count = random.nextInt(Math.min(deque.size(), 5) + 1);
+                if (count == 1 && random.nextBoolean()) {
+                    assertSame(deque.removeFirst().m_row, buffer.removeFirst());
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        deque.removeFirst();
+                    }
+                    buffer.removeFirst(count);
+                }
+            } else if (action < 8) {
+                final int limit = random.nextInt(deque.size() + 1);
+                final LocalTime bound = randomKey(random, deque);
+                buffer.removeBefore(limit, bound);
+                final Iterator<Entry> it = deque.iterator();
+                for (int i = 0; i < limit; i++) {
+                    if (it.next().m_key.compareTo(bound) < 0) {
+                        it.remove();
+                    }
+                }
+            } else {
+                final LocalTime bound = randomKey(random, deque);
+                int count = 0;
+                for (final Entry entry : deque) {
+                    if (entry.m_key.compareTo(bound) > 0) {
+                        break;
+                    }
+                    count++;
+                }
+                assertEquals("Rows not after " + bound, count, buffer.countNotAfter(bound));
+            }
+            assertSameRows(deque, buffer);
+        }
+    }
+
+    /**
+     * Tests that the rows keep their order if the buffer grows while the rows wrap around the end of the array and
+     * if rows are inserted at the front afterwards.
+     */
+    @Test
+    public void testWrapAround() {
+        final RowWindowBuffer buffer = new RowWindowBuffer();
+        final ArrayDeque<Entry> deque = new ArrayDeque<>();
+        for (int i = 0; i < 16; i++) {
+            final Entry entry = createEntry(100 + i);
+            buffer.addLast(entry.m_row, entry.m_key);
+            deque.addLast(entry);
+        }
+        buffer.removeFirst(10);
+        for (int i = 0; i < 10; i++) {
+            deque.removeFirst();
+        }
+        // the last rows wrap around the end of the array, the next row lets the buffer grow
+        for (int i = 16; i < 40; i++) {
+            final Entry entry = createEntry(100 + i);
+            buffer.addLast(entry.m_row, entry.m_key);
+            deque.addLast(entry);
+            assertSameRows(deque, buffer);
+        }
+        for (int i = 0; i < 30; i++) {
+            final Entry entry = createEntry(109 - i);
+            buffer.addFirst(entry.m_row, entry.m_key);
+            deque.addFirst(entry);
+            assertSameRows(deque, buffer);
+        }
+        assertEquals(deque.size(), buffer.countNotAfter(LocalTime.ofSecondOfDay(200)));
+        buffer.removeBefore(buffer.size(), LocalTime.ofSecondOfDay(120));
+        while (deque.getFirst().getSecond() < 120) {
+            deque.removeFirst();
+        }
+        assertSameRows(deque, buffer);
+    }
+
+    private Entry createEntry(final int second) {
+        return new Entry(new DefaultRow(RowKey.createRowKey(m_rowIndex++)), LocalTime.ofSecondOfDay(second));
+    }
+
+    /** @return a key close to the one of a random row */
+    private static LocalTime randomKey(final Random random, final ArrayDeque<Entry> deque) {
+        final List<Entry> entries = new ArrayList<>(deque);
+        return entries.get(random.nextInt(entries.size())).m_key.plusSeconds(random.nextInt(3) - 1);
+    }
+
+    private static void assertSameRows(final ArrayDeque<Entry> deque, final RowWindowBuffer buffer) {
+        assertEquals("Number of rows", deque.size(), buffer.size());
+        assertEquals(deque.isEmpty(), buffer.isEmpty());
+        int i = 0;
+        for (final Entry entry : deque) {
+            assertSame("Row " + i, entry.m_row, buffer.get(i));
+            assertEquals("Key of row " + i, entry.m_key, buffer.getKey(i));
+            i++;
+        }
+    }
+
+    private static final class Entry {
+
+        private final DataRow m_row;
+
+        private final LocalTime m_key;
+
+        Entry(final DataRow row, final LocalTime key) {
+            m_row = row;
+            m_key = key;
+        }
+
+        int getSecond() {
+            return m_key.toSecondOfDay();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.window;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests that the incrementally maintained {@link WindowAggregates} match the aggregates recomputed for each window.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class WindowAggregatesTest {
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Slides windows of different sizes over random data containing missing values and duplicates.
+     */
+    @Test
+    public void testSlidingWindow() {
+        final Random random = new Random(42);
+        final int nRows = 2000;
+        final double[][] data = new double[nRows][2];
+        for (int i = 0; i < nRows; i++) {
+            data[i][0] = random.nextInt(10) == 0 ? Double.NaN : random.nextGaussian() * 100;
+            data[i][1] = random.nextInt(5);
+        }
+        for (final int windowSize : new int[]{1, 2, 7, 100}) {
+            final WindowAggregates window = new WindowAggregates(2, true, true);
+            for (int i = 0; i < nRows; i++) {
+                window.add(data[i]);
+                if (window.size() > windowSize) {
+                    window.removeFirst();
+                }
+                assertEquals(Math.min(i + 1, windowSize), window.size());
+                for (int c = 0; c < 2; c++) {
+                    assertMatches(window, c, data, Math.max(0, i - windowSize + 1), i + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Slides windows over data containing both infinities, whose sum must recover once they left the window.
+     */
+    @Test
+    public void testInfiniteValues() {
+        final Random random = new Random(43);
+        final int nRows = 500;
+        final double[][] data = new double[nRows][1];
+        final double[] specials = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (int i = 0; i < nRows; i++) {
+            data[i][0] = random.nextInt(20) == 0 ? specials[random.nextInt(3)] : random.nextGaussian() * 100;
+        }
+        for (final int windowSize : new int[]{1, 3, 10}) {
+            final WindowAggregates window = new WindowAggregates(1, true, true);
+            for (int i = 0; i < nRows; i++) {
+                window.add(data[i]);
+                if (window.size() > windowSize) {
+                    window.removeFirst();
+                }
+                assertMatches(window, 0, data, Math.max(0, i - windowSize + 1), i + 1);
+            }
+        }
+        final WindowAggregates window = new WindowAggregates(1, false, false);
+        window.add(new double[]{Double.POSITIVE_INFINITY});
+        window.add(new double[]{Double.NEGATIVE_INFINITY});
+        window.add(new double[]{2});
+        assertTrue(Double.isNaN(window.getSum(0)));
+        window.removeFirst();
+        assertEquals(Double.NEGATIVE_INFINITY, window.getSum(0), 0);
+        window.removeFirst();
+        assertEquals(2, window.getSum(0), 0);
+        assertEquals(2, window.getMean(0), 0);
+    }
+
+    /**
+     * Tests that an emptied window reports missing aggregates and can be reused.
+     */
+    @Test
+    public void testEmptyWindow() {
+        final WindowAggregates window = new WindowAggregates(1, true, true);
+        window.add(new double[]{3});
+        window.add(new double[]{Double.NaN});
+        window.clear();
+        assertEquals(0, window.size());
+        assertEquals(0, window.getCount(0));
+        assertTrue(Double.isNaN(window.getSum(0)));
+        assertTrue(Double.isNaN(window.getMin(0)));
+        assertTrue(Double.isNaN(window.getQuantile(0, 0.5)));
+        window.add(new double[]{5});
+        assertEquals(5, window.getMax(0), 0);
+        assertEquals(5, window.getMean(0), 0);
+    }
+
+    private static void assertMatches(final WindowAggregates window, final int col, final double[][] data,
+        final int from, final int to) {
+        final double[] values = Arrays.stream(data, from, to).mapToDouble(r -> r[col]).filter(v -> !Double.isNaN(v))
+            .sorted().toArray();
+        assertEquals(values.length, window.getCount(col));
+        if (values.length == 0) {
+            assertTrue(Double.isNaN(window.getMean(col)));
+            return;
+        }
+        final double sum = Arrays.stream(values).sum();
+        // infinite or NaN sums must match exactly
+        final double scale = Double.isFinite(sum) ? EPSILON * Math.max(1, Math.abs(sum)) : 0;
+        assertEquals(sum, window.getSum(col), scale * values.length);
+        assertEquals(sum / values.length, window.getMean(col), scale);
+        assertEquals(values[0], window.getMin(col), 0);
+        assertEquals(values[values.length - 1], window.getMax(col), 0);
+        for (final double p : new double[]{0, 0.25, 0.5, 0.9, 1}) {
+            final double h = (values.length - 1) * p;
+            final int lo = (int)Math.floor(h);
+            final double hi = values[Math.min(lo + 1, values.length - 1)];
+            final double expected =
+                h == lo || values[lo] == hi ? values[lo] : values[lo] + (h - lo) * (hi - values[lo]);
+            assertEquals(expected, window.getQuantile(col, p), EPSILON);
+        }
+    }
+}
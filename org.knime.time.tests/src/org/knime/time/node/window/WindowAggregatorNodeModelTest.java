@@ -0,0 +1,257 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.window;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.LongValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+import org.knime.time.node.window.LoopStartWindowConfiguration.Trigger;
+import org.knime.time.node.window.LoopStartWindowConfiguration.Unit;
+import org.knime.time.node.window.LoopStartWindowConfiguration.WindowDefinition;
+import org.knime.time.node.window.WindowAggregatorNodeModel.Aggregation;
+
+/**
+ * Tests that the {@link WindowAggregatorNodeModel} produces the same windows as a Window Loop Start
+ * ({@link LoopStartWindowNodeModel}) whose windows are aggregated one by one.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class WindowAggregatorNodeModelTest {
+
+    private static final String TIME_COLUMN = "Time";
+
+    private static final String VALUE_COLUMN = "Value";
+
+    private static final Aggregation[] AGGREGATIONS =
+        {Aggregation.SUM, Aggregation.MEAN, Aggregation.MIN, Aggregation.MAX, Aggregation.COUNT};
+
+    private static final double EPSILON = 1e-9;
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /**
+     * Creates the execution context and a table of increasing times, including ties and gaps, with random values,
+     * including missing values.
+     */
+    @Before
+    public void setUp() {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+        final DataTableSpec spec = new DataTableSpec(new String[]{TIME_COLUMN, VALUE_COLUMN},
+            new DataType[]{LocalDateTimeCellFactory.TYPE, DoubleCell.TYPE});
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        final Random random = new Random(17);
+        LocalDateTime time = LocalDateTime.of(2019, 10, 19, 12, 0);
+        for (int i = 0; i < 60; i++) {
+            final int gap = random.nextInt(10);
+            time = time.plusSeconds(gap < 2 ? 0 : gap < 9 ? gap : 30);
+            final DataCell value = random.nextInt(8) == 0 ? DataType.getMissingCell()
+                : new DoubleCell(Math.round(random.nextGaussian() * 1000) / 10.0);
+            container.addRowToTable(
+                new DefaultRow(RowKey.createRowKey((long)i), LocalDateTimeCellFactory.create(time), value));
+        }
+        container.close();
+        m_table = container.getTable();
+    }
+
+    /**
+     * Tests row based windows of all definitions, with and without limiting the windows to the table.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testRowWindows() throws Exception {
+        final int[][] windowAndStepSizes = {{1, 1}, {3, 1}, {4, 2}, {5, 3}, {2, 5}, {7, 7}, {80, 1}};
+        for (final WindowDefinition definition : WindowDefinition.values()) {
+            for (final boolean limit : new boolean[]{false, true}) {
+                for (final int[] sizes : windowAndStepSizes) {
+                    final LoopStartWindowConfiguration config = new LoopStartWindowConfiguration();
+                    config.setTrigger(Trigger.ROW);
+                    config.setWindowDefinition(definition);
+                    config.setLimitWindow(limit);
+                    config.setEventWindowSize(sizes[0]);
+                    config.setEventStepSize(sizes[1]);
+                    assertSameWindows(config);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests time based windows of all definitions.
+     *
+     * @throws Exception not expected
+     */
+    @Test
+    public void testTimeWindows() throws Exception {
+        final String[][] windowAndStepSizes = {{"10", "5"}, {"7", "7"}, {"5", "12"}, {"9", "2"}, {"600", "1"}};
+        for (final WindowDefinition definition : WindowDefinition.values()) {
+            for (final String[] sizes : windowAndStepSizes) {
+                final LoopStartWindowConfiguration config = new LoopStartWindowConfiguration();
+                config.setTrigger(Trigger.TIME);
+                config.setWindowDefinition(definition);
+                config.setTimeWindowSize(sizes[0]);
+                config.setTimeWindowUnit(Unit.SECONDS);
+                config.setTimeStepSize(sizes[1]);
+                config.setTimeStepUnit(Unit.SECONDS);
+                assertSameWindows(config);
+            }
+        }
+    }
+
+    private void assertSameWindows(final LoopStartWindowConfiguration config) throws Exception {
+        final String description = config.getWindowDefinition() + " " + config.getTrigger() + " window "
+            + (config.getTrigger() == Trigger.ROW
+                ? config.getEventWindowSize() + ", step " + config.getEventStepSize() + ", limit "
+                    + config.getLimitWindow()
+                : config.getTimeWindowSize() + "s, step " + config.getTimeStepSize() + "s");
+        final NodeSettings settings = new NodeSettings("window");
+        config.saveSettingsTo(settings);
+        final SettingsModelString timeColumnModel = LoopStartWindowNodeModel.createColumnModel();
+        timeColumnModel.setStringValue(TIME_COLUMN);
+        timeColumnModel.saveSettingsTo(settings);
+        LoopStartWindowNodeModel.createStartModel().saveSettingsTo(settings);
+        WindowAggregatorNodeModel.createAggregationColumnsModel().saveSettingsTo(settings);
+        for (final Aggregation aggregation : Aggregation.values()) {
+            final SettingsModelBoolean model = WindowAggregatorNodeModel.createAggregationModel(aggregation);
+            model.setBooleanValue(aggregation != Aggregation.QUANTILE);
+            model.saveSettingsTo(settings);
+        }
+        WindowAggregatorNodeModel.createQuantileModel().saveSettingsTo(settings);
+
+        final List<double[]> expected = new ArrayList<>();
+        final LoopStartWindowNodeModel loop = new LoopStartWindowNodeModel();
+        loop.loadValidatedSettingsFrom(settings);
+        final BufferedDataTable[] in = {m_table};
+        loop.configure(new DataTableSpec[]{m_table.getDataTableSpec()});
+        do {
+            expected.add(aggregate(loop.execute(in, m_exec)[0]));
+        } while (!loop.terminateLoop());
+
+        final WindowAggregatorNodeModel aggregator = new WindowAggregatorNodeModel();
+        aggregator.loadValidatedSettingsFrom(settings);
+        aggregator.configure(new DataTableSpec[]{m_table.getDataTableSpec()});
+        final BufferedDataTable out = aggregator.execute(in, m_exec)[0];
+        final List<double[]> actual = new ArrayList<>();
+        for (final DataRow row : out) {
+            final double[] values = new double[AGGREGATIONS.length];
+            for (int a = 0; a < AGGREGATIONS.length; a++) {
+                final DataCell cell = row.getCell(2 + a);
+                if (cell.isMissing()) {
+                    values[a] = Double.NaN;
+                } else if (cell instanceof LongValue) {
+                    values[a] = ((LongValue)cell).getLongValue();
+                } else {
+                    values[a] = ((DoubleValue)cell).getDoubleValue();
+                }
+            }
+            actual.add(values);
+        }
+        assertEquals("Number of windows for " + description, expected.size(), actual.size());
+        for (int w = 0; w < expected.size(); w++) {
+            for (int a = 0; a < AGGREGATIONS.length; a++) {
+                assertEquals(AGGREGATIONS[a] + " of window " + w + " for " + description, expected.get(w)[a],
+                    actual.get(w)[a], EPSILON);
+            }
+        }
+    }
+
+    /** Aggregates the value column of a window of the loop, rows padded by the loop only contain missing cells. */
+    private static double[] aggregate(final BufferedDataTable window) {
+        final int valueIdx = window.getDataTableSpec().findColumnIndex(VALUE_COLUMN);
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        long count = 0;
+        for (final DataRow row : window) {
+            final DataCell cell = row.getCell(valueIdx);
+            if (!cell.isMissing()) {
+                final double value = ((DoubleValue)cell).getDoubleValue();
+                sum += value;
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                count++;
+            }
+        }
+        return count == 0 ? new double[]{Double.NaN, Double.NaN, Double.NaN, Double.NaN, 0}
+            : new double[]{sum, sum / count, min, max, count};
+    }
+}
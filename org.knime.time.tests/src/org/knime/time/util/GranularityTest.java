@@ -0,0 +1,119 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests that {@link Granularity#between(Temporal, Temporal)} computes the same amounts as the {@link ChronoUnit} of
+ * the granularity.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+public class GranularityTest {
+
+    private static final ZoneId[] ZONES =
+        {ZoneOffset.UTC, ZoneOffset.ofHoursMinutes(5, 30), ZoneOffset.ofHours(-8), ZoneId.of("Europe/Berlin")};
+
+    /**
+     * Compares the differences of random date&amp;times of all types for all granularities.
+     */
+    @Test
+    public void testBetween() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            // alternate between close and distant values
+            final long range = i % 2 == 0 ? 200_000L : 500L * 365 * 86_400;
+            final long seconds1 = (long)((random.nextDouble() * 2 - 1) * range);
+            final long seconds2 = (long)((random.nextDouble() * 2 - 1) * range);
+            final int nanos1 = random.nextInt(1_000_000_000);
+            final int nanos2 = random.nextBoolean() ? nanos1 : random.nextInt(1_000_000_000);
+            final LocalDateTime local1 = LocalDateTime.ofEpochSecond(seconds1, nanos1, ZoneOffset.UTC);
+            final LocalDateTime local2 = LocalDateTime.ofEpochSecond(seconds2, nanos2, ZoneOffset.UTC);
+            final ZonedDateTime zoned1 =
+                Instant.ofEpochSecond(seconds1, nanos1).atZone(ZONES[random.nextInt(ZONES.length)]);
+            final ZonedDateTime zoned2 =
+                Instant.ofEpochSecond(seconds2, nanos2).atZone(ZONES[random.nextInt(ZONES.length)]);
+            for (final Granularity granularity : Granularity.values()) {
+                assertBetween(granularity, local1, local2);
+                assertBetween(granularity, zoned1, zoned2);
+                if (granularity.isPartOfDate()) {
+                    assertBetween(granularity, local1.toLocalDate(), local2.toLocalDate());
+                } else {
+                    assertBetween(granularity, local1.toLocalTime(), local2.toLocalTime());
+                }
+            }
+        }
+    }
+
+    private static void assertBetween(final Granularity granularity, final Temporal temporal1,
+        final Temporal temporal2) {
+        long expected;
+        try {
+            expected = granularity.getChronoUnit().between(temporal1, temporal2);
+        } catch (ArithmeticException e) {
+            // overflow must be reported in the same way
+            expected = Long.MIN_VALUE;
+        }
+        long actual;
+        try {
+            actual = granularity.between(temporal1, temporal2);
+        } catch (ArithmeticException e) {
+            actual = Long.MIN_VALUE;
+        }
+        assertEquals(granularity + " between " + temporal1 + " and " + temporal2, expected, actual);
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.time.node.convert.stringtodatetime;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.chrono.Chronology;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.knime.time.util.DateTimeType;
+
+/**
+ * Parser for fixed-width numeric date&amp;time patterns such as {@code yyyy-MM-dd'T'HH:mm[:ss[.SSS]]} that reads the
+ * digits directly from the string instead of going through the generic {@link DateTimeFormatter}.
+ * <p>
+ * Supported are four digit years ({@code yyyy}, {@code uuuu}), two digit months, days, hours, minutes and seconds
+ * ({@code MM}, {@code dd}, {@code HH}, {@code mm}, {@code ss}), fractions of one to nine digits ({@code S...}),
+ * literals, optional sections that extend to the end of the pattern and a trailing offset ({@code XXX} or
+ * {@code xxx}). The parser only accepts input that has exactly the shape of the pattern and otherwise returns
+ * <code>null</code>, in which case the input has to be parsed by the formatter created for the pattern. For any input
+ * it accepts, the result is the same as the one of the formatter with the default (smart) resolver style.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class FastDateTimeParser {
+
+    private static final int YEAR = 0;
+
+    private static final int MONTH = 1;
+
+    private static final int DAY = 2;
+
+    private static final int HOUR = 3;
+
+    private static final int MINUTE = 4;
+
+    private static final int SECOND = 5;
+
+    private static final int FRACTION = 6;
+
+    private static final int LITERAL = 7;
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000};
+
+    private final DateTimeType m_type;
+
+    /** The kind of each element of the pattern. */
+    private final int[] m_kinds;
+
+    /** The number of digits of the numeric elements. */
+    private final int[] m_widths;
+
+    /** The characters of the literal elements. */
+    private final char[] m_literals;
+
+    /** For each accepted input length without the offset the number of elements to parse, -1 otherwise. */
+    private final int[] m_elementsByLength;
+
+    /** Whether the year is a year-of-era, i.e., must not be 0. */
+    private final boolean m_yearOfEra;
+
+    /** Whether the pattern ends with an offset. */
+    private final boolean m_hasOffset;
+
+    /** Whether the offset zero may be given as {@code Z}. */
+    private final boolean m_zeroOffsetAsZ;
+
+    private FastDateTimeParser(final DateTimeType type, final List<int[]> elements, final List<Integer> cuts,
+        final boolean yearOfEra, final boolean hasOffset, final boolean zeroOffsetAsZ) {
+        m_type = type;
+        m_kinds = new int[elements.size()];
+        m_widths = new int[elements.size()];
+        m_literals = new char[elements.size()];
+        int length = 0;
+        final int[] prefixLengths = new int[elements.size() + 1];
+        for (int e = 0; e < elements.size(); e++) {
+            m_kinds[e] = elements.get(e)[0];
+            m_widths[e] = elements.get(e)[1];
+            m_literals[e] = (char)elements.get(e)[2];
+            length += m_widths[e];
+            prefixLengths[e + 1] = length;
+        }
+        m_elementsByLength = new int[length + 1];
+        Arrays.fill(m_elementsByLength, -1);
+        m_elementsByLength[length] = elements.size();
+        for (final int cut : cuts) {
+            m_elementsByLength[prefixLengths[cut]] = cut;
+        }
+        m_yearOfEra = yearOfEra;
+        m_hasOffset = hasOffset;
+        m_zeroOffsetAsZ = zeroOffsetAsZ;
+    }
+
+    /**
+     * Creates a parser for the pattern if it is supported.
+     *
+     * @param pattern the pattern as accepted by {@link DateTimeFormatter#ofPattern(String, Locale)}
+     * @param locale the locale of the formatter
+     * @param type the type to parse
+     * @return the parser or <code>null</code> if the pattern, the chronology of the locale or the combination with the
+     *         type is not supported
+     */
+    static FastDateTimeParser create(final String pattern, final Locale locale, final DateTimeType type) {
+        if (!IsoChronology.INSTANCE.equals(Chronology.ofLocale(locale))) {
+            return null;
+        }
+        final List<int[]> elements = new ArrayList<>();
+        // element counts at which an optional section starts
+        final List<Integer> cuts = new ArrayList<>();
+        // the fields and whether they are mandatory (0: absent, 1: optional, 2: mandatory)
+        final int[] fields = new int[FRACTION + 1];
+        boolean yearOfEra = false;
+        int offsetLetter = 0;
+        int depth = 0;
+        boolean closing = false;
+        final int length = pattern.length();
+        for (int pos = 0; pos < length; pos++) {
+            final char c = pattern.charAt(pos);
+            if (closing && c != ']') {
+                // content after an optional section
+                return null;
+            }
+            if (offsetLetter != 0) {
+                // the offset must be the last element
+                return null;
+            }
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')) {
+                int count = 1;
+                while (pos + count < length && pattern.charAt(pos + count) == c) {
+                    count++;
+                }
+                pos += count - 1;
+                final int field = field(c, count);
+                if (field == LITERAL) {
+                    if ((c == 'X' || c == 'x') && count == 3 && depth == 0) {
+                        offsetLetter = c;
+                        continue;
+                    }
+                    return null;
+                }
+                if (fields[field] != 0) {
+                    return null;
+                }
+                fields[field] = depth == 0 ? 2 : 1;
+                yearOfEra |= c == 'y';
+                elements.add(new int[]{field, count, 0});
+            } else if (c == '\'') {
+                final int end = pattern.indexOf('\'', pos + 1);
+                if (end < 0) {
+                    return null;
+                }
+                if (end == pos + 1) {
+                    elements.add(new int[]{LITERAL, 1, '\''});
+                } else {
+                    for (int i = pos + 1; i < end; i++) {
+                        if (pattern.charAt(i) == '\'') {
+                            return null;
+                        }
+                        elements.add(new int[]{LITERAL, 1, pattern.charAt(i)});
+                    }
+                }
+                pos = end;
+            } else if (c == '[') {
+                depth++;
+                cuts.add(elements.size());
+            } else if (c == ']') {
+                if (depth == 0) {
+                    return null;
+                }
+                depth--;
+                closing = true;
+            } else if (c == '{' || c == '}' || c == '#') {
+                return null;
+            } else {
+                elements.add(new int[]{LITERAL, 1, c});
+            }
+        }
+        if (depth != 0 || (offsetLetter != 0 && !cuts.isEmpty()) || !supports(type, fields, offsetLetter != 0)) {
+            return null;
+        }
+        return new FastDateTimeParser(type, elements, cuts, yearOfEra, offsetLetter != 0, offsetLetter == 'X');
+    }
+
+    private static int field(final char letter, final int count) {
+        switch (letter) {
+            case 'y':
+            case 'u':
+                return count == 4 ? YEAR : LITERAL;
+            case 'M':
+                return count == 2 ? MONTH : LITERAL;
+            case 'd':
+                return count == 2 ? DAY : LITERAL;
+            case 'H':
+                return count == 2 ? HOUR : LITERAL;
+            case 'm':
+                return count == 2 ? MINUTE : LITERAL;
+            case 's':
+                return count == 2 ? SECOND : LITERAL;
+            case 'S':
+                return count <= 9 ? FRACTION : LITERAL;
+            default:
+                // not a supported field
+                return LITERAL;
+        }
+    }
+
+    /** Checks that the pattern contains exactly the fields required by the type. */
+    private static boolean supports(final DateTimeType type, final int[] fields, final boolean hasOffset) {
+        final boolean date = fields[YEAR] == 2 && fields[MONTH] == 2 && fields[DAY] == 2;
+        final boolean noDate = fields[YEAR] == 0 && fields[MONTH] == 0 && fields[DAY] == 0;
+        // seconds and fractions may be optional, but there is no fraction without seconds
+        final boolean time = fields[HOUR] == 2 && fields[MINUTE] == 2
+            && (fields[FRACTION] == 0 || (fields[SECOND] != 0 && fields[SECOND] >= fields[FRACTION]));
+        final boolean noTime =
+            fields[HOUR] == 0 && fields[MINUTE] == 0 && fields[SECOND] == 0 && fields[FRACTION] == 0;
+        switch (type) {
+            case LOCAL_DATE:
+                return date && noTime && !hasOffset;
+            case LOCAL_TIME:
+                return noDate && time && !hasOffset;
+            case LOCAL_DATE_TIME:
+                return date && time && !hasOffset;
+            case ZONED_DATE_TIME:
+                return date && time && hasOffset;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Parses the text.
+     *
+     * @param text the text to parse
+     * @return the {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime} or {@link ZonedDateTime} depending on
+     *         the type, or <code>null</code> if the text does not have the shape of the pattern or contains an invalid
+     *         value
+     */
+    Temporal parse(final CharSequence text) {
+        final int fixedLength = m_elementsByLength.length - 1;
+        final int length = text.length();
+        final int elementCount;
+        if (m_hasOffset) {
+            elementCount = length > fixedLength ? m_elementsByLength[fixedLength] : -1;
+        } else {
+            elementCount = length <= fixedLength ? m_elementsByLength[length] : -1;
+        }
+        if (elementCount < 0) {
+            return null;
+        }
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int nano = 0;
+        int pos = 0;
+        for (int e = 0; e < elementCount; e++) {
+            final int width = m_widths[e];
+            if (m_kinds[e] == LITERAL) {
+                if (text.charAt(pos) != m_literals[e]) {
+                    return null;
+                }
+                pos++;
+                continue;
+            }
+            final int value = parseDigits(text, pos, width);
+            if (value < 0) {
+                return null;
+            }
+            pos += width;
+            switch (m_kinds[e]) {
+                case YEAR:
+                    year = value;
+                    break;
+                case MONTH:
+                    month = value;
+                    break;
+                case DAY:
+                    day = value;
+                    break;
+                case HOUR:
+                    hour = value;
+                    break;
+                case MINUTE:
+                    minute = value;
+                    break;
+                case SECOND:
+                    second = value;
+                    break;
+                default:
+                    nano = value * POWERS_OF_TEN[9 - width];
+                    break;
+            }
+        }
+        if (hour > 23 || minute > 59 || second > 59) {
+            // hour 24 is resolved to the next day by the formatter
+            return null;
+        }
+        switch (m_type) {
+            case LOCAL_DATE:
+                return toDate(year, month, day);
+            case LOCAL_TIME:
+                return LocalTime.of(hour, minute, second, nano);
+            case LOCAL_DATE_TIME: {
+                final LocalDate date = toDate(year, month, day);
+                return date == null ? null : LocalDateTime.of(date, LocalTime.of(hour, minute, second, nano));
+            }
+            case ZONED_DATE_TIME: {
+                final LocalDate date = toDate(year, month, day);
+                final ZoneOffset offset = parseOffset(text, pos);
+                return date == null || offset == null ? null
+                    : ZonedDateTime.of(LocalDateTime.of(date, LocalTime.of(hour, minute, second, nano)), offset);
+            }
+            default:
+                return null;
+        }
+    }
+
+    /** Resolves the date like the smart resolver, i.e., days 29 to 31 are reduced to the last day of the month. */
+    private LocalDate toDate(final int year, final int month, final int day) {
+        if ((m_yearOfEra && year == 0) || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        final int lastDay = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, lastDay));
+    }
+
+    /** Parses an offset {@code +HH:MM}, or {@code Z} if allowed, that ends the text. */
+    private ZoneOffset parseOffset(final CharSequence text, final int pos) {
+        final int remaining = text.length() - pos;
+        if (remaining == 1) {
+            return m_zeroOffsetAsZ && text.charAt(pos) == 'Z' ? ZoneOffset.UTC : null;
+        }
+        if (remaining != 6 || text.charAt(pos + 3) != ':') {
+            return null;
+        }
+        final char sign = text.charAt(pos);
+        final int hours = parseDigits(text, pos + 1, 2);
+        final int minutes = parseDigits(text, pos + 4, 2);
+        if ((sign != '+' && sign != '-') || hours < 0 || hours > 18 || minutes < 0 || minutes > 59
+            || (hours == 18 && minutes > 0)) {
+            return null;
+        }
+        final int totalSeconds = (hours * 3600 + minutes * 60) * (sign == '-' ? -1 : 1);
+        return ZoneOffset.ofTotalSeconds(totalSeconds);
+    }
+
+    /** @return the value of the ASCII digits or -1 if any of the characters is not a digit */
+    private static int parseDigits(final CharSequence text, final int pos, final int width) {
+        int value = 0;
+        for (int i = pos; i < pos + width; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -55,12 +55,14 @@
 import java.time.chrono.Chronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.LocaleUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -118,7 +120,7 @@ final class StringToDateTimeNodeModel extends SimpleStreamableFunctionNodeModel
 
     private String m_selectedType = DateTimeType.LOCAL_DATE_TIME.name();
 
-    private int m_failCounter;
+    private final AtomicInteger m_failCounter = new AtomicInteger();
 
     private boolean m_hasValidatedConfiguration = false;
 
@@ -224,9 +226,9 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         throws Exception {
         final ColumnRearranger columnRearranger = createColumnRearranger(inData[0].getDataTableSpec());
         final BufferedDataTable out = exec.createColumnRearrangeTable(inData[0], columnRearranger, exec);
-        if (m_failCounter > 0) {
-            setWarningMessage(
-                m_failCounter + " rows could not be converted. Check the message in the missing cells for details.");
+        if (m_failCounter.get() > 0) {
+            setWarningMessage(m_failCounter.get()
+                + " rows could not be converted. Check the message in the missing cells for details.");
         }
         return new BufferedDataTable[]{out};
     }
@@ -240,20 +242,28 @@ protected ColumnRearranger createColumnRearranger(final DataTableSpec inSpec) {
         final String[] includeList = m_colSelect.applyTo(inSpec).getIncludes();
         final int[] includeIndeces =
             Arrays.stream(m_colSelect.applyTo(inSpec).getIncludes()).mapToInt(s -> inSpec.findColumnIndex(s)).toArray();
+        // the formatter is created once per execution and shared by all columns
+        final DateTimeType type = DateTimeType.valueOf(m_selectedType);
+        final Locale locale = Locale.forLanguageTag(m_locale.getStringValue());
+        final DateTimeFormatter formatter =
+            DateTimeFormatter.ofPattern(m_format.getStringValue(), locale).withChronology(Chronology.ofLocale(locale));
+        final FastDateTimeParser fastParser = FastDateTimeParser.create(m_format.getStringValue(), locale, type);
         int i = 0;
         for (String includedCol : includeList) {
+            final StringToTimeCellFactory cellFac;
             if (m_isReplaceOrAppend.getStringValue().equals(OPTION_REPLACE)) {
                 final DataColumnSpecCreator dataColumnSpecCreator =
-                    new DataColumnSpecCreator(includedCol, DateTimeType.valueOf(m_selectedType).getDataType());
-                final StringToTimeCellFactory cellFac =
-                    new StringToTimeCellFactory(dataColumnSpecCreator.createSpec(), includeIndeces[i++]);
+                    new DataColumnSpecCreator(includedCol, type.getDataType());
+                cellFac = new StringToTimeCellFactory(dataColumnSpecCreator.createSpec(), includeIndeces[i++], type,
+                    formatter, fastParser);
                 rearranger.replace(cellFac, includedCol);
             } else {
-                final DataColumnSpec dataColSpec = new UniqueNameGenerator(inSpec).newColumn(
-                    includedCol + m_suffix.getStringValue(), DateTimeType.valueOf(m_selectedType).getDataType());
-                final StringToTimeCellFactory cellFac = new StringToTimeCellFactory(dataColSpec, includeIndeces[i++]);
+                final DataColumnSpec dataColSpec = new UniqueNameGenerator(inSpec)
+                    .newColumn(includedCol + m_suffix.getStringValue(), type.getDataType());
+                cellFac = new StringToTimeCellFactory(dataColSpec, includeIndeces[i++], type, formatter, fastParser);
                 rearranger.append(cellFac);
             }
+            cellFac.setParallelProcessing(true);
         }
         return rearranger;
     }
@@ -349,22 +359,35 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
      */
     @Override
     protected void reset() {
-        m_failCounter = 0;
+        m_failCounter.set(0);
     }
 
     /**
-     * This cell factory converts a single Date&Time cell to a String cell.
+     * This cell factory converts a single String cell to a Date&Time cell.
      */
     final class StringToTimeCellFactory extends SingleCellFactory {
         private final int m_colIndex;
 
+        private final DateTimeType m_type;
+
+        private final DateTimeFormatter m_formatter;
+
+        private final FastDateTimeParser m_fastParser;
+
         /**
          * @param inSpec spec of the column after computation
          * @param colIndex index of the column to work on
+         * @param type the type to parse
+         * @param formatter the formatter used to parse
+         * @param fastParser the parser tried before the formatter, may be <code>null</code>
          */
-        public StringToTimeCellFactory(final DataColumnSpec inSpec, final int colIndex) {
+        public StringToTimeCellFactory(final DataColumnSpec inSpec, final int colIndex, final DateTimeType type,
+            final DateTimeFormatter formatter, final FastDateTimeParser fastParser) {
             super(inSpec);
             m_colIndex = colIndex;
+            m_type = type;
+            m_formatter = formatter;
+            m_fastParser = fastParser;
         }
 
         /**
@@ -378,32 +401,33 @@ public DataCell getCell(final DataRow row) {
             }
             try {
                 final String input = ((StringValue)cell).getStringValue();
-                final Locale locale = Locale.forLanguageTag(m_locale.getStringValue());
-                final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(m_format.getStringValue(), locale)
-                    .withChronology(Chronology.ofLocale(locale));
+                // input that does not have the shape of the pattern is left to the formatter
+                final Temporal parsed = m_fastParser == null ? null : m_fastParser.parse(input);
 
-                switch (DateTimeType.valueOf(m_selectedType)) {
+                switch (m_type) {
                     case LOCAL_DATE: {
-                        final LocalDate ld = LocalDate.parse(input, formatter);
+                        final LocalDate ld = parsed != null ? (LocalDate)parsed : LocalDate.parse(input, m_formatter);
                         return LocalDateCellFactory.create(ld);
                     }
                     case LOCAL_TIME: {
-                        final LocalTime lt = LocalTime.parse(input, formatter);
+                        final LocalTime lt = parsed != null ? (LocalTime)parsed : LocalTime.parse(input, m_formatter);
                         return LocalTimeCellFactory.create(lt);
                     }
                     case LOCAL_DATE_TIME: {
-                        final LocalDateTime ldt = LocalDateTime.parse(input, formatter);
+                        final LocalDateTime ldt =
+                            parsed != null ? (LocalDateTime)parsed : LocalDateTime.parse(input, m_formatter);
                         return LocalDateTimeCellFactory.create(ldt);
                     }
                     case ZONED_DATE_TIME: {
-                        final ZonedDateTime zdt = ZonedDateTime.parse(input, formatter);
+                        final ZonedDateTime zdt =
+                            parsed != null ? (ZonedDateTime)parsed : ZonedDateTime.parse(input, m_formatter);
                         return ZonedDateTimeCellFactory.create(zdt);
                     }
                     default:
-                        throw new IllegalStateException("Unhandled date&time type: " + m_selectedType);
+                        throw new IllegalStateException("Unhandled date&time type: " + m_type);
                 }
             } catch (DateTimeParseException e) {
-                m_failCounter++;
+                m_failCounter.incrementAndGet();
                 if (m_cancelOnFail.getBooleanValue()) {
                     throw new IllegalArgumentException(
                         "Failed to parse date in row '" + row.getKey() + ": " + e.getMessage());
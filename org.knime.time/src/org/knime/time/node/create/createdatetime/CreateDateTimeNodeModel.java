@@ -50,6 +50,7 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -62,12 +63,18 @@
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.def.DefaultRow;
@@ -75,12 +82,12 @@
 import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
 import org.knime.core.data.time.localtime.LocalTimeCellFactory;
 import org.knime.core.data.time.zoneddatetime.ZonedDateTimeCellFactory;
-import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -88,6 +95,14 @@
 import org.knime.core.node.defaultnodesettings.SettingsModelLong;
 import org.knime.core.node.defaultnodesettings.SettingsModelLongBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.util.ThreadPool;
 import org.knime.time.util.DateTimeType;
 import org.knime.time.util.DurationPeriodFormatUtils;
 import org.knime.time.util.SettingsModelDateTime;
@@ -98,6 +113,13 @@
  * @author Simon Schmid, KNIME.com, Konstanz, Germany
  */
 final class CreateDateTimeNodeModel extends NodeModel {
+    /** number of rows created at once, chunks are created in parallel if the interval is a duration */
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final BigInteger NANOS_PER_SECOND = BigInteger.valueOf(1_000_000_000L);
+
+    private static final BigInteger NANOS_PER_DAY = BigInteger.valueOf(86_400_000_000_000L);
+
     private final SettingsModelString m_columnName = createColumnNameModel();
 
     private final SettingsModelString m_rowNrOptionSelection = createRowNrOptionSelectionModel();
@@ -239,8 +261,33 @@ private DataTableSpec createOutSpec() {
     @Override
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
-        BufferedDataContainer container = exec.createDataContainer(createOutSpec());
+        final BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(exec.createDataContainer(createOutSpec()));
+        createRows(output, exec);
+        return new BufferedDataTable[]{output.getDataTable()};
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                createRows((RowOutput)outputs[0], exec);
+            }
+        };
+    }
+
+    /**
+     * Helper method used in both execution modes streaming and non-streaming.
+     */
+    private void createRows(final RowOutput output, final ExecutionContext exec)
+        throws InvalidSettingsException, InterruptedException, CanceledExecutionException {
         // check and parse duration/period (may be wrong, if controlled by flow variables)
         TemporalAmount durationOrPeriod = null;
         if (m_durationOrEnd.getStringValue().equals(EndMode.Duration.name())
@@ -295,17 +342,15 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
 
         if (m_rowNrOptionSelection.getStringValue().equals(RowNrMode.Fixed.name())) {
             if (m_durationOrEnd.getStringValue().equals(EndMode.Duration.name())) {
-                createByFixedRowNrAndDuration(container, m_rowNrFixed.getLongValue(), start, durationOrPeriod, false,
-                    hasMillis(start, start) || hasDurationMillis());
+                createByFixedRowNrAndDuration(output, exec, m_rowNrFixed.getLongValue(), start, durationOrPeriod,
+                    false, hasMillis(start, start) || hasDurationMillis());
             } else {
-                createByFixedRowNrAndEnd(container, m_rowNrFixed.getLongValue(), start, end);
+                createByFixedRowNrAndEnd(output, exec, m_rowNrFixed.getLongValue(), start, end);
             }
         } else {
-            createByVariableRowNr(container, start, end, durationOrPeriod);
+            createByVariableRowNr(output, exec, start, end, durationOrPeriod);
         }
-        container.close();
-
-        return new BufferedDataTable[]{exec.createBufferedDataTable(container.getTable(), exec)};
+        output.close();
     }
 
     static Temporal getTemporalExecTimeWithFormat(final Temporal formatTemporal) {
@@ -325,75 +370,182 @@ static Temporal getTemporalExecTimeWithFormat(final Temporal formatTemporal) {
     /**
      * Create date&time row with a fixed number of rows and a given starting point and duration/period.
      */
-    private void createByFixedRowNrAndDuration(final BufferedDataContainer container, final long nrRows,
-        final Temporal startDateTime, final TemporalAmount durationOrPeriod, final boolean wasLocalDate,
-        final boolean hasMillis) throws DateTimeException, ArithmeticException {
+    private static void createByFixedRowNrAndDuration(final RowOutput output, final ExecutionContext exec,
+        final long nrRows, final Temporal startDateTime, final TemporalAmount durationOrPeriod,
+        final boolean wasLocalDate, final boolean hasMillis)
+        throws DateTimeException, ArithmeticException, InterruptedException, CanceledExecutionException {
+        if (durationOrPeriod instanceof Duration && !(startDateTime instanceof LocalDate)) {
+            pushRows(output, exec, nrRows, startDateTime, (Duration)durationOrPeriod,
+                t -> createCell(t, wasLocalDate, hasMillis));
+            return;
+        }
+        // adding periods is not associative (e.g. the day of month is capped at the end of a month), the rows are
+        // hence created one after the other
         Temporal intervalDateTime = startDateTime.minus(durationOrPeriod);
         for (long rowIdx = 0; rowIdx < nrRows; rowIdx++) {
+            exec.checkCanceled();
             intervalDateTime = intervalDateTime.plus(durationOrPeriod);
+            output.push(
+                new DefaultRow(new RowKey("Row" + rowIdx), createCell(intervalDateTime, wasLocalDate, hasMillis)));
+        }
+    }
 
-            final DataCell dataCell;
-            // local date
-            if (intervalDateTime instanceof LocalDate) {
-                dataCell = LocalDateCellFactory.create((LocalDate)intervalDateTime);
+    /**
+     * Creates the cell of a row with a fixed number of rows, the value is rounded to seconds if neither start, end or
+     * duration have milliseconds.
+     */
+    private static DataCell createCell(final Temporal intervalDateTime, final boolean wasLocalDate,
+        final boolean hasMillis) {
+        // local date
+        if (intervalDateTime instanceof LocalDate) {
+            return LocalDateCellFactory.create((LocalDate)intervalDateTime);
+        }
+        // local time
+        else if (intervalDateTime instanceof LocalTime) {
+            if (hasMillis) {
+                return LocalTimeCellFactory.create(((LocalTime)intervalDateTime).truncatedTo(ChronoUnit.MILLIS));
+            } else if (((LocalTime)intervalDateTime).getNano() >= 500_000_000) {
+                // rounding
+                return LocalTimeCellFactory.create(((LocalTime)intervalDateTime).plusSeconds(1).withNano(0));
+            } else {
+                return LocalTimeCellFactory.create(((LocalTime)intervalDateTime).withNano(0));
             }
-            // local time
-            else if (intervalDateTime instanceof LocalTime) {
-                if (hasMillis) {
-                    dataCell =
-                        LocalTimeCellFactory.create(((LocalTime)intervalDateTime).truncatedTo(ChronoUnit.MILLIS));
-                } else if (((LocalTime)intervalDateTime).getNano() >= 500_000_000) {
-                    // rounding
-                    dataCell =
-                        LocalTimeCellFactory.create(((LocalTime)intervalDateTime).plusSeconds(1).withNano(0));
+        }
+        // local date time
+        else if (intervalDateTime instanceof LocalDateTime) {
+            if (wasLocalDate) {
+                LocalDate localDate = ((LocalDateTime)intervalDateTime).toLocalDate();
+                // rounding
+                if (((LocalDateTime)intervalDateTime).toLocalTime().isAfter(LocalTime.NOON)) {
+                    return LocalDateCellFactory.create(localDate.plusDays(1));
                 } else {
-                    dataCell = LocalTimeCellFactory.create(((LocalTime)intervalDateTime).withNano(0));
+                    return LocalDateCellFactory.create(localDate);
                 }
+            } else if (hasMillis) {
+                return LocalDateTimeCellFactory
+                    .create(((LocalDateTime)intervalDateTime).truncatedTo(ChronoUnit.MILLIS));
+            } else if (((LocalDateTime)intervalDateTime).getNano() >= 500_000_000) {
+                // rounding
+                return LocalDateTimeCellFactory.create(((LocalDateTime)intervalDateTime).plusSeconds(1).withNano(0));
+            } else {
+                return LocalDateTimeCellFactory.create(((LocalDateTime)intervalDateTime).withNano(0));
             }
-            // local date time
-            else if (intervalDateTime instanceof LocalDateTime) {
-                if (wasLocalDate) {
-                    LocalDate localDate = ((LocalDateTime)intervalDateTime).toLocalDate();
-                    // rounding
-                    if (((LocalDateTime)intervalDateTime).toLocalTime().isAfter(LocalTime.NOON)) {
-                        dataCell = LocalDateCellFactory.create(localDate.plusDays(1));
-                    } else {
-                        dataCell = LocalDateCellFactory.create(localDate);
-                    }
-                } else if (hasMillis) {
-                    dataCell = LocalDateTimeCellFactory
-                        .create(((LocalDateTime)intervalDateTime).truncatedTo(ChronoUnit.MILLIS));
-                } else if (((LocalDateTime)intervalDateTime).getNano() >= 500_000_000) {
-                    // rounding
-                    dataCell = LocalDateTimeCellFactory
-                        .create(((LocalDateTime)intervalDateTime).plusSeconds(1).withNano(0));
-                } else {
-                    dataCell = LocalDateTimeCellFactory.create(((LocalDateTime)intervalDateTime).withNano(0));
-                }
+        }
+        // zoned date time
+        else {
+            if (hasMillis) {
+                return ZonedDateTimeCellFactory
+                    .create(((ZonedDateTime)intervalDateTime).truncatedTo(ChronoUnit.MILLIS));
+            } else if (((ZonedDateTime)intervalDateTime).getNano() >= 500_000_000) {
+                // rounding
+                return ZonedDateTimeCellFactory.create(((ZonedDateTime)intervalDateTime).plusSeconds(1).withNano(0));
+            } else {
+                return ZonedDateTimeCellFactory.create(((ZonedDateTime)intervalDateTime).withNano(0));
             }
-            // zoned date time
-            else {
-                if (hasMillis) {
-                    dataCell = ZonedDateTimeCellFactory
-                        .create(((ZonedDateTime)intervalDateTime).truncatedTo(ChronoUnit.MILLIS));
-                } else if (((ZonedDateTime)intervalDateTime).getNano() >= 500_000_000) {
-                    // rounding
-                    dataCell = ZonedDateTimeCellFactory
-                        .create(((ZonedDateTime)intervalDateTime).plusSeconds(1).withNano(0));
-                } else {
-                    dataCell = ZonedDateTimeCellFactory.create(((ZonedDateTime)intervalDateTime).withNano(0));
+        }
+    }
+
+    /**
+     * Pushes the rows start, start + duration, start + 2 * duration, ... Adding a duration is associative, hence the
+     * first date&time of a chunk of rows is computed directly and the chunks are created in parallel in a sub pool of
+     * the KNIME thread pool. They are pushed in order.
+     */
+    private static void pushRows(final RowOutput output, final ExecutionContext exec, final long nrRows,
+        final Temporal start, final Duration duration, final Function<Temporal, DataCell> cellCreator)
+        throws InterruptedException, CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final int maxPending = 2 * Math.max(1, pool.getMaxThreads());
+        final Deque<Future<DataRow[]>> pending = new ArrayDeque<>();
+        long nrPushed = 0;
+        try {
+            for (long firstRowIdx = 0; firstRowIdx < nrRows; firstRowIdx += CHUNK_SIZE) {
+                final long chunkStart = firstRowIdx;
+                final int chunkSize = (int)Math.min(CHUNK_SIZE, nrRows - firstRowIdx);
+                pending.add(pool.enqueue(() -> createChunk(start, duration, chunkStart, chunkSize, cellCreator)));
+                // bound the number of buffered rows
+                while (pending.size() > maxPending) {
+                    nrPushed = push(output, exec, getChunk(pending.poll()), nrPushed, nrRows);
                 }
             }
+            while (!pending.isEmpty()) {
+                nrPushed = push(output, exec, getChunk(pending.poll()), nrPushed, nrRows);
+            }
+        } finally {
+            for (final Future<DataRow[]> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /** Waits for the rows of a chunk, runtime exceptions of the chunk are rethrown. */
+    private static DataRow[] getChunk(final Future<DataRow[]> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static DataRow[] createChunk(final Temporal start, final Duration duration, final long firstRowIdx,
+        final int nrRows, final Function<Temporal, DataCell> cellCreator) {
+        final DataRow[] rows = new DataRow[nrRows];
+        Temporal dateTime = plus(start, duration, firstRowIdx);
+        for (int i = 0; i < nrRows; i++) {
+            if (i > 0) {
+                dateTime = dateTime.plus(duration);
+            }
+            rows[i] = new DefaultRow(new RowKey("Row" + (firstRowIdx + i)), cellCreator.apply(dateTime));
+        }
+        return rows;
+    }
 
-            container.addRowToTable(new DefaultRow(new RowKey("Row" + rowIdx), dataCell));
+    private static long push(final RowOutput output, final ExecutionContext exec, final DataRow[] rows,
+        final long nrPushed, final long nrRows) throws InterruptedException, CanceledExecutionException {
+        exec.checkCanceled();
+        for (final DataRow row : rows) {
+            output.push(row);
+        }
+        final long pushed = nrPushed + rows.length;
+        exec.setProgress(pushed / (double)nrRows, () -> "Row " + pushed + "/" + nrRows);
+        return pushed;
+    }
+
+    /**
+     * @return the given date&time plus the given number of times the duration, as if the duration was added that
+     *         many times
+     */
+    private static Temporal plus(final Temporal dateTime, final Duration duration, final long times) {
+        if (times == 0) {
+            return dateTime;
+        }
+        if (dateTime instanceof LocalTime) {
+            // a local time wraps around midnight, only the remainder of a day matters
+            final BigInteger nanos = toNanos(duration).multiply(BigInteger.valueOf(times)).mod(NANOS_PER_DAY);
+            return ((LocalTime)dateTime).plusNanos(nanos.longValue());
         }
+        return dateTime.plus(duration.multipliedBy(times));
+    }
+
+    /**
+     * @return the length of the duration in nanoseconds
+     */
+    private static BigInteger toNanos(final Duration duration) {
+        return BigInteger.valueOf(duration.getSeconds()).multiply(NANOS_PER_SECOND)
+            .add(BigInteger.valueOf(duration.getNano()));
     }
 
     /**
      * Create date&time row with a fixed number of rows and a given starting point ending point.
      */
-    private void createByFixedRowNrAndEnd(final BufferedDataContainer container, final long nrRows,
-        final Temporal startDateTime, final Temporal endDateTime) {
+    private static void createByFixedRowNrAndEnd(final RowOutput output, final ExecutionContext exec,
+        final long nrRows, final Temporal startDateTime, final Temporal endDateTime)
+        throws InterruptedException, CanceledExecutionException {
         Temporal start = startDateTime;
         Temporal end = endDateTime;
 
@@ -410,7 +562,8 @@ private void createByFixedRowNrAndEnd(final BufferedDataContainer container, fin
         // === create all rows except the last one ===
         if (nrRows > 1) {
             final Duration durationInterval = Duration.between(start, end).dividedBy(nrRows - 1);
-            createByFixedRowNrAndDuration(container, nrRows - 1, start, durationInterval, wasLocalDate, hasMillis);
+            createByFixedRowNrAndDuration(output, exec, nrRows - 1, start, durationInterval, wasLocalDate,
+                hasMillis);
         } else {
             end = start;
         }
@@ -431,13 +584,13 @@ private void createByFixedRowNrAndEnd(final BufferedDataContainer container, fin
             dataCell = ZonedDateTimeCellFactory.create(
                 hasMillis ? ((ZonedDateTime)end).truncatedTo(ChronoUnit.MILLIS) : ((ZonedDateTime)end).withNano(0));
         }
-        container.addRowToTable(new DefaultRow(new RowKey("Row" + (nrRows - 1)), dataCell));
+        output.push(new DefaultRow(new RowKey("Row" + (nrRows - 1)), dataCell));
     }
 
     /**
      * @return true, if either start or end has milliseconds
      */
-    private boolean hasMillis(final Temporal start, final Temporal end) {
+    private static boolean hasMillis(final Temporal start, final Temporal end) {
         if (start instanceof LocalDate) {
             return false;
         } else if (start instanceof LocalTime) {
@@ -464,8 +617,9 @@ private boolean hasDurationMillis() {
      * Create date&time row with a variable number of rows depending on a given starting point, a duration/period and an
      * ending point.
      */
-    private void createByVariableRowNr(final BufferedDataContainer container, final Temporal startDateTime,
-        final Temporal endDateTime, final TemporalAmount durationOrPeriod) throws InvalidSettingsException {
+    private void createByVariableRowNr(final RowOutput output, final ExecutionContext exec,
+        final Temporal startDateTime, final Temporal endDateTime, final TemporalAmount durationOrPeriod)
+        throws InterruptedException, CanceledExecutionException {
         Temporal start = startDateTime;
         Temporal end = endDateTime;
 
@@ -479,7 +633,7 @@ private void createByVariableRowNr(final BufferedDataContainer container, final
         }
 
         // === check if start date is after end ===
-        boolean wasLocalTime = start instanceof LocalTime;
+        final boolean wasLocalTime = start instanceof LocalTime;
         final boolean isStartAfterEnd;
         if (start instanceof LocalDate) {
             isStartAfterEnd = ((LocalDate)start).isAfter((LocalDate)end);
@@ -550,33 +704,32 @@ private void createByVariableRowNr(final BufferedDataContainer container, final
         }
 
         // === create rows ===
+        if (durationOrPeriod instanceof Duration) {
+            // the number of rows is known in advance, the rows can hence be created directly
+            final long nrRows =
+                toNanos(Duration.between(start, end)).divide(toNanos((Duration)durationOrPeriod)).longValueExact() + 1;
+            pushRows(output, exec, nrRows, start, (Duration)durationOrPeriod,
+                t -> createVariableCell(t, wasLocalTime));
+            return;
+        }
         Temporal currentDateTime = start;
         long row_idx = 0;
         while (true) {
-            final DataCell dataCell;
+            exec.checkCanceled();
             final boolean isEqual = currentDateTime.equals(end);
             final boolean isCurrentAfterEnd;
             if (currentDateTime instanceof LocalDate) {
                 isCurrentAfterEnd = ((LocalDate)currentDateTime).isAfter((LocalDate)end);
-                dataCell = LocalDateCellFactory.create((LocalDate)currentDateTime);
             } else if (currentDateTime instanceof LocalDateTime) {
                 isCurrentAfterEnd = ((LocalDateTime)currentDateTime).isAfter((LocalDateTime)end);
-                if (wasLocalTime) {
-                    dataCell = LocalTimeCellFactory
-                        .create((((LocalDateTime)currentDateTime).truncatedTo(ChronoUnit.MILLIS)).toLocalTime());
-                } else {
-                    dataCell = LocalDateTimeCellFactory
-                        .create(((LocalDateTime)currentDateTime).truncatedTo(ChronoUnit.MILLIS));
-                }
             } else {
                 isCurrentAfterEnd = ((ZonedDateTime)currentDateTime).isAfter((ZonedDateTime)end);
-                dataCell =
-                    ZonedDateTimeCellFactory.create(((ZonedDateTime)currentDateTime).truncatedTo(ChronoUnit.MILLIS));
             }
             if ((isCurrentAfterEnd && !isStartAfterEnd) || (!isCurrentAfterEnd && !isEqual && isStartAfterEnd)) {
                 break;
             }
-            container.addRowToTable(new DefaultRow(new RowKey("Row" + row_idx++), dataCell));
+            output.push(
+                new DefaultRow(new RowKey("Row" + row_idx++), createVariableCell(currentDateTime, wasLocalTime)));
             if (isEqual) {
                 break;
             }
@@ -584,6 +737,24 @@ private void createByVariableRowNr(final BufferedDataContainer container, final
         }
     }
 
+    /**
+     * Creates the cell of a row with a variable number of rows, the value is truncated to milliseconds.
+     */
+    private static DataCell createVariableCell(final Temporal currentDateTime, final boolean wasLocalTime) {
+        if (currentDateTime instanceof LocalDate) {
+            return LocalDateCellFactory.create((LocalDate)currentDateTime);
+        } else if (currentDateTime instanceof LocalDateTime) {
+            if (wasLocalTime) {
+                return LocalTimeCellFactory
+                    .create((((LocalDateTime)currentDateTime).truncatedTo(ChronoUnit.MILLIS)).toLocalTime());
+            } else {
+                return LocalDateTimeCellFactory.create(((LocalDateTime)currentDateTime).truncatedTo(ChronoUnit.MILLIS));
+            }
+        } else {
+            return ZonedDateTimeCellFactory.create(((ZonedDateTime)currentDateTime).truncatedTo(ChronoUnit.MILLIS));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -48,11 +48,22 @@
  */
 package org.knime.time.node.extract.datetime;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.format.TextStyle;
-import java.time.temporal.ChronoField;
 import java.time.temporal.WeekFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.LocaleUtils;
 import org.knime.core.data.DataCell;
@@ -62,9 +73,8 @@
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
-import org.knime.core.data.DataValue;
+import org.knime.core.data.container.AbstractCellFactory;
 import org.knime.core.data.container.ColumnRearranger;
-import org.knime.core.data.container.SingleCellFactory;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.IntCell.IntCellFactory;
 import org.knime.core.data.def.StringCell;
@@ -229,568 +239,122 @@ protected ColumnRearranger createColumnRearranger(final DataTableSpec spec) thro
         final boolean isZonedDateTime = selectedColType.isCompatible(ZonedDateTimeValue.class);
 
         final Locale locale = Locale.forLanguageTag(m_localeModel.getStringValue());
+        final WeekFields weekFields = WeekFields.of(locale);
 
         final UniqueNameGenerator nameGenerator = new UniqueNameGenerator(spec);
         final DataColumnDomainCreator domainCreator = new DataColumnDomainCreator();
         final ColumnRearranger rearranger = new ColumnRearranger(spec);
+        final List<DataColumnSpec> colSpecs = new ArrayList<>();
+        final List<FieldExtractor> extractors = new ArrayList<>();
 
         if (isDate) {
 
             // extract date fields:
 
-            // year:
-
             if (m_yearModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = nameGenerator.newColumn(YEAR, IntCell.TYPE);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory.create(value.getLocalDate().getYear());
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create(value.getLocalDateTime().getYear());
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create(value.getZonedDateTime().getYear());
-                        }
-                    });
-                }
+                colSpecs.add(nameGenerator.newColumn(YEAR, IntCell.TYPE));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(date.getYear()));
             }
-
-            // year (week-based):
-
             if (m_yearWeekBasedModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = nameGenerator.newColumn(YEAR_WEEK_BASED, IntCell.TYPE);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory
-                                .create(value.getLocalDate().get(WeekFields.of(locale).weekBasedYear()));
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory
-                                .create(value.getLocalDateTime().get(WeekFields.of(locale).weekBasedYear()));
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory
-                                .create(value.getZonedDateTime().get(WeekFields.of(locale).weekBasedYear()));
-                        }
-                    });
-                }
+                colSpecs.add(nameGenerator.newColumn(YEAR_WEEK_BASED, IntCell.TYPE));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(date.get(weekFields.weekBasedYear())));
             }
-
-            // quarter:
-
             if (m_quarterModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator, QUARTER, 1, 4);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory.create((value.getLocalDate().getMonthValue() + 2) / 3);
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create((value.getLocalDateTime().getMonthValue() + 2) / 3);
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create((value.getZonedDateTime().getMonthValue() + 2) / 3);
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, QUARTER, 1, 4));
+                extractors.add((date, time, zoned) -> IntCellFactory.create((date.getMonthValue() + 2) / 3));
             }
-
-            // month (number):
-
             if (m_monthNumberModel.getBooleanValue()) {
-                final DataColumnSpec colSpec =
-                    createBoundedIntColumn(domainCreator, nameGenerator, MONTH_NUMBER, 1, 12);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory.create(value.getLocalDate().getMonthValue());
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create(value.getLocalDateTime().getMonthValue());
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create(value.getZonedDateTime().getMonthValue());
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, MONTH_NUMBER, 1, 12));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(date.getMonthValue()));
             }
-
-            // month (name):
-
             if (m_monthNameModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = nameGenerator.newColumn(MONTH_NAME, StringCell.TYPE);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return StringCellFactory
-                                .create(value.getLocalDate().getMonth().getDisplayName(TextStyle.FULL, locale));
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return StringCellFactory
-                                .create(value.getLocalDateTime().getMonth().getDisplayName(TextStyle.FULL, locale));
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return StringCellFactory
-                                .create(value.getZonedDateTime().getMonth().getDisplayName(TextStyle.FULL, locale));
-                        }
-                    });
-                }
+                colSpecs.add(nameGenerator.newColumn(MONTH_NAME, StringCell.TYPE));
+                // the localized names are looked up once, cells are immutable and can be shared
+                final DataCell[] monthNames = Arrays.stream(Month.values())
+                    .map(m -> StringCellFactory.create(m.getDisplayName(TextStyle.FULL, locale)))
+                    .toArray(DataCell[]::new);
+                extractors.add((date, time, zoned) -> monthNames[date.getMonthValue() - 1]);
             }
-
-            // week:
-
             if (m_weekModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator, WEEK, 1, 52);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory
-                                .create(value.getLocalDate().get(WeekFields.of(locale).weekOfWeekBasedYear()));
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory
-                                .create(value.getLocalDateTime().get(WeekFields.of(locale).weekOfWeekBasedYear()));
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory
-                                .create(value.getZonedDateTime().get(WeekFields.of(locale).weekOfWeekBasedYear()));
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, WEEK, 1, 52));
+                extractors
+                    .add((date, time, zoned) -> IntCellFactory.create(date.get(weekFields.weekOfWeekBasedYear())));
             }
-
-            // day of year:
-
             if (m_dayYearModel.getBooleanValue()) {
-                final DataColumnSpec colSpec =
-                    createBoundedIntColumn(domainCreator, nameGenerator, DAY_OF_YEAR, 1, 366);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory.create(value.getLocalDate().getDayOfYear());
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create(value.getLocalDateTime().getDayOfYear());
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create(value.getZonedDateTime().getDayOfYear());
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, DAY_OF_YEAR, 1, 366));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(date.getDayOfYear()));
             }
-
-            // day of month:
-
             if (m_dayMonthModel.getBooleanValue()) {
-                final DataColumnSpec colSpec =
-                    createBoundedIntColumn(domainCreator, nameGenerator, DAY_OF_MONTH, 1, 31);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory.create(value.getLocalDate().getDayOfMonth());
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create(value.getLocalDateTime().getDayOfMonth());
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create(value.getZonedDateTime().getDayOfMonth());
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, DAY_OF_MONTH, 1, 31));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(date.getDayOfMonth()));
             }
-
-            // day of week (number):
-
             if (m_dayWeekNumberModel.getBooleanValue()) {
-                final DataColumnSpec colSpec =
-                    createBoundedIntColumn(domainCreator, nameGenerator, DAY_OF_WEEK_NUMBER, 1, 7);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return IntCellFactory.create(value.getLocalDate().get(WeekFields.of(locale).dayOfWeek()));
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory
-                                .create(value.getLocalDateTime().get(WeekFields.of(locale).dayOfWeek()));
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory
-                                .create(value.getZonedDateTime().get(WeekFields.of(locale).dayOfWeek()));
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, DAY_OF_WEEK_NUMBER, 1, 7));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(date.get(weekFields.dayOfWeek())));
             }
-
-            // day of week (name):
-
             if (m_dayWeekNameModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = nameGenerator.newColumn(DAY_OF_WEEK_NAME, StringCell.TYPE);
-                if (isLocalDate) {
-                    rearranger.append(new AbstractLocalDateFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateValue value) {
-                            return StringCellFactory.create(
-                                value.getLocalDate().getDayOfWeek().getDisplayName(TextStyle.FULL_STANDALONE, locale));
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return StringCellFactory.create(value.getLocalDateTime().getDayOfWeek()
-                                .getDisplayName(TextStyle.FULL_STANDALONE, locale));
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return StringCellFactory.create(value.getZonedDateTime().getDayOfWeek()
-                                .getDisplayName(TextStyle.FULL_STANDALONE, locale));
-                        }
-                    });
-                }
+                colSpecs.add(nameGenerator.newColumn(DAY_OF_WEEK_NAME, StringCell.TYPE));
+                final DataCell[] dayNames = Arrays.stream(DayOfWeek.values())
+                    .map(d -> StringCellFactory.create(d.getDisplayName(TextStyle.FULL_STANDALONE, locale)))
+                    .toArray(DataCell[]::new);
+                extractors.add((date, time, zoned) -> dayNames[date.getDayOfWeek().ordinal()]);
             }
         }
         if (isTime) {
 
             // extract time fields:
 
-            // hour:
-
             if (m_hourModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator, HOUR, 0, 23);
-                if (isLocalTime) {
-                    rearranger.append(new AbstractLocalTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalTimeValue value) {
-                            return IntCellFactory.create(value.getLocalTime().getHour());
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create(value.getLocalDateTime().getHour());
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create(value.getZonedDateTime().getHour());
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, HOUR, 0, 23));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(time.getHour()));
             }
-
-            // minute:
-
             if (m_minuteModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator, MINUTE, 0, 59);
-                if (isLocalTime) {
-                    rearranger.append(new AbstractLocalTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalTimeValue value) {
-                            return IntCellFactory.create(value.getLocalTime().getMinute());
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create(value.getLocalDateTime().getMinute());
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create(value.getZonedDateTime().getMinute());
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, MINUTE, 0, 59));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(time.getMinute()));
             }
-
-            // second:
-
             if (m_secondModel.getBooleanValue()) {
-                final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator, SECOND, 0, 59);
-                if (isLocalTime) {
-                    rearranger.append(new AbstractLocalTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalTimeValue value) {
-                            return IntCellFactory.create(value.getLocalTime().getSecond());
-                        }
-                    });
-                } else if (isLocalDateTime) {
-                    rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final LocalDateTimeValue value) {
-                            return IntCellFactory.create(value.getLocalDateTime().getSecond());
-                        }
-                    });
-                } else if (isZonedDateTime) {
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return IntCellFactory.create(value.getZonedDateTime().getSecond());
-                        }
-                    });
-                }
+                colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator, SECOND, 0, 59));
+                extractors.add((date, time, zoned) -> IntCellFactory.create(time.getSecond()));
             }
-
-            // subsecond:
-
             if (m_subsecondModel.getBooleanValue()) {
                 final String subsecondUnit = m_subsecondUnitsModel.getStringValue();
                 if (subsecondUnit.equals(MILLISECOND)) {
-                    // in milliseconds
-                    final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator,
-                        SUBSECOND_COL + " (in " + MILLISECOND + ")", 0, 999);
-                    if (isLocalTime) {
-                        rearranger.append(new AbstractLocalTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final LocalTimeValue value) {
-                                return IntCellFactory.create(value.getLocalTime().get(ChronoField.MILLI_OF_SECOND));
-                            }
-                        });
-                    } else if (isLocalDateTime) {
-                        rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final LocalDateTimeValue value) {
-                                return IntCellFactory.create(value.getLocalDateTime().get(ChronoField.MILLI_OF_SECOND));
-                            }
-                        });
-                    } else if (isZonedDateTime) {
-                        rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final ZonedDateTimeValue value) {
-                                return IntCellFactory.create(value.getZonedDateTime().get(ChronoField.MILLI_OF_SECOND));
-                            }
-                        });
-                    }
+                    colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator,
+                        SUBSECOND_COL + " (in " + MILLISECOND + ")", 0, 999));
+                    extractors.add((date, time, zoned) -> IntCellFactory.create(time.getNano() / 1_000_000));
                 } else if (subsecondUnit.equals(MICROSECOND)) {
-                    // in microseconds
-                    final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator,
-                        SUBSECOND_COL + " (in " + MICROSECOND + ")", 0, 999_999);
-                    if (isLocalTime) {
-                        rearranger.append(new AbstractLocalTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final LocalTimeValue value) {
-                                return IntCellFactory.create(value.getLocalTime().get(ChronoField.MICRO_OF_SECOND));
-                            }
-                        });
-                    } else if (isLocalDateTime) {
-                        rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final LocalDateTimeValue value) {
-                                return IntCellFactory.create(value.getLocalDateTime().get(ChronoField.MICRO_OF_SECOND));
-                            }
-                        });
-                    } else if (isZonedDateTime) {
-                        rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final ZonedDateTimeValue value) {
-                                return IntCellFactory.create(value.getZonedDateTime().get(ChronoField.MICRO_OF_SECOND));
-                            }
-                        });
-                    }
+                    colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator,
+                        SUBSECOND_COL + " (in " + MICROSECOND + ")", 0, 999_999));
+                    extractors.add((date, time, zoned) -> IntCellFactory.create(time.getNano() / 1_000));
                 } else if (subsecondUnit.equals(NANOSECOND)) {
-                    // in nanoseconds
-                    final DataColumnSpec colSpec = createBoundedIntColumn(domainCreator, nameGenerator,
-                        SUBSECOND_COL + " (in " + NANOSECOND + ")", 0, 999_999_999);
-                    if (isLocalTime) {
-                        rearranger.append(new AbstractLocalTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final LocalTimeValue value) {
-                                return IntCellFactory.create(value.getLocalTime().getNano());
-                            }
-                        });
-                    } else if (isLocalDateTime) {
-                        rearranger.append(new AbstractLocalDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final LocalDateTimeValue value) {
-                                return IntCellFactory.create(value.getLocalDateTime().getNano());
-                            }
-                        });
-                    } else if (isZonedDateTime) {
-                        rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                            @Override
-                            protected DataCell getCell(final ZonedDateTimeValue value) {
-                                return IntCellFactory.create(value.getZonedDateTime().getNano());
-                            }
-                        });
-                    }
+                    colSpecs.add(createBoundedIntColumn(domainCreator, nameGenerator,
+                        SUBSECOND_COL + " (in " + NANOSECOND + ")", 0, 999_999_999));
+                    extractors.add((date, time, zoned) -> IntCellFactory.create(time.getNano()));
                 }
             }
             if (isZonedDateTime) {
 
                 // extract time zone fields:
 
-                // time zone name:
-
                 if (m_timeZoneNameModel.getBooleanValue()) {
-                    final DataColumnSpec colSpec = nameGenerator.newColumn(TIME_ZONE_NAME, StringCell.TYPE);
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return StringCellFactory.create(value.getZonedDateTime().getZone().getId().toString());
-                        }
-                    });
+                    colSpecs.add(nameGenerator.newColumn(TIME_ZONE_NAME, StringCell.TYPE));
+                    extractors.add((date, time, zoned) -> StringCellFactory.create(zoned.getZone().getId()));
                 }
-
-                // time zone offset:
-
                 if (m_timeZoneOffsetModel.getBooleanValue()) {
-                    final DataColumnSpec colSpec = nameGenerator.newColumn(TIME_ZONE_OFFSET, StringCell.TYPE);
-                    rearranger.append(new AbstractZonedDateTimeFieldCellFactory(selectedColIdx, colSpec) {
-
-                        @Override
-                        protected DataCell getCell(final ZonedDateTimeValue value) {
-                            return StringCellFactory.create(
-                                value.getZonedDateTime().getOffset().getDisplayName(TextStyle.FULL_STANDALONE, locale));
-                        }
-                    });
+                    colSpecs.add(nameGenerator.newColumn(TIME_ZONE_OFFSET, StringCell.TYPE));
+                    // there are only few distinct offsets, their names are looked up once
+                    final Map<ZoneOffset, DataCell> offsetNames = new ConcurrentHashMap<>();
+                    extractors.add((date, time, zoned) -> offsetNames.computeIfAbsent(zoned.getOffset(),
+                        o -> StringCellFactory.create(o.getDisplayName(TextStyle.FULL_STANDALONE, locale))));
                 }
             }
         }
 
-        if (rearranger.getColumnCount() == spec.getNumColumns()) {
+        if (extractors.isEmpty() || !(isLocalDate || isLocalTime || isLocalDateTime || isZonedDateTime)) {
             getLogger().info("No fields will be extracted. Output table will equal input table.");
+        } else {
+            rearranger.append(new ExtractFieldsCellFactory(selectedColIdx, isLocalDate, isLocalTime, isLocalDateTime,
+                colSpecs.toArray(new DataColumnSpec[0]), extractors.toArray(new FieldExtractor[0])));
         }
 
         return rearranger;
@@ -899,54 +463,72 @@ private static DataColumnSpec createBoundedIntColumn(final DataColumnDomainCreat
         return specCreator.createSpec();
     }
 
-    // cell factories:
+    // cell factory:
 
-    private abstract class AbstractLocalDateFieldCellFactory extends AbstractExtractFieldCellFactory<LocalDateValue> {
-        AbstractLocalDateFieldCellFactory(final int colIdx, final DataColumnSpec newColSpec) {
-            super(colIdx, newColSpec);
-        }
-    }
+    /** Extracts one field from the date and time of a cell. */
+    @FunctionalInterface
+    private interface FieldExtractor {
 
-    private abstract class AbstractLocalTimeFieldCellFactory extends AbstractExtractFieldCellFactory<LocalTimeValue> {
-        AbstractLocalTimeFieldCellFactory(final int colIdx, final DataColumnSpec newColSpec) {
-            super(colIdx, newColSpec);
-        }
+        /**
+         * @param date the date of the cell, <code>null</code> if the cell does not contain a date
+         * @param time the time of the cell, <code>null</code> if the cell does not contain a time
+         * @param zoned the zoned date&time of the cell, <code>null</code> if the cell does not contain a zone
+         * @return the cell holding the field
+         */
+        DataCell extract(LocalDate date, LocalTime time, ZonedDateTime zoned);
     }
 
-    private abstract class AbstractLocalDateTimeFieldCellFactory
-        extends AbstractExtractFieldCellFactory<LocalDateTimeValue> {
-        AbstractLocalDateTimeFieldCellFactory(final int colIdx, final DataColumnSpec newColSpec) {
-            super(colIdx, newColSpec);
-        }
-    }
+    /** Decodes the value of a cell once and extracts all selected fields from it. */
+    private static final class ExtractFieldsCellFactory extends AbstractCellFactory {
 
-    private abstract class AbstractZonedDateTimeFieldCellFactory
-        extends AbstractExtractFieldCellFactory<ZonedDateTimeValue> {
-        AbstractZonedDateTimeFieldCellFactory(final int colIdx, final DataColumnSpec newColSpec) {
-            super(colIdx, newColSpec);
-        }
-    }
+        private final int m_colIdx;
 
-    private abstract class AbstractExtractFieldCellFactory<V extends DataValue> extends SingleCellFactory {
+        private final boolean m_isLocalDate;
 
-        private final int m_colIdx;
+        private final boolean m_isLocalTime;
+
+        private final boolean m_isLocalDateTime;
+
+        private final FieldExtractor[] m_extractors;
 
-        AbstractExtractFieldCellFactory(final int colIdx, final DataColumnSpec newColSpec) {
-            super(true, newColSpec);
+        ExtractFieldsCellFactory(final int colIdx, final boolean isLocalDate, final boolean isLocalTime,
+            final boolean isLocalDateTime, final DataColumnSpec[] colSpecs, final FieldExtractor[] extractors) {
+            super(true, colSpecs);
             m_colIdx = colIdx;
+            m_isLocalDate = isLocalDate;
+            m_isLocalTime = isLocalTime;
+            m_isLocalDateTime = isLocalDateTime;
+            m_extractors = extractors;
         }
 
         @Override
-        public DataCell getCell(final DataRow row) {
+        public DataCell[] getCells(final DataRow row) {
+            final DataCell[] cells = new DataCell[m_extractors.length];
             final DataCell cell = row.getCell(m_colIdx);
             if (cell.isMissing()) {
-                return DataType.getMissingCell();
+                Arrays.fill(cells, DataType.getMissingCell());
+                return cells;
             }
-            @SuppressWarnings("unchecked")
-            final V value = (V)cell;
-            return getCell(value);
+            LocalDate date = null;
+            LocalTime time = null;
+            ZonedDateTime zoned = null;
+            if (m_isLocalDate) {
+                date = ((LocalDateValue)cell).getLocalDate();
+            } else if (m_isLocalTime) {
+                time = ((LocalTimeValue)cell).getLocalTime();
+            } else if (m_isLocalDateTime) {
+                final LocalDateTime dateTime = ((LocalDateTimeValue)cell).getLocalDateTime();
+                date = dateTime.toLocalDate();
+                time = dateTime.toLocalTime();
+            } else {
+                zoned = ((ZonedDateTimeValue)cell).getZonedDateTime();
+                date = zoned.toLocalDate();
+                time = zoned.toLocalTime();
+            }
+            for (int i = 0; i < m_extractors.length; i++) {
+                cells[i] = m_extractors[i].extract(date, time, zoned);
+            }
+            return cells;
         }
-
-        protected abstract DataCell getCell(final V value);
     }
 }
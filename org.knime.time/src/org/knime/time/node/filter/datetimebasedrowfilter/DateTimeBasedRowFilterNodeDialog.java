@@ -125,6 +125,8 @@ final class DateTimeBasedRowFilterNodeDialog extends NodeDialogPane {
 
     private final DialogComponentBoolean m_dialogCompEndAlwaysNow;
 
+    private final DialogComponentBoolean m_dialogCompAssumeSorted;
+
     private final JLabel m_typeWarningLabel;
 
     /** Setting up all DialogComponents. */
@@ -138,6 +140,9 @@ public DateTimeBasedRowFilterNodeDialog() {
         m_dialogCompColSelection = new DialogComponentColumnNameSelection(colSelectModel, "Date&Time Column: ", 0,
             LocalDateTimeValue.class, ZonedDateTimeValue.class, LocalDateValue.class, LocalTimeValue.class);
 
+        m_dialogCompAssumeSorted = new DialogComponentBoolean(
+            DateTimeBasedRowFilterNodeModel.createAssumeSortedModel(), "Column is sorted in ascending order");
+
         final SettingsModelBoolean startBooleanModel = DateTimeBasedRowFilterNodeModel.createStartBooleanModel();
         m_dialogCompStartBoolean = new DialogComponentBoolean(startBooleanModel, null);
 
@@ -202,6 +207,8 @@ public DateTimeBasedRowFilterNodeDialog() {
         gbcColSelect.anchor = GridBagConstraints.WEST;
         gbcColSelect.weightx = 1;
         panelColSelect.add(m_dialogCompColSelection.getComponentPanel(), gbcColSelect);
+        gbcColSelect.gridy++;
+        panelColSelect.add(m_dialogCompAssumeSorted.getComponentPanel(), gbcColSelect);
         panel.add(panelColSelect, gbc);
 
         /*
@@ -588,6 +595,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         m_dialogCompPeriodOrDurationValue.saveSettingsTo(settings);
         m_dialogCompNumericalValue.saveSettingsTo(settings);
         m_dialogCompNumericalGranularity.saveSettingsTo(settings);
+        m_dialogCompAssumeSorted.saveSettingsTo(settings);
     }
 
     /**
@@ -609,6 +617,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSp
         m_dialogCompNumericalValue.loadSettingsFrom(settings, specs);
         m_dialogCompNumericalGranularity.loadSettingsFrom(settings, specs);
         m_dialogCompColSelection.loadSettingsFrom(settings, specs);
+        m_dialogCompAssumeSorted.loadSettingsFrom(settings, specs);
         if (((SettingsModelString)m_dialogCompEndSelection.getModel()).getStringValue() == null) {
             ((SettingsModelString)m_dialogCompEndSelection.getModel())
                 .setStringValue(EndMode.DateTime.name());
@@ -57,6 +57,12 @@
 import java.time.ZonedDateTime;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
@@ -66,12 +72,12 @@
 import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
 import org.knime.core.data.time.localtime.LocalTimeValue;
 import org.knime.core.data.time.zoneddatetime.ZonedDateTimeValue;
-import org.knime.core.node.BufferedDataContainer;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
@@ -79,6 +85,8 @@
 import org.knime.core.node.defaultnodesettings.SettingsModelInteger;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
 import org.knime.core.node.streamable.InputPortRole;
 import org.knime.core.node.streamable.OutputPortRole;
 import org.knime.core.node.streamable.PartitionInfo;
@@ -87,6 +95,7 @@
 import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.util.ThreadPool;
 import org.knime.time.util.DurationPeriodFormatUtils;
 import org.knime.time.util.Granularity;
 import org.knime.time.util.SettingsModelDateTime;
@@ -103,6 +112,9 @@ final class DateTimeBasedRowFilterNodeModel extends NodeModel {
     static final String WARNING_MESSAGE_START_AFTER_END =
         "Start date is after end date! Node created an empty data table.";
 
+    /** Number of rows that are tested by one task. */
+    private static final int CHUNK_SIZE = 2048;
+
     private final SettingsModelString m_colSelect = createColSelectModel();
 
     private final SettingsModelBoolean m_startBool = createStartBooleanModel();
@@ -129,6 +141,8 @@ final class DateTimeBasedRowFilterNodeModel extends NodeModel {
 
     private final SettingsModelBoolean m_endAlwaysNow = createEndAlwaysNowModel();
 
+    private final SettingsModelBoolean m_assumeSorted = createAssumeSortedModel();
+
     /** @return the column select model, used in both dialog and model. */
     static SettingsModelString createColSelectModel() {
         return new SettingsModelString("col_select", null);
@@ -194,6 +208,11 @@ static SettingsModelBoolean createEndAlwaysNowModel() {
         return new SettingsModelBoolean("end_always_now", false);
     }
 
+    /** @return the boolean model, used in both dialog and model. */
+    static SettingsModelBoolean createAssumeSortedModel() {
+        return new SettingsModelBoolean("assume_sorted", false);
+    }
+
     /**
      */
     protected DateTimeBasedRowFilterNodeModel() {
@@ -218,272 +237,239 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws Invali
     protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
         throws Exception {
         final BufferedDataTable dataTable = inData[0];
-        final BufferedDataContainer container = exec.createDataContainer(dataTable.getDataTableSpec());
+        final BufferedDataTableRowOutput out =
+            new BufferedDataTableRowOutput(exec.createDataContainer(dataTable.getDataTableSpec()));
+        execute(new DataTableRowInput(dataTable), out, exec, dataTable.size());
+        return new BufferedDataTable[]{out.getDataTable()};
+    }
 
+    /**
+     * Helper method used in both execution modes streaming and non-streaming.
+     *
+     * @param rowCount the number of input rows, -1 if unknown
+     */
+    private void execute(final RowInput in, final RowOutput out, final ExecutionContext exec, final long rowCount)
+        throws Exception {
         // read input
-        final int colIdx = dataTable.getDataTableSpec().findColumnIndex(m_colSelect.getStringValue());
+        final DataTableSpec spec = in.getDataTableSpec();
+        final int colIdx = spec.findColumnIndex(m_colSelect.getStringValue());
         final ZonedDateTime executionStartTime = m_startAlwaysNow.getBooleanValue() ? ZonedDateTime.now() : null;
         final ZonedDateTime executionEndTime = m_endAlwaysNow.getBooleanValue() ? ZonedDateTime.now() : null;
+        final TemporalRange range =
+            createRange(spec.getColumnSpec(colIdx).getType(), executionStartTime, executionEndTime);
 
         // filter rows
-        for (final DataRow row : dataTable) {
-            exec.checkCanceled();
-            final DataCell cell = row.getCell(colIdx);
-            if (!cell.isMissing()) {
-                if (cell instanceof LocalDateValue
-                    && filterRowLocalDate(((LocalDateValue)cell).getLocalDate(), executionStartTime, executionEndTime)) {
-                    container.addRowToTable(row);
-                } else if (cell instanceof LocalTimeValue
-                    && filterRowLocalTime(((LocalTimeValue)cell).getLocalTime(), executionStartTime, executionEndTime)) {
-                    container.addRowToTable(row);
-                } else if (cell instanceof LocalDateTimeValue && filterRowLocalDateTime(
-                    ((LocalDateTimeValue)cell).getLocalDateTime(), executionStartTime, executionEndTime)) {
-                    container.addRowToTable(row);
-                } else if (cell instanceof ZonedDateTimeValue && filterRowZonedDateTime(
-                    ((ZonedDateTimeValue)cell).getZonedDateTime(), executionStartTime, executionEndTime)) {
-                    container.addRowToTable(row);
-                }
+        if (range != null) {
+            final long rejected = m_assumeSorted.getBooleanValue()
+                ? filterSorted(in, out, exec, rowCount, colIdx, range) : filter(in, out, exec, rowCount, colIdx, range);
+            // this can be true, if the start or end date is defined by execution time
+            if (rejected > 0 && range.isStartAfterEnd()) {
+                setWarningMessage(WARNING_MESSAGE_START_AFTER_END);
             }
         }
-        container.close();
-        return new BufferedDataTable[]{container.getTable()};
+        in.close();
+        out.close();
     }
 
     /**
-     * Helper method used in both execution modes streaming and non-streaming for LocalDate
+     * Resolves the start and end point of the filter for the given column type.
      *
-     * @param localDate value of the cell
+     * @param type the type of the selected column
      * @param executionStartTime execution zoned date time if execution time shall be used, null otherwise
      * @param executionEndTime execution zoned date time if execution time shall be used, null otherwise
-     * @return true if row shall be in the output, otherwise false
+     * @return the range, null if the column does not contain date&time values
      */
-    private boolean filterRowLocalDate(final LocalDate localDate, final ZonedDateTime executionStartTime,
+    private TemporalRange createRange(final DataType type, final ZonedDateTime executionStartTime,
         final ZonedDateTime executionEndTime) throws ArithmeticException, DateTimeException {
-        LocalDate endDate = executionEndTime == null ? m_endDateTime.getLocalDate() : executionEndTime.toLocalDate();
-        // if only an end date is given, look if given date is before
+        Temporal end = getTemporal(type, m_endDateTime, executionEndTime);
+        if (end == null) {
+            return null;
+        }
+        // if only an end point is given, there is no lower bound
         if (!m_startBool.getBooleanValue()) {
-            if ((localDate.equals(endDate) && m_endInclusive.getBooleanValue()) || localDate.isBefore(endDate)) {
-                return true;
-            }
-            return false;
+            return new TemporalRange(null, false, end, m_endInclusive.getBooleanValue(), false);
         }
-
-        final LocalDate startDate =
-            executionStartTime == null ? m_startDateTime.getLocalDate() : executionStartTime.toLocalDate();
-        // if only a start date is given, look if given date is afterwards
+        final Temporal start = getTemporal(type, m_startDateTime, executionStartTime);
+        // if only a start point is given, there is no upper bound
         if (!m_endBool.getBooleanValue()) {
-            if ((localDate.equals(startDate) && m_startInclusive.getBooleanValue()) || localDate.isAfter(startDate)) {
-                return true;
-            }
-            return false;
+            return new TemporalRange(start, m_startInclusive.getBooleanValue(), null, false, false);
         }
+        // end point is calculated, if end point is given by a period or a granularity
+        end = calculateEndDateTime(start, end);
+        return new TemporalRange(start, m_startInclusive.getBooleanValue(), end, m_endInclusive.getBooleanValue(),
+            !EndMode.DateTime.name().equals(m_endSelection.getStringValue()));
+    }
 
-        // end date is calculated, if end date is given by a period or a granularity
-        endDate = (LocalDate)calculateEndDateTime(startDate, endDate);
+    /**
+     * @param type the type of the selected column
+     * @param model the model holding the date&time
+     * @param executionTime execution zoned date time if execution time shall be used, null otherwise
+     * @return the date&time of the model or execution time as value of the column type, null if the type is not
+     *         supported
+     */
+    private static Temporal getTemporal(final DataType type, final SettingsModelDateTime model,
+        final ZonedDateTime executionTime) {
+        if (type.isCompatible(LocalDateValue.class)) {
+            return executionTime == null ? model.getLocalDate() : executionTime.toLocalDate();
+        } else if (type.isCompatible(LocalTimeValue.class)) {
+            return executionTime == null ? model.getLocalTime() : executionTime.toLocalTime();
+        } else if (type.isCompatible(LocalDateTimeValue.class)) {
+            return executionTime == null ? model.getLocalDateTime() : executionTime.toLocalDateTime();
+        } else if (type.isCompatible(ZonedDateTimeValue.class)) {
+            return executionTime == null ? model.getZonedDateTime() : executionTime;
+        }
+        return null;
+    }
 
-        // return true if date equals start and start is inclusive
-        if (localDate.equals(startDate) && m_startInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if date equals end and end is inclusive
-        if (localDate.equals(endDate) && m_endInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if date is after start and before end
-        if (localDate.isAfter(startDate) && localDate.isBefore(endDate)) {
-            return true;
-        }
-        // return true if date is before start and after end, but only if ending point is defined by a period or granularity
-        if (localDate.isBefore(startDate) && localDate.isAfter(endDate)
-            && !m_endSelection.getStringValue().equals(EndMode.DateTime.name())) {
-            return true;
-        }
+    /**
+     * @param cell a cell of the selected column
+     * @return the date&time value of the cell, null if it is missing
+     */
+    private static Temporal getTemporal(final DataCell cell) {
+        if (cell instanceof LocalDateValue) {
+            return ((LocalDateValue)cell).getLocalDate();
+        } else if (cell instanceof LocalTimeValue) {
+            return ((LocalTimeValue)cell).getLocalTime();
+        } else if (cell instanceof LocalDateTimeValue) {
+            return ((LocalDateTimeValue)cell).getLocalDateTime();
+        } else if (cell instanceof ZonedDateTimeValue) {
+            return ((ZonedDateTimeValue)cell).getZonedDateTime();
+        }
+        return null;
+    }
 
-        // this can be true, if the start or end date is defined by execution time
-        if (startDate.isAfter(endDate) && m_endSelection.getStringValue().equals(EndMode.DateTime.name())
-            && (getWarningMessage() == null || getWarningMessage().isEmpty())) {
-            setWarningMessage(WARNING_MESSAGE_START_AFTER_END);
+    private static void setProgress(final ExecutionContext exec, final long rowIdx, final long rowCount) {
+        // set progress if not streaming
+        if (rowCount > 0) {
+            exec.setProgress(rowIdx / (double)rowCount);
         }
-        return false;
+        exec.setMessage(() -> "Row " + rowIdx + (rowCount > 0 ? "/" + rowCount : ""));
     }
 
     /**
-     * Helper method used in both execution modes streaming and non-streaming for LocalTime
+     * Filters rows whose values are sorted in ascending order. Missing values are skipped, the input is not read any
+     * further once a value after the range is reached.
      *
-     * @param localTime value of the cell
-     * @param executionStartTime execution zoned date time if execution time shall be used, null otherwise
-     * @param executionEndTime execution zoned date time if execution time shall be used, null otherwise
-     * @return true if row shall be in the output, otherwise false
+     * @return the number of rejected rows with a non-missing value
      */
-    private boolean filterRowLocalTime(final LocalTime localTime, final ZonedDateTime executionStartTime,
-        final ZonedDateTime executionEndTime) throws ArithmeticException, DateTimeException {
-        LocalTime endTime = executionEndTime == null ? m_endDateTime.getLocalTime() : executionEndTime.toLocalTime();
-        // if only an end time is given, look if given time is before
-        if (!m_startBool.getBooleanValue()) {
-            if ((localTime.equals(endTime) && m_endInclusive.getBooleanValue()) || localTime.isBefore(endTime)) {
-                return true;
+    private static long filterSorted(final RowInput in, final RowOutput out, final ExecutionContext exec,
+        final long rowCount, final int colIdx, final TemporalRange range)
+        throws InterruptedException, CanceledExecutionException {
+        long rowIdx = 0;
+        long rejected = 0;
+        DataRow row;
+        while ((row = in.poll()) != null) {
+            exec.checkCanceled();
+            setProgress(exec, rowIdx++, rowCount);
+            final Temporal value = getTemporal(row.getCell(colIdx));
+            if (value == null) {
+                continue;
             }
-            return false;
-        }
-
-        final LocalTime startTime =
-            executionStartTime == null ? m_startDateTime.getLocalTime() : executionStartTime.toLocalTime();
-        // if only a start time is given, look if given time is afterwards
-        if (!m_endBool.getBooleanValue()) {
-            if ((localTime.equals(startTime) && m_startInclusive.getBooleanValue()) || localTime.isAfter(startTime)) {
-                return true;
+            if (range.isAfterRange(value)) {
+                // all remaining rows are after the range as well
+                rejected++;
+                break;
+            }
+            if (range.test(value)) {
+                out.push(row);
+            } else {
+                rejected++;
             }
-            return false;
-        }
-
-        // end time is calculated, if end time is given by a duration or a granularity
-        endTime = (LocalTime)calculateEndDateTime(startTime, endTime);
-
-        // return true if time equals start and start is inclusive
-        if (localTime.equals(startTime) && m_startInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if time equals end and end is inclusive
-        if (localTime.equals(endTime) && m_endInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if time is after start and before end
-        if (localTime.isAfter(startTime) && localTime.isBefore(endTime)) {
-            return true;
-        }
-        // return true if time is before start and after end, but only if ending point is defined by a duration or granularity
-        if (localTime.isBefore(startTime) && localTime.isAfter(endTime)
-            && !m_endSelection.getStringValue().equals(EndMode.DateTime.name())) {
-            return true;
-        }
-
-        // this can be true, if the start or end date is defined by execution time
-        if (startTime.isAfter(endTime) && m_endSelection.getStringValue().equals(EndMode.DateTime.name())
-            && (getWarningMessage() == null || getWarningMessage().isEmpty())) {
-            setWarningMessage(WARNING_MESSAGE_START_AFTER_END);
         }
-        return false;
+        return rejected;
     }
 
     /**
-     * Helper method used in both execution modes streaming and non-streaming for LocalDateTime
+     * Filters the rows in chunks which are tested in parallel in a sub pool of the KNIME thread pool. The accepted
+     * rows are pushed in input order.
      *
-     * @param localDateTime value of the cell
-     * @param executionStartTime execution zoned date time if execution time shall be used, null otherwise
-     * @param executionEndTime execution zoned date time if execution time shall be used, null otherwise
-     * @return true if row shall be in the output, otherwise false
+     * @return the number of rejected rows with a non-missing value
      */
-    private boolean filterRowLocalDateTime(final LocalDateTime localDateTime, final ZonedDateTime executionStartTime,
-        final ZonedDateTime executionEndTime) throws ArithmeticException, DateTimeException {
-        LocalDateTime endDateTime =
-            executionEndTime == null ? m_endDateTime.getLocalDateTime() : executionEndTime.toLocalDateTime();
-        // if only an end time is given, look if given time is before
-        if (!m_startBool.getBooleanValue()) {
-            if ((localDateTime.equals(endDateTime) && m_endInclusive.getBooleanValue())
-                || localDateTime.isBefore(endDateTime)) {
-                return true;
+    private static long filter(final RowInput in, final RowOutput out, final ExecutionContext exec,
+        final long rowCount, final int colIdx, final TemporalRange range)
+        throws InterruptedException, CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool();
+        final int maxPending = 2 * Math.max(1, pool.getMaxThreads());
+        final Deque<Future<FilteredChunk>> pending = new ArrayDeque<>();
+        long rowIdx = 0;
+        long rejected = 0;
+        try {
+            List<DataRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            DataRow row;
+            while ((row = in.poll()) != null) {
+                exec.checkCanceled();
+                setProgress(exec, rowIdx++, rowCount);
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    final List<DataRow> rows = chunk;
+                    pending.add(pool.enqueue(() -> filterChunk(rows, colIdx, range)));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    // bound the number of buffered rows
+                    while (pending.size() > maxPending) {
+                        rejected += getResult(pending.poll()).push(out);
+                    }
+                }
             }
-            return false;
-        }
-
-        final LocalDateTime startDateTime =
-            executionStartTime == null ? m_startDateTime.getLocalDateTime() : executionStartTime.toLocalDateTime();
-        // if only a start time is given, look if given time is afterwards
-        if (!m_endBool.getBooleanValue()) {
-            if ((localDateTime.equals(startDateTime) && m_startInclusive.getBooleanValue())
-                || localDateTime.isAfter(startDateTime)) {
-                return true;
+            while (!pending.isEmpty()) {
+                rejected += getResult(pending.poll()).push(out);
+            }
+            // the last chunk is tested by this thread
+            rejected += filterChunk(chunk, colIdx, range).push(out);
+        } finally {
+            for (final Future<FilteredChunk> future : pending) {
+                future.cancel(true);
             }
-            return false;
-        }
-
-        // end time is calculated, if end time is given by a duration or a granularity
-        endDateTime = (LocalDateTime)calculateEndDateTime(startDateTime, endDateTime);
-
-        // return true if time equals start and start is inclusive
-        if (localDateTime.equals(startDateTime) && m_startInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if time equals end and end is inclusive
-        if (localDateTime.equals(endDateTime) && m_endInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if time is after start and before end
-        if (localDateTime.isAfter(startDateTime) && localDateTime.isBefore(endDateTime)) {
-            return true;
-        }
-        // return true if time is before start and after end, but only if ending point is defined by a duration or granularity
-        if (localDateTime.isBefore(startDateTime) && localDateTime.isAfter(endDateTime)
-            && !m_endSelection.getStringValue().equals(EndMode.DateTime.name())) {
-            return true;
-        }
-
-        // this can be true, if the start or end date is defined by execution time
-        if (startDateTime.isAfter(endDateTime) && m_endSelection.getStringValue().equals(EndMode.DateTime.name())
-            && (getWarningMessage() == null || getWarningMessage().isEmpty())) {
-            setWarningMessage(WARNING_MESSAGE_START_AFTER_END);
         }
-        return false;
+        return rejected;
     }
 
-    /**
-     * Helper method used in both execution modes streaming and non-streaming for ZonedDateTime
-     *
-     * @param zonedDateTime value of the cell
-     * @param executionStartTime execution zoned date time if execution time shall be used, null otherwise
-     * @param executionEndTime execution zoned date time if execution time shall be used, null otherwise
-     * @return true if row shall be in the output, otherwise false
-     */
-    private boolean filterRowZonedDateTime(final ZonedDateTime zonedDateTime, final ZonedDateTime executionStartTime,
-        final ZonedDateTime executionEndTime) throws ArithmeticException, DateTimeException {
-        ZonedDateTime endDateTime = executionEndTime == null ? m_endDateTime.getZonedDateTime() : executionEndTime;
-        // if only an end time is given, look if given time is before
-        if (!m_startBool.getBooleanValue()) {
-            if ((zonedDateTime.equals(endDateTime) && m_endInclusive.getBooleanValue())
-                || zonedDateTime.isBefore(endDateTime)) {
-                return true;
+    private static FilteredChunk filterChunk(final List<DataRow> rows, final int colIdx, final TemporalRange range) {
+        final FilteredChunk result = new FilteredChunk(rows.size());
+        for (final DataRow row : rows) {
+            final Temporal value = getTemporal(row.getCell(colIdx));
+            if (value != null) {
+                if (range.test(value)) {
+                    result.m_rows.add(row);
+                } else {
+                    result.m_rejected++;
+                }
             }
-            return false;
         }
+        return result;
+    }
 
-        final ZonedDateTime startDateTime =
-            executionStartTime == null ? m_startDateTime.getZonedDateTime() : executionStartTime;
-        // if only a start time is given, look if given time is afterwards
-        if (!m_endBool.getBooleanValue()) {
-            if ((zonedDateTime.equals(startDateTime) && m_startInclusive.getBooleanValue())
-                || zonedDateTime.isAfter(startDateTime)) {
-                return true;
+    /** Waits for the result of a chunk, runtime exceptions of the chunk are rethrown. */
+    private static FilteredChunk getResult(final Future<FilteredChunk> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
             }
-            return false;
+            throw new IllegalStateException(cause);
         }
+    }
 
-        // end time is calculated, if end time is given by a duration or a granularity
-        endDateTime = (ZonedDateTime)calculateEndDateTime(startDateTime, endDateTime);
+    /** The accepted rows of a chunk and the number of rejected ones. */
+    private static final class FilteredChunk {
 
-        // return true if time equals start and start is inclusive
-        if (zonedDateTime.equals(startDateTime) && m_startInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if time equals end and end is inclusive
-        if (zonedDateTime.equals(endDateTime) && m_endInclusive.getBooleanValue()) {
-            return true;
-        }
-        // return true if time is after start and before end
-        if (zonedDateTime.isAfter(startDateTime) && zonedDateTime.isBefore(endDateTime)) {
-            return true;
-        }
-        // return true if time is before start and after end, but only if ending point is defined by a duration or granularity
-        if (zonedDateTime.isBefore(startDateTime) && zonedDateTime.isAfter(endDateTime)
-            && !m_endSelection.getStringValue().equals(EndMode.DateTime.name())) {
-            return true;
+        private final List<DataRow> m_rows;
+
+        private long m_rejected;
+
+        private FilteredChunk(final int size) {
+            m_rows = new ArrayList<>(size);
         }
 
-        // this can be true, if the start or end date is defined by execution time
-        if (startDateTime.isAfter(endDateTime) && m_endSelection.getStringValue().equals(EndMode.DateTime.name())
-            && (getWarningMessage() == null || getWarningMessage().isEmpty())) {
-            setWarningMessage(WARNING_MESSAGE_START_AFTER_END);
+        private long push(final RowOutput out) throws InterruptedException {
+            for (final DataRow row : m_rows) {
+                out.push(row);
+            }
+            return m_rejected;
         }
-        return false;
     }
 
     /**
@@ -533,39 +519,7 @@ public StreamableOperator createStreamableOperator(final PartitionInfo partition
             @Override
             public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
                 throws Exception {
-                final RowInput in = (RowInput)inputs[0];
-                final RowOutput out = (RowOutput)outputs[0];
-
-                // read input
-                final int colIdx = in.getDataTableSpec().findColumnIndex(m_colSelect.getStringValue());
-                final ZonedDateTime executionStartTime =
-                    m_startAlwaysNow.getBooleanValue() ? ZonedDateTime.now() : null;
-                final ZonedDateTime executionEndTime = m_endAlwaysNow.getBooleanValue() ? ZonedDateTime.now() : null;
-
-                // filter rows
-                final DataType colDataType = in.getDataTableSpec().getColumnSpec(colIdx).getType();
-                DataRow row;
-                while ((row = in.poll()) != null) {
-                    exec.checkCanceled();
-                    final DataCell cell = row.getCell(colIdx);
-                    if (!cell.isMissing()) {
-                        if (cell instanceof LocalDateValue
-                            && filterRowLocalDate(((LocalDateValue)cell).getLocalDate(), executionStartTime, executionEndTime)) {
-                            out.push(row);
-                        } else if (cell instanceof LocalTimeValue
-                            && filterRowLocalTime(((LocalTimeValue)cell).getLocalTime(), executionStartTime, executionEndTime)) {
-                            out.push(row);
-                        } else if (cell instanceof LocalDateTimeValue && filterRowLocalDateTime(
-                            ((LocalDateTimeValue)cell).getLocalDateTime(), executionStartTime, executionEndTime)) {
-                            out.push(row);
-                        } else if (cell instanceof ZonedDateTimeValue && filterRowZonedDateTime(
-                            ((ZonedDateTimeValue)cell).getZonedDateTime(), executionStartTime, executionEndTime)) {
-                            out.push(row);
-                        }
-                    }
-                }
-                in.close();
-                out.close();
+                execute((RowInput)inputs[0], (RowOutput)outputs[0], exec, -1);
             }
         };
     }
@@ -606,6 +560,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_periodValueModel.saveSettingsTo(settings);
         m_numericalValueModel.saveSettingsTo(settings);
         m_granularityModel.saveSettingsTo(settings);
+        m_assumeSorted.saveSettingsTo(settings);
     }
 
     /**
@@ -646,6 +601,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         m_periodValueModel.loadSettingsFrom(settings);
         m_numericalValueModel.loadSettingsFrom(settings);
         m_granularityModel.loadSettingsFrom(settings);
+        // added in 4.3
+        if (settings.containsKey(m_assumeSorted.getConfigName())) {
+            m_assumeSorted.loadSettingsFrom(settings);
+        } else {
+            m_assumeSorted.setBooleanValue(false);
+        }
     }
 
     /**
@@ -0,0 +1,152 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ */
+package org.knime.time.node.filter.datetimebasedrowfilter;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+
+/**
+ * The resolved filter range of the Date&amp;Time-based Row Filter. The start and end points are computed once per
+ * execution, the test of a value then only consists of comparisons.
+ * <p>
+ * Values are compared as by {@code isBefore}/{@code isAfter} of the respective type, i.e. zoned date&amp;times by
+ * their instant, whereas the inclusive bounds are checked with {@link Object#equals(Object)}. If the end point is
+ * computed from a duration or granularity and lies before the start point, the values in between are accepted.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class TemporalRange {
+
+    private final Temporal m_start;
+
+    private final boolean m_startInclusive;
+
+    private final Temporal m_end;
+
+    private final boolean m_endInclusive;
+
+    private final boolean m_endIsRelative;
+
+    /** Largest value that can be accepted, null if there is no upper bound. */
+    private final Temporal m_upper;
+
+    /**
+     * @param start the start point, null if there is no lower bound
+     * @param startInclusive whether the start point is part of the range
+     * @param end the end point, null if there is no upper bound
+     * @param endInclusive whether the end point is part of the range
+     * @param endIsRelative true if the end point is computed from the start point by a duration or granularity
+     */
+    TemporalRange(final Temporal start, final boolean startInclusive, final Temporal end,
+        final boolean endInclusive, final boolean endIsRelative) {
+        m_start = start;
+        m_startInclusive = startInclusive;
+        m_end = end;
+        m_endInclusive = endInclusive;
+        m_endIsRelative = endIsRelative;
+        if (end == null) {
+            m_upper = null;
+        } else if (start == null) {
+            m_upper = end;
+        } else {
+            m_upper = compare(start, end) > 0 ? start : end;
+        }
+    }
+
+    /**
+     * @param value the value to test, must be of the same type as the start and end point
+     * @return true if the value is in the range
+     */
+    boolean test(final Temporal value) {
+        if (m_start == null) {
+            return (m_endInclusive && value.equals(m_end)) || compare(value, m_end) < 0;
+        }
+        if (m_end == null) {
+            return (m_startInclusive && value.equals(m_start)) || compare(value, m_start) > 0;
+        }
+        if ((m_startInclusive && value.equals(m_start)) || (m_endInclusive && value.equals(m_end))) {
+            return true;
+        }
+        final int cmpStart = compare(value, m_start);
+        final int cmpEnd = compare(value, m_end);
+        return (cmpStart > 0 && cmpEnd < 0) || (m_endIsRelative && cmpStart < 0 && cmpEnd > 0);
+    }
+
+    /**
+     * @param value the value to test, must be of the same type as the start and end point
+     * @return true if the value and all values after it are not in the range
+     */
+    boolean isAfterRange(final Temporal value) {
+        return m_upper != null && compare(value, m_upper) > 0;
+    }
+
+    /**
+     * @return true if both an absolute start and end point are given and the start lies after the end, i.e. the
+     *         range is empty except for the bounds
+     */
+    boolean isStartAfterEnd() {
+        return m_start != null && m_end != null && !m_endIsRelative && compare(m_start, m_end) > 0;
+    }
+
+    /**
+     * Compares two temporals of the same type on the time-line.
+     *
+     * @param a the first temporal
+     * @param b the second temporal
+     * @return a negative value, zero or a positive value if a is before, at the same time or after b
+     */
+    @SuppressWarnings("unchecked")
+    static int compare(final Temporal a, final Temporal b) {
+        if (a instanceof ZonedDateTime) {
+            final ZonedDateTime za = (ZonedDateTime)a;
+            final ZonedDateTime zb = (ZonedDateTime)b;
+            final int cmp = Long.compare(za.toEpochSecond(), zb.toEpochSecond());
+            return cmp != 0 ? cmp : Integer.compare(za.getNano(), zb.getNano());
+        }
+        // LocalDate, LocalTime and LocalDateTime are ordered consistently with isBefore/isAfter
+        return ((Comparable<Temporal>)a).compareTo(b);
+    }
+}
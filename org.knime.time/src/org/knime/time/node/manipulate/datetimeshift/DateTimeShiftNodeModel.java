@@ -53,6 +53,7 @@
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Period;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
@@ -378,18 +379,49 @@ private final class DateTimeShiftPeriodCellFactory extends SingleCellFactory {
 
         private final int m_numericalColIdx;
 
+        private final Granularity m_granularity;
+
+        /** the period given in the dialog, <code>null</code> if it is read from a column or overflows */
+        private final Period m_staticPeriod;
+
+        /** the overflow caused by the numerical value given in the dialog, <code>null</code> if none */
+        private final ArithmeticException m_staticOverflow;
+
         /**
          * @param newColSpec new column spec
          * @param colIndex index of column to shift
          * @param periodColIdx index of column which has the period shift value (<0, if static value used)
          * @param numericalColIdx index of column which has the numerical shift value (<0, if static value used)
+         * @throws InvalidSettingsException if the period given in the dialog cannot be parsed
          */
         public DateTimeShiftPeriodCellFactory(final DataColumnSpec newColSpec, final int colIndex,
-            final int periodColIdx, final int numericalColIdx) {
+            final int periodColIdx, final int numericalColIdx) throws InvalidSettingsException {
             super(newColSpec);
             m_colIndex = colIndex;
             m_periodColIdx = periodColIdx;
             m_numericalColIdx = numericalColIdx;
+            m_granularity = m_periodSelection.isEnabled() ? null
+                : Granularity.fromString(m_numericalGranularity.getStringValue());
+            // the period given in the dialog is the same for all rows and hence only computed once
+            Period staticPeriod = null;
+            ArithmeticException staticOverflow = null;
+            if (m_periodSelection.isEnabled()) {
+                if (periodColIdx < 0) {
+                    try {
+                        staticPeriod = DurationPeriodFormatUtils.parsePeriod(m_periodValue.getStringValue());
+                    } catch (DateTimeParseException e) {
+                        throw new InvalidSettingsException(e.getMessage(), e);
+                    }
+                }
+            } else if (numericalColIdx < 0) {
+                try {
+                    staticPeriod = (Period)m_granularity.getPeriodOrDuration(m_numericalValue.getIntValue());
+                } catch (ArithmeticException e) {
+                    staticOverflow = e;
+                }
+            }
+            m_staticPeriod = staticPeriod;
+            m_staticOverflow = staticOverflow;
         }
 
         /**
@@ -409,22 +441,22 @@ public DataCell getCell(final DataRow row) {
                     }
                     period = ((PeriodValue)row.getCell(m_periodColIdx)).getPeriod();
                 } else {
-                    period = DurationPeriodFormatUtils.parsePeriod(m_periodValue.getStringValue());
+                    period = m_staticPeriod;
+                }
+            } else if (m_numericalColIdx < 0) {
+                if (m_staticOverflow != null) {
+                    setWarningMessage("A missing value has been generated due to integer overflow.");
+                    return new MissingCell(m_staticOverflow.getMessage());
                 }
+                period = m_staticPeriod;
             } else {
-                final String granularity = m_numericalGranularity.getStringValue();
-                final long numericalValue;
-                if (m_numericalColIdx >= 0) {
-                    DataCell numericalCell = row.getCell(m_numericalColIdx);
-                    if (numericalCell.isMissing()) {
-                        return new MissingCell("The numerical cell containing the value to shift is missing.");
-                    }
-                    numericalValue = ((LongValue)numericalCell).getLongValue();
-                } else {
-                    numericalValue = m_numericalValue.getIntValue();
+                final DataCell numericalCell = row.getCell(m_numericalColIdx);
+                if (numericalCell.isMissing()) {
+                    return new MissingCell("The numerical cell containing the value to shift is missing.");
                 }
+                final long numericalValue = ((LongValue)numericalCell).getLongValue();
                 try {
-                    period = (Period)Granularity.fromString(granularity).getPeriodOrDuration(numericalValue);
+                    period = (Period)m_granularity.getPeriodOrDuration(numericalValue);
                 } catch (ArithmeticException e) {
                     setWarningMessage("A missing value has been generated due to integer overflow.");
                     return new MissingCell(e.getMessage());
@@ -456,18 +488,49 @@ private final class DateTimeShiftDurationCellFactory extends SingleCellFactory {
 
         private final int m_numericalColIdx;
 
+        private final Granularity m_granularity;
+
+        /** the duration given in the dialog, <code>null</code> if it is read from a column or overflows */
+        private final Duration m_staticDuration;
+
+        /** the overflow caused by the numerical value given in the dialog, <code>null</code> if none */
+        private final ArithmeticException m_staticOverflow;
+
         /**
          * @param newColSpec new column spec
          * @param colIndex index of column to shift
          * @param durationColIdx index of column which has the duration shift value (<0, if static value used)
          * @param numericalColIdx index of column which has the numerical shift value (<0, if static value used)
+         * @throws InvalidSettingsException if the duration given in the dialog cannot be parsed
          */
         public DateTimeShiftDurationCellFactory(final DataColumnSpec newColSpec, final int colIndex,
-            final int durationColIdx, final int numericalColIdx) {
+            final int durationColIdx, final int numericalColIdx) throws InvalidSettingsException {
             super(newColSpec);
             m_colIndex = colIndex;
             m_durationColIdx = durationColIdx;
             m_numericalColIdx = numericalColIdx;
+            m_granularity = m_periodSelection.isEnabled() ? null
+                : Granularity.fromString(m_numericalGranularity.getStringValue());
+            // the duration given in the dialog is the same for all rows and hence only computed once
+            Duration staticDuration = null;
+            ArithmeticException staticOverflow = null;
+            if (m_periodSelection.isEnabled()) {
+                if (durationColIdx < 0) {
+                    try {
+                        staticDuration = DurationPeriodFormatUtils.parseDuration(m_periodValue.getStringValue());
+                    } catch (DateTimeParseException e) {
+                        throw new InvalidSettingsException(e.getMessage(), e);
+                    }
+                }
+            } else if (numericalColIdx < 0) {
+                try {
+                    staticDuration = (Duration)m_granularity.getPeriodOrDuration(m_numericalValue.getIntValue());
+                } catch (ArithmeticException e) {
+                    staticOverflow = e;
+                }
+            }
+            m_staticDuration = staticDuration;
+            m_staticOverflow = staticOverflow;
         }
 
         /**
@@ -487,22 +550,22 @@ public DataCell getCell(final DataRow row) {
                     }
                     duration = ((DurationValue)row.getCell(m_durationColIdx)).getDuration();
                 } else {
-                    duration = DurationPeriodFormatUtils.parseDuration(m_periodValue.getStringValue());
+                    duration = m_staticDuration;
+                }
+            } else if (m_numericalColIdx < 0) {
+                if (m_staticOverflow != null) {
+                    setWarningMessage("A missing value has been generated due to integer overflow.");
+                    return new MissingCell(m_staticOverflow.getMessage());
                 }
+                duration = m_staticDuration;
             } else {
-                final String granularity = m_numericalGranularity.getStringValue();
-                final long numericalValue;
-                if (m_numericalColIdx >= 0) {
-                    final DataCell numericalCell = row.getCell(m_numericalColIdx);
-                    if (numericalCell.isMissing()) {
-                        return new MissingCell("The numerical cell containing the value to shift is missing.");
-                    }
-                    numericalValue = ((LongValue)numericalCell).getLongValue();
-                } else {
-                    numericalValue = m_numericalValue.getIntValue();
+                final DataCell numericalCell = row.getCell(m_numericalColIdx);
+                if (numericalCell.isMissing()) {
+                    return new MissingCell("The numerical cell containing the value to shift is missing.");
                 }
+                final long numericalValue = ((LongValue)numericalCell).getLongValue();
                 try {
-                    duration = (Duration)Granularity.fromString(granularity).getPeriodOrDuration(numericalValue);
+                    duration = (Duration)m_granularity.getPeriodOrDuration(numericalValue);
                 } catch (ArithmeticException e) {
                     setWarningMessage("A missing value has been generated due to integer overflow.");
                     return new MissingCell(e.getMessage());
@@ -519,10 +582,21 @@ public DataCell getCell(final DataRow row) {
             }
             if (cell instanceof ZonedDateTimeValue) {
                 final ZonedDateTime zonedDateTime = ((ZonedDateTimeValue)cell).getZonedDateTime();
-                return ZonedDateTimeCellFactory.create(zonedDateTime.plus(duration));
+                return ZonedDateTimeCellFactory.create(plus(zonedDateTime, duration));
             }
             throw new IllegalStateException("Unexpected data type: " + cell.getClass());
         }
 
     }
+
+    /**
+     * Adds a duration to a zoned date&time. For fixed offsets the local date&time is shifted directly, otherwise the
+     * zone rules are applied to the shifted instant.
+     */
+    private static ZonedDateTime plus(final ZonedDateTime zonedDateTime, final Duration duration) {
+        if (zonedDateTime.getZone() instanceof ZoneOffset) {
+            return ZonedDateTime.of(zonedDateTime.toLocalDateTime().plus(duration), zonedDateTime.getZone());
+        }
+        return zonedDateTime.plus(duration);
+    }
 }
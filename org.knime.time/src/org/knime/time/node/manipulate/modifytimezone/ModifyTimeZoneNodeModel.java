@@ -199,6 +199,8 @@ protected ColumnRearranger createColumnRearranger(final DataTableSpec inSpec) th
                 } else {
                     cellFac = new RemoveTimeZoneCellFactory(dataColumnSpecCreator.createSpec(), includeIndeces[i++]);
                 }
+                // the conversion of a cell only depends on the cell itself, rows are hence processed in parallel
+                cellFac.setParallelProcessing(true);
                 rearranger.replace(cellFac, includedCol);
             } else {
                 DataColumnSpec dataColSpec =
@@ -211,6 +213,7 @@ protected ColumnRearranger createColumnRearranger(final DataTableSpec inSpec) th
                 } else {
                     cellFac = new RemoveTimeZoneCellFactory(dataColSpec, includeIndeces[i++]);
                 }
+                cellFac.setParallelProcessing(true);
                 rearranger.append(cellFac);
             }
         }
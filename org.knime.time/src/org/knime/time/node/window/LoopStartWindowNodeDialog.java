@@ -98,7 +98,7 @@
  *
  * @author Moritz Heine, KNIME GmbH, Konstanz, Germany
  */
-final class LoopStartWindowNodeDialog extends NodeDialogPane {
+class LoopStartWindowNodeDialog extends NodeDialogPane {
 
     /* Windowing definition */
     private final JRadioButton m_forwardRButton;
@@ -61,7 +61,6 @@
 import java.time.temporal.TemporalAmount;
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -119,8 +118,8 @@ final class LoopStartWindowNodeModel extends NodeModel implements LoopStartNodeT
     // number of rows
     private long m_rowCount;
 
-    // buffered rows used for overlapping
-    private LinkedList<DataRow> m_bufferedRows;
+    // buffered rows used for overlapping, together with their decoded time keys
+    private RowWindowBuffer m_bufferedRows;
 
     // Name of the chosen time column
     private String m_timeColumnName;
@@ -217,7 +216,7 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws Invali
      * @param amount string that shall be parsed
      * @return TemporalAmount of the string or {@code null} if it cannot be parsed to Duration or Period.
      */
-    private TemporalAmount getTemporalAmount(String amount) {
+    static TemporalAmount getTemporalAmount(String amount) {
         /* Change milliseconds to seconds to allow parsing. */
         if(amount.endsWith(Unit.MILLISECONDS.getUnitLetter())){
             String tempAmount = amount.substring(0, amount.length() - Unit.MILLISECONDS.getUnitLetter().length());
@@ -252,7 +251,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
 
         if (m_currRow == 0) {
             m_rowIterator = table.iterator();
-            m_bufferedRows = new LinkedList<>();
+            m_bufferedRows = new RowWindowBuffer();
 
             m_nColumns = table.getSpec().getNumColumns();
 
@@ -351,7 +350,7 @@ && compareTemporal(getTemporal(first.getCell(column)), m_nextStartTemporal) < 0)
                     }
 
                     if (compareTemporal(getTemporal(first.getCell(column)), m_nextStartTemporal) >= 0) {
-                        m_bufferedRows.addFirst(first);
+                        m_bufferedRows.addFirst(first, getTemporal(first.getCell(column)));
                     }
                 } else {
                     /* We may have to skip the temporal window and or the current rows to find a window containing at least one row. */
@@ -361,7 +360,7 @@ && compareTemporal(getTemporal(first.getCell(column)), m_nextStartTemporal) < 0)
                     /* This fixes a bug (AP-8975) in the case where we only have to skip one window as the first applicable row lies within the
                      * next window. In this case the skipTemporalWindow simply returns without any changes. */
                     if (!m_bufferedRows.isEmpty()
-                        && compareTemporal(getTemporal(m_bufferedRows.getFirst().getCell(column)),
+                        && compareTemporal(m_bufferedRows.getFirstKey(),
                             firstStart.plus(windowDuration)) > 0) {
                         firstStart = firstStart.plus(startInterval);
                     }
@@ -391,10 +390,10 @@ && compareTemporal(getTemporal(m_bufferedRows.getFirst().getCell(column)),
 
             /* Add the first row if no user specified start is used. */
             if (!m_windowConfig.useSpecifiedStartTime()) {
-                m_bufferedRows.add(first);
+                m_bufferedRows.addLast(first, getTemporal(first.getCell(column)));
             }
         } else {
-            m_prevTemporal = getTemporal(m_bufferedRows.getFirst().getCell(column));
+            m_prevTemporal = m_bufferedRows.getFirstKey();
 
             /* Checks if temporal overflow occurs. */
             Temporal temp = m_nextStartTemporal.plus(windowDuration);
@@ -412,29 +411,23 @@ && compareTemporal(getTemporal(m_bufferedRows.getFirst().getCell(column)),
             }
         }
 
-        Iterator<DataRow> bufferedIterator = m_bufferedRows.iterator();
+        /* Add buffered rows. The rows up to the end of the window are found by binary search. */
+        final int bufferedInWindow =
+            overflow ? m_bufferedRows.size() : m_bufferedRows.countNotAfter(m_windowEndTemporal);
 
-        boolean allBufferedRowsInWindow = true;
+        /* Checks if all buffered rows are in the specified window. */
+        boolean allBufferedRowsInWindow = bufferedInWindow == m_bufferedRows.size();
 
-        /* Add buffered rows. */
-        while (bufferedIterator.hasNext()) {
-            DataRow row = bufferedIterator.next();
-
-            Temporal temp = getTemporal(row.getCell(column));
-
-            /* Checks if all buffered rows are in the specified window. */
-            if (!overflow && compareTemporal(temp, m_windowEndTemporal) > 0) {
-                allBufferedRowsInWindow = false;
-                break;
-            }
-
-            container.addRowToTable(row);
-            m_currRow++;
+        for (int i = 0; i < bufferedInWindow; i++) {
+            container.addRowToTable(m_bufferedRows.get(i));
+        }
+        m_currRow += bufferedInWindow;
 
-            if (overflow || m_lastWindow
-                || compareTemporal(getTemporal(row.getCell(column)), m_nextStartTemporal) < 0) {
-                bufferedIterator.remove();
-            }
+        /* Remove the added rows that are not part of the next window. */
+        if (overflow || m_lastWindow) {
+            m_bufferedRows.removeFirst(bufferedInWindow);
+        } else {
+            m_bufferedRows.removeBefore(bufferedInWindow, m_nextStartTemporal);
         }
 
         boolean lastEntryMissing = false;
@@ -463,7 +456,7 @@ && compareTemporal(getTemporal(m_bufferedRows.getFirst().getCell(column)),
 
             /* Add rows for next window into the buffer. */
             if (!m_lastWindow && compareTemporal(currTemporal, m_nextStartTemporal) >= 0 && !overflow) {
-                m_bufferedRows.add(row);
+                m_bufferedRows.addLast(row, currTemporal);
                 addedNewToBuffer = true;
             }
 
@@ -495,7 +488,7 @@ && compareTemporal(getTemporal(m_bufferedRows.getFirst().getCell(column)),
             m_rowIterator.close();
         } else if (!allBufferedRowsInWindow) {
             /* Not all previously buffered rows are in the current window. */
-            row = m_bufferedRows.remove();
+            row = m_bufferedRows.removeFirst();
         } else if (!m_rowIterator.hasNext() && !addedNewToBuffer) {
             /* We already returned the last row, but it would be in the next window. Nevertheless, terminate. */
             m_rowIterator.close();
@@ -518,7 +511,7 @@ && compareTemporal(getTemporal(m_bufferedRows.getFirst().getCell(column)),
         } else if (!overflow && !m_bufferedRows.isEmpty()) {
             /* Checks if the next buffered row lies within the given window */
             if (compareTemporal(m_windowEndTemporal.plus(startInterval), m_windowEndTemporal) > 0) {
-                Temporal temp = getTemporal(m_bufferedRows.getFirst().getCell(column));
+                Temporal temp = m_bufferedRows.getFirstKey();
 
                 if (compareTemporal(temp, m_windowEndTemporal.plus(startInterval)) >= 0) {
                     row = m_bufferedRows.removeFirst();
@@ -612,7 +605,7 @@ private BufferedDataTable[] executeTemporalBackward(final BufferedDataTable tabl
                 /* Check for underflow of the current start. */
                 if (compareTemporal(m_nextStartTemporal, firstEnd) >= 0) {
                     m_nextStartTemporal = getMin(m_nextStartTemporal);
-                    m_bufferedRows.add(first);
+                    m_bufferedRows.addLast(first, getTemporal(first.getCell(column)));
                 } else {
                     /* Skip window until we find one which contains at least one row. */
                     skipTemporalWindow(first, column, startInterval, windowDuration);
@@ -629,10 +622,10 @@ private BufferedDataTable[] executeTemporalBackward(final BufferedDataTable tabl
                     /* This fixes a bug (AP-8975) in the case where we only have to skip one window as the first applicable row lies within the
                      * next window. In this case the skipTemporalWindow simply returns without any changes. */
                     Temporal temp = firstEnd.plus(startInterval);
-                    if (!m_bufferedRows.isEmpty() && compareTemporal(firstEnd, getTemporal(m_bufferedRows.getFirst().getCell(column))) < 0
+                    if (!m_bufferedRows.isEmpty() && compareTemporal(firstEnd, m_bufferedRows.getFirstKey()) < 0
                         && (compareTemporal(temp, temp.minus(windowDuration)) < 0
                             || compareTemporal(temp.minus(windowDuration),
-                                getTemporal(m_bufferedRows.getFirst().getCell(column))) < 0)) {
+                                m_bufferedRows.getFirstKey()) < 0)) {
                         firstEnd = firstEnd.plus(startInterval);
                     }
                 }
@@ -651,7 +644,7 @@ private BufferedDataTable[] executeTemporalBackward(final BufferedDataTable tabl
             m_prevTemporal = getTemporal(first.getCell(column));
 
             if (!m_windowConfig.useSpecifiedStartTime()) {
-                m_bufferedRows.add(first);
+                m_bufferedRows.addLast(first, getTemporal(first.getCell(column)));
             }
 
             Temporal tempNextEnd = m_windowEndTemporal.plus(startInterval);
@@ -697,28 +690,23 @@ private BufferedDataTable[] executeTemporalBackward(final BufferedDataTable tabl
             }
         }
 
-        Iterator<DataRow> bufferedIterator = m_bufferedRows.iterator();
-        boolean allBufferedRowsInWindow = true;
+        /* Add buffered rows. The rows up to the end of the window are found by binary search. */
+        final int bufferedInWindow =
+            overflow ? m_bufferedRows.size() : m_bufferedRows.countNotAfter(m_windowEndTemporal);
 
-        /* Add buffered rows. */
-        while (bufferedIterator.hasNext()) {
-            DataRow row = bufferedIterator.next();
+        /* Checks if all buffered rows are in the specified window. */
+        boolean allBufferedRowsInWindow = bufferedInWindow == m_bufferedRows.size();
 
-            Temporal temp = getTemporal(row.getCell(column));
-
-            /* Checks if all buffered rows are in the specified window. */
-            if (!overflow && compareTemporal(temp, m_windowEndTemporal) > 0) {
-                allBufferedRowsInWindow = false;
-                break;
-            }
-
-            container.addRowToTable(row);
-            m_currRow++;
+        for (int i = 0; i < bufferedInWindow; i++) {
+            container.addRowToTable(m_bufferedRows.get(i));
+        }
+        m_currRow += bufferedInWindow;
 
-            if (overflow || m_lastWindow
-                || compareTemporal(getTemporal(row.getCell(column)), m_nextStartTemporal) < 0) {
-                bufferedIterator.remove();
-            }
+        /* Remove the added rows that are not part of the next window. */
+        if (overflow || m_lastWindow) {
+            m_bufferedRows.removeFirst(bufferedInWindow);
+        } else {
+            m_bufferedRows.removeBefore(bufferedInWindow, m_nextStartTemporal);
         }
 
         boolean lastEntryMissing = false;
@@ -747,7 +735,7 @@ private BufferedDataTable[] executeTemporalBackward(final BufferedDataTable tabl
 
             /* Add rows for next window into the buffer. */
             if (!m_lastWindow && compareTemporal(currTemporal, m_nextStartTemporal) >= 0 && !overflow) {
-                m_bufferedRows.add(row);
+                m_bufferedRows.addLast(row, currTemporal);
                 addedNewToBuffer = true;
             }
 
@@ -779,7 +767,7 @@ private BufferedDataTable[] executeTemporalBackward(final BufferedDataTable tabl
             m_rowIterator.close();
         } else if (!allBufferedRowsInWindow) {
             /* Not all previously buffered rows are in the current window. */
-            row = m_bufferedRows.remove();
+            row = m_bufferedRows.removeFirst();
         } else if (!m_rowIterator.hasNext() && !addedNewToBuffer) {
             /* We already returned the last row, but it would be in the next window. Nevertheless, terminate. */
             m_rowIterator.close();
@@ -802,7 +790,7 @@ private BufferedDataTable[] executeTemporalBackward(final BufferedDataTable tabl
         } else if (!overflow && !m_bufferedRows.isEmpty()) {
             /* Checks if the next buffered row lies within the given window */
             if (compareTemporal(m_windowEndTemporal.plus(startInterval), m_windowEndTemporal) > 0) {
-                Temporal temp = getTemporal(m_bufferedRows.getFirst().getCell(column));
+                Temporal temp = m_bufferedRows.getFirstKey();
 
                 if (compareTemporal(temp, m_windowEndTemporal.plus(startInterval)) >= 0) {
                     row = m_bufferedRows.removeFirst();
@@ -890,7 +878,7 @@ private BufferedDataTable[] executeTemporalCentral(final BufferedDataTable table
                 /* Check for underflow of the current start. */
                 if (compareTemporal(m_nextStartTemporal, firstEnd) >= 0 && (!overflow || compareTemporal(m_nextStartTemporal, getMin(m_nextStartTemporal)) == 0)) {
                     m_nextStartTemporal = getMin(m_nextStartTemporal);
-                    m_bufferedRows.add(first);
+                    m_bufferedRows.addLast(first, getTemporal(first.getCell(column)));
                 } else {
                     /* Skip window until we find one which contains at least one row. */
                     skipTemporalWindow(first, column, startInterval, windowDuration);
@@ -902,10 +890,10 @@ private BufferedDataTable[] executeTemporalCentral(final BufferedDataTable table
                      * next window. In this case the skipTemporalWindow simply returns without any changes. */
                     Temporal temp = firstEnd.plus(startInterval);
                     if (!m_bufferedRows.isEmpty()
-                        && compareTemporal(firstEnd, getTemporal(m_bufferedRows.getFirst().getCell(column))) < 0
+                        && compareTemporal(firstEnd, m_bufferedRows.getFirstKey()) < 0
                         && (compareTemporal(temp, temp.minus(windowDuration)) < 0
                             || compareTemporal(temp.minus(windowDuration),
-                                getTemporal(m_bufferedRows.getFirst().getCell(column))) < 0)) {
+                                m_bufferedRows.getFirstKey()) < 0)) {
                         firstStart = firstStart.plus(startInterval);
                     }
                 }
@@ -947,10 +935,10 @@ && compareTemporal(tempNextStart, tempNextEnd) >= 0) {
             }
 
             if (!m_windowConfig.useSpecifiedStartTime()) {
-                m_bufferedRows.add(first);
+                m_bufferedRows.addLast(first, getTemporal(first.getCell(column)));
             }
         } else {
-            m_prevTemporal = getTemporal(m_bufferedRows.getFirst().getCell(column));
+            m_prevTemporal = m_bufferedRows.getFirstKey();
 
             Temporal tempEnd = m_windowEndTemporal.plus(startInterval);
 
@@ -981,28 +969,23 @@ && compareTemporal(tempNextStart, tempNextEnd) >= 0) {
             }
         }
 
-        Iterator<DataRow> bufferedIterator = m_bufferedRows.iterator();
-        boolean allBufferedRowsInWindow = true;
+        /* Add buffered rows. The rows up to the end of the window are found by binary search. */
+        final int bufferedInWindow =
+            overflow ? m_bufferedRows.size() : m_bufferedRows.countNotAfter(m_windowEndTemporal);
 
-        /* Add buffered rows. */
-        while (bufferedIterator.hasNext()) {
-            DataRow row = bufferedIterator.next();
-
-            Temporal temp = getTemporal(row.getCell(column));
-
-            /* Checks if all buffered rows are in the specified window. */
-            if (!overflow && compareTemporal(temp, m_windowEndTemporal) > 0) {
-                allBufferedRowsInWindow = false;
-                break;
-            }
+        /* Checks if all buffered rows are in the specified window. */
+        boolean allBufferedRowsInWindow = bufferedInWindow == m_bufferedRows.size();
 
-            container.addRowToTable(row);
-            m_currRow++;
+        for (int i = 0; i < bufferedInWindow; i++) {
+            container.addRowToTable(m_bufferedRows.get(i));
+        }
+        m_currRow += bufferedInWindow;
 
-            if (overflow || m_lastWindow
-                || compareTemporal(getTemporal(row.getCell(column)), m_nextStartTemporal) < 0) {
-                bufferedIterator.remove();
-            }
+        /* Remove the added rows that are not part of the next window. */
+        if (overflow || m_lastWindow) {
+            m_bufferedRows.removeFirst(bufferedInWindow);
+        } else {
+            m_bufferedRows.removeBefore(bufferedInWindow, m_nextStartTemporal);
         }
 
         boolean lastEntryMissing = false;
@@ -1031,7 +1014,7 @@ && compareTemporal(tempNextStart, tempNextEnd) >= 0) {
 
             /* Add rows for next window into the buffer. */
             if (!m_lastWindow && compareTemporal(currTemporal, m_nextStartTemporal) >= 0 && !overflow) {
-                m_bufferedRows.add(row);
+                m_bufferedRows.addLast(row, currTemporal);
                 addedNewToBuffer = true;
             }
 
@@ -1063,7 +1046,7 @@ && compareTemporal(tempNextStart, tempNextEnd) >= 0) {
             m_rowIterator.close();
         } else if (!allBufferedRowsInWindow) {
             /* Not all previously buffered rows are in the current window. */
-            row = m_bufferedRows.remove();
+            row = m_bufferedRows.removeFirst();
         } else if (!m_rowIterator.hasNext() && !addedNewToBuffer) {
             /* We already returned the last row, but it would be in the next window. Nevertheless, terminate. */
             m_rowIterator.close();
@@ -1086,7 +1069,7 @@ && compareTemporal(tempNextStart, tempNextEnd) >= 0) {
         } else if (!overflow && !m_bufferedRows.isEmpty()) {
             /* Checks if the next buffered row lies within the given window */
             if (compareTemporal(m_windowEndTemporal.plus(startInterval), m_windowEndTemporal) > 0) {
-                Temporal temp = getTemporal(m_bufferedRows.getFirst().getCell(column));
+                Temporal temp = m_bufferedRows.getFirstKey();
 
                 if (compareTemporal(temp, m_windowEndTemporal.plus(startInterval)) >= 0) {
                     row = m_bufferedRows.removeFirst();
@@ -1153,7 +1136,7 @@ private void skipTemporalWindow(DataRow row, final int column, final TemporalAmo
             if (compareTemporal(m_nextStartTemporal.plus(windowDuration), m_nextStartTemporal) < 0) {
                 switch (m_windowConfig.getWindowDefinition()) {
                     case FORWARD:
-                        m_bufferedRows.addFirst(row);
+                        m_bufferedRows.addFirst(row, getTemporal(row.getCell(column)));
                         break;
                     case BACKWARD:
                         break;
@@ -1163,7 +1146,7 @@ private void skipTemporalWindow(DataRow row, final int column, final TemporalAmo
                             getMin(m_nextStartTemporal).plus(((Duration)windowDuration).dividedBy(2))) < 0) {
                             /* Check if the current row lies after the current starting point. */
                             if (compareTemporal(getTemporal(row.getCell(column)), m_nextStartTemporal) >= 0) {
-                                m_bufferedRows.addFirst(row);
+                                m_bufferedRows.addFirst(row, getTemporal(row.getCell(column)));
                             }
                         }
                         break;
@@ -1180,7 +1163,7 @@ private void skipTemporalWindow(DataRow row, final int column, final TemporalAmo
                 break;
             } else if (compareTemporal(getTemporal(row.getCell(column)),
                 m_windowEndTemporal.plus(startInterval)/*m_nextStartTemporal.plus(windowDuration)*/) <= 0) {
-                m_bufferedRows.addFirst(row);
+                m_bufferedRows.addFirst(row, getTemporal(row.getCell(column)));
                 break;
             }
 
@@ -1221,7 +1204,7 @@ && compareTemporal(nextTemporalStart, tempNextEnd) <= 0) {
      * @param t2 second temporal
      * @return the comparator value, negative if less, positive if greater
      */
-    private int compareTemporal(final Temporal t1, final Temporal t2) {
+    static int compareTemporal(final Temporal t1, final Temporal t2) {
         if (t1 instanceof LocalTime) {
             return ((LocalTime)t1).compareTo((LocalTime)t2);
         } else if (t1 instanceof LocalDateTime) {
@@ -1242,7 +1225,7 @@ private int compareTemporal(final Temporal t1, final Temporal t2) {
      * @param cell which holds the content
      * @return temporal object of the cell, null if the DataCell does not contain a temporal object.
      */
-    private Temporal getTemporal(final DataCell cell) {
+    static Temporal getTemporal(final DataCell cell) {
         if (cell instanceof LocalTimeCell) {
             return ((LocalTimeCell)cell).getLocalTime();
         } else if (cell instanceof LocalDateCell) {
@@ -1297,7 +1280,7 @@ private BufferedDataTable[] executeBackward(final BufferedDataTable table, final
             }
 
             while (m_currRow < nextRow && m_rowIterator.hasNext()) {
-                m_bufferedRows.add(m_rowIterator.next());
+                m_bufferedRows.addLast(m_rowIterator.next(), null);
                 m_currRow++;
             }
         }
@@ -1309,24 +1292,22 @@ private BufferedDataTable[] executeBackward(final BufferedDataTable table, final
         }
 
         /* Add buffered rows that overlap. */
-        Iterator<DataRow> bufferedIterator = m_bufferedRows.iterator();
+        final int nBuffered = m_bufferedRows.size();
 
-        while (bufferedIterator.hasNext()) {
-            container.addRowToTable(bufferedIterator.next());
-
-            if (currRowCount < stepSize) {
-                bufferedIterator.remove();
-            }
-
-            currRowCount++;
+        for (int i = 0; i < nBuffered; i++) {
+            container.addRowToTable(m_bufferedRows.get(i));
         }
 
+        /* Rows before the start of the next window are not needed anymore. */
+        m_bufferedRows.removeFirst(Math.max(0, Math.min(nBuffered, stepSize - currRowCount)));
+        currRowCount += nBuffered;
+
         /* Add newly read rows. */
         for (; container.size() < windowSize && m_rowIterator.hasNext(); currRowCount++) {
             DataRow dRow = m_rowIterator.next();
 
             if (currRowCount >= stepSize) {
-                m_bufferedRows.add(dRow);
+                m_bufferedRows.addLast(dRow, null);
             }
 
             container.addRowToTable(dRow);
@@ -1379,7 +1360,7 @@ private BufferedDataTable[] executeCentral(final BufferedDataTable table, final
             }
 
             while (m_currRow < nextRow && m_rowIterator.hasNext()) {
-                m_bufferedRows.add(m_rowIterator.next());
+                m_bufferedRows.addLast(m_rowIterator.next(), null);
                 m_currRow++;
             }
         }
@@ -1390,25 +1371,23 @@ private BufferedDataTable[] executeCentral(final BufferedDataTable table, final
             currRowCount++;
         }
 
-        Iterator<DataRow> bufferedIterator = m_bufferedRows.iterator();
-
         /* Add buffered rows that overlap. */
-        while (bufferedIterator.hasNext()) {
-            container.addRowToTable(bufferedIterator.next());
+        final int nBuffered = m_bufferedRows.size();
 
-            if (currRowCount < stepSize) {
-                bufferedIterator.remove();
-            }
-
-            currRowCount++;
+        for (int i = 0; i < nBuffered; i++) {
+            container.addRowToTable(m_bufferedRows.get(i));
         }
 
+        /* Rows before the start of the next window are not needed anymore. */
+        m_bufferedRows.removeFirst(Math.max(0, Math.min(nBuffered, stepSize - currRowCount)));
+        currRowCount += nBuffered;
+
         /* Add newly read rows. */
         for (; container.size() < windowSize && m_rowIterator.hasNext(); currRowCount++) {
             DataRow dRow = m_rowIterator.next();
 
             if (currRowCount >= stepSize) {
-                m_bufferedRows.add(dRow);
+                m_bufferedRows.addLast(dRow, null);
             }
 
             container.addRowToTable(dRow);
@@ -1449,25 +1428,23 @@ private BufferedDataTable[] executeForward(final BufferedDataTable table, final
         }
 
         BufferedDataContainer container = exec.createDataContainer(table.getSpec());
-        Iterator<DataRow> bufferedIterator = m_bufferedRows.iterator();
-
         /* Add buffered rows that overlap. */
-        while (bufferedIterator.hasNext()) {
-            container.addRowToTable(bufferedIterator.next());
+        final int nBuffered = m_bufferedRows.size();
 
-            if (currRowCount < stepSize) {
-                bufferedIterator.remove();
-            }
-
-            currRowCount++;
+        for (int i = 0; i < nBuffered; i++) {
+            container.addRowToTable(m_bufferedRows.get(i));
         }
 
+        /* Rows before the start of the next window are not needed anymore. */
+        m_bufferedRows.removeFirst(Math.max(0, Math.min(nBuffered, stepSize - currRowCount)));
+        currRowCount += nBuffered;
+
         /* Add newly read rows. */
         for (; container.size() < windowSize && m_rowIterator.hasNext(); currRowCount++) {
             DataRow dRow = m_rowIterator.next();
 
             if (currRowCount >= stepSize) {
-                m_bufferedRows.add(dRow);
+                m_bufferedRows.addLast(dRow, null);
             }
 
             container.addRowToTable(dRow);
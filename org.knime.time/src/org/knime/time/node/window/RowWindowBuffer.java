@@ -0,0 +1,242 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.window;
+
+import static org.knime.time.node.window.LoopStartWindowNodeModel.compareTemporal;
+
+import java.time.temporal.Temporal;
+
+import org.knime.core.data.DataRow;
+
+/**
+ * Ring buffer of the rows that overlap with the next window of the Window Loop Start node. Each row is stored
+ * together with its decoded temporal key (<code>null</code> for row based windows), hence the time column is decoded
+ * only once per row. As long as the keys are in ascending order, which is the case for sorted input, the window
+ * boundaries are found by binary search.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class RowWindowBuffer {
+
+    private DataRow[] m_rows = new DataRow[16];
+
+    private Temporal[] m_keys = new Temporal[16];
+
+    private int m_head;
+
+    private int m_size;
+
+    private boolean m_sorted = true;
+
+    /** @return the number of buffered rows */
+    int size() {
+        return m_size;
+    }
+
+    /** @return whether the buffer is empty */
+    boolean isEmpty() {
+        return m_size == 0;
+    }
+
+    /**
+     * @param index the index of the row, 0 is the first row
+     * @return the row
+     */
+    DataRow get(final int index) {
+        return m_rows[slot(index)];
+    }
+
+    /**
+     * @param index the index of the row, 0 is the first row
+     * @return the temporal key of the row
+     */
+    Temporal getKey(final int index) {
+        return m_keys[slot(index)];
+    }
+
+    /** @return the temporal key of the first row */
+    Temporal getFirstKey() {
+        return getKey(0);
+    }
+
+    /**
+     * Appends a row.
+     *
+     * @param row the row
+     * @param key the temporal key of the row, <code>null</code> for row based windows
+     */
+    void addLast(final DataRow row, final Temporal key) {
+        ensureCapacity();
+        if (m_size > 0 && key != null && compareTemporal(key, getKey(m_size - 1)) < 0) {
+            m_sorted = false;
+        }
+        final int slot = slot(m_size);
+        m_rows[slot] = row;
+        m_keys[slot] = key;
+        m_size++;
+    }
+
+    /**
+     * Inserts a row at the front.
+     *
+     * @param row the row
+     * @param key the temporal key of the row, <code>null</code> for row based windows
+     */
+    void addFirst(final DataRow row, final Temporal key) {
+        ensureCapacity();
+        if (m_size > 0 && key != null && compareTemporal(key, getFirstKey()) > 0) {
+            m_sorted = false;
+        }
+        m_head = (m_head + m_rows.length - 1) % m_rows.length;
+        m_rows[m_head] = row;
+        m_keys[m_head] = key;
+        m_size++;
+    }
+
+    /** @return the removed first row */
+    DataRow removeFirst() {
+        final DataRow row = m_rows[m_head];
+        removeFirst(1);
+        return row;
+    }
+
+    /**
+     * Removes the first rows.
+     *
+     * @param count the number of rows to remove
+     */
+    void removeFirst(final int count) {
+        for (int i = 0; i < count; i++) {
+            m_rows[m_head] = null;
+            m_keys[m_head] = null;
+            m_head = (m_head + 1) % m_rows.length;
+        }
+        m_size -= count;
+        if (m_size == 0) {
+            m_sorted = true;
+        }
+    }
+
+    /**
+     * @param bound the upper bound
+     * @return the number of leading rows whose key is not after the bound, i.e. the index of the first row whose key
+     *         is after the bound
+     */
+    int countNotAfter(final Temporal bound) {
+        if (m_sorted) {
+            return search(bound, true);
+        }
+        int i = 0;
+        while (i < m_size && compareTemporal(getKey(i), bound) <= 0) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Removes those of the first rows whose key lies before the bound.
+     *
+     * @param limit the number of leading rows to consider
+     * @param bound the bound
+     */
+    void removeBefore(final int limit, final Temporal bound) {
+        if (m_sorted) {
+            removeFirst(Math.min(limit, search(bound, false)));
+            return;
+        }
+        // keep the order of the remaining rows, rows after the limit are not touched
+        int kept = limit;
+        for (int i = limit - 1; i >= 0; i--) {
+            if (compareTemporal(getKey(i), bound) >= 0) {
+                kept--;
+                final int to = slot(kept);
+                final int from = slot(i);
+                m_rows[to] = m_rows[from];
+                m_keys[to] = m_keys[from];
+            }
+        }
+        removeFirst(kept);
+    }
+
+    /**
+     * Binary search in the sorted keys.
+     *
+     * @param inclusive whether keys equal to the bound are counted
+     * @return the number of leading keys before (or equal to) the bound
+     */
+    private int search(final Temporal bound, final boolean inclusive) {
+        int lo = 0;
+        int hi = m_size;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            final int cmp = compareTemporal(getKey(mid), bound);
+            if (cmp < 0 || (inclusive && cmp == 0)) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int slot(final int index) {
+        return (m_head + index) % m_rows.length;
+    }
+
+    private void ensureCapacity() {
+        if (m_size < m_rows.length) {
+            return;
+        }
+        final DataRow[] rows = new DataRow[m_rows.length * 2];
+        final Temporal[] keys = new Temporal[rows.length];
+        for (int i = 0; i < m_size; i++) {
+            rows[i] = get(i);
+            keys[i] = getKey(i);
+        }
+        m_rows = rows;
+        m_keys = keys;
+        m_head = 0;
+    }
+}
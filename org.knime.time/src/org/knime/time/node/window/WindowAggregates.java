@@ -0,0 +1,405 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.window;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally maintained aggregates over a sliding window of numeric rows. Rows enter the window at the end and
+ * leave it at the front (first in, first out), each update is independent of the window size except for the
+ * quantile which requires a sorted copy of the window values.
+ * <p>
+ * Sums and counts are updated by adding and subtracting the values, minimum and maximum are kept in monotonic deques.
+ * In order to prevent that rounding errors of the subtractions accumulate, the sums are recomputed from the buffered
+ * values after the window content has been replaced once. Infinite values are counted instead of being added to the
+ * sums, as a sum that once became {@link Double#NaN} by adding both infinities could not be restored by subtracting
+ * them again. Missing values are passed as {@link Double#NaN} and are ignored by all aggregates.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class WindowAggregates {
+
+    private final int m_nCols;
+
+    /** Buffered rows in insertion order, stored row by row in a ring of capacity {@link #m_capacity}. */
+    private double[] m_ring;
+
+    private int m_capacity;
+
+    private int m_head;
+
+    private int m_size;
+
+    /** Sequence number of the oldest buffered row. */
+    private long m_firstSeq;
+
+    /** The sums of the finite values. */
+    private final double[] m_sums;
+
+    private final long[] m_counts;
+
+    private final long[] m_positiveInfinities;
+
+    private final long[] m_negativeInfinities;
+
+    private long m_removalsSinceRecompute;
+
+    private final ExtremaDeque[] m_mins;
+
+    private final ExtremaDeque[] m_maxs;
+
+    private final SortedValues[] m_sorted;
+
+    /**
+     * @param nCols the number of aggregated columns
+     * @param minMax whether minimum and maximum are requested
+     * @param quantile whether quantiles are requested
+     */
+    WindowAggregates(final int nCols, final boolean minMax, final boolean quantile) {
+        m_nCols = nCols;
+        m_capacity = 16;
+        m_ring = new double[m_capacity * nCols];
+        m_sums = new double[nCols];
+        m_counts = new long[nCols];
+        m_positiveInfinities = new long[nCols];
+        m_negativeInfinities = new long[nCols];
+        m_mins = minMax ? new ExtremaDeque[nCols] : null;
+        m_maxs = minMax ? new ExtremaDeque[nCols] : null;
+        m_sorted = quantile ? new SortedValues[nCols] : null;
+        for (int c = 0; c < nCols; c++) {
+            if (minMax) {
+                m_mins[c] = new ExtremaDeque(true);
+                m_maxs[c] = new ExtremaDeque(false);
+            }
+            if (quantile) {
+                m_sorted[c] = new SortedValues();
+            }
+        }
+    }
+
+    /** @return the number of aggregated columns */
+    int getNumberOfColumns() {
+        return m_nCols;
+    }
+
+    /** @return the number of rows in the window */
+    int size() {
+        return m_size;
+    }
+
+    /**
+     * Appends a row to the end of the window.
+     *
+     * @param values the values of the row, {@link Double#NaN} for missing values
+     */
+    void add(final double[] values) {
+        if (m_size == m_capacity) {
+            grow();
+        }
+        final long seq = m_firstSeq + m_size;
+        final int offset = ((m_head + m_size) % m_capacity) * m_nCols;
+        System.arraycopy(values, 0, m_ring, offset, m_nCols);
+        m_size++;
+        for (int c = 0; c < m_nCols; c++) {
+            final double v = values[c];
+            if (Double.isNaN(v)) {
+                continue;
+            }
+            addToSum(c, v, 1);
+            m_counts[c]++;
+            if (m_mins != null) {
+                m_mins[c].add(seq, v);
+                m_maxs[c].add(seq, v);
+            }
+            if (m_sorted != null) {
+                m_sorted[c].insert(v);
+            }
+        }
+    }
+
+    /** Removes the oldest row from the window. */
+    void removeFirst() {
+        if (m_size == 0) {
+            throw new IllegalStateException("The window is empty.");
+        }
+        final int offset = m_head * m_nCols;
+        for (int c = 0; c < m_nCols; c++) {
+            final double v = m_ring[offset + c];
+            if (Double.isNaN(v)) {
+                continue;
+            }
+            addToSum(c, v, -1);
+            m_counts[c]--;
+            if (m_sorted != null) {
+                m_sorted[c].remove(v);
+            }
+        }
+        m_head = (m_head + 1) % m_capacity;
+        m_size--;
+        m_firstSeq++;
+        if (m_mins != null) {
+            for (int c = 0; c < m_nCols; c++) {
+                m_mins[c].expire(m_firstSeq);
+                m_maxs[c].expire(m_firstSeq);
+            }
+        }
+        if (m_size == 0) {
+            Arrays.fill(m_sums, 0);
+            m_removalsSinceRecompute = 0;
+        } else if (++m_removalsSinceRecompute >= m_size) {
+            recomputeSums();
+        }
+    }
+
+    /** Removes all rows from the window. */
+    void clear() {
+        while (m_size > 0) {
+            removeFirst();
+        }
+    }
+
+    /**
+     * @param col the column index
+     * @return the number of non-missing values of the column in the window
+     */
+    long getCount(final int col) {
+        return m_counts[col];
+    }
+
+    /**
+     * @param col the column index
+     * @return the sum of the column, {@link Double#NaN} if the window contains no value of the column or both
+     *         infinities
+     */
+    double getSum(final int col) {
+        if (m_counts[col] == 0) {
+            return Double.NaN;
+        }
+        if (m_positiveInfinities[col] > 0) {
+            return m_negativeInfinities[col] > 0 ? Double.NaN : Double.POSITIVE_INFINITY;
+        }
+        return m_negativeInfinities[col] > 0 ? Double.NEGATIVE_INFINITY : m_sums[col];
+    }
+
+    /**
+     * @param col the column index
+     * @return the mean of the column, {@link Double#NaN} if the window contains no value of the column or both
+     *         infinities
+     */
+    double getMean(final int col) {
+        return getSum(col) / m_counts[col];
+    }
+
+    /**
+     * @param col the column index
+     * @return the minimum of the column, {@link Double#NaN} if the window contains no value of the column
+     */
+    double getMin(final int col) {
+        return m_mins[col].peek();
+    }
+
+    /**
+     * @param col the column index
+     * @return the maximum of the column, {@link Double#NaN} if the window contains no value of the column
+     */
+    double getMax(final int col) {
+        return m_maxs[col].peek();
+    }
+
+    /**
+     * Returns the quantile of the column, values between two ranks are interpolated linearly.
+     *
+     * @param col the column index
+     * @param p the probability in [0, 1]
+     * @return the quantile of the column, {@link Double#NaN} if the window contains no value of the column
+     */
+    double getQuantile(final int col, final double p) {
+        return m_sorted[col].quantile(p);
+    }
+
+    private void grow() {
+        final int newCapacity = m_capacity * 2;
+        final double[] ring = new double[newCapacity * m_nCols];
+        final int tail = Math.min(m_size, m_capacity - m_head);
+        System.arraycopy(m_ring, m_head * m_nCols, ring, 0, tail * m_nCols);
+        System.arraycopy(m_ring, 0, ring, tail * m_nCols, (m_size - tail) * m_nCols);
+        m_ring = ring;
+        m_capacity = newCapacity;
+        m_head = 0;
+    }
+
+    /** Adds ({@code sign} 1) or subtracts ({@code sign} -1) the non-missing value. */
+    private void addToSum(final int col, final double value, final int sign) {
+        if (value == Double.POSITIVE_INFINITY) {
+            m_positiveInfinities[col] += sign;
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            m_negativeInfinities[col] += sign;
+        } else {
+            m_sums[col] += sign * value;
+        }
+    }
+
+    private void recomputeSums() {
+        Arrays.fill(m_sums, 0);
+        for (int i = 0; i < m_size; i++) {
+            final int offset = ((m_head + i) % m_capacity) * m_nCols;
+            for (int c = 0; c < m_nCols; c++) {
+                final double v = m_ring[offset + c];
+                if (!Double.isNaN(v) && !Double.isInfinite(v)) {
+                    m_sums[c] += v;
+                }
+            }
+        }
+        m_removalsSinceRecompute = 0;
+    }
+
+    /**
+     * Deque of (sequence number, value) pairs whose values are monotonic, the front holds the extremum of the window.
+     */
+    private static final class ExtremaDeque {
+
+        private final boolean m_min;
+
+        private long[] m_seqs = new long[16];
+
+        private double[] m_values = new double[16];
+
+        private int m_head;
+
+        private int m_size;
+
+        ExtremaDeque(final boolean min) {
+            m_min = min;
+        }
+
+        void add(final long seq, final double value) {
+            // values that can never become the extremum again are dropped from the back
+            while (m_size > 0) {
+                final double last = m_values[(m_head + m_size - 1) % m_values.length];
+                if (m_min ? last > value : last < value) {
+                    m_size--;
+                } else {
+                    break;
+                }
+            }
+            if (m_size == m_values.length) {
+                grow();
+            }
+            final int idx = (m_head + m_size) % m_values.length;
+            m_seqs[idx] = seq;
+            m_values[idx] = value;
+            m_size++;
+        }
+
+        void expire(final long firstSeq) {
+            while (m_size > 0 && m_seqs[m_head] < firstSeq) {
+                m_head = (m_head + 1) % m_values.length;
+                m_size--;
+            }
+        }
+
+        double peek() {
+            return m_size == 0 ? Double.NaN : m_values[m_head];
+        }
+
+        private void grow() {
+            final int capacity = m_values.length;
+            final long[] seqs = new long[capacity * 2];
+            final double[] values = new double[capacity * 2];
+            for (int i = 0; i < m_size; i++) {
+                seqs[i] = m_seqs[(m_head + i) % capacity];
+                values[i] = m_values[(m_head + i) % capacity];
+            }
+            m_seqs = seqs;
+            m_values = values;
+            m_head = 0;
+        }
+    }
+
+    /** Sorted multiset of the values of one column. */
+    private static final class SortedValues {
+
+        private double[] m_values = new double[16];
+
+        private int m_size;
+
+        void insert(final double value) {
+            if (m_size == m_values.length) {
+                m_values = Arrays.copyOf(m_values, m_size * 2);
+            }
+            final int pos = insertionPoint(Arrays.binarySearch(m_values, 0, m_size, value));
+            System.arraycopy(m_values, pos, m_values, pos + 1, m_size - pos);
+            m_values[pos] = value;
+            m_size++;
+        }
+
+        void remove(final double value) {
+            final int pos = Arrays.binarySearch(m_values, 0, m_size, value);
+            if (pos < 0) {
+                throw new IllegalStateException("Value " + value + " is not contained in the window.");
+            }
+            System.arraycopy(m_values, pos + 1, m_values, pos, m_size - pos - 1);
+            m_size--;
+        }
+
+        double quantile(final double p) {
+            if (m_size == 0) {
+                return Double.NaN;
+            }
+            final double h = (m_size - 1) * p;
+            final int lo = (int)Math.floor(h);
+            final int hi = Math.min(lo + 1, m_size - 1);
+            if (h == lo || m_values[lo] == m_values[hi]) {
+                // no interpolation, which would yield NaN for infinite values
+                return m_values[lo];
+            }
+            return m_values[lo] + (h - lo) * (m_values[hi] - m_values[lo]);
+        }
+
+        private static int insertionPoint(final int searchResult) {
+            return searchResult < 0 ? -searchResult - 1 : searchResult;
+        }
+    }
+}
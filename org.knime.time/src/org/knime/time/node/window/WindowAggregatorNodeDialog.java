@@ -0,0 +1,141 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.window;
+
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NotConfigurableException;
+import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
+import org.knime.core.node.defaultnodesettings.DialogComponentColumnFilter2;
+import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
+import org.knime.time.node.window.WindowAggregatorNodeModel.Aggregation;
+
+/**
+ * Dialog pane for the Window Aggregator node. Uses the window options of the Window Loop Start node and adds a tab
+ * for the aggregations.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class WindowAggregatorNodeDialog extends LoopStartWindowNodeDialog {
+
+    private final DialogComponentColumnFilter2 m_aggregationColumns =
+        new DialogComponentColumnFilter2(WindowAggregatorNodeModel.createAggregationColumnsModel(), 0);
+
+    private final Map<Aggregation, DialogComponentBoolean> m_aggregations = new EnumMap<>(Aggregation.class);
+
+    private final DialogComponentNumber m_quantile =
+        new DialogComponentNumber(WindowAggregatorNodeModel.createQuantileModel(), "Quantile probability", 0.05);
+
+    /** Creates a new dialog. */
+    WindowAggregatorNodeDialog() {
+        final JPanel panel = new JPanel(new GridBagLayout());
+        final GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(2, 2, 2, 2);
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.weightx = 1;
+        gbc.fill = GridBagConstraints.BOTH;
+        m_aggregationColumns.getComponentPanel().setBorder(BorderFactory.createTitledBorder("Aggregated columns"));
+        panel.add(m_aggregationColumns.getComponentPanel(), gbc);
+
+        final JPanel aggregationPanel = new JPanel(new GridBagLayout());
+        final GridBagConstraints subGbc = new GridBagConstraints();
+        subGbc.anchor = GridBagConstraints.LINE_START;
+        subGbc.gridy = 0;
+        for (final Aggregation aggregation : Aggregation.values()) {
+            final DialogComponentBoolean component = new DialogComponentBoolean(
+                WindowAggregatorNodeModel.createAggregationModel(aggregation), aggregation.getLabel());
+            m_aggregations.put(aggregation, component);
+            aggregationPanel.add(component.getComponentPanel(), subGbc);
+        }
+        final DialogComponentBoolean quantileComponent = m_aggregations.get(Aggregation.QUANTILE);
+        quantileComponent.getModel().addChangeListener(
+            e -> m_quantile.getModel().setEnabled(quantileComponent.isSelected()));
+        m_quantile.getModel().setEnabled(quantileComponent.isSelected());
+        subGbc.gridy++;
+        subGbc.gridwidth = Aggregation.values().length;
+        aggregationPanel.add(m_quantile.getComponentPanel(), subGbc);
+        aggregationPanel.setBorder(BorderFactory.createTitledBorder("Aggregations"));
+        gbc.gridy++;
+        gbc.weighty = 0;
+        panel.add(aggregationPanel, gbc);
+
+        addTab("Aggregation", panel);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSpec[] specs)
+        throws NotConfigurableException {
+        super.loadSettingsFrom(settings, specs);
+        m_aggregationColumns.loadSettingsFrom(settings, specs);
+        for (final DialogComponentBoolean component : m_aggregations.values()) {
+            component.loadSettingsFrom(settings, specs);
+        }
+        m_quantile.loadSettingsFrom(settings, specs);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSettingsException {
+        super.saveSettingsTo(settings);
+        m_aggregationColumns.saveSettingsTo(settings);
+        for (final DialogComponentBoolean component : m_aggregations.values()) {
+            component.saveSettingsTo(settings);
+        }
+        m_quantile.saveSettingsTo(settings);
+    }
+}
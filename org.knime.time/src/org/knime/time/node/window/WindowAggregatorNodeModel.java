@@ -0,0 +1,755 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+package org.knime.time.node.window;
+
+import static org.knime.time.node.window.LoopStartWindowNodeModel.compareTemporal;
+import static org.knime.time.node.window.LoopStartWindowNodeModel.getTemporal;
+import static org.knime.time.node.window.LoopStartWindowNodeModel.getTemporalAmount;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.LongCell;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdate.LocalDateValue;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeValue;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeCellFactory;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelColumnFilter2;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.OutputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.time.node.window.LoopStartWindowConfiguration.Trigger;
+import org.knime.time.node.window.LoopStartWindowConfiguration.Unit;
+import org.knime.time.node.window.LoopStartWindowConfiguration.WindowDefinition;
+import org.knime.time.util.SettingsModelDateTime;
+
+/**
+ * Node model of the Window Aggregator node. Computes aggregates of numeric columns for each window defined in the
+ * same way as for the Window Loop Start node, but in a single pass over the input: rows enter and leave the current
+ * window one by one and the aggregates are updated incrementally instead of being recomputed for each window.
+ *
+ * @author KNIME GmbH, Konstanz, Germany
+ */
+final class WindowAggregatorNodeModel extends NodeModel {
+
+    /** The supported aggregations, in the order of the output columns. */
+    enum Aggregation {
+            /** Sum of the values. */
+            SUM("Sum"),
+            /** Mean of the values. */
+            MEAN("Mean"),
+            /** Minimum of the values. */
+            MIN("Min"),
+            /** Maximum of the values. */
+            MAX("Max"),
+            /** Number of non-missing values. */
+            COUNT("Count"),
+            /** Quantile of the values. */
+            QUANTILE("Quantile");
+
+        private final String m_label;
+
+        private Aggregation(final String label) {
+            m_label = label;
+        }
+
+        /** @return the label of the aggregation */
+        String getLabel() {
+            return m_label;
+        }
+
+        /** @return the type of the aggregated values */
+        DataType getType() {
+            return this == COUNT ? LongCell.TYPE : DoubleCell.TYPE;
+        }
+    }
+
+    private static final String ORDER_EXCEPTION =
+        "Table not in ascending order concerning chosen temporal column (use Sorter prior to Window Aggregator).";
+
+    private LoopStartWindowConfiguration m_windowConfig;
+
+    private final SettingsModelString m_timeColumnModel = LoopStartWindowNodeModel.createColumnModel();
+
+    private final SettingsModelDateTime m_startModel = LoopStartWindowNodeModel.createStartModel();
+
+    private final SettingsModelColumnFilter2 m_aggregationColumnsModel = createAggregationColumnsModel();
+
+    private final Map<Aggregation, SettingsModelBoolean> m_aggregationModels = new EnumMap<>(Aggregation.class);
+
+    private final SettingsModelDoubleBounded m_quantileModel = createQuantileModel();
+
+    // To ensure that warning message will be printed only once
+    private boolean m_printedMissingWarning;
+
+    /** Creates a new model. */
+    WindowAggregatorNodeModel() {
+        super(1, 1);
+        for (final Aggregation aggregation : Aggregation.values()) {
+            m_aggregationModels.put(aggregation, createAggregationModel(aggregation));
+        }
+    }
+
+    /** @return settings model for the aggregated columns */
+    static SettingsModelColumnFilter2 createAggregationColumnsModel() {
+        return new SettingsModelColumnFilter2("aggregation_columns", DoubleValue.class);
+    }
+
+    /**
+     * @param aggregation the aggregation
+     * @return settings model for the selection of the aggregation
+     */
+    static SettingsModelBoolean createAggregationModel(final Aggregation aggregation) {
+        return new SettingsModelBoolean("aggregation_" + aggregation.name().toLowerCase(),
+            aggregation == Aggregation.MEAN);
+    }
+
+    /** @return settings model for the probability of the quantile */
+    static SettingsModelDoubleBounded createQuantileModel() {
+        return new SettingsModelDoubleBounded("quantile_probability", 0.5, 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+        if (m_windowConfig == null) {
+            m_windowConfig = new LoopStartWindowConfiguration();
+            setWarningMessage("Using default: " + m_windowConfig);
+        }
+        final DataTableSpec inSpec = inSpecs[0];
+        if (m_windowConfig.getTrigger() == Trigger.TIME) {
+            final String timeColumn = m_timeColumnModel.getStringValue();
+            if (!inSpec.containsName(timeColumn)) {
+                throw new InvalidSettingsException(
+                    "Selected time column '" + timeColumn + "' does not exist in input table.");
+            }
+            final DataType timeType = inSpec.getColumnSpec(timeColumn).getType();
+            if (getTemporalType(timeType) == null) {
+                throw new InvalidSettingsException(
+                    "Selected time column '" + timeColumn + "' does not contain a Date&Time type.");
+            }
+            final boolean isLocalTime = timeType.isCompatible(LocalTimeValue.class);
+            final boolean isLocalDate = timeType.isCompatible(LocalDateValue.class);
+            for (final TemporalAmount amount : new TemporalAmount[]{getStepSize(), getWindowSize()}) {
+                if (amount instanceof Period && isLocalTime) {
+                    throw new InvalidSettingsException("Date based step and window sizes are not allowed for type "
+                        + "LocalTime. Note that 'M' is reserved for months, use 'm' for minutes.");
+                } else if (amount instanceof Duration && isLocalDate) {
+                    throw new InvalidSettingsException("Time based step and window sizes are not allowed for type "
+                        + "LocalDate. Note that 'm' is reserved for minutes, use 'M' for months.");
+                } else if (amount instanceof Period
+                    && m_windowConfig.getWindowDefinition() == WindowDefinition.CENTRAL) {
+                    throw new InvalidSettingsException(
+                        "Date based step and window sizes are not allowed for central windowing.");
+                }
+            }
+        }
+        return new DataTableSpec[]{createOutputSpec(inSpec)};
+    }
+
+    private DataTableSpec createOutputSpec(final DataTableSpec inSpec) {
+        final DataType boundType = m_windowConfig.getTrigger() == Trigger.TIME
+            ? getTemporalType(inSpec.getColumnSpec(m_timeColumnModel.getStringValue()).getType()) : LongCell.TYPE;
+        final List<DataColumnSpec> colSpecs = new ArrayList<>();
+        colSpecs.add(new DataColumnSpecCreator("Window start", boundType).createSpec());
+        colSpecs.add(new DataColumnSpecCreator("Window end", boundType).createSpec());
+        final Aggregation[] aggregations = getSelectedAggregations();
+        for (final String column : m_aggregationColumnsModel.applyTo(inSpec).getIncludes()) {
+            for (final Aggregation aggregation : aggregations) {
+                colSpecs.add(new DataColumnSpecCreator(aggregation.getLabel() + "(" + column + ")",
+                    aggregation.getType()).createSpec());
+            }
+        }
+        return new DataTableSpec(colSpecs.toArray(new DataColumnSpec[0]));
+    }
+
+    private Aggregation[] getSelectedAggregations() {
+        return m_aggregationModels.entrySet().stream().filter(e -> e.getValue().getBooleanValue())
+            .map(Map.Entry::getKey).toArray(Aggregation[]::new);
+    }
+
+    private TemporalAmount getStepSize() throws InvalidSettingsException {
+        return parseAmount(m_windowConfig.getTimeStepSize(), m_windowConfig.getTimeStepUnit(), "Step size");
+    }
+
+    private TemporalAmount getWindowSize() throws InvalidSettingsException {
+        return parseAmount(m_windowConfig.getTimeWindowSize(), m_windowConfig.getTimeWindowUnit(), "Window size");
+    }
+
+    private static TemporalAmount parseAmount(final String amount, final Unit unit, final String name)
+        throws InvalidSettingsException {
+        if (amount == null) {
+            throw new InvalidSettingsException(name + " not set.");
+        }
+        final TemporalAmount parsed = getTemporalAmount(amount + unit.getUnitLetter());
+        if (parsed == null) {
+            throw new InvalidSettingsException(
+                name + " '" + amount + "' couldn't be matched to type Duration or Period.");
+        }
+        final boolean positive = parsed instanceof Duration
+            ? !((Duration)parsed).isNegative() && !((Duration)parsed).isZero()
+            : !((Period)parsed).isNegative() && !((Period)parsed).isZero();
+        if (!positive) {
+            throw new InvalidSettingsException(
+                name + " '" + amount + "' invalid. " + name + " must be greater than 0.");
+        }
+        return parsed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+        throws Exception {
+        final BufferedDataTableRowOutput out =
+            new BufferedDataTableRowOutput(exec.createDataContainer(createOutputSpec(inData[0].getDataTableSpec())));
+        execute(new DataTableRowInput(inData[0]), out, exec, inData[0].size());
+        return new BufferedDataTable[]{out.getDataTable()};
+    }
+
+    /**
+     * helper method to compute output
+     */
+    private void execute(final RowInput in, final RowOutput out, final ExecutionContext exec, final long rowCount)
+        throws Exception {
+        final DataTableSpec inSpec = in.getDataTableSpec();
+        final int[] colIndices = inSpec.columnsToIndices(m_aggregationColumnsModel.applyTo(inSpec).getIncludes());
+        if (m_windowConfig.getTrigger() == Trigger.TIME) {
+            aggregateTimeWindows(in, out, exec, rowCount, colIndices);
+        } else {
+            aggregateRowWindows(in, out, exec, rowCount, colIndices);
+        }
+        in.close();
+        out.close();
+    }
+
+    /**
+     * Row based windows. The window with anchor (the current row of the loop) <code>k * stepSize</code> covers the
+     * rows <code>[anchor - offset, anchor - offset + windowSize)</code> where the offset depends on the window
+     * definition. Windows are emitted as soon as the row following their last row arrives.
+     */
+    private void aggregateRowWindows(final RowInput in, final RowOutput out, final ExecutionContext exec,
+        final long rowCount, final int[] colIndices) throws Exception {
+        final long windowSize = m_windowConfig.getEventWindowSize();
+        final long stepSize = m_windowConfig.getEventStepSize();
+        final boolean limitWindow = m_windowConfig.getLimitWindow();
+        final long offset;
+        switch (m_windowConfig.getWindowDefinition()) {
+            case BACKWARD:
+                offset = windowSize - 1;
+                break;
+            case CENTRAL:
+                offset = windowSize / 2;
+                break;
+            default:
+                offset = 0;
+        }
+        // if the window is limited to the table, the first window must not start before the first row
+        final long firstAnchor = limitWindow ? (offset + stepSize - 1) / stepSize * stepSize : 0;
+        long start = firstAnchor - offset;
+        final WindowAggregates window = createWindow(colIndices.length);
+        final double[] values = new double[colIndices.length];
+        final Aggregation[] aggregations = getSelectedAggregations();
+        final double quantile = m_quantileModel.getDoubleValue();
+        long windowIndex = 0;
+        // index of the oldest row in the window
+        long first = 0;
+        long index = 0;
+        DataRow row;
+        while ((row = in.poll()) != null) {
+            exec.checkCanceled();
+            setProgress(exec, index, rowCount);
+            while (start + windowSize - 1 < index) {
+                out.push(createWindowRow(windowIndex++, new LongCell(Math.max(start, 0)),
+                    new LongCell(start + windowSize - 1), window, aggregations, quantile));
+                start += stepSize;
+                for (; first < start && window.size() > 0; first++) {
+                    window.removeFirst();
+                }
+            }
+            if (index >= start) {
+                if (window.size() == 0) {
+                    first = index;
+                }
+                window.add(getValues(row, colIndices, values));
+            }
+            index++;
+        }
+        if (limitWindow) {
+            // as for the loop, which stops central windows only once they end more than one row after the
+            // table, the last central window may cover one (missing) row beyond the last row
+            final long lastRow =
+                m_windowConfig.getWindowDefinition() == WindowDefinition.CENTRAL ? index : index - 1;
+            for (; start + windowSize - 1 <= lastRow; start += stepSize) {
+                for (; first < start && window.size() > 0; first++) {
+                    window.removeFirst();
+                }
+                out.push(createWindowRow(windowIndex++, new LongCell(start), new LongCell(start + windowSize - 1),
+                    window, aggregations, quantile));
+            }
+            if (windowIndex == 0 && index > 0 && index < windowSize) {
+                // the loop creates a single window if the table is smaller than the window
+                out.push(createWindowRow(windowIndex, new LongCell(start), new LongCell(start + windowSize - 1),
+                    window, aggregations, quantile));
+            }
+        } else {
+            // the windows at the end are truncated to the table
+            for (; start + offset < index; start += stepSize) {
+                for (; first < start && window.size() > 0; first++) {
+                    window.removeFirst();
+                }
+                out.push(createWindowRow(windowIndex++, new LongCell(Math.max(start, 0)),
+                    new LongCell(Math.min(start + windowSize - 1, index - 1)), window, aggregations, quantile));
+            }
+        }
+    }
+
+    /**
+     * Time based windows. The anchor of the first window (the current point of time of the loop) is either the
+     * specified start or the time of the first row, each further anchor is obtained by adding the step size. Empty
+     * windows are skipped. As for the loop, no further windows are created once the last row has been in a window.
+     */
+    private void aggregateTimeWindows(final RowInput in, final RowOutput out, final ExecutionContext exec,
+        final long rowCount, final int[] colIndices) throws Exception {
+        final int timeIdx = in.getDataTableSpec().findColumnIndex(m_timeColumnModel.getStringValue());
+        final TemporalAmount stepSize = getStepSize();
+        final TemporalAmount windowSize = getWindowSize();
+        final WindowAggregates window = createWindow(colIndices.length);
+        // times of the rows in the window
+        final ArrayDeque<Temporal> times = new ArrayDeque<>();
+        final double[] values = new double[colIndices.length];
+        final Aggregation[] aggregations = getSelectedAggregations();
+        final double quantile = m_quantileModel.getDoubleValue();
+        long windowIndex = 0;
+        long index = 0;
+        Temporal prevTemporal = null;
+        Temporal anchor = null;
+        Temporal[] bounds = null;
+        boolean lastWindow = false;
+        DataRow row;
+        while ((row = in.poll()) != null) {
+            exec.checkCanceled();
+            setProgress(exec, index++, rowCount);
+            final DataCell cell = row.getCell(timeIdx);
+            if (cell.isMissing()) {
+                printMissingWarning();
+                continue;
+            }
+            final Temporal temporal = getTemporal(cell);
+            if (prevTemporal != null && compareTemporal(temporal, prevTemporal) < 0) {
+                throw new IllegalStateException(ORDER_EXCEPTION);
+            }
+            prevTemporal = temporal;
+            if (anchor == null) {
+                anchor = temporal;
+                if (m_windowConfig.useSpecifiedStartTime()) {
+                    anchor = m_startModel.getSelectedDateTime();
+                    if (anchor == null || anchor.getClass() != temporal.getClass()) {
+                        throw new InvalidSettingsException("Specified start time is not compatible with selected "
+                            + "time column '" + m_timeColumnModel.getStringValue() + "'");
+                    }
+                }
+                bounds = getWindowBounds(anchor, windowSize);
+            }
+            // move the window until it ends at or after the current row
+            while (!lastWindow && bounds[1] != null && compareTemporal(bounds[1], temporal) < 0) {
+                if (!times.isEmpty()) {
+                    out.push(createWindowRow(windowIndex++, createTemporalCell(bounds[0]),
+                        createTemporalCell(bounds[1]), window, aggregations, quantile));
+                }
+                final Temporal next = getNextAnchor(anchor, bounds[1], temporal, stepSize, times.isEmpty());
+                if (next == null) {
+                    // no further window, rows after the current window are ignored
+                    lastWindow = true;
+                    times.clear();
+                    window.clear();
+                    break;
+                }
+                anchor = next;
+                bounds = getWindowBounds(anchor, windowSize);
+                while (!times.isEmpty() && bounds[0] != null && compareTemporal(times.peekFirst(), bounds[0]) < 0) {
+                    times.removeFirst();
+                    window.removeFirst();
+                }
+            }
+            if (lastWindow && bounds[1] != null && compareTemporal(temporal, bounds[1]) > 0) {
+                continue;
+            }
+            if (bounds[0] == null || compareTemporal(temporal, bounds[0]) >= 0) {
+                times.addLast(temporal);
+                window.add(getValues(row, colIndices, values));
+            }
+        }
+        if (anchor == null && index > 0) {
+            setWarningMessage("Column '" + m_timeColumnModel.getStringValue() + "' only contains missing values.");
+        }
+        if (!times.isEmpty()) {
+            out.push(createWindowRow(windowIndex, createTemporalCell(bounds[0]), createTemporalCell(bounds[1]),
+                window, aggregations, quantile));
+        }
+    }
+
+    /**
+     * Computes the bounds of the window with the given anchor. Both bounds are inclusive, <code>null</code> stands for
+     * a bound that exceeds the range of the temporal type.
+     */
+    private Temporal[] getWindowBounds(final Temporal anchor, final TemporalAmount windowSize) {
+        switch (m_windowConfig.getWindowDefinition()) {
+            case BACKWARD:
+                return new Temporal[]{minus(anchor, windowSize), anchor};
+            case CENTRAL:
+                // as in the loop, the window ends half a window after the anchor and starts a window before its end
+                final Temporal end = plus(anchor, ((Duration)windowSize).dividedBy(2));
+                return new Temporal[]{minus(end, windowSize), end};
+            default:
+                return new Temporal[]{anchor, plus(anchor, windowSize)};
+        }
+    }
+
+    /**
+     * Computes the anchor of the next window. If the current window is empty, all windows that end before the current
+     * row are skipped at once (only possible for durations, periods are added step by step as in the loop).
+     *
+     * @return the next anchor or <code>null</code> if it exceeds the range of the temporal type
+     */
+    private static Temporal getNextAnchor(final Temporal anchor, final Temporal end, final Temporal current,
+        final TemporalAmount stepSize, final boolean emptyWindow) {
+        long steps = 1;
+        if (emptyWindow && stepSize instanceof Duration) {
+            try {
+                steps += Duration.between(end, current).minusNanos(1).toNanos() / ((Duration)stepSize).toNanos();
+            } catch (ArithmeticException e) {
+                // gap too large to be expressed in nanoseconds, move step by step
+            }
+        }
+        return plus(anchor, steps == 1 ? stepSize : ((Duration)stepSize).multipliedBy(steps));
+    }
+
+    /** Adds the amount, <code>null</code> if the result overflows (LocalTime wraps around midnight). */
+    private static Temporal plus(final Temporal temporal, final TemporalAmount amount) {
+        try {
+            final Temporal result = temporal.plus(amount);
+            final int cmp = compareTemporal(result, temporal);
+            return cmp < 0 || (cmp == 0 && temporal instanceof LocalTime) ? null : result;
+        } catch (DateTimeException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /** Subtracts the amount, <code>null</code> if the result underflows (LocalTime wraps around midnight). */
+    private static Temporal minus(final Temporal temporal, final TemporalAmount amount) {
+        try {
+            final Temporal result = temporal.minus(amount);
+            final int cmp = compareTemporal(result, temporal);
+            return cmp > 0 || (cmp == 0 && temporal instanceof LocalTime) ? null : result;
+        } catch (DateTimeException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private WindowAggregates createWindow(final int nCols) {
+        final boolean minMax = m_aggregationModels.get(Aggregation.MIN).getBooleanValue()
+            || m_aggregationModels.get(Aggregation.MAX).getBooleanValue();
+        return new WindowAggregates(nCols, minMax, m_aggregationModels.get(Aggregation.QUANTILE).getBooleanValue());
+    }
+
+    private static double[] getValues(final DataRow row, final int[] colIndices, final double[] values) {
+        for (int i = 0; i < colIndices.length; i++) {
+            final DataCell cell = row.getCell(colIndices[i]);
+            values[i] = cell.isMissing() ? Double.NaN : ((DoubleValue)cell).getDoubleValue();
+        }
+        return values;
+    }
+
+    private static DataRow createWindowRow(final long windowIndex, final DataCell start, final DataCell end,
+        final WindowAggregates window, final Aggregation[] aggregations, final double quantile) {
+        final int nCols = window.getNumberOfColumns();
+        final DataCell[] cells = new DataCell[2 + nCols * aggregations.length];
+        int i = 0;
+        cells[i++] = start;
+        cells[i++] = end;
+        for (int c = 0; c < nCols; c++) {
+            for (final Aggregation aggregation : aggregations) {
+                cells[i++] = createAggregateCell(window, c, aggregation, quantile);
+            }
+        }
+        return new DefaultRow(RowKey.createRowKey(windowIndex), cells);
+    }
+
+    private static DataCell createAggregateCell(final WindowAggregates window, final int col,
+        final Aggregation aggregation, final double quantile) {
+        final double value;
+        switch (aggregation) {
+            case COUNT:
+                return new LongCell(window.getCount(col));
+            case SUM:
+                value = window.getSum(col);
+                break;
+            case MEAN:
+                value = window.getMean(col);
+                break;
+            case MIN:
+                value = window.getMin(col);
+                break;
+            case MAX:
+                value = window.getMax(col);
+                break;
+            case QUANTILE:
+                value = window.getQuantile(col, quantile);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown aggregation: " + aggregation);
+        }
+        return Double.isNaN(value) ? DataType.getMissingCell() : new DoubleCell(value);
+    }
+
+    private static DataType getTemporalType(final DataType type) {
+        if (type.isCompatible(ZonedDateTimeValue.class)) {
+            return ZonedDateTimeCellFactory.TYPE;
+        } else if (type.isCompatible(LocalDateTimeValue.class)) {
+            return LocalDateTimeCellFactory.TYPE;
+        } else if (type.isCompatible(LocalDateValue.class)) {
+            return LocalDateCellFactory.TYPE;
+        } else if (type.isCompatible(LocalTimeValue.class)) {
+            return LocalTimeCellFactory.TYPE;
+        }
+        return null;
+    }
+
+    private static DataCell createTemporalCell(final Temporal temporal) {
+        if (temporal instanceof LocalTime) {
+            return LocalTimeCellFactory.create((LocalTime)temporal);
+        } else if (temporal instanceof LocalDate) {
+            return LocalDateCellFactory.create((LocalDate)temporal);
+        } else if (temporal instanceof LocalDateTime) {
+            return LocalDateTimeCellFactory.create((LocalDateTime)temporal);
+        } else if (temporal instanceof ZonedDateTime) {
+            return ZonedDateTimeCellFactory.create((ZonedDateTime)temporal);
+        }
+        return DataType.getMissingCell();
+    }
+
+    private static void setProgress(final ExecutionContext exec, final long index, final long rowCount) {
+        // set progress if not streaming
+        if (rowCount > 0) {
+            exec.setProgress(index / (double)rowCount);
+        }
+    }
+
+    /**
+     * Prints a warning concerning missing values.
+     */
+    private void printMissingWarning() {
+        if (!m_printedMissingWarning) {
+            m_printedMissingWarning = true;
+            getLogger().warn("Detected missing values for specified column; rows have been skipped.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_STREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OutputPortRole[] getOutputPortRoles() {
+        return new OutputPortRole[]{OutputPortRole.NONDISTRIBUTED};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                execute((RowInput)inputs[0], (RowOutput)outputs[0], exec, -1);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void reset() {
+        m_printedMissingWarning = false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void saveSettingsTo(final NodeSettingsWO settings) {
+        if (m_windowConfig != null) {
+            m_windowConfig.saveSettingsTo(settings);
+        }
+        m_timeColumnModel.saveSettingsTo(settings);
+        m_startModel.saveSettingsTo(settings);
+        m_aggregationColumnsModel.saveSettingsTo(settings);
+        for (final SettingsModelBoolean model : m_aggregationModels.values()) {
+            model.saveSettingsTo(settings);
+        }
+        m_quantileModel.saveSettingsTo(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        final LoopStartWindowConfiguration config = new LoopStartWindowConfiguration();
+        config.loadSettingsInModel(settings);
+        if (config.getTrigger() == Trigger.TIME) {
+            m_timeColumnModel.validateSettings(settings);
+            if (config.useSpecifiedStartTime()) {
+                m_startModel.validateSettings(settings);
+            }
+        }
+        m_aggregationColumnsModel.validateSettings(settings);
+        for (final SettingsModelBoolean model : m_aggregationModels.values()) {
+            model.validateSettings(settings);
+        }
+        m_quantileModel.validateSettings(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+        final LoopStartWindowConfiguration config = new LoopStartWindowConfiguration();
+        config.loadSettingsInModel(settings);
+        m_windowConfig = config;
+        if (m_windowConfig.getTrigger() == Trigger.TIME) {
+            m_timeColumnModel.loadSettingsFrom(settings);
+            if (m_windowConfig.useSpecifiedStartTime()) {
+                m_startModel.loadSettingsFrom(settings);
+            }
+        }
+        m_aggregationColumnsModel.loadSettingsFrom(settings);
+        for (final SettingsModelBoolean model : m_aggregationModels.values()) {
+            model.loadSettingsFrom(settings);
+        }
+        m_quantileModel.loadSettingsFrom(settings);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        // no internals to load
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        // no internals to save
+    }
+}
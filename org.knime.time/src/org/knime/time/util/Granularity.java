@@ -49,7 +49,12 @@
 package org.knime.time.util;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.Period;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
@@ -64,10 +69,18 @@ public enum Granularity {
         HOUR(ChronoUnit.HOURS), MINUTE(ChronoUnit.MINUTES), SECOND(ChronoUnit.SECONDS), MILLISECOND(ChronoUnit.MILLIS),
         MICROSECOND(ChronoUnit.MICROS), NANOSECOND(ChronoUnit.NANOS);
 
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
     private final ChronoUnit m_chronoUnit;
 
+    /** Length of the unit in nanoseconds if it is time-based, 0 otherwise. */
+    private final long m_unitNanos;
+
     private Granularity(final ChronoUnit chronoUnit) {
         m_chronoUnit = chronoUnit;
+        m_unitNanos = chronoUnit.isTimeBased() ? chronoUnit.getDuration().toNanos() : 0;
     }
 
     /**
@@ -163,9 +176,79 @@ public TemporalAmount getPeriodOrDuration(final long value) throws ArithmeticExc
      *         temporal2Exclusive is later than temporal1Inclusive, negative if earlier
      */
     public long between(final Temporal temporal1Inclusive, final Temporal temporal2Exclusive) {
+        // days, weeks and time-based units are computed on the epoch values, the result is the same as the one of
+        // ChronoUnit#between
+        final Class<?> type = temporal1Inclusive.getClass();
+        if (type == temporal2Exclusive.getClass() && m_chronoUnit != ChronoUnit.YEARS
+            && m_chronoUnit != ChronoUnit.MONTHS) {
+            if (type == LocalDateTime.class) {
+                final LocalDateTime ldt1 = (LocalDateTime)temporal1Inclusive;
+                final LocalDateTime ldt2 = (LocalDateTime)temporal2Exclusive;
+                return betweenEpochSeconds(ldt1.toEpochSecond(ZoneOffset.UTC), ldt1.getNano(),
+                    ldt2.toEpochSecond(ZoneOffset.UTC), ldt2.getNano());
+            }
+            if (type == ZonedDateTime.class) {
+                final ZonedDateTime zdt1 = (ZonedDateTime)temporal1Inclusive;
+                final ZonedDateTime zdt2 = (ZonedDateTime)temporal2Exclusive;
+                if (m_unitNanos > 0) {
+                    // time-based units do not depend on the zone
+                    return betweenEpochSeconds(zdt1.toEpochSecond(), zdt1.getNano(), zdt2.toEpochSecond(),
+                        zdt2.getNano());
+                }
+                if (zdt1.getZone() instanceof ZoneOffset) {
+                    // date-based units are computed on the local date&times in the zone of the first one
+                    final long offset = zdt1.getOffset().getTotalSeconds();
+                    return betweenEpochSeconds(zdt1.toEpochSecond() + offset, zdt1.getNano(),
+                        zdt2.toEpochSecond() + offset, zdt2.getNano());
+                }
+            } else if (type == LocalTime.class && m_unitNanos > 0) {
+                return (((LocalTime)temporal2Exclusive).toNanoOfDay() - ((LocalTime)temporal1Inclusive).toNanoOfDay())
+                    / m_unitNanos;
+            } else if (type == LocalDate.class && m_unitNanos == 0) {
+                return betweenDays(
+                    ((LocalDate)temporal2Exclusive).toEpochDay() - ((LocalDate)temporal1Inclusive).toEpochDay());
+            }
+        }
         return m_chronoUnit.between(temporal1Inclusive, temporal2Exclusive);
     }
 
+    /**
+     * Computes the amount of whole units between two local date&times given as seconds since the epoch in UTC and
+     * nanoseconds of the second. Must only be called for days, weeks or time-based units.
+     */
+    private long betweenEpochSeconds(final long seconds1, final int nanos1, final long seconds2, final int nanos2) {
+        if (m_unitNanos == 0) {
+            // the end date only counts if its time is not before the start time (or after for negative amounts)
+            long days = Math.floorDiv(seconds2, SECONDS_PER_DAY) - Math.floorDiv(seconds1, SECONDS_PER_DAY);
+            final long nanoOfDay1 = Math.floorMod(seconds1, SECONDS_PER_DAY) * NANOS_PER_SECOND + nanos1;
+            final long nanoOfDay2 = Math.floorMod(seconds2, SECONDS_PER_DAY) * NANOS_PER_SECOND + nanos2;
+            if (days > 0 && nanoOfDay2 < nanoOfDay1) {
+                days--;
+            } else if (days < 0 && nanoOfDay2 > nanoOfDay1) {
+                days++;
+            }
+            return betweenDays(days);
+        }
+        // let both parts have the same sign, the amount is then truncated towards zero as by ChronoUnit#between
+        long seconds = seconds2 - seconds1;
+        long nanos = nanos2 - nanos1;
+        if (seconds > 0 && nanos < 0) {
+            seconds--;
+            nanos += NANOS_PER_SECOND;
+        } else if (seconds < 0 && nanos > 0) {
+            seconds++;
+            nanos -= NANOS_PER_SECOND;
+        }
+        if (m_unitNanos < NANOS_PER_SECOND) {
+            return Math.addExact(Math.multiplyExact(seconds, NANOS_PER_SECOND / m_unitNanos), nanos / m_unitNanos);
+        }
+        return seconds / (m_unitNanos / NANOS_PER_SECOND);
+    }
+
+    private long betweenDays(final long days) {
+        return m_chronoUnit == ChronoUnit.WEEKS ? days / 7 : days;
+    }
+
     /**
      * @return the {@link ChronoUnit} of this {@link Granularity}
      */